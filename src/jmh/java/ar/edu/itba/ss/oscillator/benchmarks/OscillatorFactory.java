@@ -0,0 +1,91 @@
+package ar.edu.itba.ss.oscillator.benchmarks;
+
+import ar.edu.itba.ss.oscillator.models.DampedOscillator;
+import ar.edu.itba.ss.oscillator.models.UpdateStrategyEnum;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * Builds the oscillators and trajectories used by the benchmarks, with the program's default parameters.
+ */
+/* package */ final class OscillatorFactory {
+
+    /**
+     * The particle's mass.
+     */
+    private static final double MASS = 70;
+
+    /**
+     * The initial position.
+     */
+    private static final double INITIAL_X = 1;
+
+    /**
+     * The spring constant.
+     */
+    private static final double SPRING_CONSTANT = 10000;
+
+    /**
+     * The viscous damping coefficient.
+     */
+    private static final double VISCOUS_DAMPING_COEFFICIENT = 100;
+
+    /**
+     * The time step.
+     */
+    private static final double TIME_STEP = 0.001;
+
+    /**
+     * The amount of steps in a default run (i.e 5 seconds).
+     */
+    /* package */ static final long STEPS_PER_RUN = 5000;
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private OscillatorFactory() {
+    }
+
+    /**
+     * Builds an oscillator with the default parameters, long enough to perform any amount of steps.
+     *
+     * @param strategy The {@link UpdateStrategyEnum} to be used.
+     * @return The built oscillator.
+     */
+    /* package */ static DampedOscillator build(UpdateStrategyEnum strategy) {
+        return new DampedOscillator(MASS, INITIAL_X, SPRING_CONSTANT, VISCOUS_DAMPING_COEFFICIENT,
+                strategy, TIME_STEP, Double.MAX_VALUE);
+    }
+
+    /**
+     * Builds an oscillator with the default parameters, that oscillates during a default run.
+     *
+     * @param strategy The {@link UpdateStrategyEnum} to be used.
+     * @return The built oscillator.
+     */
+    /* package */ static DampedOscillator buildRun(UpdateStrategyEnum strategy) {
+        return new DampedOscillator(MASS, INITIAL_X, SPRING_CONSTANT, VISCOUS_DAMPING_COEFFICIENT,
+                strategy, TIME_STEP, STEPS_PER_RUN * TIME_STEP);
+    }
+
+    /**
+     * Simulates a trajectory with the given amount of states.
+     *
+     * @param states The amount of states.
+     * @return The trajectory.
+     */
+    /* package */ static Queue<DampedOscillator.DampedOscillatorState> trajectory(int states) {
+        final Queue<DampedOscillator.DampedOscillatorState> trajectory = new ArrayDeque<>(states);
+        DampedOscillator dampedOscillator = build(UpdateStrategyEnum.GEAR);
+        trajectory.add(dampedOscillator.outputState());
+        for (int i = 1; i < states; i++) {
+            if (i % STEPS_PER_RUN == 0) {
+                dampedOscillator = build(UpdateStrategyEnum.GEAR);
+            }
+            dampedOscillator.update();
+            trajectory.add(dampedOscillator.outputState());
+        }
+        return trajectory;
+    }
+}
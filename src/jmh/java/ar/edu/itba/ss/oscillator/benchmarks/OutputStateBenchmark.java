@@ -0,0 +1,52 @@
+package ar.edu.itba.ss.oscillator.benchmarks;
+
+import ar.edu.itba.ss.oscillator.models.DampedOscillator;
+import ar.edu.itba.ss.oscillator.models.UpdateStrategyEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of capturing the state of the oscillator (i.e {@link DampedOscillator#outputState()}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OutputStateBenchmark {
+
+    /**
+     * The oscillator whose state is captured.
+     */
+    private DampedOscillator dampedOscillator;
+
+    /**
+     * Builds the oscillator, and moves it away from its initial state.
+     */
+    @Setup
+    public void setup() {
+        this.dampedOscillator = OscillatorFactory.build(UpdateStrategyEnum.GEAR);
+        dampedOscillator.update();
+    }
+
+    /**
+     * Captures the actual state.
+     *
+     * @return The captured state.
+     */
+    @Benchmark
+    public DampedOscillator.DampedOscillatorState outputState() {
+        return dampedOscillator.outputState();
+    }
+}
@@ -0,0 +1,112 @@
+package ar.edu.itba.ss.oscillator.benchmarks;
+
+import ar.edu.itba.ss.g7.engine.io.DataSaver;
+import ar.edu.itba.ss.oscillator.io.MovementFileSaver;
+import ar.edu.itba.ss.oscillator.io.OvitoFileSaverImpl;
+import ar.edu.itba.ss.oscillator.models.DampedOscillator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long the savers take to save trajectories of several sizes.
+ * Files are written into a temporary directory, which is deleted afterwards.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaverBenchmark {
+
+    /**
+     * The amount of states in the saved trajectory.
+     */
+    @Param({"1000", "100000", "1000000"})
+    private int states;
+
+    /**
+     * The size of the buffers used by the savers (in characters).
+     */
+    @Param({"65536"})
+    private int bufferSize;
+
+    /**
+     * The trajectory to be saved.
+     */
+    private Queue<DampedOscillator.DampedOscillatorState> trajectory;
+
+    /**
+     * The directory where files are written.
+     */
+    private Path directory;
+
+    /**
+     * The saver for the ovito file.
+     */
+    private DataSaver<DampedOscillator.DampedOscillatorState> ovitoFileSaver;
+
+    /**
+     * The saver for the positions file.
+     */
+    private DataSaver<DampedOscillator.DampedOscillatorState> movementFileSaver;
+
+    /**
+     * Simulates the trajectory and builds the savers.
+     *
+     * @throws IOException If the temporary directory could not be created.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.trajectory = OscillatorFactory.trajectory(states);
+        this.directory = Files.createTempDirectory("oscillator-benchmarks");
+        this.ovitoFileSaver = new OvitoFileSaverImpl(directory.resolve("ovito.xyz").toString(), bufferSize,
+                "0 0, 100 0, -100 0", 1);
+        this.movementFileSaver = new MovementFileSaver(directory.resolve("movement.m").toString(), bufferSize);
+    }
+
+    /**
+     * Deletes the written files.
+     *
+     * @throws IOException If any file could not be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(directory.resolve("ovito.xyz"));
+        Files.deleteIfExists(directory.resolve("movement.m"));
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * Saves the trajectory in the ovito file.
+     */
+    @Benchmark
+    public void ovito() {
+        ovitoFileSaver.save(trajectory);
+    }
+
+    /**
+     * Saves the trajectory in the positions file.
+     */
+    @Benchmark
+    public void movement() {
+        movementFileSaver.save(trajectory);
+    }
+}
@@ -0,0 +1,121 @@
+package ar.edu.itba.ss.oscillator.benchmarks;
+
+import ar.edu.itba.ss.g7.engine.simulation.SimulationEngine;
+import ar.edu.itba.ss.oscillator.models.DampedOscillator;
+import ar.edu.itba.ss.oscillator.models.FusedStepper;
+import ar.edu.itba.ss.oscillator.models.SamplingModeEnum;
+import ar.edu.itba.ss.oscillator.models.UpdateStrategyEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the loop of the {@link SimulationEngine} (i.e checking the elapsed time after each step,
+ * and capturing every state into a linked list) against the counted loop of the {@link FusedStepper},
+ * over a default run keeping every state, and keeping one state every thousand steps.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationLoopBenchmark {
+
+    /**
+     * Epsilon used by the engine's loop to compare times.
+     */
+    private static final double EPSILON = Math.pow(10, -12);
+
+    /**
+     * The amount of steps between two kept states when sampling.
+     */
+    private static final long STRIDE = 1000;
+
+    /**
+     * Simulates a default run with the engine, keeping every state.
+     *
+     * @return The kept states.
+     */
+    @Benchmark
+    public Queue<DampedOscillator.DampedOscillatorState> engine() {
+        final SimulationEngine<DampedOscillator.DampedOscillatorState, DampedOscillator> engine =
+                new SimulationEngine<>(OscillatorFactory.buildRun(UpdateStrategyEnum.GEAR));
+        engine.initialize();
+        engine.simulate(oscillator -> oscillator.getTotalTime() - oscillator.getActualTime() <= EPSILON);
+        return engine.getResults();
+    }
+
+    /**
+     * Simulates a default run with the {@link FusedStepper}, keeping every state.
+     *
+     * @return The kept states.
+     * @throws IOException Never, as states are kept in memory.
+     */
+    @Benchmark
+    public Queue<DampedOscillator.DampedOscillatorState> fused() throws IOException {
+        return fused(SamplingModeEnum.ALL);
+    }
+
+    /**
+     * Simulates a default run with the engine's time check, keeping one state every {@link #STRIDE} steps.
+     *
+     * @return The kept states.
+     */
+    @Benchmark
+    public Queue<DampedOscillator.DampedOscillatorState> timedStride() {
+        final DampedOscillator dampedOscillator = OscillatorFactory.buildRun(UpdateStrategyEnum.GEAR);
+        final Queue<DampedOscillator.DampedOscillatorState> states = new ArrayDeque<>();
+        dampedOscillator.restart();
+        states.add(dampedOscillator.outputState());
+        long step = 0;
+        while (dampedOscillator.getTotalTime() - dampedOscillator.getActualTime() > EPSILON) {
+            dampedOscillator.update();
+            if (++step % STRIDE == 0) {
+                states.add(dampedOscillator.outputState());
+            }
+        }
+        return states;
+    }
+
+    /**
+     * Simulates a default run with the {@link FusedStepper}, keeping one state every {@link #STRIDE} steps.
+     *
+     * @return The kept states.
+     * @throws IOException Never, as states are kept in memory.
+     */
+    @Benchmark
+    public Queue<DampedOscillator.DampedOscillatorState> fusedStride() throws IOException {
+        return fused(SamplingModeEnum.STRIDE);
+    }
+
+    /**
+     * Simulates a default run with the {@link FusedStepper}.
+     *
+     * @param samplingMode The {@link SamplingModeEnum} that indicates which states are kept.
+     * @return The kept states.
+     * @throws IOException Never, as states are kept in memory.
+     */
+    private static Queue<DampedOscillator.DampedOscillatorState> fused(SamplingModeEnum samplingMode)
+            throws IOException {
+        final DampedOscillator dampedOscillator = OscillatorFactory.buildRun(UpdateStrategyEnum.GEAR);
+        final FusedStepper stepper = new FusedStepper(dampedOscillator, samplingMode.getSamplerInstance(STRIDE, 0d));
+        final Queue<DampedOscillator.DampedOscillatorState> states =
+                new ArrayDeque<>((int) dampedOscillator.getTotalSteps() + 1);
+        final FusedStepper.SampleHook hook = system -> states.add(system.outputState());
+        stepper.start(hook);
+        stepper.finish(hook);
+        return states;
+    }
+}
@@ -0,0 +1,71 @@
+package ar.edu.itba.ss.oscillator.benchmarks;
+
+import ar.edu.itba.ss.oscillator.models.DampedOscillator;
+import ar.edu.itba.ss.oscillator.models.UpdateStrategyEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of one step of each {@link UpdateStrategyEnum}.
+ * The oscillator is rebuilt every {@link OscillatorFactory#STEPS_PER_RUN} steps, as a real simulation does,
+ * so the measured values do not decay into subnormal numbers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpdaterBenchmark {
+
+    /**
+     * The strategy being measured.
+     */
+    @Param({"VERLET", "VERLET_TRICK", "BEEMAN", "GEAR", "ANALYTIC", "DORMAND_PRINCE", "RUNGE_KUTTA_4", "VELOCITY_VERLET",
+            "FOREST_RUTH"})
+    private UpdateStrategyEnum strategy;
+
+    /**
+     * The oscillator being updated.
+     */
+    private DampedOscillator dampedOscillator;
+
+    /**
+     * The amount of steps performed by the actual oscillator.
+     */
+    private long steps;
+
+    /**
+     * Builds the oscillator.
+     */
+    @Setup
+    public void setup() {
+        this.dampedOscillator = OscillatorFactory.build(strategy);
+        this.steps = 0;
+    }
+
+    /**
+     * Performs one step.
+     *
+     * @return The resulting position (i.e so the step is not optimized away).
+     */
+    @Benchmark
+    public double update() {
+        if (++steps == OscillatorFactory.STEPS_PER_RUN) {
+            setup();
+        }
+        dampedOscillator.update();
+        return dampedOscillator.getParticle().getPositionX();
+    }
+}
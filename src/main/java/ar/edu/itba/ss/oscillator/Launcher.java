@@ -0,0 +1,209 @@
+package ar.edu.itba.ss.oscillator;
+
+import ar.edu.itba.ss.oscillator.io.BinaryTrajectoryFileSaver;
+import ar.edu.itba.ss.oscillator.io.CheckpointManager;
+import ar.edu.itba.ss.oscillator.io.CommandLineProperties;
+import ar.edu.itba.ss.oscillator.io.MovementFileSaver;
+import ar.edu.itba.ss.oscillator.io.OvitoFileSaverImpl;
+import ar.edu.itba.ss.oscillator.io.ProgramArguments;
+import ar.edu.itba.ss.oscillator.io.StreamingDataSaver;
+import ar.edu.itba.ss.oscillator.io.TrajectoryCache;
+import ar.edu.itba.ss.oscillator.models.DampedOscillator;
+import ar.edu.itba.ss.oscillator.models.ForceModelEnum;
+import ar.edu.itba.ss.oscillator.models.SamplingModeEnum;
+import ar.edu.itba.ss.oscillator.models.UpdateStrategyEnum;
+import ar.edu.itba.ss.oscillator.runners.BatchRunner;
+import ar.edu.itba.ss.oscillator.runners.ChainRunner;
+import ar.edu.itba.ss.oscillator.runners.EnsembleRunner;
+import ar.edu.itba.ss.oscillator.runners.ExecutionModeEnum;
+import ar.edu.itba.ss.oscillator.runners.ModeRunner;
+import ar.edu.itba.ss.oscillator.runners.PararealRunner;
+import ar.edu.itba.ss.oscillator.runners.ServiceRunner;
+import ar.edu.itba.ss.oscillator.runners.SimulationRunner;
+import ar.edu.itba.ss.oscillator.runners.SweepRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lightweight entry point, which runs the program without starting Spring
+ * (i.e for scripted use with many short runs, whose time would be dominated by the framework's startup).
+ * It accepts the same {@code --custom.*} arguments as {@link Oscillator}, wiring the components by hand.
+ */
+public final class Launcher {
+
+    /**
+     * Private constructor, as this class must not be instantiated.
+     */
+    private Launcher() {
+    }
+
+    /**
+     * Builds the {@link ProgramArguments} from the given properties.
+     *
+     * @param properties The {@link CommandLineProperties} to be read.
+     * @return The built {@link ProgramArguments}.
+     */
+    private static ProgramArguments buildProgramArguments(CommandLineProperties properties) {
+        return new ProgramArguments(properties.getEnum("custom.mode", ExecutionModeEnum.class),
+                properties.getDouble("custom.system.particle-mass"),
+                properties.getDouble("custom.system.initial-x"),
+                properties.getDouble("custom.system.spring-constant"),
+                properties.getDouble("custom.system.viscous-damping-coefficient"),
+                properties.getEnum("custom.system.force-model", ForceModelEnum.class),
+                properties.getDouble("custom.system.cubic-spring-constant"),
+                properties.getDouble("custom.system.driving-amplitude"),
+                properties.getDouble("custom.system.driving-frequency"),
+                properties.getEnum("custom.simulation.strategy", UpdateStrategyEnum.class),
+                properties.getDouble("custom.simulation.time-step"),
+                properties.getDouble("custom.simulation.duration"),
+                properties.getDouble("custom.simulation.absolute-tolerance"),
+                properties.getDouble("custom.simulation.relative-tolerance"),
+                properties.getInt("custom.simulation.gear-order"));
+    }
+
+    /**
+     * Builds the {@link ModeRunner} for the {@link ExecutionModeEnum} in which the program runs.
+     *
+     * @param programArguments The execution arguments.
+     * @param properties       The {@link CommandLineProperties} to be read.
+     * @return The built {@link ModeRunner}.
+     */
+    private static ModeRunner buildModeRunner(ProgramArguments programArguments, CommandLineProperties properties) {
+        final ExecutionModeEnum executionMode = programArguments.getExecutionMode();
+        switch (executionMode) {
+            case SIMULATION:
+                return buildSimulationRunner(programArguments, properties);
+            case ENSEMBLE:
+                return new EnsembleRunner(programArguments,
+                        properties.getString("custom.ensemble.parameters", ""),
+                        properties.getString("custom.output.ensemble", ""),
+                        properties.getInt("custom.ensemble.chunk-size"),
+                        properties.getInt("custom.ensemble.parallelism"));
+            case SWEEP:
+                return new SweepRunner(programArguments,
+                        properties.getString("custom.sweep.strategies", ""),
+                        properties.getString("custom.sweep.time-steps", ""),
+                        properties.getInt("custom.sweep.parallelism"),
+                        properties.getString("custom.output.sweep", ""));
+            case CHAIN:
+                return new ChainRunner(programArguments,
+                        properties.getInt("custom.chain.size"),
+                        properties.getString("custom.output.chain", ""),
+                        properties.getInt("custom.chain.chunk-size"),
+                        properties.getInt("custom.chain.parallelism"));
+            case BATCH:
+                return new BatchRunner(programArguments,
+                        properties.getString("custom.batch.scenarios", ""),
+                        properties.getString("custom.output.batch", ""),
+                        properties.getInt("custom.batch.parallelism"),
+                        properties.getString("custom.cache.path", ""),
+                        properties.getLong("custom.cache.size"),
+                        properties.getInt("custom.output.buffer-size"),
+                        properties.getString("custom.output.ovito-boundary"),
+                        properties.getInt("custom.output.ovito-parallelism"),
+                        properties.getBoolean("custom.output.streaming"),
+                        properties.getInt("custom.output.snapshot-slots"),
+                        properties.getEnum("custom.output.sampling.mode", SamplingModeEnum.class),
+                        properties.getLong("custom.output.sampling.stride"),
+                        properties.getDouble("custom.output.sampling.interval"),
+                        properties.getString("custom.output.observers", ""));
+            case SERVICE:
+                return new ServiceRunner(programArguments,
+                        properties.getInt("custom.service.port"),
+                        properties.getLong("custom.service.cache-size"),
+                        properties.getLong("custom.service.max-response-size"),
+                        properties.getInt("custom.service.parallelism"),
+                        properties.getEnum("custom.output.sampling.mode", SamplingModeEnum.class),
+                        properties.getLong("custom.output.sampling.stride"),
+                        properties.getDouble("custom.output.sampling.interval"));
+            case PARAREAL:
+                return new PararealRunner(programArguments,
+                        properties.getInt("custom.parareal.slices"),
+                        properties.getEnum("custom.parareal.coarse-strategy", UpdateStrategyEnum.class),
+                        properties.getDouble("custom.parareal.coarse-time-step"),
+                        properties.getDouble("custom.parareal.tolerance"),
+                        properties.getInt("custom.parareal.max-iterations"),
+                        properties.getInt("custom.parareal.parallelism"),
+                        properties.getBoolean("custom.parareal.verify"),
+                        properties.getString("custom.output.parareal", ""));
+            default:
+                throw new IllegalStateException("No runner for mode " + executionMode);
+        }
+    }
+
+    /**
+     * Builds the {@link SimulationRunner}, together with its {@link CheckpointManager} and {@link TrajectoryCache}.
+     *
+     * @param programArguments The execution arguments.
+     * @param properties       The {@link CommandLineProperties} to be read.
+     * @return The built {@link SimulationRunner}.
+     */
+    private static SimulationRunner buildSimulationRunner(ProgramArguments programArguments,
+                                                          CommandLineProperties properties) {
+        final SamplingModeEnum samplingMode = properties.getEnum("custom.output.sampling.mode", SamplingModeEnum.class);
+        final long samplingStride = properties.getLong("custom.output.sampling.stride");
+        final double samplingInterval = properties.getDouble("custom.output.sampling.interval");
+        final CheckpointManager checkpointManager = new CheckpointManager(
+                properties.getString("custom.checkpoint.path", ""),
+                properties.getLong("custom.checkpoint.interval"),
+                properties.getBoolean("custom.checkpoint.resume"),
+                programArguments, samplingMode.name(), samplingStride, samplingInterval);
+        return new SimulationRunner(programArguments, () -> buildDataSavers(programArguments, properties),
+                properties.getBoolean("custom.output.streaming"), properties.getInt("custom.output.snapshot-slots"),
+                samplingMode, samplingStride, samplingInterval,
+                properties.getString("custom.output.observers", ""), checkpointManager,
+                new TrajectoryCache(properties.getString("custom.cache.path", ""),
+                        properties.getLong("custom.cache.size"), programArguments, samplingMode.name(),
+                        samplingStride, samplingInterval, properties.getString("custom.output.ovito-boundary"),
+                        properties.getString("custom.output.ovito", ""),
+                        properties.getString("custom.output.movement", ""),
+                        properties.getString("custom.output.binary", "")));
+    }
+
+    /**
+     * Builds the {@link StreamingDataSaver}s that will store the outputs (i.e ovito, positions, and binary if enabled).
+     *
+     * @param programArguments The execution arguments.
+     * @param properties       The {@link CommandLineProperties} to be read.
+     * @return The built {@link StreamingDataSaver}s.
+     */
+    private static List<StreamingDataSaver<DampedOscillator.DampedOscillatorState>> buildDataSavers(
+            ProgramArguments programArguments, CommandLineProperties properties) {
+        final int bufferSize = properties.getInt("custom.output.buffer-size");
+        final List<StreamingDataSaver<DampedOscillator.DampedOscillatorState>> savers = new ArrayList<>();
+        savers.add(new OvitoFileSaverImpl(properties.getString("custom.output.ovito"), bufferSize,
+                properties.getString("custom.output.ovito-boundary"),
+                properties.getInt("custom.output.ovito-parallelism")));
+        savers.add(new MovementFileSaver(properties.getString("custom.output.movement"), bufferSize));
+        final String binaryFilePath = properties.getString("custom.output.binary", "");
+        if (!binaryFilePath.isEmpty()) {
+            savers.add(new BinaryTrajectoryFileSaver(binaryFilePath, programArguments));
+        }
+        return savers;
+    }
+
+    /**
+     * Entry point.
+     *
+     * @param args Program arguments (i.e each of them formatted as {@code --name=value}).
+     */
+    public static void main(String[] args) {
+        // Logback's basic configuration is used, as parsing a configuration file takes longer than a short run
+        final Logger logger = LoggerFactory.getLogger(Launcher.class);
+        try {
+            final CommandLineProperties properties = CommandLineProperties.load(args);
+            final ProgramArguments programArguments = buildProgramArguments(properties);
+            final ModeRunner modeRunner = buildModeRunner(programArguments, properties);
+            logger.info("Hello, Oscillator!");
+            modeRunner.run();
+            logger.info("Bye-bye!");
+        } catch (Exception e) {
+            logger.error("Execution failed", e);
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+}
@@ -1,24 +1,38 @@
 package ar.edu.itba.ss.oscillator;
 
 import ar.edu.itba.ss.g7.engine.io.DataSaver;
-import ar.edu.itba.ss.g7.engine.simulation.SimulationEngine;
+import ar.edu.itba.ss.oscillator.io.BinaryTrajectoryFileSaver;
+import ar.edu.itba.ss.oscillator.io.CheckpointManager;
+import ar.edu.itba.ss.oscillator.io.MovementFileSaver;
+import ar.edu.itba.ss.oscillator.io.OvitoFileSaverImpl;
 import ar.edu.itba.ss.oscillator.io.ProgramArguments;
+import ar.edu.itba.ss.oscillator.io.StreamingDataSaver;
+import ar.edu.itba.ss.oscillator.io.TrajectoryCache;
 import ar.edu.itba.ss.oscillator.models.DampedOscillator;
-import ar.edu.itba.ss.oscillator.models.UpdateStrategyEnum;
+import ar.edu.itba.ss.oscillator.models.ObserverEnum;
+import ar.edu.itba.ss.oscillator.models.SamplingModeEnum;
+import ar.edu.itba.ss.oscillator.runners.ExecutionModeEnum;
+import ar.edu.itba.ss.oscillator.runners.ModeRunner;
+import ar.edu.itba.ss.oscillator.runners.SimulationRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * Main class.
+ * See {@link Launcher} for an entry point that does not start Spring.
  */
 @SpringBootApplication
-public class Oscillator implements CommandLineRunner, InitializingBean {
+public class Oscillator implements CommandLineRunner {
 
     /**
      * The {@link Logger} object.
@@ -26,89 +40,84 @@ public class Oscillator implements CommandLineRunner, InitializingBean {
     private static final Logger LOGGER = LoggerFactory.getLogger(Oscillator.class);
 
     /**
-     * Epsilon to be used to compare times.
-     */
-    private static final double EPSILON = Math.pow(10, -12);
-
-    /**
-     * The {@link DataSaver} for the ovito file.
-     */
-    private final DataSaver<DampedOscillator.DampedOscillatorState> ovitoFileSaver;
-
-    /**
-     * The {@link DataSaver} that will store the positions.
+     * The {@link ExecutionModeEnum} in which the program runs.
      */
-    private final DataSaver<DampedOscillator.DampedOscillatorState> movementFileSaver;
+    private final ExecutionModeEnum executionMode;
 
     /**
-     * The simulation engine.
+     * The {@link ModeRunner}s (i.e including the {@link SimulationRunner} when simulating).
      */
-    private final SimulationEngine<DampedOscillator.DampedOscillatorState, DampedOscillator> engine;
+    private final List<ModeRunner> modeRunners;
 
     /**
      * Constructor.
      *
      * @param programArguments  The execution arguments.
-     * @param ovitoFileSaver    The {@link DataSaver} for the ovito file.
-     * @param movementFileSaver The {@link DataSaver} that will store the positions.
+     * @param ovitoFileSaver    Provides the {@link DataSaver} for the ovito file.
+     * @param movementFileSaver Provides the {@link DataSaver} that will store the positions.
+     * @param binaryFileSaver   Provides the {@link DataSaver} that will store the binary trajectory.
+     * @param binaryFilePath    The path of the binary trajectory file (i.e empty if it must not be saved).
+     * @param modeRunners       The {@link ModeRunner}s for the modes other than {@link ExecutionModeEnum#SIMULATION}.
+     * @param streaming         Indicates whether states must be saved as they are produced,
+     *                          instead of after the whole simulation.
+     * @param snapshotSlots     The amount of slots of the ring that holds streamed states until they are saved
+     *                          (i.e non positive values mean states are handed to the savers one by one).
+     * @param samplingMode      The {@link SamplingModeEnum} that indicates which states are saved.
+     * @param samplingStride    The amount of steps between two saved states (used when sampling by stride).
+     * @param samplingInterval  The simulated time between two saved states (used when sampling by interval).
+     * @param observers         The comma separated {@link ObserverEnum}s to be attached to the simulated system
+     *                          (i.e none if empty).
+     * @param checkpointManager The {@link CheckpointManager} that writes and restores checkpoints
+     *                          of streamed simulations.
+     * @param trajectoryCache   The {@link TrajectoryCache} from where outputs are restored,
+     *                          and where they are stored once saved.
      */
     @Autowired
     public Oscillator(ProgramArguments programArguments,
-                      @Qualifier("ovitoFileSaverImpl")
-                              DataSaver<DampedOscillator.DampedOscillatorState> ovitoFileSaver,
-                      @Qualifier("movementFileSaver")
-                              DataSaver<DampedOscillator.DampedOscillatorState> movementFileSaver) {
-        final double mass = programArguments.getParticleMass();
-        final double initialX = programArguments.getInitialXPosition();
-        final double springConstant = programArguments.getSpringConstant();
-        final double viscousDampingConstant = programArguments.getViscousDampingCoefficient();
-        final UpdateStrategyEnum updaterEnum = programArguments.getUpdateStrategyEnum();
-        final double step = programArguments.getTimeStep();
-        final double time = programArguments.getTotalTime();
-
-        final DampedOscillator dampedOscillator =
-                new DampedOscillator(mass, initialX, springConstant, viscousDampingConstant, updaterEnum, step, time);
-
-        this.engine = new SimulationEngine<>(dampedOscillator);
-        this.ovitoFileSaver = ovitoFileSaver;
-        this.movementFileSaver = movementFileSaver;
-    }
-
-    @Override
-    public void afterPropertiesSet() throws Exception {
-        this.engine.initialize();
+                      ObjectProvider<OvitoFileSaverImpl> ovitoFileSaver,
+                      ObjectProvider<MovementFileSaver> movementFileSaver,
+                      ObjectProvider<BinaryTrajectoryFileSaver> binaryFileSaver,
+                      @Value("${custom.output.binary:}") String binaryFilePath,
+                      List<ModeRunner> modeRunners,
+                      @Value("${custom.output.streaming}") boolean streaming,
+                      @Value("${custom.output.snapshot-slots}") int snapshotSlots,
+                      @Value("${custom.output.sampling.mode}") SamplingModeEnum samplingMode,
+                      @Value("${custom.output.sampling.stride}") long samplingStride,
+                      @Value("${custom.output.sampling.interval}") double samplingInterval,
+                      @Value("${custom.output.observers:}") String observers,
+                      CheckpointManager checkpointManager,
+                      TrajectoryCache trajectoryCache) {
+        this.executionMode = programArguments.getExecutionMode();
+        this.modeRunners = new ArrayList<>(modeRunners);
+        if (executionMode == ExecutionModeEnum.SIMULATION) {
+            // Savers are resolved once they are needed, as other modes do not use them (and might lack their arguments)
+            final List<ObjectProvider<? extends StreamingDataSaver<DampedOscillator.DampedOscillatorState>>>
+                    dataSaverProviders = new ArrayList<>();
+            dataSaverProviders.add(ovitoFileSaver);
+            dataSaverProviders.add(movementFileSaver);
+            if (!binaryFilePath.isEmpty()) {
+                dataSaverProviders.add(binaryFileSaver);
+            }
+            // They must be resolved once, and then called directly, as each call to a lazy proxy resolves it again
+            this.modeRunners.add(new SimulationRunner(programArguments,
+                    () -> dataSaverProviders.stream().map(ObjectProvider::getObject).collect(Collectors.toList()),
+                    streaming, snapshotSlots, samplingMode, samplingStride, samplingInterval, observers,
+                    checkpointManager, trajectoryCache));
+        }
     }
 
     @Override
     public void run(String... args) throws Exception {
         LOGGER.info("Hello, Oscillator!");
-        // First, simulate
-        simulate();
-        // Then, save
-        save();
+        modeRunners.stream()
+                .filter(runner -> runner.getMode() == executionMode)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No runner for mode " + executionMode))
+                .run();
         LOGGER.info("Bye-bye!");
         System.exit(0);
     }
 
-    /**
-     * Performs the simulation phase of the program.
-     */
-    private void simulate() {
-        LOGGER.info("Starting simulation...");
-        engine.simulate(oscillator -> oscillator.getTotalTime() - oscillator.getActualTime() <= EPSILON);
-        LOGGER.info("Finished simulation");
-    }
-
-    /**
-     * Performs the save phase of the program.
-     */
-    private void save() {
-        LOGGER.info("Saving outputs...");
-        ovitoFileSaver.save(engine.getResults());
-        movementFileSaver.save(engine.getResults());
-        LOGGER.info("Finished saving output in all formats.");
-    }
-
     /**
      * Entry point.
      *
@@ -0,0 +1,197 @@
+package ar.edu.itba.ss.oscillator.io;
+
+import ar.edu.itba.ss.oscillator.models.UpdateStrategyEnum;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Writes the manifest of a batch into a CSV file, one line per scenario.
+ * Each line is written (and flushed) as soon as its scenario finishes, so an interrupted batch still leaves
+ * the manifest of the finished scenarios.
+ */
+public class BatchManifestWriter implements Closeable {
+
+    /**
+     * The {@link Writer} of the file.
+     */
+    private final Writer writer;
+
+    /**
+     * Constructor, which creates the file and writes its header.
+     *
+     * @param filePath The path of the file to be written.
+     * @throws IOException If the file could not be written.
+     */
+    public BatchManifestWriter(String filePath) throws IOException {
+        this.writer = Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8);
+        writer.append("index,id,status,strategy,time-step,steps,elapsed-ms,message\n");
+        writer.flush();
+    }
+
+    /**
+     * Writes the given entry.
+     *
+     * @param entry The {@link Entry} to be written.
+     * @throws IOException If the file could not be written.
+     */
+    public void write(Entry entry) throws IOException {
+        writer.append(Integer.toString(entry.getIndex())).append(",")
+                .append(quote(entry.getId())).append(",")
+                .append(entry.isSucceeded() ? "OK" : "FAILED").append(",")
+                .append(entry.getStrategy().name()).append(",")
+                .append(Double.toString(entry.getTimeStep())).append(",")
+                .append(Long.toString(entry.getSteps())).append(",")
+                .append(Long.toString(entry.getElapsedMillis())).append(",")
+                .append(quote(entry.getMessage())).append("\n");
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * Quotes the given value if it holds commas, quotes or line breaks (i.e as defined by RFC 4180).
+     *
+     * @param value The value to be quoted.
+     * @return The quoted value.
+     */
+    private static String quote(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * The outcome of one scenario of the batch.
+     */
+    public static final class Entry {
+
+        /**
+         * The position of the scenario in the scenarios file (i.e starting from zero).
+         */
+        private final int index;
+
+        /**
+         * The identifier of the scenario.
+         */
+        private final String id;
+
+        /**
+         * Indicates whether the scenario was simulated and saved without errors.
+         */
+        private final boolean succeeded;
+
+        /**
+         * The {@link UpdateStrategyEnum} used.
+         */
+        private final UpdateStrategyEnum strategy;
+
+        /**
+         * The time step used.
+         */
+        private final double timeStep;
+
+        /**
+         * The amount of steps of the scenario.
+         */
+        private final long steps;
+
+        /**
+         * The time it took to run the scenario (in milliseconds).
+         */
+        private final long elapsedMillis;
+
+        /**
+         * The error that made the scenario fail (i.e empty if it succeeded).
+         */
+        private final String message;
+
+        /**
+         * Constructor.
+         *
+         * @param index         The position of the scenario in the scenarios file (i.e starting from zero).
+         * @param id            The identifier of the scenario.
+         * @param succeeded     Indicates whether the scenario was simulated and saved without errors.
+         * @param strategy      The {@link UpdateStrategyEnum} used.
+         * @param timeStep      The time step used.
+         * @param steps         The amount of steps of the scenario.
+         * @param elapsedMillis The time it took to run the scenario (in milliseconds).
+         * @param message       The error that made the scenario fail (i.e empty if it succeeded).
+         */
+        public Entry(final int index, String id, final boolean succeeded, UpdateStrategyEnum strategy,
+                     final double timeStep, final long steps, final long elapsedMillis, String message) {
+            this.index = index;
+            this.id = id;
+            this.succeeded = succeeded;
+            this.strategy = strategy;
+            this.timeStep = timeStep;
+            this.steps = steps;
+            this.elapsedMillis = elapsedMillis;
+            this.message = message;
+        }
+
+        /**
+         * @return The position of the scenario in the scenarios file (i.e starting from zero).
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return The identifier of the scenario.
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * @return {@code true} if the scenario was simulated and saved without errors, or {@code false} otherwise.
+         */
+        public boolean isSucceeded() {
+            return succeeded;
+        }
+
+        /**
+         * @return The {@link UpdateStrategyEnum} used.
+         */
+        public UpdateStrategyEnum getStrategy() {
+            return strategy;
+        }
+
+        /**
+         * @return The time step used.
+         */
+        public double getTimeStep() {
+            return timeStep;
+        }
+
+        /**
+         * @return The amount of steps of the scenario.
+         */
+        public long getSteps() {
+            return steps;
+        }
+
+        /**
+         * @return The time it took to run the scenario (in milliseconds).
+         */
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        /**
+         * @return The error that made the scenario fail (i.e empty if it succeeded).
+         */
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package ar.edu.itba.ss.oscillator.io;
+
+import ar.edu.itba.ss.oscillator.models.DampedOscillator;
+import ar.edu.itba.ss.oscillator.models.Particle;
+import ar.edu.itba.ss.oscillator.models.StateSnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+
+/**
+ * {@link StreamingDataSaver} that saves the trajectory in the binary columnar format described in
+ * {@link BinaryTrajectoryFormat}, to be read with a {@link BinaryTrajectoryReader}.
+ * Each block is filled in a direct buffer, and written to a {@link FileChannel} once full.
+ */
+@Component
+@Lazy
+public class BinaryTrajectoryFileSaver implements SnapshotSaver {
+
+    /**
+     * The path of the file to be written.
+     */
+    private final String filePath;
+
+    /**
+     * The execution arguments (i.e saved in the header).
+     */
+    private final ProgramArguments programArguments;
+
+    /**
+     * The amount of rows per block.
+     */
+    private final int blockRows;
+
+    /**
+     * The {@link FileChannel} being written (i.e {@code null} if not opened).
+     */
+    private FileChannel channel;
+
+    /**
+     * The buffer holding the block being filled.
+     */
+    private ByteBuffer block;
+
+    /**
+     * The amount of rows in the block being filled.
+     */
+    private int blockRow;
+
+    /**
+     * The amount of saved rows.
+     */
+    private long rows;
+
+    /**
+     * Constructor, using {@link BinaryTrajectoryFormat#DEFAULT_BLOCK_ROWS} rows per block.
+     *
+     * @param filePath         The path of the file to be written.
+     * @param programArguments The execution arguments (i.e saved in the header).
+     */
+    @Autowired
+    public BinaryTrajectoryFileSaver(@Value("${custom.output.binary:}") String filePath,
+                                     ProgramArguments programArguments) {
+        this(filePath, programArguments, BinaryTrajectoryFormat.DEFAULT_BLOCK_ROWS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param filePath         The path of the file to be written.
+     * @param programArguments The execution arguments (i.e saved in the header).
+     * @param blockRows        The amount of rows per block.
+     */
+    public BinaryTrajectoryFileSaver(String filePath, ProgramArguments programArguments, int blockRows) {
+        if (blockRows <= 0) {
+            throw new IllegalArgumentException("The amount of rows per block must be positive");
+        }
+        this.filePath = filePath;
+        this.programArguments = programArguments;
+        this.blockRows = blockRows;
+    }
+
+    @Override
+    public void save(Queue<DampedOscillator.DampedOscillatorState> queue) {
+        try {
+            open();
+            try {
+                for (DampedOscillator.DampedOscillatorState state : queue) {
+                    append(state);
+                }
+            } finally {
+                close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not save the binary trajectory file", e);
+        }
+    }
+
+    @Override
+    public void open() throws IOException {
+        if (channel != null) {
+            throw new IllegalStateException("Already opened");
+        }
+        this.channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.block = ByteBuffer.allocateDirect((int) BinaryTrajectoryFormat.blockBytes(blockRows))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        this.blockRow = 0;
+        this.rows = 0;
+        writeHeader();
+    }
+
+    @Override
+    public void checkpoint(DataOutput output) throws IOException {
+        if (channel == null) {
+            throw new IllegalStateException("Not opened");
+        }
+        // Write the partially filled block (it is overwritten once full), and the amount of rows,
+        // so the file can be read even if the simulation is interrupted
+        if (blockRow > 0) {
+            writeBlock(rows / blockRows);
+        }
+        writeRows();
+        output.writeInt(blockRows);
+        output.writeLong(rows);
+    }
+
+    @Override
+    public void resume(DataInput input) throws IOException {
+        if (channel != null) {
+            throw new IllegalStateException("Already opened");
+        }
+        final int checkpointedBlockRows = input.readInt();
+        if (checkpointedBlockRows != blockRows) {
+            throw new IOException("The checkpoint was written with " + checkpointedBlockRows
+                    + " rows per block, but " + blockRows + " are used");
+        }
+        final long checkpointedRows = input.readLong();
+        final long blockBytes = BinaryTrajectoryFormat.blockBytes(blockRows);
+        final long blocks = (checkpointedRows + blockRows - 1) / blockRows;
+        this.channel = CheckpointManager.openTruncated(Paths.get(filePath),
+                BinaryTrajectoryFormat.HEADER_BYTES + blocks * blockBytes);
+        this.block = ByteBuffer.allocateDirect((int) blockBytes).order(ByteOrder.LITTLE_ENDIAN);
+        this.blockRow = (int) (checkpointedRows % blockRows);
+        this.rows = checkpointedRows;
+        if (blockRow > 0) {
+            // Continue filling the partially filled block
+            final long position = BinaryTrajectoryFormat.HEADER_BYTES + (blocks - 1) * blockBytes;
+            while (block.hasRemaining()) {
+                if (channel.read(block, position + block.position()) < 0) {
+                    throw new IOException("The binary trajectory file is shorter than the checkpoint");
+                }
+            }
+            ((Buffer) block).clear();
+        }
+    }
+
+    @Override
+    public void append(DampedOscillator.DampedOscillatorState state) throws IOException {
+        final Particle.ParticleState particle = state.getParticleState();
+        appendRow(state.getTime(), particle.getPositionX(), particle.getPositionY(), particle.getVelocityX(),
+                particle.getVelocityY(), particle.getAccelerationX(), particle.getAccelerationY());
+    }
+
+    @Override
+    public void append(StateSnapshot snapshot) throws IOException {
+        appendRow(snapshot.getTime(), snapshot.getPositionX(), snapshot.getPositionY(), snapshot.getVelocityX(),
+                snapshot.getVelocityY(), snapshot.getAccelerationX(), snapshot.getAccelerationY());
+    }
+
+    /**
+     * Writes a row with the given values into the block, flushing it once full.
+     *
+     * @param time          The simulated time.
+     * @param positionX     The 'x' component of the particle's position.
+     * @param positionY     The 'y' component of the particle's position.
+     * @param velocityX     The 'x' component of the particle's velocity.
+     * @param velocityY     The 'y' component of the particle's velocity.
+     * @param accelerationX The 'x' component of the particle's acceleration.
+     * @param accelerationY The 'y' component of the particle's acceleration.
+     * @throws IOException If any I/O error occurs while flushing the block.
+     */
+    private void appendRow(final double time, final double positionX, final double positionY,
+                           final double velocityX, final double velocityY,
+                           final double accelerationX, final double accelerationY) throws IOException {
+        if (channel == null) {
+            throw new IllegalStateException("Not opened");
+        }
+        final int columnBytes = blockRows * Double.BYTES;
+        final int offset = blockRow * Double.BYTES;
+        block.putDouble(offset, time);
+        block.putDouble(columnBytes + offset, positionX);
+        block.putDouble(2 * columnBytes + offset, positionY);
+        block.putDouble(3 * columnBytes + offset, velocityX);
+        block.putDouble(4 * columnBytes + offset, velocityY);
+        block.putDouble(5 * columnBytes + offset, accelerationX);
+        block.putDouble(6 * columnBytes + offset, accelerationY);
+        rows++;
+        if (++blockRow == blockRows) {
+            flushBlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        try {
+            if (blockRow > 0) {
+                // Pad the last block, so all of them have the same size
+                final int columnBytes = blockRows * Double.BYTES;
+                for (int column = 0; column < BinaryTrajectoryFormat.COLUMNS; column++) {
+                    for (int row = blockRow; row < blockRows; row++) {
+                        block.putDouble(column * columnBytes + row * Double.BYTES, 0d);
+                    }
+                }
+                flushBlock();
+            }
+            writeRows();
+        } finally {
+            channel.close();
+            channel = null;
+            block = null;
+        }
+    }
+
+    /**
+     * Writes the header (with zero rows, as the amount is written when closing).
+     *
+     * @throws IOException If any I/O error occurs.
+     */
+    private void writeHeader() throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(BinaryTrajectoryFormat.HEADER_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        header.put(BinaryTrajectoryFormat.MAGIC)
+                .putInt(BinaryTrajectoryFormat.VERSION)
+                .putInt(blockRows)
+                .putLong(0L)
+                .putDouble(programArguments.getParticleMass())
+                .putDouble(programArguments.getInitialXPosition())
+                .putDouble(programArguments.getSpringConstant())
+                .putDouble(programArguments.getViscousDampingCoefficient())
+                .putDouble(programArguments.getTimeStep())
+                .putDouble(programArguments.getTotalTime());
+        final byte[] strategy = programArguments.getUpdateStrategyEnum().name().getBytes(StandardCharsets.US_ASCII);
+        header.put(strategy, 0, Math.min(strategy.length, BinaryTrajectoryFormat.STRATEGY_BYTES));
+        // Buffer methods are called through Buffer, so the class also links against Java 8 runtimes
+        ((Buffer) header).clear();
+        writeFully(header, 0L);
+    }
+
+    /**
+     * Writes the amount of saved rows in the header.
+     *
+     * @throws IOException If any I/O error occurs.
+     */
+    private void writeRows() throws IOException {
+        final ByteBuffer rowsBuffer = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        rowsBuffer.putLong(0, rows);
+        writeFully(rowsBuffer, BinaryTrajectoryFormat.ROWS_OFFSET);
+    }
+
+    /**
+     * Writes the block being filled at its position in the file, and starts a new one.
+     *
+     * @throws IOException If any I/O error occurs.
+     */
+    private void flushBlock() throws IOException {
+        writeBlock((rows - 1) / blockRows);
+        blockRow = 0;
+    }
+
+    /**
+     * Writes the block being filled at the given position in the file.
+     *
+     * @param blockIndex The index of the block in the file.
+     * @throws IOException If any I/O error occurs.
+     */
+    private void writeBlock(long blockIndex) throws IOException {
+        ((Buffer) block).clear();
+        writeFully(block, BinaryTrajectoryFormat.HEADER_BYTES + blockIndex * block.capacity());
+        ((Buffer) block).clear();
+    }
+
+    /**
+     * Writes all the remaining bytes of the given buffer at the given position of the file.
+     *
+     * @param buffer   The buffer to be written.
+     * @param position The position of the file where the buffer will be written.
+     * @throws IOException If any I/O error occurs.
+     */
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        long actualPosition = position;
+        while (buffer.hasRemaining()) {
+            actualPosition += channel.write(buffer, actualPosition);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ar.edu.itba.ss.oscillator.io;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Describes the layout of a binary trajectory file. All values are little-endian.
+ * <p>
+ * The file starts with a header of {@link #HEADER_BYTES} bytes, holding (in order) the {@link #MAGIC} bytes,
+ * the format version (int), the amount of rows per block (int), the amount of rows (long),
+ * the mass, the initial 'x', the spring constant, the viscous damping coefficient, the time step
+ * and the duration of the run (doubles), and the name of the strategy (as a zero padded ASCII field of
+ * {@link #STRATEGY_BYTES} bytes).
+ * <p>
+ * Rows are stored after the header in blocks of a fixed amount of rows. Each block holds one column after another
+ * (i.e time, 'x' and 'y' position, 'x' and 'y' velocity, and 'x' and 'y' acceleration), each column with one double
+ * per row. The last block is padded, so every block has the same size and any row can be located directly.
+ */
+/* package */ final class BinaryTrajectoryFormat {
+
+    /**
+     * The bytes that identify a binary trajectory file.
+     */
+    /* package */ static final byte[] MAGIC = "OSCTRAJ\0".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * The version of the format.
+     */
+    /* package */ static final int VERSION = 1;
+
+    /**
+     * The size of the header (in bytes).
+     */
+    /* package */ static final int HEADER_BYTES = 128;
+
+    /**
+     * The offset (in bytes) of the amount of rows in the header.
+     */
+    /* package */ static final int ROWS_OFFSET = 16;
+
+    /**
+     * The size (in bytes) of the strategy name field in the header.
+     */
+    /* package */ static final int STRATEGY_BYTES = 32;
+
+    /**
+     * The amount of columns in each block.
+     */
+    /* package */ static final int COLUMNS = 7;
+
+    /**
+     * The default amount of rows per block.
+     */
+    /* package */ static final int DEFAULT_BLOCK_ROWS = 4096;
+
+    /**
+     * Private constructor, as this class only holds constants.
+     */
+    private BinaryTrajectoryFormat() {
+    }
+
+    /**
+     * Calculates the size of a block.
+     *
+     * @param blockRows The amount of rows per block.
+     * @return The size (in bytes) of a block.
+     */
+    /* package */ static long blockBytes(final int blockRows) {
+        return (long) COLUMNS * blockRows * Double.BYTES;
+    }
+}
@@ -0,0 +1,329 @@
+package ar.edu.itba.ss.oscillator.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads a binary trajectory file (see {@link BinaryTrajectoryFormat}), written by a {@link BinaryTrajectoryFileSaver}.
+ * The file is memory-mapped, so any value of any row is read directly from the mapping, without parsing
+ * or copying the rest of the file.
+ */
+public class BinaryTrajectoryReader implements Closeable {
+
+    /**
+     * The maximum size (in bytes) of each mapped segment.
+     */
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    /**
+     * The {@link FileChannel} of the read file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The amount of rows per block.
+     */
+    private final int blockRows;
+
+    /**
+     * The amount of blocks in each mapped segment.
+     */
+    private final long blocksPerSegment;
+
+    /**
+     * The size (in bytes) of each column in a block.
+     */
+    private final long columnBytes;
+
+    /**
+     * The size (in bytes) of each block.
+     */
+    private final long blockBytes;
+
+    /**
+     * The amount of rows in the file.
+     */
+    private final long rows;
+
+    /**
+     * The mass of the simulated particle.
+     */
+    private final double mass;
+
+    /**
+     * The initial 'x' component of the position of the simulated particle.
+     */
+    private final double initialXPosition;
+
+    /**
+     * The spring constant of the simulated system.
+     */
+    private final double springConstant;
+
+    /**
+     * The viscous damping coefficient of the simulated system.
+     */
+    private final double viscousDampingCoefficient;
+
+    /**
+     * The time step of the simulation.
+     */
+    private final double timeStep;
+
+    /**
+     * The duration of the simulation.
+     */
+    private final double totalTime;
+
+    /**
+     * The name of the strategy used in the simulation.
+     */
+    private final String strategy;
+
+    /**
+     * The mapped segments of the file (i.e each one holds a whole amount of blocks).
+     */
+    private final MappedByteBuffer[] segments;
+
+    /**
+     * Constructor, which opens and maps the given file.
+     *
+     * @param path The path of the file to be read.
+     * @throws IOException If the file could not be read, or if it is not a binary trajectory file.
+     */
+    public BinaryTrajectoryReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            final ByteBuffer header = ByteBuffer.allocate(BinaryTrajectoryFormat.HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException(path + " is not a binary trajectory file");
+                }
+            }
+            ((Buffer) header).flip();
+            final byte[] magic = new byte[BinaryTrajectoryFormat.MAGIC.length];
+            header.get(magic);
+            if (!Arrays.equals(magic, BinaryTrajectoryFormat.MAGIC)) {
+                throw new IOException(path + " is not a binary trajectory file");
+            }
+            final int version = header.getInt();
+            if (version != BinaryTrajectoryFormat.VERSION) {
+                throw new IOException("Unsupported binary trajectory version " + version);
+            }
+            this.blockRows = header.getInt();
+            this.rows = header.getLong();
+            this.mass = header.getDouble();
+            this.initialXPosition = header.getDouble();
+            this.springConstant = header.getDouble();
+            this.viscousDampingCoefficient = header.getDouble();
+            this.timeStep = header.getDouble();
+            this.totalTime = header.getDouble();
+            final byte[] strategyBytes = new byte[BinaryTrajectoryFormat.STRATEGY_BYTES];
+            header.get(strategyBytes);
+            int length = 0;
+            while (length < strategyBytes.length && strategyBytes[length] != 0) {
+                length++;
+            }
+            this.strategy = new String(strategyBytes, 0, length, StandardCharsets.US_ASCII);
+
+            this.columnBytes = (long) blockRows * Double.BYTES;
+            this.blockBytes = BinaryTrajectoryFormat.blockBytes(blockRows);
+            this.blocksPerSegment = Math.max(1L, MAX_SEGMENT_BYTES / blockBytes);
+            final long blocks = (rows + blockRows - 1) / blockRows;
+            if (channel.size() < BinaryTrajectoryFormat.HEADER_BYTES + blocks * blockBytes) {
+                throw new IOException(path + " is truncated");
+            }
+            final int segmentsAmount = (int) ((blocks + blocksPerSegment - 1) / blocksPerSegment);
+            this.segments = new MappedByteBuffer[segmentsAmount];
+            for (int i = 0; i < segmentsAmount; i++) {
+                final long firstBlock = i * blocksPerSegment;
+                final long segmentBlocks = Math.min(blocksPerSegment, blocks - firstBlock);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        BinaryTrajectoryFormat.HEADER_BYTES + firstBlock * blockBytes, segmentBlocks * blockBytes);
+                segments[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The amount of rows (i.e saved steps) in the file.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return The mass of the simulated particle.
+     */
+    public double getMass() {
+        return mass;
+    }
+
+    /**
+     * @return The initial 'x' component of the position of the simulated particle.
+     */
+    public double getInitialXPosition() {
+        return initialXPosition;
+    }
+
+    /**
+     * @return The spring constant of the simulated system.
+     */
+    public double getSpringConstant() {
+        return springConstant;
+    }
+
+    /**
+     * @return The viscous damping coefficient of the simulated system.
+     */
+    public double getViscousDampingCoefficient() {
+        return viscousDampingCoefficient;
+    }
+
+    /**
+     * @return The time step of the simulation.
+     */
+    public double getTimeStep() {
+        return timeStep;
+    }
+
+    /**
+     * @return The duration of the simulation.
+     */
+    public double getTotalTime() {
+        return totalTime;
+    }
+
+    /**
+     * @return The name of the strategy used in the simulation.
+     */
+    public String getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Reads a value.
+     *
+     * @param column The {@link Column} to be read.
+     * @param row    The row to be read.
+     * @return The value of the given column in the given row.
+     * @throws IndexOutOfBoundsException If the row does not exist.
+     */
+    public double get(Column column, long row) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of [0, " + rows + ")");
+        }
+        final long block = row / blockRows;
+        final long offset = (block % blocksPerSegment) * blockBytes
+                + column.ordinal() * columnBytes + (row % blockRows) * Double.BYTES;
+        return segments[(int) (block / blocksPerSegment)].getDouble((int) offset);
+    }
+
+    /**
+     * @param row The row to be read.
+     * @return The time of the given row.
+     */
+    public double getTime(long row) {
+        return get(Column.TIME, row);
+    }
+
+    /**
+     * @param row The row to be read.
+     * @return The 'x' component of the position in the given row.
+     */
+    public double getPositionX(long row) {
+        return get(Column.POSITION_X, row);
+    }
+
+    /**
+     * @param row The row to be read.
+     * @return The 'y' component of the position in the given row.
+     */
+    public double getPositionY(long row) {
+        return get(Column.POSITION_Y, row);
+    }
+
+    /**
+     * @param row The row to be read.
+     * @return The 'x' component of the velocity in the given row.
+     */
+    public double getVelocityX(long row) {
+        return get(Column.VELOCITY_X, row);
+    }
+
+    /**
+     * @param row The row to be read.
+     * @return The 'y' component of the velocity in the given row.
+     */
+    public double getVelocityY(long row) {
+        return get(Column.VELOCITY_Y, row);
+    }
+
+    /**
+     * @param row The row to be read.
+     * @return The 'x' component of the acceleration in the given row.
+     */
+    public double getAccelerationX(long row) {
+        return get(Column.ACCELERATION_X, row);
+    }
+
+    /**
+     * @param row The row to be read.
+     * @return The 'y' component of the acceleration in the given row.
+     */
+    public double getAccelerationY(long row) {
+        return get(Column.ACCELERATION_Y, row);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * The columns of a binary trajectory file, in the order they are stored in each block.
+     */
+    public enum Column {
+        /**
+         * The simulated time.
+         */
+        TIME,
+        /**
+         * The 'x' component of the position.
+         */
+        POSITION_X,
+        /**
+         * The 'y' component of the position.
+         */
+        POSITION_Y,
+        /**
+         * The 'x' component of the velocity.
+         */
+        VELOCITY_X,
+        /**
+         * The 'y' component of the velocity.
+         */
+        VELOCITY_Y,
+        /**
+         * The 'x' component of the acceleration.
+         */
+        ACCELERATION_X,
+        /**
+         * The 'y' component of the acceleration.
+         */
+        ACCELERATION_Y
+    }
+}
@@ -0,0 +1,51 @@
+package ar.edu.itba.ss.oscillator.io;
+
+import ar.edu.itba.ss.oscillator.models.OscillatorChain;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Saves the actual state of each particle in an {@link OscillatorChain} into a CSV file.
+ */
+public class ChainFileSaver {
+
+    /**
+     * The path of the file to be written.
+     */
+    private final String filePath;
+
+    /**
+     * Constructor.
+     *
+     * @param filePath The path of the file to be written.
+     */
+    public ChainFileSaver(String filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * Saves the given chain.
+     *
+     * @param chain The {@link OscillatorChain} to be saved.
+     * @throws IOException If the file could not be written.
+     */
+    public void save(OscillatorChain chain) throws IOException {
+        final double[] positions = chain.getPositions();
+        final double[] velocities = chain.getVelocities();
+        final double[] accelerations = chain.getAccelerations();
+        try (Writer writer = Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8)) {
+            writer.append("# time = ").append(Double.toString(chain.getActualTime())).append("\n")
+                    .append("# index,x,vx,ax\n");
+            for (int i = 0; i < chain.size(); i++) {
+                writer.append(Integer.toString(i)).append(",")
+                        .append(Double.toString(positions[i])).append(",")
+                        .append(Double.toString(velocities[i])).append(",")
+                        .append(Double.toString(accelerations[i])).append("\n");
+            }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package ar.edu.itba.ss.oscillator.io;
+
+import ar.edu.itba.ss.oscillator.models.DampedOscillator;
+import ar.edu.itba.ss.oscillator.models.Sampler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Writes and restores the checkpoints of a streamed simulation, so an interrupted run can be resumed
+ * exactly where it was checkpointed (i.e producing the same outputs as an uninterrupted run).
+ * <p>
+ * A checkpoint holds the {@link #MAGIC} bytes, the format version, a description of the configuration
+ * (which must match when resuming), the checkpoint of the {@link DampedOscillator} (i.e including its updater's
+ * history), the one of the {@link Sampler}, and the one of each {@link StreamingDataSaver}.
+ * It is written into a temporary file that then replaces the previous checkpoint,
+ * so an interruption while checkpointing never leaves a partially written checkpoint.
+ */
+@Component
+public class CheckpointManager {
+
+    /**
+     * The {@link Logger} object.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(CheckpointManager.class);
+
+    /**
+     * The bytes that identify a checkpoint file.
+     */
+    private static final byte[] MAGIC = "OSCCKPT\0".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * The version of the checkpoint format.
+     */
+    private static final int VERSION = 3;
+
+    /**
+     * The path of the checkpoint file (i.e empty if checkpoints are disabled).
+     */
+    private final String filePath;
+
+    /**
+     * The amount of steps between two checkpoints.
+     */
+    private final long interval;
+
+    /**
+     * Indicates whether the simulation must be resumed from the checkpoint file, if it exists.
+     */
+    private final boolean resume;
+
+    /**
+     * A description of the configuration (i.e a checkpoint can only be resumed with the same one).
+     */
+    private final String configuration;
+
+    /**
+     * Constructor.
+     *
+     * @param filePath         The path of the checkpoint file (i.e empty if checkpoints are disabled).
+     * @param interval         The amount of steps between two checkpoints.
+     * @param resume           Indicates whether the simulation must be resumed from the checkpoint file,
+     *                         if it exists.
+     * @param programArguments The execution arguments.
+     * @param samplingMode     The sampling mode.
+     * @param samplingStride   The sampling stride.
+     * @param samplingInterval The sampling interval.
+     */
+    @Autowired
+    public CheckpointManager(@Value("${custom.checkpoint.path:}") final String filePath,
+                             @Value("${custom.checkpoint.interval}") final long interval,
+                             @Value("${custom.checkpoint.resume}") final boolean resume,
+                             ProgramArguments programArguments,
+                             @Value("${custom.output.sampling.mode}") final String samplingMode,
+                             @Value("${custom.output.sampling.stride}") final long samplingStride,
+                             @Value("${custom.output.sampling.interval}") final double samplingInterval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("The checkpoint interval must be positive");
+        }
+        this.filePath = filePath;
+        this.interval = interval;
+        this.resume = resume;
+        this.configuration = programArguments.describeSimulation()
+                + ", sampling=" + samplingMode + "/" + samplingStride + "/" + samplingInterval;
+    }
+
+    /**
+     * @return {@code true} if checkpoints must be written, or {@code false} otherwise.
+     */
+    public boolean isEnabled() {
+        return !filePath.isEmpty();
+    }
+
+    /**
+     * @return The amount of steps between two checkpoints.
+     */
+    public long getInterval() {
+        return interval;
+    }
+
+    /**
+     * @return {@code true} if the simulation must be resumed from an existing checkpoint,
+     * or {@code false} if it must start from the beginning.
+     */
+    public boolean mustResume() {
+        if (!resume) {
+            return false;
+        }
+        if (!isEnabled()) {
+            throw new IllegalStateException("custom.checkpoint.path must be set in order to resume");
+        }
+        if (!Files.exists(Paths.get(filePath))) {
+            LOGGER.warn("No checkpoint found at {}. Starting from the beginning.", filePath);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes a checkpoint. The savers must be opened, and are flushed.
+     *
+     * @param dampedOscillator The simulated {@link DampedOscillator}.
+     * @param sampler          The {@link Sampler} that decides which states are saved.
+     * @param savers           The {@link StreamingDataSaver}s that are saving the states.
+     * @throws IOException If any I/O error occurs.
+     */
+    public void save(DampedOscillator dampedOscillator, Sampler sampler, StreamingDataSaver<?>[] savers)
+            throws IOException {
+        final Path path = Paths.get(filePath).toAbsolutePath();
+        final Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream output =
+                     new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            output.write(MAGIC);
+            output.writeInt(VERSION);
+            output.writeUTF(configuration);
+            dampedOscillator.writeCheckpoint(output);
+            sampler.writeCheckpoint(output);
+            output.writeInt(savers.length);
+            for (StreamingDataSaver<?> saver : savers) {
+                saver.checkpoint(output);
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Restores the last checkpoint, resuming the savers (i.e they are opened, discarding anything written after
+     * the checkpoint).
+     *
+     * @param dampedOscillator The {@link DampedOscillator} to be restored (i.e built with the same configuration).
+     * @param sampler          The {@link Sampler} to be restored.
+     * @param savers           The {@link StreamingDataSaver}s to be resumed (i.e not opened).
+     * @throws IOException If any I/O error occurs, or if the checkpoint does not match the configuration.
+     */
+    public void restore(DampedOscillator dampedOscillator, Sampler sampler, StreamingDataSaver<?>[] savers)
+            throws IOException {
+        try (DataInputStream input =
+                     new DataInputStream(new BufferedInputStream(Files.newInputStream(Paths.get(filePath))))) {
+            final byte[] magic = new byte[MAGIC.length];
+            input.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException(filePath + " is not a checkpoint file");
+            }
+            final int version = input.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported checkpoint version " + version);
+            }
+            final String checkpointed = input.readUTF();
+            if (!checkpointed.equals(configuration)) {
+                throw new IOException("The checkpoint was written with a different configuration ("
+                        + checkpointed + ")");
+            }
+            dampedOscillator.readCheckpoint(input);
+            sampler.readCheckpoint(input);
+            final int checkpointedSavers = input.readInt();
+            if (checkpointedSavers != savers.length) {
+                throw new IOException("The checkpoint has " + checkpointedSavers + " outputs, but "
+                        + savers.length + " are enabled");
+            }
+            for (StreamingDataSaver<?> saver : savers) {
+                saver.resume(input);
+            }
+        }
+    }
+
+    /**
+     * Deletes the checkpoint file (i.e once the simulation finished, as there is nothing left to resume).
+     *
+     * @throws IOException If any I/O error occurs.
+     */
+    public void discard() throws IOException {
+        if (isEnabled()) {
+            Files.deleteIfExists(Paths.get(filePath));
+        }
+    }
+
+    /**
+     * Opens an existing file for writing, truncating it to the given length,
+     * and positioning the returned {@link FileChannel} at its end.
+     *
+     * @param path   The path of the file.
+     * @param length The length to which the file is truncated.
+     * @return The opened {@link FileChannel}.
+     * @throws IOException If any I/O error occurs, or if the file is shorter than the given length.
+     */
+    /* package */ static FileChannel openTruncated(Path path, long length) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < length) {
+                throw new IOException(path + " is shorter than when the checkpoint was written");
+            }
+            channel.truncate(length);
+            channel.position(length);
+            return channel;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package ar.edu.itba.ss.oscillator.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The configuration properties read without Spring (i.e used by the lightweight launcher).
+ * Defaults are taken from the first document of {@code application.yml} (i.e the profiles are not used),
+ * and are overridden by the {@code --name=value} program arguments, as Spring does.
+ * Names must be written exactly as in {@code application.yml} (i.e there is no relaxed binding).
+ * <p>
+ * Only the subset of YAML used by {@code application.yml} is supported (i.e nested mappings of scalars),
+ * as a YAML library would take longer to load than the whole simulation of a short run.
+ */
+public class CommandLineProperties {
+
+    /**
+     * The classpath resource holding the default configuration.
+     */
+    private static final String DEFAULTS_RESOURCE = "application.yml";
+
+    /**
+     * The line that separates two YAML documents.
+     */
+    private static final String DOCUMENT_SEPARATOR = "---";
+
+    /**
+     * The prefix of the program arguments that set a property.
+     */
+    private static final String OPTION_PREFIX = "--";
+
+    /**
+     * The properties, by name.
+     */
+    private final Map<String, String> properties;
+
+    /**
+     * Constructor.
+     *
+     * @param properties The properties, by name.
+     */
+    private CommandLineProperties(final Map<String, String> properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Loads the default configuration, overriding it with the given program arguments.
+     *
+     * @param args The program arguments (i.e each of them formatted as {@code --name=value}).
+     * @return The loaded {@link CommandLineProperties}.
+     * @throws IllegalArgumentException If any argument is not formatted as {@code --name=value}.
+     */
+    public static CommandLineProperties load(String... args) {
+        final Map<String, String> properties = new HashMap<>();
+        try (InputStream input = CommandLineProperties.class.getClassLoader().getResourceAsStream(DEFAULTS_RESOURCE)) {
+            if (input != null) {
+                readDefaults(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)), properties);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + DEFAULTS_RESOURCE, e);
+        }
+        for (String arg : args) {
+            final int separator = arg.indexOf('=');
+            if (!arg.startsWith(OPTION_PREFIX) || separator <= OPTION_PREFIX.length()) {
+                throw new IllegalArgumentException("Arguments must be formatted as --name=value, but got " + arg);
+            }
+            properties.put(arg.substring(OPTION_PREFIX.length(), separator), arg.substring(separator + 1));
+        }
+        return new CommandLineProperties(properties);
+    }
+
+    /**
+     * Reads the first document of the default configuration, naming each scalar with its path
+     * (i.e the keys of the enclosing mappings, joined with dots).
+     *
+     * @param reader     The {@link BufferedReader} from where the configuration will be read.
+     * @param properties The {@link Map} where the properties will be stored.
+     * @throws IOException           If any I/O error occurs.
+     * @throws IllegalStateException If any line is not part of the supported subset of YAML.
+     */
+    private static void readDefaults(BufferedReader reader, Map<String, String> properties) throws IOException {
+        // The indentation and path of each enclosing mapping
+        final Deque<Integer> indentations = new ArrayDeque<>();
+        final Deque<String> paths = new ArrayDeque<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            final String content = line.trim();
+            if (content.isEmpty() || content.startsWith("#")) {
+                continue;
+            }
+            if (content.equals(DOCUMENT_SEPARATOR)) {
+                return;
+            }
+            final int indentation = line.indexOf(content);
+            final int colon = content.indexOf(':');
+            if (colon <= 0 || content.startsWith("-") || (colon + 1 < content.length()
+                    && content.charAt(colon + 1) != ' ')) {
+                throw new IllegalStateException("Unsupported line in " + DEFAULTS_RESOURCE + ": " + line);
+            }
+            while (!indentations.isEmpty() && indentations.peek() >= indentation) {
+                indentations.pop();
+                paths.pop();
+            }
+            final String key = content.substring(0, colon).trim();
+            final String name = paths.isEmpty() ? key : paths.peek() + "." + key;
+            final String value = content.substring(colon + 1).trim();
+            if (value.isEmpty()) {
+                indentations.push(indentation);
+                paths.push(name);
+            } else {
+                properties.put(name, unquote(value));
+            }
+        }
+    }
+
+    /**
+     * Removes the quotes of the given YAML scalar, or its trailing comment if it is not quoted.
+     *
+     * @param value The scalar.
+     * @return The value of the scalar.
+     */
+    private static String unquote(String value) {
+        final char first = value.charAt(0);
+        if ((first == '"' || first == '\'') && value.length() > 1 && value.charAt(value.length() - 1) == first) {
+            return value.substring(1, value.length() - 1);
+        }
+        final int comment = value.indexOf(" #");
+        return comment < 0 ? value : value.substring(0, comment).trim();
+    }
+
+    /**
+     * Returns the value of the given property.
+     *
+     * @param name The name of the property.
+     * @return The value of the property.
+     * @throws IllegalArgumentException If the property is not set.
+     */
+    public String getString(String name) {
+        final String value = properties.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Could not resolve " + name);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the value of the given property, or the given default value if it is not set.
+     *
+     * @param name         The name of the property.
+     * @param defaultValue The value returned if the property is not set.
+     * @return The value of the property.
+     */
+    public String getString(String name, String defaultValue) {
+        return properties.getOrDefault(name, defaultValue);
+    }
+
+    /**
+     * @param name The name of the property.
+     * @return The value of the property, as an {@code int}.
+     * @throws IllegalArgumentException If the property is not set, or is not an {@code int}.
+     */
+    public int getInt(String name) {
+        return Integer.parseInt(getString(name).trim());
+    }
+
+    /**
+     * @param name The name of the property.
+     * @return The value of the property, as a {@code long}.
+     * @throws IllegalArgumentException If the property is not set, or is not a {@code long}.
+     */
+    public long getLong(String name) {
+        return Long.parseLong(getString(name).trim());
+    }
+
+    /**
+     * @param name The name of the property.
+     * @return The value of the property, as a {@code double}.
+     * @throws IllegalArgumentException If the property is not set, or is not a {@code double}.
+     */
+    public double getDouble(String name) {
+        return Double.parseDouble(getString(name).trim());
+    }
+
+    /**
+     * @param name The name of the property.
+     * @return The value of the property, as a {@code boolean}.
+     * @throws IllegalArgumentException If the property is not set, or is not a {@code boolean}.
+     */
+    public boolean getBoolean(String name) {
+        final String value = getString(name).trim();
+        if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+            throw new IllegalArgumentException(name + " must be true or false, but got " + value);
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    /**
+     * @param name     The name of the property.
+     * @param enumType The class of the enum.
+     * @param <E>      The type of the enum.
+     * @return The value of the property, as a constant of the given enum.
+     * @throws IllegalArgumentException If the property is not set, or is not a constant of the given enum.
+     */
+    public <E extends Enum<E>> E getEnum(String name, Class<E> enumType) {
+        return Enum.valueOf(enumType, getString(name).trim());
+    }
+}
@@ -0,0 +1,428 @@
+package ar.edu.itba.ss.oscillator.io;
+
+import java.math.BigInteger;
+
+/**
+ * Formats doubles into a char array, without allocating, using the shortest decimal representation
+ * that parses back to the same double (i.e Ulf Adams' Ryu algorithm).
+ * The layout is the one of {@link Double#toString(double)} (i.e plain notation in the {@code [1e-3, 1e7)} range,
+ * and computerized scientific notation otherwise), so both outputs are interchangeable.
+ * Instances are not thread safe, as they keep the digits of the value being formatted.
+ */
+/* package */ final class DoubleFormatter {
+
+    /**
+     * The maximum amount of chars a formatted double can take (e.g {@code -2.2250738585072014E-308}).
+     */
+    /* package */ static final int MAX_LENGTH = 24;
+
+    /**
+     * The amount of bits of the mantissa of a double.
+     */
+    private static final int MANTISSA_BITS = 52;
+
+    /**
+     * The amount of bits of the exponent of a double.
+     */
+    private static final int EXPONENT_BITS = 11;
+
+    /**
+     * The bias of the exponent of a double.
+     */
+    private static final int EXPONENT_BIAS = 1023;
+
+    /**
+     * The amount of bits of the entries of {@link #POW5_SPLIT}.
+     */
+    private static final int POW5_BITCOUNT = 125;
+
+    /**
+     * The amount of bits of the entries of {@link #POW5_INV_SPLIT}.
+     */
+    private static final int POW5_INV_BITCOUNT = 125;
+
+    /**
+     * The powers of five, normalized to {@link #POW5_BITCOUNT} bits (i.e low and high 64 bits of each one).
+     */
+    private static final long[][] POW5_SPLIT = new long[326][];
+
+    /**
+     * The inverses of the powers of five, scaled to {@link #POW5_INV_BITCOUNT} bits
+     * (i.e low and high 64 bits of each one).
+     */
+    private static final long[][] POW5_INV_SPLIT = new long[342][];
+
+    static {
+        final BigInteger mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        for (int i = 0; i < POW5_INV_SPLIT.length; i++) {
+            final BigInteger pow = BigInteger.valueOf(5).pow(i);
+            final int powLength = pow.bitLength();
+            if (i < POW5_SPLIT.length) {
+                final int shift = powLength - POW5_BITCOUNT;
+                final BigInteger split = shift >= 0 ? pow.shiftRight(shift) : pow.shiftLeft(-shift);
+                POW5_SPLIT[i] = new long[]{split.and(mask).longValue(), split.shiftRight(64).longValue()};
+            }
+            final BigInteger inverse = BigInteger.ONE.shiftLeft(powLength - 1 + POW5_INV_BITCOUNT)
+                    .divide(pow)
+                    .add(BigInteger.ONE);
+            POW5_INV_SPLIT[i] = new long[]{inverse.and(mask).longValue(), inverse.shiftRight(64).longValue()};
+        }
+    }
+
+    /**
+     * The shortest decimal digits of the value being formatted.
+     */
+    private long decimalDigits;
+
+    /**
+     * The decimal exponent of the value being formatted (i.e value = digits * 10^exponent).
+     */
+    private int decimalExponent;
+
+    /**
+     * Buffer used to format values that are written as bytes.
+     */
+    private final char[] scratch = new char[MAX_LENGTH];
+
+    /**
+     * Formats the given value into the given byte buffer, as ASCII.
+     * The buffer must have at least {@link #MAX_LENGTH} bytes available from the given offset.
+     *
+     * @param value  The value to be formatted.
+     * @param buffer The buffer where the value will be written.
+     * @param offset The position of the buffer where the value will be written.
+     * @return The position of the buffer after the written value.
+     */
+    /* package */ int format(final double value, final byte[] buffer, final int offset) {
+        final int length = format(value, scratch, 0);
+        for (int i = 0; i < length; i++) {
+            buffer[offset + i] = (byte) scratch[i];
+        }
+        return offset + length;
+    }
+
+    /**
+     * Formats the given value into the given buffer.
+     * The buffer must have at least {@link #MAX_LENGTH} chars available from the given offset.
+     *
+     * @param value  The value to be formatted.
+     * @param buffer The buffer where the value will be written.
+     * @param offset The position of the buffer where the value will be written.
+     * @return The position of the buffer after the written value.
+     */
+    /* package */ int format(final double value, final char[] buffer, final int offset) {
+        if (Double.isNaN(value)) {
+            return writeString("NaN", buffer, offset);
+        }
+        if (value == Double.POSITIVE_INFINITY) {
+            return writeString("Infinity", buffer, offset);
+        }
+        if (value == Double.NEGATIVE_INFINITY) {
+            return writeString("-Infinity", buffer, offset);
+        }
+        final long bits = Double.doubleToRawLongBits(value);
+        int position = offset;
+        if (bits < 0) {
+            buffer[position++] = '-';
+        }
+        final long ieeeMantissa = bits & ((1L << MANTISSA_BITS) - 1);
+        final int ieeeExponent = (int) ((bits >>> MANTISSA_BITS) & ((1L << EXPONENT_BITS) - 1));
+        if (ieeeExponent == 0 && ieeeMantissa == 0) {
+            return writeString("0.0", buffer, position);
+        }
+
+        // Calculate the shortest digits (i.e value = digits * 10^exponent)
+        toDecimal(ieeeMantissa, ieeeExponent);
+        final long digits = decimalDigits;
+        final int exponent = decimalExponent;
+        final int length = decimalLength(digits);
+        final int scientificExponent = exponent + length - 1;
+
+        final double absolute = Math.abs(value);
+        if (absolute >= 1e-3 && absolute < 1e7) {
+            if (scientificExponent < 0) {
+                // 0.000ddd
+                buffer[position++] = '0';
+                buffer[position++] = '.';
+                for (int i = -1; i > scientificExponent; i--) {
+                    buffer[position++] = '0';
+                }
+                return writeDigits(digits, length, buffer, position);
+            }
+            final int integerLength = scientificExponent + 1;
+            if (length <= integerLength) {
+                // ddd000.0
+                position = writeDigits(digits, length, buffer, position);
+                for (int i = length; i < integerLength; i++) {
+                    buffer[position++] = '0';
+                }
+                buffer[position++] = '.';
+                buffer[position++] = '0';
+                return position;
+            }
+            // ddd.ddd
+            final int end = writeDigits(digits, length, buffer, position);
+            System.arraycopy(buffer, position + integerLength, buffer, position + integerLength + 1,
+                    length - integerLength);
+            buffer[position + integerLength] = '.';
+            return end + 1;
+        }
+        // d.dddEn
+        final int end = writeDigits(digits, length, buffer, position + 1);
+        buffer[position] = buffer[position + 1];
+        buffer[position + 1] = '.';
+        position = end;
+        if (length == 1) {
+            buffer[position++] = '0';
+        }
+        buffer[position++] = 'E';
+        int scientificAbsolute = scientificExponent;
+        if (scientificExponent < 0) {
+            buffer[position++] = '-';
+            scientificAbsolute = -scientificExponent;
+        }
+        return writeDigits(scientificAbsolute, decimalLength(scientificAbsolute), buffer, position);
+    }
+
+    /**
+     * Calculates the shortest decimal digits that represent the double with the given mantissa and exponent
+     * (i.e step 2 to 4 of the Ryu algorithm).
+     * The results are stored in {@link #decimalDigits} and {@link #decimalExponent}.
+     *
+     * @param ieeeMantissa The mantissa bits of the double.
+     * @param ieeeExponent The exponent bits of the double.
+     */
+    private void toDecimal(final long ieeeMantissa, final int ieeeExponent) {
+        final int e2;
+        final long m2;
+        if (ieeeExponent == 0) {
+            e2 = 1 - EXPONENT_BIAS - MANTISSA_BITS - 2;
+            m2 = ieeeMantissa;
+        } else {
+            e2 = ieeeExponent - EXPONENT_BIAS - MANTISSA_BITS - 2;
+            m2 = (1L << MANTISSA_BITS) | ieeeMantissa;
+        }
+        final boolean acceptBounds = (m2 & 1) == 0;
+
+        // Interval of valid decimal representations
+        final long mv = 4 * m2;
+        final int mmShift = ieeeMantissa != 0 || ieeeExponent <= 1 ? 1 : 0;
+
+        // Convert to a decimal power base
+        long vr;
+        long vp;
+        long vm;
+        final int e10;
+        boolean vmIsTrailingZeros = false;
+        boolean vrIsTrailingZeros = false;
+        if (e2 >= 0) {
+            final int q = log10Pow2(e2) - (e2 > 3 ? 1 : 0);
+            e10 = q;
+            final int k = POW5_INV_BITCOUNT + pow5Bits(q) - 1;
+            final int i = -e2 + q + k;
+            final long[] multiplier = POW5_INV_SPLIT[q];
+            vr = mulShift(4 * m2, multiplier, i);
+            vp = mulShift(4 * m2 + 2, multiplier, i);
+            vm = mulShift(4 * m2 - 1 - mmShift, multiplier, i);
+            if (q <= 21) {
+                if (mv % 5 == 0) {
+                    vrIsTrailingZeros = pow5Factor(mv) >= q;
+                } else if (acceptBounds) {
+                    vmIsTrailingZeros = pow5Factor(mv - 1 - mmShift) >= q;
+                } else if (pow5Factor(mv + 2) >= q) {
+                    vp--;
+                }
+            }
+        } else {
+            final int q = log10Pow5(-e2) - (-e2 > 1 ? 1 : 0);
+            e10 = q + e2;
+            final int i = -e2 - q;
+            final int k = pow5Bits(i) - POW5_BITCOUNT;
+            final int j = q - k;
+            final long[] multiplier = POW5_SPLIT[i];
+            vr = mulShift(4 * m2, multiplier, j);
+            vp = mulShift(4 * m2 + 2, multiplier, j);
+            vm = mulShift(4 * m2 - 1 - mmShift, multiplier, j);
+            if (q <= 1) {
+                vrIsTrailingZeros = true;
+                if (acceptBounds) {
+                    vmIsTrailingZeros = mmShift == 1;
+                } else {
+                    vp--;
+                }
+            } else if (q < 63) {
+                vrIsTrailingZeros = (mv & ((1L << q) - 1)) == 0;
+            }
+        }
+
+        // Find the shortest representation in the interval
+        int removed = 0;
+        int lastRemovedDigit = 0;
+        final long output;
+        if (vmIsTrailingZeros || vrIsTrailingZeros) {
+            while (vp / 10 > vm / 10) {
+                vmIsTrailingZeros &= vm % 10 == 0;
+                vrIsTrailingZeros &= lastRemovedDigit == 0;
+                lastRemovedDigit = (int) (vr % 10);
+                vr /= 10;
+                vp /= 10;
+                vm /= 10;
+                removed++;
+            }
+            if (vmIsTrailingZeros) {
+                while (vm % 10 == 0) {
+                    vrIsTrailingZeros &= lastRemovedDigit == 0;
+                    lastRemovedDigit = (int) (vr % 10);
+                    vr /= 10;
+                    vp /= 10;
+                    vm /= 10;
+                    removed++;
+                }
+            }
+            if (vrIsTrailingZeros && lastRemovedDigit == 5 && vr % 2 == 0) {
+                // Round to even if the exact number is .....50..0
+                lastRemovedDigit = 4;
+            }
+            output = vr + ((vr == vm && (!acceptBounds || !vmIsTrailingZeros)) || lastRemovedDigit >= 5 ? 1 : 0);
+        } else {
+            // Common case, in which there are no trailing zeros to take into account
+            boolean roundUp = false;
+            if (vp / 100 > vm / 100) {
+                roundUp = vr % 100 >= 50;
+                vr /= 100;
+                vp /= 100;
+                vm /= 100;
+                removed += 2;
+            }
+            while (vp / 10 > vm / 10) {
+                roundUp = vr % 10 >= 5;
+                vr /= 10;
+                vp /= 10;
+                vm /= 10;
+                removed++;
+            }
+            output = vr + (vr == vm || roundUp ? 1 : 0);
+        }
+        this.decimalDigits = output;
+        this.decimalExponent = e10 + removed;
+    }
+
+    /**
+     * Multiplies the given value by the given 128 bits multiplier, and shifts the result to the right.
+     *
+     * @param value      The value to be multiplied (at most 55 bits).
+     * @param multiplier The multiplier (i.e low and high 64 bits).
+     * @param shift      The amount of bits to shift (must be in the {@code (64, 128)} range).
+     * @return The result.
+     */
+    private static long mulShift(final long value, final long[] multiplier, final int shift) {
+        final long low1 = value * multiplier[1];
+        long high1 = unsignedMultiplyHigh(value, multiplier[1]);
+        final long high0 = unsignedMultiplyHigh(value, multiplier[0]);
+        final long sum = high0 + low1;
+        if (Long.compareUnsigned(sum, high0) < 0) {
+            high1++;
+        }
+        final int distance = shift - 64;
+        return (high1 << (64 - distance)) | (sum >>> distance);
+    }
+
+    /**
+     * Calculates the high 64 bits of the unsigned 128 bits product of the given values.
+     *
+     * @param x The first value.
+     * @param y The second value.
+     * @return The high 64 bits of the product.
+     */
+    private static long unsignedMultiplyHigh(final long x, final long y) {
+        final long x0 = x & 0xFFFFFFFFL;
+        final long x1 = x >>> 32;
+        final long y0 = y & 0xFFFFFFFFL;
+        final long y1 = y >>> 32;
+        final long p01 = x0 * y1;
+        final long middle = x1 * y0 + ((x0 * y0) >>> 32) + (p01 & 0xFFFFFFFFL);
+        return x1 * y1 + (middle >>> 32) + (p01 >>> 32);
+    }
+
+    /**
+     * @param e The exponent (must be in the {@code [0, 3528]} range).
+     * @return The amount of bits of 5^e.
+     */
+    private static int pow5Bits(final int e) {
+        return ((e * 1217359) >>> 19) + 1;
+    }
+
+    /**
+     * @param e The exponent (must be in the {@code [0, 1650]} range).
+     * @return floor(log10(2^e)).
+     */
+    private static int log10Pow2(final int e) {
+        return (e * 78913) >>> 18;
+    }
+
+    /**
+     * @param e The exponent (must be in the {@code [0, 2620]} range).
+     * @return floor(log10(5^e)).
+     */
+    private static int log10Pow5(final int e) {
+        return (e * 732923) >>> 20;
+    }
+
+    /**
+     * @param value The value (must be positive).
+     * @return The maximum power of five that divides the given value.
+     */
+    private static int pow5Factor(long value) {
+        int count = 0;
+        while (value % 5 == 0) {
+            value /= 5;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @param value The value (must not be negative).
+     * @return The amount of decimal digits of the given value.
+     */
+    private static int decimalLength(final long value) {
+        int length = 1;
+        long limit = 10;
+        while (length < 19 && value >= limit) {
+            length++;
+            limit *= 10;
+        }
+        return length;
+    }
+
+    /**
+     * Writes the decimal digits of the given value.
+     *
+     * @param value  The value whose digits will be written (must not be negative).
+     * @param length The amount of digits of the value.
+     * @param buffer The buffer where the digits will be written.
+     * @param offset The position of the buffer where the digits will be written.
+     * @return The position of the buffer after the written digits.
+     */
+    private static int writeDigits(long value, final int length, final char[] buffer, final int offset) {
+        final int end = offset + length;
+        for (int position = end - 1; position >= offset; position--) {
+            buffer[position] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return end;
+    }
+
+    /**
+     * Writes the given string.
+     *
+     * @param string The string to be written.
+     * @param buffer The buffer where the string will be written.
+     * @param offset The position of the buffer where the string will be written.
+     * @return The position of the buffer after the written string.
+     */
+    private static int writeString(final String string, final char[] buffer, final int offset) {
+        string.getChars(0, string.length(), buffer, offset);
+        return offset + string.length();
+    }
+}
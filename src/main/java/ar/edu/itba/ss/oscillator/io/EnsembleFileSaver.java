@@ -0,0 +1,56 @@
+package ar.edu.itba.ss.oscillator.io;
+
+import ar.edu.itba.ss.oscillator.models.DampedOscillatorEnsemble;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Saves the actual state of each oscillator in a {@link DampedOscillatorEnsemble} into a CSV file.
+ */
+public class EnsembleFileSaver {
+
+    /**
+     * The path of the file to be written.
+     */
+    private final String filePath;
+
+    /**
+     * Constructor.
+     *
+     * @param filePath The path of the file to be written.
+     */
+    public EnsembleFileSaver(String filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * Saves the given ensemble.
+     *
+     * @param ensemble The {@link DampedOscillatorEnsemble} to be saved.
+     * @throws IOException If the file could not be written.
+     */
+    public void save(DampedOscillatorEnsemble ensemble) throws IOException {
+        final double[] masses = ensemble.getMasses();
+        final double[] springConstants = ensemble.getSpringConstants();
+        final double[] viscousDampingCoefficients = ensemble.getViscousDampingCoefficients();
+        final double[] positions = ensemble.getPositions();
+        final double[] velocities = ensemble.getVelocities();
+        final double[] accelerations = ensemble.getAccelerations();
+        try (Writer writer = Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8)) {
+            writer.append("# time = ").append(Double.toString(ensemble.getActualTime())).append("\n")
+                    .append("# mass,spring-constant,viscous-damping-coefficient,x,vx,ax\n");
+            for (int i = 0; i < ensemble.size(); i++) {
+                writer.append(Double.toString(masses[i])).append(",")
+                        .append(Double.toString(springConstants[i])).append(",")
+                        .append(Double.toString(viscousDampingCoefficients[i])).append(",")
+                        .append(Double.toString(positions[i])).append(",")
+                        .append(Double.toString(velocities[i])).append(",")
+                        .append(Double.toString(accelerations[i])).append("\n");
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package ar.edu.itba.ss.oscillator.io;
+
+import ar.edu.itba.ss.oscillator.models.DampedOscillatorEnsemble;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Reads the parameters of a {@link DampedOscillatorEnsemble} from a CSV file.
+ * Each line holds the mass, initial 'x', spring constant and viscous damping coefficient of one oscillator.
+ * Empty lines, and lines starting with {@code #}, are ignored.
+ */
+public class EnsembleParametersReader {
+
+    /**
+     * The amount of values in each line.
+     */
+    private static final int COLUMNS = 4;
+
+    /**
+     * The path of the file to be read.
+     */
+    private final String filePath;
+
+    /**
+     * Constructor.
+     *
+     * @param filePath The path of the file to be read.
+     */
+    public EnsembleParametersReader(String filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * Reads the file, building a {@link DampedOscillatorEnsemble} with its parameters.
+     *
+     * @param timeStep The time step of the built ensemble.
+     * @return The built {@link DampedOscillatorEnsemble}.
+     * @throws IOException If the file could not be read.
+     */
+    public DampedOscillatorEnsemble read(final double timeStep) throws IOException {
+        double[] masses = new double[1024];
+        double[] initialXPositions = new double[masses.length];
+        double[] springConstants = new double[masses.length];
+        double[] viscousDampingCoefficients = new double[masses.length];
+        int size = 0;
+        int lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                final String[] values = line.split(",");
+                if (values.length != COLUMNS) {
+                    throw new IllegalArgumentException("Line " + lineNumber + " of " + filePath
+                            + " must have " + COLUMNS + " comma separated values");
+                }
+                if (size == masses.length) {
+                    final int capacity = size * 2;
+                    masses = Arrays.copyOf(masses, capacity);
+                    initialXPositions = Arrays.copyOf(initialXPositions, capacity);
+                    springConstants = Arrays.copyOf(springConstants, capacity);
+                    viscousDampingCoefficients = Arrays.copyOf(viscousDampingCoefficients, capacity);
+                }
+                masses[size] = Double.parseDouble(values[0].trim());
+                initialXPositions[size] = Double.parseDouble(values[1].trim());
+                springConstants[size] = Double.parseDouble(values[2].trim());
+                viscousDampingCoefficients[size] = Double.parseDouble(values[3].trim());
+                size++;
+            }
+        }
+        return new DampedOscillatorEnsemble(Arrays.copyOf(masses, size),
+                Arrays.copyOf(initialXPositions, size),
+                Arrays.copyOf(springConstants, size),
+                Arrays.copyOf(viscousDampingCoefficients, size),
+                timeStep);
+    }
+}
@@ -3,49 +3,310 @@ package ar.edu.itba.ss.oscillator.io;
 import ar.edu.itba.ss.g7.engine.io.TextFileSaver;
 import ar.edu.itba.ss.oscillator.models.DampedOscillator;
 import ar.edu.itba.ss.oscillator.models.Particle;
-import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import ar.edu.itba.ss.oscillator.models.StateSnapshot;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Queue;
-import java.util.stream.Collectors;
 
 /**
  * {@link TextFileSaver} that saves all the positions the particle's goes through.
+ * Values are formatted straight into reusable char buffers (see {@link DoubleFormatter}),
+ * which are written in chunks, so the whole text is never built in memory.
+ * When streaming, the 'x' components are written straight into the file,
+ * while the 'y' components are spilled into a temporary file that is appended when closing
+ * (i.e a checkpoint records the length of both files, and the path of the temporary one).
  */
 @Component
-public class MovementFileSaver extends TextFileSaver<DampedOscillator.DampedOscillatorState> {
+@Lazy
+public class MovementFileSaver extends TextFileSaver<DampedOscillator.DampedOscillatorState>
+        implements SnapshotSaver {
 
+    /**
+     * The path of the file to be written.
+     */
+    private final String filePath;
+
+    /**
+     * The size of the buffers (in characters).
+     */
+    private final int bufferSize;
+
+    /**
+     * The {@link ValuesWriter} for the 'x' components when streaming (i.e {@code null} if not opened).
+     */
+    private ValuesWriter xValues;
+
+    /**
+     * The {@link ValuesWriter} for the 'y' components when streaming (i.e {@code null} if not opened).
+     */
+    private ValuesWriter yValues;
+
+    /**
+     * The temporary file where the 'y' components are spilled when streaming.
+     */
+    private Path yFile;
 
     @Autowired
-    public MovementFileSaver(@Value("${custom.output.movement}") String filePath) {
+    public MovementFileSaver(@Value("${custom.output.movement}") String filePath,
+                             @Value("${custom.output.buffer-size}") int bufferSize) {
         super(filePath);
+        this.filePath = filePath;
+        this.bufferSize = Math.max(bufferSize, 2 * DoubleFormatter.MAX_LENGTH);
     }
 
     @Override
     public void doSave(Writer writer, Queue<DampedOscillator.DampedOscillatorState> queue) throws IOException {
-        // Save particle's 'x' component of the position into the 'x' variable.
-        final String x = "x = [" + queue.stream()
-                .map(DampedOscillator.DampedOscillatorState::getParticleState)
-                .map(Particle.ParticleState::getPosition)
-                .map(Vector2D::getX)
-                .map(Object::toString)
-                .collect(Collectors.joining(", ")) + "];";
-        // Save particle's 'y' component of the position into the 'y' variable.
-        final String y = "y = [" + queue.stream()
-                .map(DampedOscillator.DampedOscillatorState::getParticleState)
-                .map(Particle.ParticleState::getPosition)
-                .map(Vector2D::getY)
-                .map(Object::toString)
-                .collect(Collectors.joining(", ")) + "];";
-        // Append results into the Writer
-        writer.append(x)
-                .append("\n")
-                .append(y)
-                .append("\n");
+        // Walk the states once, writing the 'x' components and keeping the 'y' ones until all 'x' are written
+        final double[] y = new double[queue.size()];
+        final ValuesWriter values = new ValuesWriter(writer, bufferSize);
+        int index = 0;
+        writer.append("x = [");
+        for (DampedOscillator.DampedOscillatorState state : queue) {
+            final Particle.ParticleState particle = state.getParticleState();
+            values.append(particle.getPositionX());
+            y[index++] = particle.getPositionY();
+        }
+        values.flush();
+        writer.append("];\ny = [");
+        values.restart();
+        for (int i = 0; i < index; i++) {
+            values.append(y[i]);
+        }
+        values.flush();
+        writer.append("];\n");
+    }
+
+    @Override
+    public void open() throws IOException {
+        if (xValues != null) {
+            throw new IllegalStateException("Already opened");
+        }
+        final Path path = Paths.get(filePath).toAbsolutePath();
+        this.yFile = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".y.tmp");
+        this.xValues = new ValuesWriter(openWriter(path), bufferSize);
+        this.yValues = new ValuesWriter(openWriter(yFile), bufferSize);
+        xValues.writer.append("x = [");
+    }
+
+    @Override
+    public void checkpoint(DataOutput output) throws IOException {
+        if (xValues == null) {
+            throw new IllegalStateException("Not opened");
+        }
+        final Path path = Paths.get(filePath).toAbsolutePath();
+        xValues.flush();
+        yValues.flush();
+        xValues.writer.flush();
+        yValues.writer.flush();
+        output.writeLong(Files.size(path));
+        output.writeBoolean(xValues.appended);
+        output.writeUTF(yFile.toString());
+        output.writeLong(Files.size(yFile));
+        output.writeBoolean(yValues.appended);
+    }
+
+    @Override
+    public void resume(DataInput input) throws IOException {
+        if (xValues != null) {
+            throw new IllegalStateException("Already opened");
+        }
+        final Path path = Paths.get(filePath).toAbsolutePath();
+        final long xLength = input.readLong();
+        final boolean xAppended = input.readBoolean();
+        final Path spilled = Paths.get(input.readUTF());
+        final long yLength = input.readLong();
+        final boolean yAppended = input.readBoolean();
+        CheckpointManager.openTruncated(path, xLength).close();
+        CheckpointManager.openTruncated(spilled, yLength).close();
+        this.yFile = spilled;
+        this.xValues = new ValuesWriter(openWriter(path, StandardOpenOption.APPEND), bufferSize);
+        this.yValues = new ValuesWriter(openWriter(yFile, StandardOpenOption.APPEND), bufferSize);
+        xValues.appended = xAppended;
+        yValues.appended = yAppended;
+    }
+
+    @Override
+    public void append(DampedOscillator.DampedOscillatorState state) throws IOException {
+        if (xValues == null) {
+            throw new IllegalStateException("Not opened");
+        }
+        final Particle.ParticleState particle = state.getParticleState();
+        xValues.append(particle.getPositionX());
+        yValues.append(particle.getPositionY());
+    }
+
+    @Override
+    public void append(StateSnapshot snapshot) throws IOException {
+        if (xValues == null) {
+            throw new IllegalStateException("Not opened");
+        }
+        xValues.append(snapshot.getPositionX());
+        yValues.append(snapshot.getPositionY());
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (xValues == null) {
+            return;
+        }
+        final Writer xWriter = xValues.writer;
+        final Writer yWriter = yValues.writer;
+        try {
+            yValues.flush();
+            yWriter.close();
+            xValues.flush();
+            // Append the spilled 'y' components after the 'x' ones
+            xWriter.append("];\ny = [");
+            try (Reader reader = new InputStreamReader(Files.newInputStream(yFile), StandardCharsets.UTF_8)) {
+                final char[] buffer = xValues.buffer;
+                int read;
+                while ((read = reader.read(buffer)) != -1) {
+                    xWriter.write(buffer, 0, read);
+                }
+            }
+            xWriter.append("];\n");
+        } finally {
+            try {
+                yWriter.close();
+                xWriter.close();
+            } finally {
+                Files.deleteIfExists(yFile);
+                xValues = null;
+                yValues = null;
+                yFile = null;
+            }
+        }
+    }
+
+    @Override
+    public void abort() throws IOException {
+        if (xValues == null) {
+            return;
+        }
+        // The spilled 'y' components are kept, as the checkpoint refers to them
+        final Writer xWriter = xValues.writer;
+        final Writer yWriter = yValues.writer;
+        try {
+            yValues.flush();
+            xValues.flush();
+        } finally {
+            try {
+                yWriter.close();
+                xWriter.close();
+            } finally {
+                xValues = null;
+                yValues = null;
+                yFile = null;
+            }
+        }
+    }
+
+    /**
+     * Opens a {@link Writer} for the given path.
+     * It is not buffered, as values are written in chunks by a {@link ValuesWriter}.
+     *
+     * @param path    The path of the file to be written.
+     * @param options The options specifying how the file is opened (i.e it is truncated if none is given).
+     * @return The opened {@link Writer}.
+     * @throws IOException If the file could not be opened.
+     */
+    private static Writer openWriter(Path path, StandardOpenOption... options) throws IOException {
+        return new OutputStreamWriter(Files.newOutputStream(path, options), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes comma separated values into a {@link Writer}, formatting them into a char buffer
+     * that is written once full.
+     */
+    private static final class ValuesWriter {
+
+        /**
+         * The {@link Writer} where values are written.
+         */
+        private final Writer writer;
+
+        /**
+         * The buffer where values are formatted.
+         */
+        private final char[] buffer;
+
+        /**
+         * The {@link DoubleFormatter} used to format values.
+         */
+        private final DoubleFormatter formatter;
+
+        /**
+         * The amount of chars in the buffer.
+         */
+        private int length;
+
+        /**
+         * Indicates whether a value has been already appended (i.e the next one must be preceded by a separator).
+         */
+        private boolean appended;
+
+        /**
+         * Constructor.
+         *
+         * @param writer     The {@link Writer} where values are written.
+         * @param bufferSize The size of the buffer (in characters).
+         */
+        private ValuesWriter(Writer writer, int bufferSize) {
+            this.writer = writer;
+            this.buffer = new char[bufferSize];
+            this.formatter = new DoubleFormatter();
+            this.length = 0;
+            this.appended = false;
+        }
+
+        /**
+         * Appends the given value, preceded by a separator if it is not the first one.
+         *
+         * @param value The value to be appended.
+         * @throws IOException If any I/O error occurs.
+         */
+        private void append(double value) throws IOException {
+            if (length + DoubleFormatter.MAX_LENGTH + 2 > buffer.length) {
+                flush();
+            }
+            if (appended) {
+                buffer[length++] = ',';
+                buffer[length++] = ' ';
+            }
+            length = formatter.format(value, buffer, length);
+            appended = true;
+        }
+
+        /**
+         * Writes the buffered chars into the {@link Writer}.
+         *
+         * @throws IOException If any I/O error occurs.
+         */
+        private void flush() throws IOException {
+            writer.write(buffer, 0, length);
+            length = 0;
+        }
 
+        /**
+         * Restarts the list of values (i.e the next value is not preceded by a separator).
+         */
+        private void restart() {
+            appended = false;
+        }
     }
 }
@@ -2,73 +2,342 @@ package ar.edu.itba.ss.oscillator.io;
 
 import ar.edu.itba.ss.g7.engine.io.OvitoFileSaver;
 import ar.edu.itba.ss.oscillator.models.DampedOscillator;
-import ar.edu.itba.ss.oscillator.models.Particle;
+import ar.edu.itba.ss.oscillator.models.StateSnapshot;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * {@link OvitoFileSaver} for the {@link DampedOscillator} {@link ar.edu.itba.ss.g7.engine.models.System}.
+ * Frames are encoded (see {@link OvitoFrameEncoder}) into large byte buffers, which are written into a
+ * {@link FileChannel} once full. Optionally, frames are encoded in batches by several worker threads,
+ * and batches are written in the same order they were produced
+ * (i.e snapshots are then copied into states, as workers encode them after their views move on).
  */
 @Component
-public class OvitoFileSaverImpl extends OvitoFileSaver<DampedOscillator.DampedOscillatorState> {
+@Lazy
+public class OvitoFileSaverImpl extends OvitoFileSaver<DampedOscillator.DampedOscillatorState>
+        implements SnapshotSaver {
+
+    /**
+     * The path of the file to be written.
+     */
+    private final String filePath;
+
+    /**
+     * The {@link OvitoFrameEncoder} used by the calling thread (i.e its pre-encoded content is shared by workers).
+     */
+    private final OvitoFrameEncoder encoder;
+
+    /**
+     * The amount of frames encoded into each buffer.
+     */
+    private final int framesPerBuffer;
+
+    /**
+     * The size of each buffer (in bytes).
+     */
+    private final int bufferBytes;
+
+    /**
+     * The amount of threads that encode frames (i.e frames are encoded by the calling thread if one).
+     */
+    private final int parallelism;
+
+    /**
+     * The {@link FileChannel} being written (i.e {@code null} if not opened).
+     */
+    private FileChannel channel;
+
+    /**
+     * The buffer being filled by the calling thread, when encoding frames sequentially.
+     */
+    private byte[] buffer;
+
+    /**
+     * The amount of bytes in the buffer being filled, when encoding frames sequentially.
+     */
+    private int length;
+
+    /**
+     * The {@link ExecutorService} that encodes frames, when encoding in parallel (i.e {@code null} otherwise).
+     */
+    private ExecutorService executor;
+
+    /**
+     * The states waiting to be handed to a worker, when encoding in parallel.
+     */
+    private DampedOscillator.DampedOscillatorState[] batch;
+
+    /**
+     * The amount of states in the batch.
+     */
+    private int batchSize;
+
+    /**
+     * The batches being encoded, in the order they must be written.
+     */
+    private Deque<Future<ByteBuffer>> pending;
+
+    /**
+     * Buffers already written, which can be reused by the next batches.
+     */
+    private Deque<byte[]> freeBuffers;
+
+    /**
+     * The next frame to be written.
+     */
+    private int frame;
 
     @Autowired
-    public OvitoFileSaverImpl(@Value("${custom.output.ovito}") String filePath) {
+    public OvitoFileSaverImpl(@Value("${custom.output.ovito}") String filePath,
+                              @Value("${custom.output.buffer-size}") int bufferSize,
+                              @Value("${custom.output.ovito-boundary}") String boundary,
+                              @Value("${custom.output.ovito-parallelism}") int parallelism) {
         super(filePath);
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("The parallelism must not be negative");
+        }
+        this.filePath = filePath;
+        this.encoder = new OvitoFrameEncoder(OvitoFrameEncoder.parseBoundaryPoints(boundary));
+        this.framesPerBuffer = Math.max(1, bufferSize / encoder.getMaxFrameLength());
+        this.bufferBytes = framesPerBuffer * encoder.getMaxFrameLength();
+        this.parallelism = parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism;
+        this.channel = null;
+        this.frame = 0;
+    }
+
+    @Override
+    public void save(Queue<DampedOscillator.DampedOscillatorState> queue) {
+        try {
+            open();
+            try {
+                for (DampedOscillator.DampedOscillatorState state : queue) {
+                    append(state);
+                }
+            } finally {
+                close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void open() throws IOException {
+        if (channel != null) {
+            throw new IllegalStateException("Already opened");
+        }
+        this.channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.frame = 0;
+        prepareBuffers();
+    }
+
+    @Override
+    public void checkpoint(DataOutput output) throws IOException {
+        if (channel == null) {
+            throw new IllegalStateException("Not opened");
+        }
+        flush();
+        output.writeLong(channel.position());
+        output.writeInt(frame);
+    }
+
+    @Override
+    public void resume(DataInput input) throws IOException {
+        if (channel != null) {
+            throw new IllegalStateException("Already opened");
+        }
+        final long position = input.readLong();
+        this.channel = CheckpointManager.openTruncated(Paths.get(filePath), position);
+        this.frame = input.readInt();
+        prepareBuffers();
+    }
+
+    /**
+     * Prepares the buffers used to encode frames, according to the parallelism.
+     */
+    private void prepareBuffers() {
+        if (parallelism > 1) {
+            this.executor = Executors.newFixedThreadPool(parallelism);
+            this.batch = new DampedOscillator.DampedOscillatorState[framesPerBuffer];
+            this.batchSize = 0;
+            this.pending = new ArrayDeque<>();
+            this.freeBuffers = new ArrayDeque<>();
+        } else {
+            this.buffer = new byte[bufferBytes];
+            this.length = 0;
+        }
+    }
+
+    @Override
+    public void append(DampedOscillator.DampedOscillatorState state) throws IOException {
+        if (channel == null) {
+            throw new IllegalStateException("Not opened");
+        }
+        if (executor == null) {
+            if (length + encoder.getMaxFrameLength() > buffer.length) {
+                writeFully(ByteBuffer.wrap(buffer, 0, length));
+                length = 0;
+            }
+            length = encoder.encode(state, frame++, buffer, length);
+            return;
+        }
+        batch[batchSize++] = state;
+        if (batchSize == batch.length) {
+            submitBatch();
+        }
+    }
+
+    @Override
+    public void append(StateSnapshot snapshot) throws IOException {
+        if (channel == null) {
+            throw new IllegalStateException("Not opened");
+        }
+        if (executor != null) {
+            append(snapshot.outputState());
+            return;
+        }
+        if (length + encoder.getMaxFrameLength() > buffer.length) {
+            writeFully(ByteBuffer.wrap(buffer, 0, length));
+            length = 0;
+        }
+        length = encoder.encode(snapshot.getPositionX(), snapshot.getPositionY(),
+                snapshot.getVelocityX(), snapshot.getVelocityY(), frame++, buffer, length);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            try {
+                channel.close();
+            } finally {
+                if (executor != null) {
+                    executor.shutdownNow();
+                }
+                channel = null;
+                executor = null;
+                buffer = null;
+                batch = null;
+                pending = null;
+                freeBuffers = null;
+            }
+        }
+    }
+
+    /**
+     * Writes all the appended frames into the {@link FileChannel}.
+     *
+     * @throws IOException If any frame could not be encoded, or if any I/O error occurs while writing.
+     */
+    private void flush() throws IOException {
+        if (executor == null) {
+            writeFully(ByteBuffer.wrap(buffer, 0, length));
+            length = 0;
+        } else {
+            if (batchSize > 0) {
+                submitBatch();
+            }
+            while (!pending.isEmpty()) {
+                writeOldestBatch();
+            }
+        }
     }
 
+    /**
+     * Encodes a single frame with the given {@link Writer}.
+     * Saving goes through the {@link FileChannel} instead, so this is only used by callers of the base class' API.
+     */
     @Override
     public void saveState(Writer writer, DampedOscillator.DampedOscillatorState state, int frame)
             throws IOException {
+        final byte[] frameBuffer = new byte[encoder.getMaxFrameLength()];
+        final int frameLength = encoder.encode(state, frame, frameBuffer, 0);
+        writer.append(new String(frameBuffer, 0, frameLength, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Hands the batch to a worker, which encodes it into a (possibly reused) buffer.
+     * If too many batches are waiting to be written, the oldest one is written first,
+     * so memory usage is bounded.
+     *
+     * @throws IOException If any I/O error occurs while writing the oldest batch.
+     */
+    private void submitBatch() throws IOException {
+        if (pending.size() >= 2 * parallelism) {
+            writeOldestBatch();
+        }
+        final DampedOscillator.DampedOscillatorState[] states = batch;
+        final int size = batchSize;
+        final int firstFrame = frame;
+        final byte[] target = freeBuffers.isEmpty() ? new byte[bufferBytes] : freeBuffers.pop();
+        pending.add(executor.submit(() -> {
+            final OvitoFrameEncoder workerEncoder = new OvitoFrameEncoder(encoder);
+            int position = 0;
+            for (int i = 0; i < size; i++) {
+                position = workerEncoder.encode(states[i], firstFrame + i, target, position);
+            }
+            return ByteBuffer.wrap(target, 0, position);
+        }));
+        this.frame += size;
+        this.batch = new DampedOscillator.DampedOscillatorState[framesPerBuffer];
+        this.batchSize = 0;
+    }
+
+    /**
+     * Waits for the oldest batch to be encoded, and writes it.
+     *
+     * @throws IOException If the batch could not be encoded, or if any I/O error occurs while writing it.
+     */
+    private void writeOldestBatch() throws IOException {
+        final ByteBuffer encoded;
+        try {
+            encoded = pending.poll().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while encoding frames");
+        } catch (ExecutionException e) {
+            throw new IOException("Could not encode frames", e.getCause());
+        }
+        writeFully(encoded);
+        freeBuffers.push(encoded.array());
+    }
 
-        final Particle.ParticleState particle = state.getParticleState();
-        final StringBuilder data = new StringBuilder()
-                // First, headers
-                .append(4)
-                .append("\n")
-                .append(frame)
-                .append("\n")
-                // Store the particle
-                .append(particle.getPosition().getX())
-                .append(" ")
-                .append(particle.getPosition().getY())
-                .append(" ")
-                .append(particle.getVelocity().getX())
-                .append(" ")
-                .append(particle.getVelocity().getY())
-                .append("\n")
-                // Store the origin point
-                .append(0)
-                .append(" ")
-                .append(0)
-                .append(" ")
-                .append(0)
-                .append(" ")
-                .append(0)
-                .append("\n")
-                // Store one limit
-                .append(100)
-                .append(" ")
-                .append(0)
-                .append(" ")
-                .append(0)
-                .append(" ")
-                .append(0)
-                .append("\n")
-                // Store another limit
-                .append(-100)
-                .append(" ")
-                .append(0)
-                .append(" ")
-                .append(0)
-                .append(" ")
-                .append(0)
-                .append("\n");
-
-        writer.append(data);
+    /**
+     * Writes all the remaining bytes of the given buffer into the {@link FileChannel}.
+     *
+     * @param bytes The buffer to be written.
+     * @throws IOException If any I/O error occurs.
+     */
+    private void writeFully(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
     }
 }
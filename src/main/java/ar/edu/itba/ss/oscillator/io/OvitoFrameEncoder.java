@@ -0,0 +1,177 @@
+package ar.edu.itba.ss.oscillator.io;
+
+import ar.edu.itba.ss.oscillator.models.DampedOscillator;
+import ar.edu.itba.ss.oscillator.models.Particle;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes the frames of an Ovito file as ASCII bytes.
+ * The lines that are the same in every frame (i.e the amount of particles and the boundary particles)
+ * are encoded once, and copied into each frame.
+ * Instances are not thread safe, but several encoders can share the same pre-encoded content.
+ */
+/* package */ final class OvitoFrameEncoder {
+
+    /**
+     * The maximum amount of bytes taken by a frame number (i.e {@code -2147483648}).
+     */
+    private static final int MAX_FRAME_NUMBER_LENGTH = 11;
+
+    /**
+     * The first line of each frame (i.e the amount of particles).
+     */
+    private final byte[] particlesLine;
+
+    /**
+     * The lines of the boundary particles, written at the end of each frame.
+     */
+    private final byte[] boundaryLines;
+
+    /**
+     * The {@link DoubleFormatter} used to format the particle's values.
+     */
+    private final DoubleFormatter formatter;
+
+    /**
+     * Constructor.
+     *
+     * @param boundaryPoints The 'x' and 'y' components of the position of each boundary particle,
+     *                       as they must be written in the file.
+     */
+    /* package */ OvitoFrameEncoder(String[][] boundaryPoints) {
+        final StringBuilder boundary = new StringBuilder();
+        for (String[] point : boundaryPoints) {
+            boundary.append(point[0]).append(' ').append(point[1]).append(" 0 0\n");
+        }
+        this.particlesLine = ((boundaryPoints.length + 1) + "\n").getBytes(StandardCharsets.US_ASCII);
+        this.boundaryLines = boundary.toString().getBytes(StandardCharsets.US_ASCII);
+        this.formatter = new DoubleFormatter();
+    }
+
+    /**
+     * Constructor, which shares the pre-encoded content of another encoder.
+     *
+     * @param other The {@link OvitoFrameEncoder} whose pre-encoded content will be shared.
+     */
+    /* package */ OvitoFrameEncoder(OvitoFrameEncoder other) {
+        this.particlesLine = other.particlesLine;
+        this.boundaryLines = other.boundaryLines;
+        this.formatter = new DoubleFormatter();
+    }
+
+    /**
+     * Parses the boundary particles' positions.
+     *
+     * @param boundary The positions, as comma separated "x y" pairs (e.g {@code "0 0, 100 0, -100 0"}).
+     * @return The 'x' and 'y' components of each position, as they must be written in the file.
+     * @throws IllegalArgumentException If any position is not a pair of numbers.
+     */
+    /* package */ static String[][] parseBoundaryPoints(String boundary) {
+        if (boundary.trim().isEmpty()) {
+            return new String[0][];
+        }
+        final String[] pairs = boundary.split(",");
+        final String[][] points = new String[pairs.length][];
+        for (int i = 0; i < pairs.length; i++) {
+            final String[] components = pairs[i].trim().split("\\s+");
+            if (components.length != 2) {
+                throw new IllegalArgumentException("Boundary particles must be \"x y\" pairs, but got \""
+                        + pairs[i].trim() + "\"");
+            }
+            for (String component : components) {
+                try {
+                    Double.parseDouble(component);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid boundary particle component \"" + component + "\"");
+                }
+            }
+            points[i] = components;
+        }
+        return points;
+    }
+
+    /**
+     * @return The maximum amount of bytes a frame can take.
+     */
+    /* package */ int getMaxFrameLength() {
+        return particlesLine.length + MAX_FRAME_NUMBER_LENGTH + 1 + 4 * (DoubleFormatter.MAX_LENGTH + 1)
+                + boundaryLines.length;
+    }
+
+    /**
+     * Encodes a frame into the given buffer.
+     * The buffer must have at least {@link #getMaxFrameLength()} bytes available from the given offset.
+     *
+     * @param state  The state to be encoded.
+     * @param frame  The frame number.
+     * @param buffer The buffer where the frame will be written.
+     * @param offset The position of the buffer where the frame will be written.
+     * @return The position of the buffer after the written frame.
+     */
+    /* package */ int encode(DampedOscillator.DampedOscillatorState state, int frame, byte[] buffer, int offset) {
+        final Particle.ParticleState particle = state.getParticleState();
+        return encode(particle.getPositionX(), particle.getPositionY(), particle.getVelocityX(),
+                particle.getVelocityY(), frame, buffer, offset);
+    }
+
+    /**
+     * Encodes a frame with the given particle values into the given buffer.
+     * The buffer must have at least {@link #getMaxFrameLength()} bytes available from the given offset.
+     *
+     * @param positionX The 'x' component of the particle's position.
+     * @param positionY The 'y' component of the particle's position.
+     * @param velocityX The 'x' component of the particle's velocity.
+     * @param velocityY The 'y' component of the particle's velocity.
+     * @param frame     The frame number.
+     * @param buffer    The buffer where the frame will be written.
+     * @param offset    The position of the buffer where the frame will be written.
+     * @return The position of the buffer after the written frame.
+     */
+    /* package */ int encode(final double positionX, final double positionY,
+                             final double velocityX, final double velocityY,
+                             int frame, byte[] buffer, int offset) {
+        // First, headers
+        System.arraycopy(particlesLine, 0, buffer, offset, particlesLine.length);
+        int position = writeFrameNumber(frame, buffer, offset + particlesLine.length);
+        buffer[position++] = '\n';
+        // Store the particle
+        position = formatter.format(positionX, buffer, position);
+        buffer[position++] = ' ';
+        position = formatter.format(positionY, buffer, position);
+        buffer[position++] = ' ';
+        position = formatter.format(velocityX, buffer, position);
+        buffer[position++] = ' ';
+        position = formatter.format(velocityY, buffer, position);
+        buffer[position++] = '\n';
+        // Store the boundary particles
+        System.arraycopy(boundaryLines, 0, buffer, position, boundaryLines.length);
+        return position + boundaryLines.length;
+    }
+
+    /**
+     * Writes the given frame number.
+     *
+     * @param frame  The frame number.
+     * @param buffer The buffer where the number will be written.
+     * @param offset The position of the buffer where the number will be written.
+     * @return The position of the buffer after the written number.
+     */
+    private static int writeFrameNumber(int frame, byte[] buffer, int offset) {
+        if (frame < 0) {
+            final byte[] digits = Integer.toString(frame).getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(digits, 0, buffer, offset, digits.length);
+            return offset + digits.length;
+        }
+        int length = 1;
+        for (int limit = 10; length < 10 && frame >= limit; limit *= 10) {
+            length++;
+        }
+        int value = frame;
+        for (int position = offset + length - 1; position >= offset; position--) {
+            buffer[position] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return offset + length;
+    }
+}
@@ -1,8 +1,14 @@
 package ar.edu.itba.ss.oscillator.io;
 
+import ar.edu.itba.ss.oscillator.models.DrivenForceModel;
+import ar.edu.itba.ss.oscillator.models.ForceModel;
+import ar.edu.itba.ss.oscillator.models.ForceModelEnum;
+import ar.edu.itba.ss.oscillator.models.IntegrationSettings;
+import ar.edu.itba.ss.oscillator.models.LinearForceModel;
 import ar.edu.itba.ss.oscillator.models.Particle;
 import ar.edu.itba.ss.oscillator.models.Updater;
 import ar.edu.itba.ss.oscillator.models.UpdateStrategyEnum;
+import ar.edu.itba.ss.oscillator.runners.ExecutionModeEnum;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -13,6 +19,11 @@ import org.springframework.stereotype.Component;
 @Component
 public class ProgramArguments {
 
+    /**
+     * The {@link ExecutionModeEnum} in which the program runs.
+     */
+    private final ExecutionModeEnum executionMode;
+
     /**
      * The oscillating {@link Particle}'s mass.
      */
@@ -34,6 +45,31 @@ public class ProgramArguments {
      */
     private final double viscousDampingCoefficient;
 
+    /**
+     * The {@link ForceModelEnum} that indicates which force the {@link Particle} suffers.
+     */
+    private final ForceModelEnum forceModelEnum;
+
+    /**
+     * The cubic spring constant (used by the {@link ForceModelEnum#DUFFING} model).
+     */
+    private final double cubicSpringConstant;
+
+    /**
+     * The amplitude of the harmonic driving force (i.e the system is not driven if zero).
+     */
+    private final double drivingAmplitude;
+
+    /**
+     * The angular frequency of the harmonic driving force.
+     */
+    private final double drivingFrequency;
+
+    /**
+     * The {@link ForceModel} built according to the force arguments.
+     */
+    private final ForceModel forceModel;
+
     /**
      * The {@link UpdateStrategyEnum} that will provide the {@link Updater} to the system.
      */
@@ -49,34 +85,74 @@ public class ProgramArguments {
      */
     private final double totalTime;
 
+    /**
+     * The {@link IntegrationSettings} used by the {@link Updater}s.
+     */
+    private final IntegrationSettings integrationSettings;
+
     /**
      * Constructor.
      *
+     * @param executionMode             The {@link ExecutionModeEnum} in which the program runs.
      * @param particleMass              The oscillating {@link Particle}'s mass.
      * @param initialXPosition          The initial stretching/compressed distance of the oscillating {@link Particle}
      *                                  (i.e if positive, it is stretched; if negative, it is compressed).
      * @param springConstant            The spring constant (in kilograms over square seconds).
      * @param viscousDampingCoefficient The viscous damping coefficient (in kilograms over seconds).
+     * @param forceModelEnum            The {@link ForceModelEnum} that indicates which force
+     *                                  the {@link Particle} suffers.
+     * @param cubicSpringConstant       The cubic spring constant (used by the {@link ForceModelEnum#DUFFING} model).
+     * @param drivingAmplitude          The amplitude of the harmonic driving force
+     *                                  (i.e the system is not driven if zero).
+     * @param drivingFrequency          The angular frequency of the harmonic driving force.
      * @param updateStrategyEnum        The {@link UpdateStrategyEnum}
      *                                  that will provide the {@link Updater} to the system.
      * @param timeStep                  The time step (i.e how much time elapses between two update events).
      * @param totalTime                 The total oscillating time.
+     * @param absoluteTolerance         The absolute tolerance of the local error (used by adaptive {@link Updater}s).
+     * @param relativeTolerance         The relative tolerance of the local error (used by adaptive {@link Updater}s).
+     * @param gearOrder                 The order of Gear's method (i.e between 2 and 6).
      */
     @Autowired
-    public ProgramArguments(@Value("${custom.system.particle-mass}") final double particleMass,
+    public ProgramArguments(@Value("${custom.mode}") final ExecutionModeEnum executionMode,
+                            @Value("${custom.system.particle-mass}") final double particleMass,
                             @Value("${custom.system.initial-x}") final double initialXPosition,
                             @Value("${custom.system.spring-constant}") final double springConstant,
                             @Value("${custom.system.viscous-damping-coefficient}") final double viscousDampingCoefficient,
+                            @Value("${custom.system.force-model}") final ForceModelEnum forceModelEnum,
+                            @Value("${custom.system.cubic-spring-constant}") final double cubicSpringConstant,
+                            @Value("${custom.system.driving-amplitude}") final double drivingAmplitude,
+                            @Value("${custom.system.driving-frequency}") final double drivingFrequency,
                             @Value("${custom.simulation.strategy}") final UpdateStrategyEnum updateStrategyEnum,
                             @Value("${custom.simulation.time-step}") final double timeStep,
-                            @Value("${custom.simulation.duration}") final double totalTime) {
+                            @Value("${custom.simulation.duration}") final double totalTime,
+                            @Value("${custom.simulation.absolute-tolerance}") final double absoluteTolerance,
+                            @Value("${custom.simulation.relative-tolerance}") final double relativeTolerance,
+                            @Value("${custom.simulation.gear-order}") final int gearOrder) {
+        this.executionMode = executionMode;
         this.particleMass = particleMass;
         this.initialXPosition = initialXPosition;
         this.springConstant = springConstant;
         this.viscousDampingCoefficient = viscousDampingCoefficient;
+        this.forceModelEnum = forceModelEnum;
+        this.cubicSpringConstant = cubicSpringConstant;
+        this.drivingAmplitude = drivingAmplitude;
+        this.drivingFrequency = drivingFrequency;
+        final ForceModel model =
+                forceModelEnum.getForceModelInstance(springConstant, cubicSpringConstant, viscousDampingCoefficient);
+        this.forceModel = drivingAmplitude == 0d ? model :
+                new DrivenForceModel(model, drivingAmplitude, drivingFrequency);
         this.updateStrategyEnum = updateStrategyEnum;
         this.timeStep = timeStep;
         this.totalTime = totalTime;
+        this.integrationSettings = new IntegrationSettings(absoluteTolerance, relativeTolerance, gearOrder);
+    }
+
+    /**
+     * @return The {@link ExecutionModeEnum} in which the program runs.
+     */
+    public ExecutionModeEnum getExecutionMode() {
+        return executionMode;
     }
 
     /**
@@ -108,6 +184,49 @@ public class ProgramArguments {
         return viscousDampingCoefficient;
     }
 
+    /**
+     * @return The {@link ForceModelEnum} that indicates which force the {@link Particle} suffers.
+     */
+    public ForceModelEnum getForceModelEnum() {
+        return forceModelEnum;
+    }
+
+    /**
+     * @return The cubic spring constant (used by the {@link ForceModelEnum#DUFFING} model).
+     */
+    public double getCubicSpringConstant() {
+        return cubicSpringConstant;
+    }
+
+    /**
+     * @return The amplitude of the harmonic driving force (i.e the system is not driven if zero).
+     */
+    public double getDrivingAmplitude() {
+        return drivingAmplitude;
+    }
+
+    /**
+     * @return The angular frequency of the harmonic driving force.
+     */
+    public double getDrivingFrequency() {
+        return drivingFrequency;
+    }
+
+    /**
+     * @return The {@link ForceModel} built according to the force arguments.
+     */
+    public ForceModel getForceModel() {
+        return forceModel;
+    }
+
+    /**
+     * @return {@code true} if the particle suffers the undriven {@link ForceModelEnum#LINEAR} model
+     * (i.e the one with a closed-form solution), or {@code false} otherwise.
+     */
+    public boolean isUndrivenLinear() {
+        return forceModel instanceof LinearForceModel;
+    }
+
     /**
      * @return The {@link UpdateStrategyEnum} that will provide the {@link Updater} to the system.
      */
@@ -128,4 +247,34 @@ public class ProgramArguments {
     public double getTotalTime() {
         return totalTime;
     }
+
+    /**
+     * @return The {@link IntegrationSettings} used by the {@link Updater}s.
+     */
+    public IntegrationSettings getIntegrationSettings() {
+        return integrationSettings;
+    }
+
+    /**
+     * Describes the simulated system and how it is simulated (i.e every argument but the execution mode),
+     * so two simulations with the same description produce the same trajectory.
+     *
+     * @return The description.
+     */
+    public String describeSimulation() {
+        return "strategy=" + updateStrategyEnum
+                + ", mass=" + particleMass
+                + ", initial-x=" + initialXPosition
+                + ", spring-constant=" + springConstant
+                + ", viscous-damping-coefficient=" + viscousDampingCoefficient
+                + ", force-model=" + forceModelEnum
+                + ", cubic-spring-constant=" + cubicSpringConstant
+                + ", driving-amplitude=" + drivingAmplitude
+                + ", driving-frequency=" + drivingFrequency
+                + ", time-step=" + timeStep
+                + ", duration=" + totalTime
+                + ", absolute-tolerance=" + integrationSettings.getAbsoluteTolerance()
+                + ", relative-tolerance=" + integrationSettings.getRelativeTolerance()
+                + ", gear-order=" + integrationSettings.getGearOrder();
+    }
 }
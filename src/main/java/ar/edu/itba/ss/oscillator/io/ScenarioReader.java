@@ -0,0 +1,429 @@
+package ar.edu.itba.ss.oscillator.io;
+
+import ar.edu.itba.ss.oscillator.models.ForceModelEnum;
+import ar.edu.itba.ss.oscillator.models.IntegrationSettings;
+import ar.edu.itba.ss.oscillator.models.UpdateStrategyEnum;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads the scenarios of a batch, either from a CSV file whose first line names the columns,
+ * or from a JSON lines file (i.e one flat JSON object per line), which is detected by its first character.
+ * Each scenario may set any of the {@link #FIELDS}, and takes the rest from the execution arguments.
+ * Empty lines, and lines starting with {@code #}, are ignored.
+ */
+public class ScenarioReader {
+
+    /**
+     * The fields a scenario may set.
+     */
+    public static final Set<String> FIELDS = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+            "id", "mass", "initial-x", "spring-constant", "viscous-damping-coefficient", "force-model",
+            "cubic-spring-constant", "driving-amplitude", "driving-frequency", "strategy", "time-step", "duration",
+            "ovito", "movement", "binary")));
+
+    /**
+     * The fields that override the execution arguments (i.e all but the identifier and the outputs).
+     */
+    public static final Set<String> PARAMETERS = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+            "mass", "initial-x", "spring-constant", "viscous-damping-coefficient", "force-model",
+            "cubic-spring-constant", "driving-amplitude", "driving-frequency", "strategy", "time-step", "duration")));
+
+    /**
+     * The path of the file to be read.
+     */
+    private final String filePath;
+
+    /**
+     * Constructor.
+     *
+     * @param filePath The path of the file to be read.
+     */
+    public ScenarioReader(String filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * Reads the file, building each {@link Scenario}.
+     *
+     * @param base The execution arguments, which provide the values a scenario does not set.
+     * @return The read {@link Scenario}s, in the order of the file.
+     * @throws IOException              If the file could not be read.
+     * @throws IllegalArgumentException If any line is malformed, or sets an unknown field or an invalid value.
+     */
+    public List<Scenario> read(ProgramArguments base) throws IOException {
+        final List<Scenario> scenarios = new ArrayList<>();
+        List<String> header = null;
+        Boolean jsonLines = null;
+        int lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (jsonLines == null) {
+                    jsonLines = line.startsWith("{");
+                    if (!jsonLines) {
+                        header = parseHeader(line, lineNumber);
+                        continue;
+                    }
+                }
+                final Map<String, String> values = jsonLines ? parseJsonObject(line, lineNumber) :
+                        parseCsvLine(header, line, lineNumber);
+                try {
+                    scenarios.add(buildScenario(base, values, scenarios.size()));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Line " + lineNumber + " of " + filePath
+                            + " has an invalid value: " + e.getMessage(), e);
+                }
+            }
+        }
+        return scenarios;
+    }
+
+    /**
+     * Parses the header of a CSV file.
+     *
+     * @param line       The line holding the header.
+     * @param lineNumber The number of the line.
+     * @return The name of each column.
+     */
+    private List<String> parseHeader(String line, int lineNumber) {
+        final List<String> header = new ArrayList<>();
+        for (String column : line.split(",")) {
+            final String name = column.trim();
+            if (!FIELDS.contains(name) || header.contains(name)) {
+                throw new IllegalArgumentException("Line " + lineNumber + " of " + filePath
+                        + " has an unknown or repeated column " + name + " (i.e must be any of " + FIELDS + ")");
+            }
+            header.add(name);
+        }
+        return header;
+    }
+
+    /**
+     * Parses a line of a CSV file (i.e empty values are not set).
+     *
+     * @param header     The name of each column.
+     * @param line       The line to be parsed.
+     * @param lineNumber The number of the line.
+     * @return The values set by the line, by field.
+     */
+    private Map<String, String> parseCsvLine(List<String> header, String line, int lineNumber) {
+        final String[] values = line.split(",", -1);
+        if (values.length != header.size()) {
+            throw new IllegalArgumentException("Line " + lineNumber + " of " + filePath
+                    + " must have " + header.size() + " comma separated values");
+        }
+        final Map<String, String> result = new HashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            final String value = values[i].trim();
+            if (!value.isEmpty()) {
+                result.put(header.get(i), value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Parses a flat JSON object (i.e whose values are strings, numbers, booleans or {@code null},
+     * the latter meaning the field is not set).
+     *
+     * @param line       The line holding the object.
+     * @param lineNumber The number of the line.
+     * @return The values set by the object, by field.
+     */
+    private Map<String, String> parseJsonObject(String line, int lineNumber) {
+        final Map<String, String> result = new HashMap<>();
+        final int[] position = {skipWhitespace(line, 1)};
+        if (!line.endsWith("}")) {
+            throw malformed(lineNumber);
+        }
+        final int end = line.length() - 1;
+        while (position[0] < end) {
+            if (line.charAt(position[0]) != '"') {
+                throw malformed(lineNumber);
+            }
+            final String name = parseJsonString(line, position, lineNumber);
+            position[0] = skipWhitespace(line, position[0]);
+            if (position[0] >= end || line.charAt(position[0]) != ':') {
+                throw malformed(lineNumber);
+            }
+            position[0] = skipWhitespace(line, position[0] + 1);
+            final String value;
+            if (position[0] < end && line.charAt(position[0]) == '"') {
+                value = parseJsonString(line, position, lineNumber);
+            } else {
+                final int start = position[0];
+                while (position[0] < end && line.charAt(position[0]) != ','
+                        && !Character.isWhitespace(line.charAt(position[0]))) {
+                    position[0]++;
+                }
+                final String literal = line.substring(start, position[0]);
+                if (literal.isEmpty()) {
+                    throw malformed(lineNumber);
+                }
+                value = literal.equals("null") ? null : literal;
+            }
+            if (!FIELDS.contains(name)) {
+                throw new IllegalArgumentException("Line " + lineNumber + " of " + filePath
+                        + " has an unknown field " + name + " (i.e must be any of " + FIELDS + ")");
+            }
+            if (value != null) {
+                result.put(name, value);
+            }
+            position[0] = skipWhitespace(line, position[0]);
+            if (position[0] < end) {
+                if (line.charAt(position[0]) != ',') {
+                    throw malformed(lineNumber);
+                }
+                position[0] = skipWhitespace(line, position[0] + 1);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Parses a JSON string, starting at its opening quote.
+     *
+     * @param line       The line holding the string.
+     * @param position   Holds the position of the opening quote, and is moved past the closing one.
+     * @param lineNumber The number of the line.
+     * @return The parsed string.
+     */
+    private String parseJsonString(String line, int[] position, int lineNumber) {
+        final StringBuilder builder = new StringBuilder();
+        int i = position[0] + 1;
+        while (i < line.length()) {
+            final char c = line.charAt(i++);
+            if (c == '"') {
+                position[0] = i;
+                return builder.toString();
+            }
+            if (c != '\\') {
+                builder.append(c);
+                continue;
+            }
+            if (i >= line.length()) {
+                break;
+            }
+            final char escaped = line.charAt(i++);
+            switch (escaped) {
+                case 'n':
+                    builder.append('\n');
+                    break;
+                case 't':
+                    builder.append('\t');
+                    break;
+                case 'r':
+                    builder.append('\r');
+                    break;
+                case 'b':
+                    builder.append('\b');
+                    break;
+                case 'f':
+                    builder.append('\f');
+                    break;
+                case 'u':
+                    if (i + 4 > line.length()) {
+                        throw malformed(lineNumber);
+                    }
+                    builder.append((char) Integer.parseInt(line.substring(i, i + 4), 16));
+                    i += 4;
+                    break;
+                default:
+                    // Quotes, slashes and backslashes
+                    builder.append(escaped);
+            }
+        }
+        throw malformed(lineNumber);
+    }
+
+    /**
+     * @param line     The line.
+     * @param position The position from where whitespaces are skipped.
+     * @return The position of the first non whitespace character (or the length of the line if there is none).
+     */
+    private static int skipWhitespace(String line, int position) {
+        while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * @param lineNumber The number of the malformed line.
+     * @return The exception to be thrown when a line is not a flat JSON object.
+     */
+    private IllegalArgumentException malformed(int lineNumber) {
+        return new IllegalArgumentException("Line " + lineNumber + " of " + filePath + " is not a flat JSON object");
+    }
+
+    /**
+     * Builds a {@link Scenario}, taking the values it does not set from the execution arguments.
+     *
+     * @param base   The execution arguments.
+     * @param values The values set by the scenario, by field.
+     * @param index  The position of the scenario in the file (i.e starting from zero).
+     * @return The built {@link Scenario}.
+     */
+    private static Scenario buildScenario(ProgramArguments base, Map<String, String> values, final int index) {
+        return new Scenario(index, values.getOrDefault("id", Integer.toString(index)),
+                buildProgramArguments(base, values), values.getOrDefault("ovito", ""),
+                values.getOrDefault("movement", ""), values.getOrDefault("binary", ""));
+    }
+
+    /**
+     * Builds the {@link ProgramArguments} of a simulation that overrides some {@link #PARAMETERS},
+     * taking the rest from the execution arguments (i.e tolerances and gear order are always taken from them).
+     *
+     * @param base   The execution arguments.
+     * @param values The overridden values, by field (i.e other fields are ignored).
+     * @return The built {@link ProgramArguments}.
+     * @throws IllegalArgumentException If any value is invalid.
+     */
+    public static ProgramArguments buildProgramArguments(ProgramArguments base, Map<String, String> values) {
+        final IntegrationSettings settings = base.getIntegrationSettings();
+        return new ProgramArguments(base.getExecutionMode(),
+                getDouble(values, "mass", base.getParticleMass()),
+                getDouble(values, "initial-x", base.getInitialXPosition()),
+                getDouble(values, "spring-constant", base.getSpringConstant()),
+                getDouble(values, "viscous-damping-coefficient", base.getViscousDampingCoefficient()),
+                values.containsKey("force-model") ?
+                        ForceModelEnum.valueOf(values.get("force-model")) : base.getForceModelEnum(),
+                getDouble(values, "cubic-spring-constant", base.getCubicSpringConstant()),
+                getDouble(values, "driving-amplitude", base.getDrivingAmplitude()),
+                getDouble(values, "driving-frequency", base.getDrivingFrequency()),
+                values.containsKey("strategy") ?
+                        UpdateStrategyEnum.valueOf(values.get("strategy")) : base.getUpdateStrategyEnum(),
+                getDouble(values, "time-step", base.getTimeStep()),
+                getDouble(values, "duration", base.getTotalTime()),
+                settings.getAbsoluteTolerance(),
+                settings.getRelativeTolerance(),
+                settings.getGearOrder());
+    }
+
+    /**
+     * @param values       The values set by the scenario, by field.
+     * @param field        The field.
+     * @param defaultValue The value used if the scenario does not set the field.
+     * @return The value of the field.
+     */
+    private static double getDouble(Map<String, String> values, String field, double defaultValue) {
+        final String value = values.get(field);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    /**
+     * A scenario of a batch (i.e one simulation).
+     */
+    public static final class Scenario {
+
+        /**
+         * The position of the scenario in the file (i.e starting from zero).
+         */
+        private final int index;
+
+        /**
+         * The identifier of the scenario (i.e its index if the file does not set it).
+         */
+        private final String id;
+
+        /**
+         * The execution arguments of the scenario.
+         */
+        private final ProgramArguments programArguments;
+
+        /**
+         * The path of the ovito file (i.e not saved if empty).
+         */
+        private final String ovitoFilePath;
+
+        /**
+         * The path of the positions file (i.e not saved if empty).
+         */
+        private final String movementFilePath;
+
+        /**
+         * The path of the binary trajectory file (i.e not saved if empty).
+         */
+        private final String binaryFilePath;
+
+        /**
+         * Constructor.
+         *
+         * @param index            The position of the scenario in the file (i.e starting from zero).
+         * @param id               The identifier of the scenario.
+         * @param programArguments The execution arguments of the scenario.
+         * @param ovitoFilePath    The path of the ovito file (i.e not saved if empty).
+         * @param movementFilePath The path of the positions file (i.e not saved if empty).
+         * @param binaryFilePath   The path of the binary trajectory file (i.e not saved if empty).
+         */
+        public Scenario(final int index, String id, ProgramArguments programArguments,
+                        String ovitoFilePath, String movementFilePath, String binaryFilePath) {
+            this.index = index;
+            this.id = id;
+            this.programArguments = programArguments;
+            this.ovitoFilePath = ovitoFilePath;
+            this.movementFilePath = movementFilePath;
+            this.binaryFilePath = binaryFilePath;
+        }
+
+        /**
+         * @return The position of the scenario in the file (i.e starting from zero).
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return The identifier of the scenario.
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * @return The execution arguments of the scenario.
+         */
+        public ProgramArguments getProgramArguments() {
+            return programArguments;
+        }
+
+        /**
+         * @return The path of the ovito file (i.e not saved if empty).
+         */
+        public String getOvitoFilePath() {
+            return ovitoFilePath;
+        }
+
+        /**
+         * @return The path of the positions file (i.e not saved if empty).
+         */
+        public String getMovementFilePath() {
+            return movementFilePath;
+        }
+
+        /**
+         * @return The path of the binary trajectory file (i.e not saved if empty).
+         */
+        public String getBinaryFilePath() {
+            return binaryFilePath;
+        }
+    }
+}
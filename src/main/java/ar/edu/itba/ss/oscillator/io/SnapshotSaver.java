@@ -0,0 +1,23 @@
+package ar.edu.itba.ss.oscillator.io;
+
+import ar.edu.itba.ss.oscillator.models.DampedOscillator;
+import ar.edu.itba.ss.oscillator.models.StateSnapshot;
+
+import java.io.IOException;
+
+/**
+ * A {@link StreamingDataSaver} that can also consume {@link StateSnapshot}s (e.g the slots of a ring buffer,
+ * or the rows of an off-heap trajectory), reading their values straight from their storage
+ * (i.e without building a state for each of them).
+ */
+public interface SnapshotSaver extends StreamingDataSaver<DampedOscillator.DampedOscillatorState> {
+
+    /**
+     * Saves the given snapshot, after the previously appended states.
+     * The saver must not keep any reference to the snapshot, as views are reused.
+     *
+     * @param snapshot The {@link StateSnapshot} to be saved.
+     * @throws IOException If any I/O error occurs.
+     */
+    void append(StateSnapshot snapshot) throws IOException;
+}
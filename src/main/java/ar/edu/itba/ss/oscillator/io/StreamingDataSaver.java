@@ -0,0 +1,75 @@
+package ar.edu.itba.ss.oscillator.io;
+
+import ar.edu.itba.ss.g7.engine.io.DataSaver;
+import ar.edu.itba.ss.g7.engine.simulation.State;
+
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A {@link DataSaver} that can also consume {@link State}s one by one, as they are produced,
+ * so memory usage does not depend on the amount of saved states.
+ * Usage consists of calling {@link #open()}, then {@link #append(State)} for each state, and finally {@link #close()}.
+ * While opened, {@link #checkpoint(DataOutput)} can be called to save the progress, so an interrupted simulation
+ * can be resumed with {@link #resume(DataInput)} instead of {@link #open()}.
+ * If the simulation fails, {@link #abort()} is called instead of {@link #close()}, so it can still be resumed.
+ *
+ * @param <S> The concrete type of {@link State} being saved.
+ */
+public interface StreamingDataSaver<S extends State> extends DataSaver<S>, Closeable {
+
+    /**
+     * Opens the saver, preparing it to receive states.
+     *
+     * @throws IOException If any I/O error occurs.
+     */
+    void open() throws IOException;
+
+    /**
+     * Saves the given state, after the previously appended ones.
+     *
+     * @param state The {@link State} to be saved.
+     * @throws IOException If any I/O error occurs.
+     */
+    void append(S state) throws IOException;
+
+    /**
+     * Writes all the appended states into the file, and then the information needed to continue after them.
+     * The saver stays opened.
+     *
+     * @param output The {@link DataOutput} where the information will be written.
+     * @throws IOException If any I/O error occurs.
+     */
+    void checkpoint(DataOutput output) throws IOException;
+
+    /**
+     * Opens the saver, continuing after the states saved when the given checkpoint was written
+     * (i.e anything written afterwards is discarded).
+     *
+     * @param input The {@link DataInput} from where the information written by {@link #checkpoint(DataOutput)}
+     *              will be read.
+     * @throws IOException If any I/O error occurs, or if the file does not match the checkpoint.
+     */
+    void resume(DataInput input) throws IOException;
+
+    /**
+     * Flushes any buffered data, and closes the saver.
+     *
+     * @throws IOException If any I/O error occurs.
+     */
+    @Override
+    void close() throws IOException;
+
+    /**
+     * Closes the saver after a failure, without finishing the file, so the simulation can still be resumed
+     * from its last checkpoint (i.e anything the checkpoint refers to must be kept).
+     * By default, the saver is just closed, as resuming discards anything written after the checkpoint.
+     *
+     * @throws IOException If any I/O error occurs.
+     */
+    default void abort() throws IOException {
+        close();
+    }
+}
@@ -0,0 +1,148 @@
+package ar.edu.itba.ss.oscillator.io;
+
+import ar.edu.itba.ss.oscillator.models.UpdateStrategyEnum;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Saves the results of a strategy and time step sweep into a CSV file, one line per cell.
+ */
+public class SweepResultsSaver {
+
+    /**
+     * The path of the file to be written.
+     */
+    private final String filePath;
+
+    /**
+     * Constructor.
+     *
+     * @param filePath The path of the file to be written.
+     */
+    public SweepResultsSaver(String filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * Saves the given results.
+     *
+     * @param results The results to be saved.
+     * @throws IOException If the file could not be written.
+     */
+    public void save(List<Result> results) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8)) {
+            writer.append("strategy,time-step,steps,mean-squared-error,max-absolute-error,elapsed-ms\n");
+            for (Result result : results) {
+                writer.append(result.getStrategy().name()).append(",")
+                        .append(Double.toString(result.getTimeStep())).append(",")
+                        .append(Long.toString(result.getSteps())).append(",")
+                        .append(Double.toString(result.getMeanSquaredError())).append(",")
+                        .append(Double.toString(result.getMaxAbsoluteError())).append(",")
+                        .append(Long.toString(result.getElapsedMillis())).append("\n");
+            }
+        }
+    }
+
+    /**
+     * The result of simulating one cell of the sweep.
+     */
+    public static final class Result {
+
+        /**
+         * The {@link UpdateStrategyEnum} used.
+         */
+        private final UpdateStrategyEnum strategy;
+
+        /**
+         * The time step used.
+         */
+        private final double timeStep;
+
+        /**
+         * The amount of steps performed.
+         */
+        private final long steps;
+
+        /**
+         * The mean squared error of the position against the analytic solution.
+         */
+        private final double meanSquaredError;
+
+        /**
+         * The maximum absolute error of the position against the analytic solution.
+         */
+        private final double maxAbsoluteError;
+
+        /**
+         * The time it took to simulate the cell (in milliseconds).
+         */
+        private final long elapsedMillis;
+
+        /**
+         * Constructor.
+         *
+         * @param strategy         The {@link UpdateStrategyEnum} used.
+         * @param timeStep         The time step used.
+         * @param steps            The amount of steps performed.
+         * @param meanSquaredError The mean squared error of the position against the analytic solution.
+         * @param maxAbsoluteError The maximum absolute error of the position against the analytic solution.
+         * @param elapsedMillis    The time it took to simulate the cell (in milliseconds).
+         */
+        public Result(UpdateStrategyEnum strategy, double timeStep, long steps,
+                      double meanSquaredError, double maxAbsoluteError, long elapsedMillis) {
+            this.strategy = strategy;
+            this.timeStep = timeStep;
+            this.steps = steps;
+            this.meanSquaredError = meanSquaredError;
+            this.maxAbsoluteError = maxAbsoluteError;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        /**
+         * @return The {@link UpdateStrategyEnum} used.
+         */
+        public UpdateStrategyEnum getStrategy() {
+            return strategy;
+        }
+
+        /**
+         * @return The time step used.
+         */
+        public double getTimeStep() {
+            return timeStep;
+        }
+
+        /**
+         * @return The amount of steps performed.
+         */
+        public long getSteps() {
+            return steps;
+        }
+
+        /**
+         * @return The mean squared error of the position against the analytic solution.
+         */
+        public double getMeanSquaredError() {
+            return meanSquaredError;
+        }
+
+        /**
+         * @return The maximum absolute error of the position against the analytic solution.
+         */
+        public double getMaxAbsoluteError() {
+            return maxAbsoluteError;
+        }
+
+        /**
+         * @return The time it took to simulate the cell (in milliseconds).
+         */
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+}
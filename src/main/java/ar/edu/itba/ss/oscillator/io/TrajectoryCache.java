@@ -0,0 +1,460 @@
+package ar.edu.itba.ss.oscillator.io;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * Persistent cache of the outputs of finished simulations, so a repeated simulation copies them
+ * instead of integrating again.
+ * <p>
+ * Each entry is a directory named after the SHA-256 of a description of everything that determines the outputs
+ * (i.e the simulation, the sampling, the ovito boundary, which outputs are saved, and the version and time
+ * of the build, so any rebuild invalidates previous entries). It holds a copy of each output, and a manifest with
+ * the {@link #MAGIC} bytes, the format version, the description, and the SHA-256 of each output,
+ * which is checked while the outputs are restored (i.e a corrupted entry is discarded, and the simulation runs).
+ * Entries are written into a temporary directory that is then renamed, so readers never see partial entries.
+ * <p>
+ * The cache is bounded by the total size of its entries, evicting the least recently used ones
+ * (i.e restoring an entry touches its manifest).
+ */
+@Component
+public class TrajectoryCache {
+
+    /**
+     * The {@link Logger} object.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(TrajectoryCache.class);
+
+    /**
+     * The bytes that identify a manifest file.
+     */
+    private static final byte[] MAGIC = "OSCCACH\0".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * The version of the manifest format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The name of the manifest file of each entry.
+     */
+    private static final String MANIFEST = "manifest";
+
+    /**
+     * The suffix of the directories where entries are being written.
+     */
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    /**
+     * The classpath resource holding the version and time of the build.
+     */
+    private static final String BUILD_INFO_RESOURCE = "META-INF/build-info.properties";
+
+    /**
+     * The size of the copy buffers (in bytes).
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The lock held while evicting, so threads of the same program do not evict the same entries.
+     */
+    private static final Object EVICTION_LOCK = new Object();
+
+    /**
+     * The directory of the cache (i.e {@code null} if the cache is disabled).
+     */
+    private final Path directory;
+
+    /**
+     * The maximum total size of the entries (in bytes).
+     */
+    private final long maxSize;
+
+    /**
+     * The paths of the cached outputs, by name (i.e only the outputs that are saved).
+     */
+    private final Map<String, Path> outputs;
+
+    /**
+     * A description of everything that determines the outputs.
+     */
+    private final String description;
+
+    /**
+     * The name of the entry of the outputs (i.e the SHA-256 of the description, in hexadecimal).
+     */
+    private final String key;
+
+    /**
+     * Constructor.
+     *
+     * @param directoryPath    The path of the directory of the cache (i.e empty if the cache is disabled).
+     * @param maxSize          The maximum total size of the entries (in bytes).
+     * @param programArguments The execution arguments.
+     * @param samplingMode     The sampling mode.
+     * @param samplingStride   The sampling stride.
+     * @param samplingInterval The sampling interval.
+     * @param ovitoBoundary    The boundary written in each ovito frame.
+     * @param ovitoFilePath    The path of the ovito file (i.e empty if it is not saved).
+     * @param movementFilePath The path of the movement file (i.e empty if it is not saved).
+     * @param binaryFilePath   The path of the binary trajectory file (i.e empty if it is not saved).
+     */
+    @Autowired
+    public TrajectoryCache(@Value("${custom.cache.path:}") final String directoryPath,
+                           @Value("${custom.cache.size}") final long maxSize,
+                           ProgramArguments programArguments,
+                           @Value("${custom.output.sampling.mode}") final String samplingMode,
+                           @Value("${custom.output.sampling.stride}") final long samplingStride,
+                           @Value("${custom.output.sampling.interval}") final double samplingInterval,
+                           @Value("${custom.output.ovito-boundary}") final String ovitoBoundary,
+                           @Value("${custom.output.ovito:}") final String ovitoFilePath,
+                           @Value("${custom.output.movement:}") final String movementFilePath,
+                           @Value("${custom.output.binary:}") final String binaryFilePath) {
+        this.directory = directoryPath.isEmpty() ? null : Paths.get(directoryPath).toAbsolutePath();
+        this.maxSize = maxSize;
+        this.outputs = new LinkedHashMap<>();
+        addOutput("ovito", ovitoFilePath);
+        addOutput("movement", movementFilePath);
+        addOutput("binary", binaryFilePath);
+        this.description = "code=" + (directory == null ? "" : CodeVersionHolder.CODE_VERSION)
+                + ", " + programArguments.describeSimulation()
+                + ", sampling=" + samplingMode + "/" + samplingStride + "/" + samplingInterval
+                + ", ovito-boundary=" + ovitoBoundary
+                + ", outputs=" + outputs.keySet();
+        this.key = toHex(digest(description.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Adds an output to be cached, if it is saved.
+     *
+     * @param name     The name of the output.
+     * @param filePath The path of the output (i.e empty if it is not saved).
+     */
+    private void addOutput(String name, String filePath) {
+        if (!filePath.isEmpty()) {
+            outputs.put(name, Paths.get(filePath).toAbsolutePath());
+        }
+    }
+
+    /**
+     * @return {@code true} if outputs must be cached, or {@code false} otherwise.
+     */
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Restores the outputs from the cache, checking their SHA-256 against the manifest.
+     * Missing entries, and entries that fail to be restored or checked, are reported as not cached
+     * (i.e corrupted entries are deleted).
+     *
+     * @return {@code true} if the outputs were restored, or {@code false} if they must be simulated.
+     */
+    public boolean restore() {
+        final Path entry = directory.resolve(key);
+        if (!Files.isDirectory(entry)) {
+            return false;
+        }
+        try {
+            final Map<String, byte[]> digests = readManifest(entry.resolve(MANIFEST));
+            for (Map.Entry<String, Path> output : outputs.entrySet()) {
+                final byte[] expected = digests.get(output.getKey());
+                final byte[] actual = copy(entry.resolve(output.getKey()), output.getValue());
+                if (expected == null || !Arrays.equals(expected, actual)) {
+                    throw new IOException("The " + output.getKey() + " output does not match its digest");
+                }
+            }
+            Files.setLastModifiedTime(entry.resolve(MANIFEST), FileTime.fromMillis(System.currentTimeMillis()));
+            LOGGER.info("Restored outputs from cache entry {}", entry);
+            return true;
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.warn("Discarding cache entry {}: {}", entry, e.toString());
+            deleteEntry(entry);
+            return false;
+        }
+    }
+
+    /**
+     * Stores the saved outputs in the cache, evicting the least recently used entries to keep it within its size.
+     * Outputs larger than the whole cache are not stored.
+     *
+     * @throws IOException If any I/O error occurs.
+     */
+    public void store() throws IOException {
+        long size = 0;
+        for (Path output : outputs.values()) {
+            size += Files.size(output);
+        }
+        if (size > maxSize) {
+            LOGGER.info("Outputs are not cached, as they take {} bytes (i.e more than the whole cache)", size);
+            return;
+        }
+        Files.createDirectories(directory);
+        final Path temporary = directory.resolve(key + "." + UUID.randomUUID() + TEMPORARY_SUFFIX);
+        Files.createDirectory(temporary);
+        try {
+            final Map<String, byte[]> digests = new LinkedHashMap<>();
+            for (Map.Entry<String, Path> output : outputs.entrySet()) {
+                digests.put(output.getKey(), copy(output.getValue(), temporary.resolve(output.getKey())));
+            }
+            writeManifest(temporary.resolve(MANIFEST), digests);
+            final Path entry = directory.resolve(key);
+            if (Files.exists(entry)) {
+                deleteEntry(entry);
+            }
+            Files.move(temporary, entry, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.info("Stored outputs in cache entry {}", entry);
+        } catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+            // Another run stored the same entry in the meantime
+            LOGGER.debug("Cache entry {} was already stored", key);
+        } finally {
+            deleteEntry(temporary);
+        }
+        evict();
+    }
+
+    /**
+     * Deletes the least recently used entries until the cache is within its size.
+     * Entries that disappear in the meantime (i.e evicted by another program) are ignored.
+     */
+    private void evict() {
+        synchronized (EVICTION_LOCK) {
+            final List<Path> entries = new ArrayList<>();
+            final Map<Path, Long> sizes = new LinkedHashMap<>();
+            final Map<Path, Long> lastUses = new LinkedHashMap<>();
+            long size = 0;
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                for (Path entry : stream) {
+                    if (entry.getFileName().toString().endsWith(TEMPORARY_SUFFIX)) {
+                        continue;
+                    }
+                    try {
+                        final long lastUse = Files.getLastModifiedTime(entry.resolve(MANIFEST)).toMillis();
+                        final long entrySize = entrySize(entry);
+                        lastUses.put(entry, lastUse);
+                        sizes.put(entry, entrySize);
+                        size += entrySize;
+                        entries.add(entry);
+                    } catch (NoSuchFileException e) {
+                        // Being written, or evicted by another program
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Could not list the cache entries: {}", e.toString());
+                return;
+            }
+            entries.sort(Comparator.comparing(lastUses::get));
+            for (Path entry : entries) {
+                if (size <= maxSize) {
+                    break;
+                }
+                LOGGER.info("Evicting cache entry {}", entry);
+                deleteEntry(entry);
+                size -= sizes.get(entry);
+            }
+        }
+    }
+
+    /**
+     * @param entry The directory of the entry.
+     * @return The total size of the files of the entry (in bytes).
+     * @throws IOException If any I/O error occurs.
+     */
+    private static long entrySize(Path entry) throws IOException {
+        long size = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(entry)) {
+            for (Path file : stream) {
+                size += Files.size(file);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Deletes the given entry, if it exists, logging any failure (i.e it is left to be evicted later).
+     *
+     * @param entry The directory of the entry.
+     */
+    private static void deleteEntry(Path entry) {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(entry)) {
+            for (Path file : stream) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(entry);
+        } catch (NoSuchFileException e) {
+            // Already deleted
+        } catch (IOException e) {
+            LOGGER.warn("Could not delete cache entry {}: {}", entry, e.toString());
+        }
+    }
+
+    /**
+     * Writes the manifest of an entry.
+     *
+     * @param path    The path of the manifest.
+     * @param digests The SHA-256 of each output, by name.
+     * @throws IOException If any I/O error occurs.
+     */
+    private void writeManifest(Path path, Map<String, byte[]> digests) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            output.write(MAGIC);
+            output.writeInt(VERSION);
+            output.writeUTF(description);
+            output.writeInt(digests.size());
+            for (Map.Entry<String, byte[]> digest : digests.entrySet()) {
+                output.writeUTF(digest.getKey());
+                output.write(digest.getValue());
+            }
+        }
+    }
+
+    /**
+     * Reads the manifest of an entry, checking it describes the same outputs.
+     *
+     * @param path The path of the manifest.
+     * @return The SHA-256 of each output, by name.
+     * @throws IOException If any I/O error occurs, or if the manifest is malformed or describes other outputs.
+     */
+    private Map<String, byte[]> readManifest(Path path) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            final byte[] magic = new byte[MAGIC.length];
+            input.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException(path + " is not a cache manifest");
+            }
+            final int version = input.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported cache manifest version " + version);
+            }
+            if (!input.readUTF().equals(description)) {
+                throw new IOException("The entry describes other outputs");
+            }
+            final int count = input.readInt();
+            final Map<String, byte[]> digests = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                final String name = input.readUTF();
+                final byte[] digest = new byte[newDigest().getDigestLength()];
+                input.readFully(digest);
+                digests.put(name, digest);
+            }
+            return digests;
+        }
+    }
+
+    /**
+     * Copies a file, calculating the SHA-256 of its content on the way.
+     *
+     * @param source The path of the file to be copied.
+     * @param target The path of the copy (i.e replaced if it exists).
+     * @return The SHA-256 of the content.
+     * @throws IOException If any I/O error occurs.
+     */
+    private static byte[] copy(Path source, Path target) throws IOException {
+        final MessageDigest digest = newDigest();
+        try (InputStream input = new DigestInputStream(Files.newInputStream(source), digest);
+             OutputStream output = Files.newOutputStream(target)) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * @return A new SHA-256 {@link MessageDigest}.
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * @param bytes The bytes to be digested.
+     * @return The SHA-256 of the given bytes.
+     */
+    private static byte[] digest(byte[] bytes) {
+        return newDigest().digest(bytes);
+    }
+
+    /**
+     * @param bytes The bytes to be formatted.
+     * @return The given bytes, in hexadecimal.
+     */
+    private static String toHex(byte[] bytes) {
+        final StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Holds the version of the code, which is only read once the cache is enabled.
+     */
+    private static final class CodeVersionHolder {
+
+        /**
+         * The version and time of the build (i.e as recorded by the build).
+         */
+        private static final String CODE_VERSION = readCodeVersion();
+
+        /**
+         * Reads the version and time of the build.
+         *
+         * @return The version of the code.
+         * @throws IllegalStateException If the build did not record them (i.e the cache can not tell
+         *                               whether an entry was produced by the same code).
+         */
+        private static String readCodeVersion() {
+            try (InputStream input = TrajectoryCache.class.getClassLoader().getResourceAsStream(BUILD_INFO_RESOURCE)) {
+                if (input == null) {
+                    throw new IllegalStateException(BUILD_INFO_RESOURCE + " is missing, so the trajectory cache"
+                            + " can not be used (i.e build the project with Maven)");
+                }
+                final Properties properties = new Properties();
+                properties.load(input);
+                return properties.getProperty("build.version") + "@" + properties.getProperty("build.time");
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read " + BUILD_INFO_RESOURCE, e);
+            }
+        }
+    }
+}
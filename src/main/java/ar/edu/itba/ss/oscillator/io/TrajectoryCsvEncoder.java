@@ -0,0 +1,104 @@
+package ar.edu.itba.ss.oscillator.io;
+
+import ar.edu.itba.ss.oscillator.models.DampedOscillator;
+import ar.edu.itba.ss.oscillator.models.Particle;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Encodes a trajectory as CSV into memory, one line per state with its time, position and velocity
+ * (i.e the 'x' components). Values are formatted straight into a growing byte array (see {@link DoubleFormatter}),
+ * so no intermediate text is built.
+ */
+public class TrajectoryCsvEncoder {
+
+    /**
+     * The header of the encoded trajectory.
+     */
+    private static final byte[] HEADER = "time,position,velocity\n".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * The maximum length of an encoded state (i.e three values, each one followed by a separator).
+     */
+    private static final int LINE_MAX_LENGTH = 3 * (DoubleFormatter.MAX_LENGTH + 1);
+
+    /**
+     * The maximum initial size of the buffer (in bytes), so long trajectories grow it as they are encoded.
+     */
+    private static final int MAX_INITIAL_SIZE = 1 << 20;
+
+    /**
+     * The maximum size of the buffer (in bytes), as some virtual machines reserve header words in arrays.
+     */
+    private static final int MAX_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * The {@link DoubleFormatter} used to format values.
+     */
+    private final DoubleFormatter formatter;
+
+    /**
+     * The encoded bytes (i.e only the first {@link #length} are used).
+     */
+    private byte[] buffer;
+
+    /**
+     * The amount of encoded bytes.
+     */
+    private int length;
+
+    /**
+     * Constructor.
+     *
+     * @param expectedStates The amount of states expected to be encoded (i.e used to size the buffer).
+     */
+    public TrajectoryCsvEncoder(final long expectedStates) {
+        this.formatter = new DoubleFormatter();
+        this.buffer = new byte[(int) Math.min(MAX_INITIAL_SIZE, maxLength(expectedStates))];
+        System.arraycopy(HEADER, 0, buffer, 0, HEADER.length);
+        this.length = HEADER.length;
+    }
+
+    /**
+     * Encodes the given state.
+     *
+     * @param state The state to be encoded.
+     * @throws IllegalStateException If the encoded trajectory would not fit in a byte array.
+     */
+    public void append(DampedOscillator.DampedOscillatorState state) {
+        if (length + LINE_MAX_LENGTH > buffer.length) {
+            if (length > MAX_SIZE - LINE_MAX_LENGTH) {
+                throw new IllegalStateException("The encoded trajectory exceeds " + MAX_SIZE + " bytes");
+            }
+            buffer = Arrays.copyOf(buffer, (int) Math.min(MAX_SIZE,
+                    Math.max(2L * buffer.length, (long) length + LINE_MAX_LENGTH)));
+        }
+        final Particle.ParticleState particle = state.getParticleState();
+        length = formatter.format(state.getTime(), buffer, length);
+        buffer[length++] = ',';
+        length = formatter.format(particle.getPositionX(), buffer, length);
+        buffer[length++] = ',';
+        length = formatter.format(particle.getVelocityX(), buffer, length);
+        buffer[length++] = '\n';
+    }
+
+    /**
+     * @return The encoded trajectory.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, length);
+    }
+
+    /**
+     * Calculates the maximum size of an encoded trajectory (i.e including the header).
+     *
+     * @param states The amount of encoded states.
+     * @return The maximum size (in bytes), or {@link Long#MAX_VALUE} if it does not fit in a long.
+     */
+    public static long maxLength(final long states) {
+        final long lines = Math.max(0L, states);
+        return lines > (Long.MAX_VALUE - HEADER.length) / LINE_MAX_LENGTH ?
+                Long.MAX_VALUE : HEADER.length + lines * LINE_MAX_LENGTH;
+    }
+}
@@ -0,0 +1,86 @@
+package ar.edu.itba.ss.oscillator.models;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Concrete implementation of {@link AbstractSystemUpdater} that evaluates the closed-form solution
+ * of the damped oscillator (see {@link DampedOscillatorSolution}), instead of integrating its equation.
+ * As no history is needed, the state at any time can be also obtained directly with {@link #stateAt(double)}.
+ * The solution only exists for a {@link LinearForceModel}.
+ */
+public class AnalyticUpdater extends DampedOscillatorAbstractUpdater {
+
+    /**
+     * The closed-form solution of the updated {@link DampedOscillator}.
+     */
+    private final DampedOscillatorSolution solution;
+
+    /**
+     * The mass of the updated {@link DampedOscillator}'s particle.
+     */
+    private final double mass;
+
+    /**
+     * The time step of the updated {@link DampedOscillator}.
+     */
+    private final double timeStep;
+
+    /**
+     * The amount of updates performed (i.e the time is calculated as steps times time step, so it does not drift).
+     */
+    private long steps;
+
+    /**
+     * Constructor.
+     *
+     * @param dampedOscillator The {@link DampedOscillator} to be updated.
+     * @throws IllegalArgumentException If the {@link DampedOscillator}'s force is not linear.
+     */
+    public AnalyticUpdater(DampedOscillator dampedOscillator) {
+        super(dampedOscillator);
+        requireLinearForce(dampedOscillator, "ANALYTIC");
+        this.solution = DampedOscillatorSolution.forOscillator(dampedOscillator);
+        this.mass = dampedOscillator.getParticle().getMass();
+        this.timeStep = dampedOscillator.getTimeStep();
+        this.steps = 0;
+    }
+
+    @Override
+    public void doUpdate(DampedOscillator dampedOscillator) {
+        steps++;
+        final double time = steps * timeStep;
+        final double position = solution.positionAt(time);
+        final double velocity = solution.velocityAt(time);
+        final Particle particle = dampedOscillator.getParticle();
+        particle.setPosition(position, 0d);
+        particle.setVelocity(velocity, 0d);
+        particle.setAcceleration(solution.accelerationFor(position, velocity), 0d);
+    }
+
+    /**
+     * Calculates the state of the updated {@link DampedOscillator} at the given time,
+     * without modifying it.
+     *
+     * @param time The time.
+     * @return The state at the given time.
+     */
+    public DampedOscillator.DampedOscillatorState stateAt(final double time) {
+        final double position = solution.positionAt(time);
+        final double velocity = solution.velocityAt(time);
+        final double acceleration = solution.accelerationFor(position, velocity);
+        return new DampedOscillator.DampedOscillatorState(time,
+                new Particle.ParticleState(mass, position, 0d, velocity, 0d, acceleration, 0d));
+    }
+
+    @Override
+    public void writeCheckpoint(DataOutput output) throws IOException {
+        output.writeLong(steps);
+    }
+
+    @Override
+    public void readCheckpoint(DataInput input) throws IOException {
+        this.steps = input.readLong();
+    }
+}
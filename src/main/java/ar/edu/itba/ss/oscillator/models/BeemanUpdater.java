@@ -1,8 +1,8 @@
 package ar.edu.itba.ss.oscillator.models;
 
-import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
-
-import java.util.function.Function;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * Implementation of {@link Updater} using Beeman's equations with prediction-correction.
@@ -10,9 +10,64 @@ import java.util.function.Function;
 /* package */ class BeemanUpdater extends DampedOscillatorAbstractUpdater {
 
     /**
-     * The previous acceleration.
+     * The 'x' component of the previous acceleration.
+     */
+    private double previousAccelerationX;
+
+    /**
+     * The 'y' component of the previous acceleration.
+     */
+    private double previousAccelerationY;
+
+    /**
+     * The {@link ForceModel} of the updated {@link DampedOscillator}.
+     */
+    private final ForceModel forceModel;
+
+    /**
+     * The time step of the updated {@link DampedOscillator}.
+     */
+    private final double timeStep;
+
+    /**
+     * The factor applied to the actual acceleration when calculating the position (i.e 2/3 dt^2).
+     */
+    private final double positionActualAccelerationFactor;
+
+    /**
+     * The factor applied to the previous acceleration when calculating the position (i.e 1/6 dt^2).
+     */
+    private final double positionPreviousAccelerationFactor;
+
+    /**
+     * The factor applied to the actual acceleration when predicting the velocity (i.e 3/2 dt).
+     */
+    private final double predictionActualAccelerationFactor;
+
+    /**
+     * The factor applied to the previous acceleration when predicting the velocity (i.e 1/2 dt).
+     */
+    private final double predictionPreviousAccelerationFactor;
+
+    /**
+     * The factor applied to the new acceleration when correcting the velocity (i.e 1/3 dt).
+     */
+    private final double correctionNewAccelerationFactor;
+
+    /**
+     * The factor applied to the actual acceleration when correcting the velocity (i.e 5/6 dt).
+     */
+    private final double correctionActualAccelerationFactor;
+
+    /**
+     * The factor applied to the previous acceleration when correcting the velocity (i.e 1/6 dt).
+     */
+    private final double correctionPreviousAccelerationFactor;
+
+    /**
+     * The inverse of the mass (i.e scales the force into an acceleration).
      */
-    private Vector2D previousAcceleration;
+    private final double inverseMass;
 
     /**
      * Constructor.
@@ -21,7 +76,40 @@ import java.util.function.Function;
      */
     /* package */ BeemanUpdater(DampedOscillator dampedOscillator) {
         super(dampedOscillator);
-        this.previousAcceleration = calculateInitialPreviousAcceleration(dampedOscillator);
+        final Particle particle = dampedOscillator.getParticle();
+        final ForceModel forceModel = dampedOscillator.getForceModel();
+        final double timeStep = dampedOscillator.getTimeStep();
+        final double mass = particle.getMass();
+        final double actualTime = dampedOscillator.getActualTime();
+        // Calculate actual force
+        final double forceX = forceModel.force(particle.getPositionX(), particle.getVelocityX())
+                + forceModel.externalForce(actualTime);
+        final double forceY = forceModel.force(particle.getPositionY(), particle.getVelocityY());
+        // Calculate velocity at -deltaT
+        final double velocityFactor = timeStep / mass;
+        final double previousVelocityX = particle.getVelocityX() - forceX * velocityFactor;
+        final double previousVelocityY = particle.getVelocityY() - forceY * velocityFactor;
+        // Calculate position at -deltaT
+        final double positionFactor = (timeStep * timeStep) / (2 * mass);
+        final double previousPositionX = particle.getPositionX() - previousVelocityX * timeStep
+                + forceX * positionFactor;
+        final double previousPositionY = particle.getPositionY() - previousVelocityY * timeStep
+                + forceY * positionFactor;
+        // Calculate acceleration using the velocity and position
+        this.inverseMass = 1 / mass;
+        this.previousAccelerationX = inverseMass * (forceModel.force(previousPositionX, previousVelocityX)
+                + forceModel.externalForce(actualTime - timeStep));
+        this.previousAccelerationY = inverseMass * forceModel.force(previousPositionY, previousVelocityY);
+
+        this.forceModel = forceModel;
+        this.timeStep = timeStep;
+        this.positionActualAccelerationFactor = (2d / 3d) * timeStep * timeStep;
+        this.positionPreviousAccelerationFactor = (1d / 6d) * timeStep * timeStep;
+        this.predictionActualAccelerationFactor = (3d / 2d) * timeStep;
+        this.predictionPreviousAccelerationFactor = (1d / 2d) * timeStep;
+        this.correctionNewAccelerationFactor = (1d / 3d) * timeStep;
+        this.correctionActualAccelerationFactor = (5d / 6d) * timeStep;
+        this.correctionPreviousAccelerationFactor = (1d / 6d) * timeStep;
     }
 
 
@@ -29,63 +117,58 @@ import java.util.function.Function;
     public void doUpdate(DampedOscillator dampedOscillator) {
         // Get values into scope
         final Particle particle = dampedOscillator.getParticle();
-        final Vector2D actualPosition = particle.getPosition();
-        final Vector2D actualVelocity = particle.getVelocity();
-        final Vector2D actualAcceleration = particle.getAcceleration();
-        final double timeStep = dampedOscillator.getTimeStep();
-        final double mass = particle.getMass();
+        final double actualPositionX = particle.getPositionX();
+        final double actualPositionY = particle.getPositionY();
+        final double actualVelocityX = particle.getVelocityX();
+        final double actualVelocityY = particle.getVelocityY();
+        final double actualAccelerationX = particle.getAccelerationX();
+        final double actualAccelerationY = particle.getAccelerationY();
         // Calculate position
-        final Vector2D positionResult = actualPosition
-                .add(actualVelocity.scalarMultiply(timeStep))
-                .add(actualAcceleration.scalarMultiply((2d / 3d) * timeStep * timeStep))
-                .subtract(previousAcceleration.scalarMultiply((1d / 6d) * timeStep * timeStep));
+        final double positionResultX = actualPositionX
+                + timeStep * actualVelocityX
+                + positionActualAccelerationFactor * actualAccelerationX
+                - positionPreviousAccelerationFactor * previousAccelerationX;
+        final double positionResultY = actualPositionY
+                + timeStep * actualVelocityY
+                + positionActualAccelerationFactor * actualAccelerationY
+                - positionPreviousAccelerationFactor * previousAccelerationY;
         // Predict velocity
-        final Vector2D predictedVelocity = actualVelocity
-                .add(actualAcceleration.scalarMultiply((3d / 2d) * timeStep))
-                .subtract(previousAcceleration.scalarMultiply((1d / 2d) * timeStep));
+        final double predictedVelocityX = actualVelocityX
+                + predictionActualAccelerationFactor * actualAccelerationX
+                - predictionPreviousAccelerationFactor * previousAccelerationX;
+        final double predictedVelocityY = actualVelocityY
+                + predictionActualAccelerationFactor * actualAccelerationY
+                - predictionPreviousAccelerationFactor * previousAccelerationY;
         // Calculate acceleration with predicted velocity
-        final Vector2D accelerationResult = positionResult.scalarMultiply(dampedOscillator.getSpringConstant())
-                .add(predictedVelocity.scalarMultiply(dampedOscillator.getViscousDampingCoefficient()))
-                .scalarMultiply(-1 / mass);
+        final double accelerationResultX = inverseMass * (forceModel.force(positionResultX, predictedVelocityX)
+                + forceModel.externalForce(dampedOscillator.getActualTime() + timeStep));
+        final double accelerationResultY = inverseMass * forceModel.force(positionResultY, predictedVelocityY);
         // Correct velocity using the calculated acceleration
-        final Vector2D velocityResult = actualVelocity
-                .add(accelerationResult.scalarMultiply((1d / 3d) * timeStep))
-                .add(actualAcceleration.scalarMultiply((5d / 6d) * timeStep))
-                .subtract(previousAcceleration.scalarMultiply((1d / 6d) * timeStep));
-
-        this.previousAcceleration = actualAcceleration;
-        particle.setPosition(positionResult);
-        particle.setVelocity(velocityResult);
-        particle.setAcceleration(accelerationResult);
-    }
+        final double velocityResultX = actualVelocityX
+                + correctionNewAccelerationFactor * accelerationResultX
+                + correctionActualAccelerationFactor * actualAccelerationX
+                - correctionPreviousAccelerationFactor * previousAccelerationX;
+        final double velocityResultY = actualVelocityY
+                + correctionNewAccelerationFactor * accelerationResultY
+                + correctionActualAccelerationFactor * actualAccelerationY
+                - correctionPreviousAccelerationFactor * previousAccelerationY;
 
+        this.previousAccelerationX = actualAccelerationX;
+        this.previousAccelerationY = actualAccelerationY;
+        particle.setPosition(positionResultX, positionResultY);
+        particle.setVelocity(velocityResultX, velocityResultY);
+        particle.setAcceleration(accelerationResultX, accelerationResultY);
+    }
 
-    /**
-     * Calculates which is the previous acceleration in the initial step.
-     *
-     * @param dampedOscillator The {@link DampedOscillator} from where data is taken to perform the calculation.
-     * @return The previous acceleration in the initial step
-     */
-    private static Vector2D calculateInitialPreviousAcceleration(DampedOscillator dampedOscillator) {
-        final Particle particle = dampedOscillator.getParticle();
-        final Vector2D actualPosition = particle.getPosition();
-        final double timeStep = dampedOscillator.getTimeStep();
-        final double mass = particle.getMass();
-        final Function<Particle, Vector2D> forceProvider = dampedOscillator.getForceProvider();
-
-        // Calculate actual force
-        final Vector2D force = forceProvider.apply(particle);
-        // Calculate velocity at -deltaT
-        final Vector2D previousVelocity = particle.getVelocity()
-                .subtract(force.scalarMultiply(timeStep / mass));
-        // Calculate position at -deltaT
-        final Vector2D previousPosition = actualPosition
-                .subtract(previousVelocity.scalarMultiply(timeStep))
-                .add(force.scalarMultiply((timeStep * timeStep) / (2 * mass)));
-        // Calculate acceleration using the velocity and position
-        return previousPosition.scalarMultiply(dampedOscillator.getSpringConstant())
-                .add(previousVelocity.scalarMultiply(dampedOscillator.getViscousDampingCoefficient()))
-                .scalarMultiply(-1 / mass);
+    @Override
+    public void writeCheckpoint(DataOutput output) throws IOException {
+        output.writeDouble(previousAccelerationX);
+        output.writeDouble(previousAccelerationY);
+    }
 
+    @Override
+    public void readCheckpoint(DataInput input) throws IOException {
+        this.previousAccelerationX = input.readDouble();
+        this.previousAccelerationY = input.readDouble();
     }
 }
@@ -0,0 +1,102 @@
+package ar.edu.itba.ss.oscillator.models;
+
+import java.util.Arrays;
+
+/**
+ * The coefficients of an explicit Runge-Kutta method (i.e its Butcher tableau), which drive a generic updater,
+ * so a new method only needs a new table.
+ * The nodes are the sums of the matrix rows (i.e the method is consistent), so they are not given.
+ */
+/* package */ final class ButcherTableau {
+
+    /**
+     * The classic 4th order Runge-Kutta method.
+     */
+    /* package */ static final ButcherTableau CLASSIC_RK4 = new ButcherTableau(
+            new double[][]{
+                    {},
+                    {1d / 2},
+                    {0d, 1d / 2},
+                    {0d, 0d, 1d},
+            },
+            new double[]{1d / 6, 1d / 3, 1d / 3, 1d / 6});
+
+    /**
+     * The Runge-Kutta matrix (i.e row {@code i} holds the weights of the previous stages used by stage {@code i}).
+     */
+    private final double[][] matrix;
+
+    /**
+     * The weights of each stage in the result of the step.
+     */
+    private final double[] weights;
+
+    /**
+     * The nodes (i.e the fraction of the step at which each stage is evaluated).
+     */
+    private final double[] nodes;
+
+    /**
+     * Constructor.
+     *
+     * @param matrix  The Runge-Kutta matrix (i.e strictly lower triangular, stored as rows of increasing length).
+     * @param weights The weights of each stage in the result of the step.
+     * @throws IllegalArgumentException If the matrix is not strictly lower triangular,
+     *                                  or if there is not a weight for each stage.
+     */
+    /* package */ ButcherTableau(double[][] matrix, double[] weights) {
+        if (matrix.length == 0 || matrix.length != weights.length) {
+            throw new IllegalArgumentException("There must be a weight for each stage");
+        }
+        this.matrix = new double[matrix.length][];
+        this.nodes = new double[matrix.length];
+        for (int i = 0; i < matrix.length; i++) {
+            if (matrix[i].length != i) {
+                throw new IllegalArgumentException("Stage " + i + " must have exactly " + i + " coefficients");
+            }
+            this.matrix[i] = Arrays.copyOf(matrix[i], i);
+            for (double coefficient : matrix[i]) {
+                nodes[i] += coefficient;
+            }
+        }
+        this.weights = Arrays.copyOf(weights, weights.length);
+    }
+
+    /**
+     * @return The amount of stages of the method.
+     */
+    /* package */ int getStages() {
+        return weights.length;
+    }
+
+    /**
+     * Returns the weight of a previous stage used to evaluate the given stage.
+     *
+     * @param stage         The stage being evaluated.
+     * @param previousStage The previous stage.
+     * @return The weight.
+     */
+    /* package */ double getCoefficient(int stage, int previousStage) {
+        return matrix[stage][previousStage];
+    }
+
+    /**
+     * Returns the fraction of the step at which the given stage is evaluated.
+     *
+     * @param stage The stage.
+     * @return The node.
+     */
+    /* package */ double getNode(int stage) {
+        return nodes[stage];
+    }
+
+    /**
+     * Returns the weight of the given stage in the result of the step.
+     *
+     * @param stage The stage.
+     * @return The weight.
+     */
+    /* package */ double getWeight(int stage) {
+        return weights[stage];
+    }
+}
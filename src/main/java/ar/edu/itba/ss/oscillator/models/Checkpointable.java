@@ -0,0 +1,29 @@
+package ar.edu.itba.ss.oscillator.models;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Defines behaviour for an object whose internal state can be saved into a checkpoint,
+ * and restored later, so an interrupted simulation can be resumed exactly where it was checkpointed.
+ * The object restoring a checkpoint must have been built with the same configuration as the one that wrote it.
+ */
+public interface Checkpointable {
+
+    /**
+     * Writes the internal state.
+     *
+     * @param output The {@link DataOutput} where the state will be written.
+     * @throws IOException If any I/O error occurs.
+     */
+    void writeCheckpoint(DataOutput output) throws IOException;
+
+    /**
+     * Restores the internal state, as written by {@link #writeCheckpoint(DataOutput)}.
+     *
+     * @param input The {@link DataInput} from where the state will be read.
+     * @throws IOException If any I/O error occurs.
+     */
+    void readCheckpoint(DataInput input) throws IOException;
+}
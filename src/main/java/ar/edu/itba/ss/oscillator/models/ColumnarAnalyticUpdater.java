@@ -0,0 +1,73 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * Vectorized form of the {@link AnalyticUpdater}.
+ * As it evaluates the closed-form solution of a single damped spring,
+ * it can only update a {@link DampedOscillatorEnsemble}.
+ */
+/* package */ class ColumnarAnalyticUpdater extends ColumnarUpdater {
+
+    /**
+     * The closed-form solutions of each oscillator.
+     */
+    private final DampedOscillatorSolution[] solutions;
+
+    /**
+     * The amount of updates performed on each oscillator (i.e ranges of particles can be advanced independently).
+     */
+    private final long[] steps;
+
+    /**
+     * The time step.
+     */
+    private final double timeStep;
+
+    /**
+     * Constructor.
+     *
+     * @param system The {@link ColumnarSystem} to be updated.
+     * @throws IllegalArgumentException If the system is not a {@link DampedOscillatorEnsemble}.
+     */
+    /* package */ ColumnarAnalyticUpdater(ColumnarSystem system) {
+        super(system);
+        if (!(system instanceof DampedOscillatorEnsemble)) {
+            throw new IllegalArgumentException("The analytic solution only applies to independent damped oscillators");
+        }
+        final DampedOscillatorEnsemble ensemble = (DampedOscillatorEnsemble) system;
+        final int size = system.size();
+        final double[] positions = system.getPositions();
+        final double[] velocities = system.getVelocities();
+        this.solutions = new DampedOscillatorSolution[size];
+        this.steps = new long[size];
+        this.timeStep = system.getTimeStep();
+        for (int i = 0; i < size; i++) {
+            solutions[i] = new DampedOscillatorSolution(ensemble.getMasses()[i], ensemble.getSpringConstants()[i],
+                    ensemble.getViscousDampingCoefficients()[i], positions[i], velocities[i]);
+        }
+    }
+
+    @Override
+    public int getPhases() {
+        return 1;
+    }
+
+    @Override
+    public void runPhase(int phase, int from, int to) {
+        if (phase != 0) {
+            throw new IllegalArgumentException("Unknown phase " + phase);
+        }
+        final ColumnarSystem system = getSystem();
+        final double[] positions = system.getPositions();
+        final double[] velocities = system.getVelocities();
+        final double[] accelerations = system.getAccelerations();
+        for (int i = from; i < to; i++) {
+            final double time = ++steps[i] * timeStep;
+            final DampedOscillatorSolution solution = solutions[i];
+            final double position = solution.positionAt(time);
+            final double velocity = solution.velocityAt(time);
+            positions[i] = position;
+            velocities[i] = velocity;
+            accelerations[i] = solution.accelerationFor(position, velocity);
+        }
+    }
+}
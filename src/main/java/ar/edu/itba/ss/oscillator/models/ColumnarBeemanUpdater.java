@@ -0,0 +1,152 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * Vectorized form of the {@link BeemanUpdater}.
+ */
+/* package */ class ColumnarBeemanUpdater extends ColumnarUpdater {
+
+    /**
+     * Phase in which the new positions are calculated and the velocities are predicted.
+     */
+    private static final int PREDICT = 0;
+
+    /**
+     * Phase in which the new accelerations are calculated with the predicted velocities.
+     */
+    private static final int ACCELERATIONS = 1;
+
+    /**
+     * Phase in which the velocities are corrected.
+     */
+    private static final int CORRECT = 2;
+
+    /**
+     * The previous accelerations.
+     */
+    private final double[] previousAccelerations;
+
+    /**
+     * The predicted velocities.
+     */
+    private final double[] predictedVelocities;
+
+    /**
+     * The new accelerations (i.e calculated with the predicted velocities).
+     */
+    private final double[] newAccelerations;
+
+    /**
+     * The time step.
+     */
+    private final double timeStep;
+
+    /**
+     * The factor applied to the actual acceleration when calculating the position (i.e 2/3 dt^2).
+     */
+    private final double positionActualAccelerationFactor;
+
+    /**
+     * The factor applied to the previous acceleration when calculating the position (i.e 1/6 dt^2).
+     */
+    private final double positionPreviousAccelerationFactor;
+
+    /**
+     * The factor applied to the actual acceleration when predicting the velocity (i.e 3/2 dt).
+     */
+    private final double predictionActualAccelerationFactor;
+
+    /**
+     * The factor applied to the previous acceleration when predicting the velocity (i.e 1/2 dt).
+     */
+    private final double predictionPreviousAccelerationFactor;
+
+    /**
+     * The factor applied to the new acceleration when correcting the velocity (i.e 1/3 dt).
+     */
+    private final double correctionNewAccelerationFactor;
+
+    /**
+     * The factor applied to the actual acceleration when correcting the velocity (i.e 5/6 dt).
+     */
+    private final double correctionActualAccelerationFactor;
+
+    /**
+     * The factor applied to the previous acceleration when correcting the velocity (i.e 1/6 dt).
+     */
+    private final double correctionPreviousAccelerationFactor;
+
+    /**
+     * Constructor.
+     *
+     * @param system The {@link ColumnarSystem} to be updated.
+     */
+    /* package */ ColumnarBeemanUpdater(ColumnarSystem system) {
+        super(system);
+        final int size = system.size();
+        final double timeStep = system.getTimeStep();
+        final double[] positions = system.getPositions();
+        final double[] velocities = system.getVelocities();
+        final double[] accelerations = system.getAccelerations();
+        this.previousAccelerations = new double[size];
+        this.predictedVelocities = new double[size];
+        this.newAccelerations = new double[size];
+        this.timeStep = timeStep;
+        this.positionActualAccelerationFactor = (2d / 3d) * timeStep * timeStep;
+        this.positionPreviousAccelerationFactor = (1d / 6d) * timeStep * timeStep;
+        this.predictionActualAccelerationFactor = (3d / 2d) * timeStep;
+        this.predictionPreviousAccelerationFactor = (1d / 2d) * timeStep;
+        this.correctionNewAccelerationFactor = (1d / 3d) * timeStep;
+        this.correctionActualAccelerationFactor = (5d / 6d) * timeStep;
+        this.correctionPreviousAccelerationFactor = (1d / 6d) * timeStep;
+        // Calculate accelerations at -deltaT, using the positions and velocities at -deltaT
+        final double[] previousPositions = new double[size];
+        final double[] previousVelocities = new double[size];
+        for (int i = 0; i < size; i++) {
+            previousVelocities[i] = velocities[i] - timeStep * accelerations[i];
+            previousPositions[i] = positions[i] - timeStep * previousVelocities[i]
+                    + (timeStep * timeStep / 2) * accelerations[i];
+        }
+        system.computeAccelerations(previousPositions, previousVelocities, previousAccelerations, 0, size);
+    }
+
+    @Override
+    public int getPhases() {
+        return 3;
+    }
+
+    @Override
+    public void runPhase(int phase, int from, int to) {
+        final ColumnarSystem system = getSystem();
+        final double[] positions = system.getPositions();
+        final double[] velocities = system.getVelocities();
+        final double[] accelerations = system.getAccelerations();
+        switch (phase) {
+            case PREDICT:
+                for (int i = from; i < to; i++) {
+                    positions[i] = positions[i]
+                            + timeStep * velocities[i]
+                            + positionActualAccelerationFactor * accelerations[i]
+                            - positionPreviousAccelerationFactor * previousAccelerations[i];
+                    predictedVelocities[i] = velocities[i]
+                            + predictionActualAccelerationFactor * accelerations[i]
+                            - predictionPreviousAccelerationFactor * previousAccelerations[i];
+                }
+                break;
+            case ACCELERATIONS:
+                system.computeAccelerations(positions, predictedVelocities, newAccelerations, from, to);
+                break;
+            case CORRECT:
+                for (int i = from; i < to; i++) {
+                    velocities[i] = velocities[i]
+                            + correctionNewAccelerationFactor * newAccelerations[i]
+                            + correctionActualAccelerationFactor * accelerations[i]
+                            - correctionPreviousAccelerationFactor * previousAccelerations[i];
+                    previousAccelerations[i] = accelerations[i];
+                    accelerations[i] = newAccelerations[i];
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown phase " + phase);
+        }
+    }
+}
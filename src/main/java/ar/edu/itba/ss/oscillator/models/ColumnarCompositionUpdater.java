@@ -0,0 +1,88 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * Vectorized form of the {@link CompositionUpdater}.
+ * As the exact kicks depend on the spring constant and damping coefficient of each oscillator,
+ * it can only update a {@link DampedOscillatorEnsemble}.
+ */
+/* package */ class ColumnarCompositionUpdater extends ColumnarUpdater {
+
+    /**
+     * The length of each drift (i.e the drift fractions times the time step).
+     */
+    private final double[] drifts;
+
+    /**
+     * The factor applied to the velocity in each kick, for each oscillator
+     * (see {@link CompositionScheme#linearKicks}).
+     */
+    private final double[][] kickDecays;
+
+    /**
+     * The factor applied to the position in each kick, for each oscillator
+     * (see {@link CompositionScheme#linearKicks}).
+     */
+    private final double[][] kickFactors;
+
+    /**
+     * Constructor.
+     *
+     * @param system The {@link ColumnarSystem} to be updated.
+     * @param scheme The {@link CompositionScheme} of the method.
+     * @throws IllegalArgumentException If the system is not a {@link DampedOscillatorEnsemble}.
+     */
+    /* package */ ColumnarCompositionUpdater(ColumnarSystem system, CompositionScheme scheme) {
+        super(system);
+        if (!(system instanceof DampedOscillatorEnsemble)) {
+            throw new IllegalArgumentException("Exact kicks only apply to independent damped oscillators");
+        }
+        final DampedOscillatorEnsemble ensemble = (DampedOscillatorEnsemble) system;
+        final int size = system.size();
+        final int kicks = scheme.getKicks();
+        final double timeStep = system.getTimeStep();
+        this.drifts = new double[kicks - 1];
+        this.kickDecays = new double[kicks][size];
+        this.kickFactors = new double[kicks][size];
+        for (int i = 0; i < drifts.length; i++) {
+            drifts[i] = scheme.getDrift(i) * timeStep;
+        }
+        final double[] decays = new double[kicks];
+        final double[] factors = new double[kicks];
+        for (int i = 0; i < size; i++) {
+            scheme.linearKicks(ensemble.getMasses()[i], ensemble.getSpringConstants()[i],
+                    ensemble.getViscousDampingCoefficients()[i], timeStep, decays, factors);
+            for (int kick = 0; kick < kicks; kick++) {
+                kickDecays[kick][i] = decays[kick];
+                kickFactors[kick][i] = factors[kick];
+            }
+        }
+    }
+
+    @Override
+    public int getPhases() {
+        return 1;
+    }
+
+    @Override
+    public void runPhase(int phase, int from, int to) {
+        if (phase != 0) {
+            throw new IllegalArgumentException("Unknown phase " + phase);
+        }
+        final ColumnarSystem system = getSystem();
+        final double[] positions = system.getPositions();
+        final double[] velocities = system.getVelocities();
+        final int lastKick = drifts.length;
+        for (int i = from; i < to; i++) {
+            double position = positions[i];
+            double velocity = velocities[i];
+            for (int kick = 0; kick < lastKick; kick++) {
+                velocity += kickDecays[kick][i] * velocity + kickFactors[kick][i] * position;
+                position += drifts[kick] * velocity;
+            }
+            velocities[i] = velocity + kickDecays[lastKick][i] * velocity + kickFactors[lastKick][i] * position;
+            positions[i] = position;
+        }
+        // Forces are local, so the accelerations of the range can be calculated in the same phase
+        system.computeAccelerations(positions, velocities, system.getAccelerations(), from, to);
+    }
+}
@@ -0,0 +1,112 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * Vectorized form of the {@link GearUpdater}.
+ * The system's positions, velocities and accelerations columns are used as the first three derivatives.
+ */
+/* package */ class ColumnarGearUpdater extends ColumnarUpdater {
+
+    /**
+     * Phase in which the derivatives are predicted.
+     */
+    private static final int PREDICT = 0;
+
+    /**
+     * Phase in which the accelerations are calculated with the predicted values.
+     */
+    private static final int ACCELERATIONS = 1;
+
+    /**
+     * Phase in which the derivatives are corrected.
+     */
+    private static final int CORRECT = 2;
+
+    /**
+     * The columns of each derivative (i.e the first three are the system's columns).
+     */
+    private final double[][] derivatives;
+
+    /**
+     * The accelerations calculated with the predicted values.
+     */
+    private final double[] calculatedAccelerations;
+
+    /**
+     * The predictor matrix, stored row by row (see {@link GearCoefficients#getPredictor()}).
+     */
+    private final double[] predictor;
+
+    /**
+     * The corrector factors of each derivative (see {@link GearCoefficients#getCorrector()}).
+     */
+    private final double[] corrector;
+
+    /**
+     * The factor that turns the difference of accelerations into the difference of the scaled second derivative.
+     */
+    private final double accelerationFactor;
+
+    /**
+     * Constructor.
+     *
+     * @param system The {@link ColumnarSystem} to be updated.
+     * @param order  The order of the method.
+     */
+    /* package */ ColumnarGearUpdater(ColumnarSystem system, int order) {
+        super(system);
+        final int size = system.size();
+        final GearCoefficients coefficients = new GearCoefficients(order, system.getTimeStep());
+        this.derivatives = new double[coefficients.getDerivatives()][];
+        this.derivatives[0] = system.getPositions();
+        this.derivatives[1] = system.getVelocities();
+        this.derivatives[2] = system.getAccelerations();
+        for (int i = 3; i < derivatives.length; i++) {
+            derivatives[i] = new double[size];
+        }
+        this.calculatedAccelerations = new double[size];
+        this.predictor = coefficients.getPredictor();
+        this.corrector = coefficients.getCorrector();
+        this.accelerationFactor = coefficients.getAccelerationFactor();
+    }
+
+    @Override
+    public int getPhases() {
+        return 3;
+    }
+
+    @Override
+    public void runPhase(int phase, int from, int to) {
+        final ColumnarSystem system = getSystem();
+        final double[][] r = derivatives;
+        final int size = r.length;
+        switch (phase) {
+            case PREDICT:
+                for (int p = from; p < to; p++) {
+                    // In place, as each derivative only depends on itself and the higher ones
+                    for (int i = 0; i < size; i++) {
+                        final int row = i * size;
+                        double predicted = 0d;
+                        for (int j = i; j < size; j++) {
+                            predicted += predictor[row + j] * r[j][p];
+                        }
+                        r[i][p] = predicted;
+                    }
+                }
+                break;
+            case ACCELERATIONS:
+                system.computeAccelerations(r[0], r[1], calculatedAccelerations, from, to);
+                break;
+            case CORRECT:
+                final double[] r2 = r[2];
+                for (int p = from; p < to; p++) {
+                    final double deltaR2 = accelerationFactor * (calculatedAccelerations[p] - r2[p]);
+                    for (int i = 0; i < size; i++) {
+                        r[i][p] += corrector[i] * deltaR2;
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown phase " + phase);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * Vectorized form of the {@link RungeKuttaUpdater}.
+ * The first stage reuses the velocities and accelerations columns (i.e they hold the derivative at the beginning
+ * of the step), and each other stage is split in a local phase that evaluates the stage's state
+ * and a phase that calculates its accelerations.
+ */
+/* package */ class ColumnarRungeKuttaUpdater extends ColumnarUpdater {
+
+    /**
+     * The {@link ButcherTableau} of the method.
+     */
+    private final ButcherTableau tableau;
+
+    /**
+     * The positions of the stage being evaluated.
+     */
+    private final double[] stagePositions;
+
+    /**
+     * The velocities of each stage (i.e the derivative of the positions; the first one is the velocities column).
+     */
+    private final double[][] stageVelocities;
+
+    /**
+     * The accelerations of each stage (i.e the derivative of the velocities; the first one is the accelerations
+     * column).
+     */
+    private final double[][] stageAccelerations;
+
+    /**
+     * The time step.
+     */
+    private final double timeStep;
+
+    /**
+     * Constructor.
+     *
+     * @param system  The {@link ColumnarSystem} to be updated.
+     * @param tableau The {@link ButcherTableau} of the method.
+     */
+    /* package */ ColumnarRungeKuttaUpdater(ColumnarSystem system, ButcherTableau tableau) {
+        super(system);
+        final int size = system.size();
+        final int stages = tableau.getStages();
+        this.tableau = tableau;
+        this.stagePositions = new double[size];
+        this.stageVelocities = new double[stages][];
+        this.stageAccelerations = new double[stages][];
+        this.stageVelocities[0] = system.getVelocities();
+        this.stageAccelerations[0] = system.getAccelerations();
+        for (int stage = 1; stage < stages; stage++) {
+            stageVelocities[stage] = new double[size];
+            stageAccelerations[stage] = new double[size];
+        }
+        this.timeStep = system.getTimeStep();
+    }
+
+    @Override
+    public int getPhases() {
+        // Two phases for each stage but the first one, one for combining the stages, and one for the accelerations
+        return 2 * tableau.getStages();
+    }
+
+    @Override
+    public void runPhase(int phase, int from, int to) {
+        final ColumnarSystem system = getSystem();
+        final int combinePhase = 2 * (tableau.getStages() - 1);
+        if (phase < 0 || phase > combinePhase + 1) {
+            throw new IllegalArgumentException("Unknown phase " + phase);
+        }
+        if (phase == combinePhase) {
+            combine(from, to);
+        } else if (phase == combinePhase + 1) {
+            system.computeAccelerations(system.getPositions(), system.getVelocities(), system.getAccelerations(),
+                    from, to);
+        } else {
+            final int stage = phase / 2 + 1;
+            if (phase % 2 == 0) {
+                evaluateStageState(stage, from, to);
+            } else {
+                system.computeAccelerations(stagePositions, stageVelocities[stage], stageAccelerations[stage],
+                        from, to);
+            }
+        }
+    }
+
+    /**
+     * Calculates the positions and velocities of the given stage.
+     *
+     * @param stage The stage.
+     * @param from  The first particle (inclusive).
+     * @param to    The last particle (exclusive).
+     */
+    private void evaluateStageState(int stage, int from, int to) {
+        final ColumnarSystem system = getSystem();
+        final double[] positions = system.getPositions();
+        final double[] velocities = system.getVelocities();
+        final double[] velocitiesResult = stageVelocities[stage];
+        for (int i = from; i < to; i++) {
+            double positionSum = 0d;
+            double velocitySum = 0d;
+            for (int j = 0; j < stage; j++) {
+                final double coefficient = tableau.getCoefficient(stage, j);
+                positionSum += coefficient * stageVelocities[j][i];
+                velocitySum += coefficient * stageAccelerations[j][i];
+            }
+            stagePositions[i] = positions[i] + timeStep * positionSum;
+            velocitiesResult[i] = velocities[i] + timeStep * velocitySum;
+        }
+    }
+
+    /**
+     * Combines the stages into the new positions and velocities.
+     *
+     * @param from The first particle (inclusive).
+     * @param to   The last particle (exclusive).
+     */
+    private void combine(int from, int to) {
+        final ColumnarSystem system = getSystem();
+        final double[] positions = system.getPositions();
+        final double[] velocities = system.getVelocities();
+        final int stages = tableau.getStages();
+        for (int i = from; i < to; i++) {
+            double positionSum = 0d;
+            double velocitySum = 0d;
+            for (int stage = 0; stage < stages; stage++) {
+                final double weight = tableau.getWeight(stage);
+                positionSum += weight * stageVelocities[stage][i];
+                velocitySum += weight * stageAccelerations[stage][i];
+            }
+            positions[i] += timeStep * positionSum;
+            velocities[i] += timeStep * velocitySum;
+        }
+    }
+}
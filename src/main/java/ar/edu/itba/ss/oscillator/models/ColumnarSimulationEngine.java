@@ -0,0 +1,159 @@
+package ar.edu.itba.ss.oscillator.models;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Advances a {@link ColumnarSystem}, splitting its particles into chunks that are updated in a {@link ForkJoinPool}.
+ * When the system has local forces, each chunk is advanced all the requested steps on its own.
+ * Otherwise, chunks are synchronized after each phase of the {@link ColumnarUpdater}.
+ */
+public class ColumnarSimulationEngine {
+
+    /**
+     * The system to be advanced.
+     */
+    private final ColumnarSystem system;
+
+    /**
+     * The {@link ColumnarUpdater} used to advance the system.
+     */
+    private final ColumnarUpdater updater;
+
+    /**
+     * The {@link ForkJoinPool} in which chunks are updated.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The maximum amount of particles updated by one task.
+     */
+    private final int chunkSize;
+
+    /**
+     * Constructor, which uses the {@link IntegrationSettings#DEFAULT} settings.
+     *
+     * @param system       The system to be advanced.
+     * @param strategyEnum The {@link UpdateStrategyEnum} used to build the {@link ColumnarUpdater}.
+     * @param pool         The {@link ForkJoinPool} in which chunks are updated.
+     * @param chunkSize    The maximum amount of particles updated by one task.
+     */
+    public ColumnarSimulationEngine(ColumnarSystem system, UpdateStrategyEnum strategyEnum,
+                                    ForkJoinPool pool, int chunkSize) {
+        this(system, strategyEnum, IntegrationSettings.DEFAULT, pool, chunkSize);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param system       The system to be advanced.
+     * @param strategyEnum The {@link UpdateStrategyEnum} used to build the {@link ColumnarUpdater}.
+     * @param settings     The {@link IntegrationSettings} used by the {@link ColumnarUpdater}.
+     * @param pool         The {@link ForkJoinPool} in which chunks are updated.
+     * @param chunkSize    The maximum amount of particles updated by one task.
+     */
+    public ColumnarSimulationEngine(ColumnarSystem system, UpdateStrategyEnum strategyEnum,
+                                    IntegrationSettings settings, ForkJoinPool pool, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunk size must be positive");
+        }
+        this.system = system;
+        this.updater = strategyEnum.getColumnarStrategyInstance(system, settings);
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @return The system being advanced.
+     */
+    public ColumnarSystem getSystem() {
+        return system;
+    }
+
+    /**
+     * Advances the system the given amount of steps.
+     *
+     * @param steps The amount of steps to advance.
+     */
+    public void advance(final long steps) {
+        if (steps <= 0) {
+            return;
+        }
+        if (system.hasLocalForces()) {
+            pool.invoke(new ChunkTask(0, system.size(), steps, -1));
+        } else {
+            final int phases = updater.getPhases();
+            for (long step = 0; step < steps; step++) {
+                for (int phase = 0; phase < phases; phase++) {
+                    pool.invoke(new ChunkTask(0, system.size(), 1, phase));
+                }
+            }
+        }
+        system.stepsPerformed(steps);
+    }
+
+    /**
+     * A {@link RecursiveAction} that updates a range of particles, splitting it until it fits in a chunk.
+     */
+    private final class ChunkTask extends RecursiveAction {
+
+        /**
+         * The serial version UID.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The first particle (inclusive).
+         */
+        private final int from;
+
+        /**
+         * The last particle (exclusive).
+         */
+        private final int to;
+
+        /**
+         * The amount of steps to advance.
+         */
+        private final long steps;
+
+        /**
+         * The phase to run, or a negative value to run all of them.
+         */
+        private final int phase;
+
+        /**
+         * Constructor.
+         *
+         * @param from  The first particle (inclusive).
+         * @param to    The last particle (exclusive).
+         * @param steps The amount of steps to advance.
+         * @param phase The phase to run, or a negative value to run all of them.
+         */
+        private ChunkTask(int from, int to, long steps, int phase) {
+            this.from = from;
+            this.to = to;
+            this.steps = steps;
+            this.phase = phase;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > chunkSize) {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new ChunkTask(from, middle, steps, phase), new ChunkTask(middle, to, steps, phase));
+                return;
+            }
+            if (phase >= 0) {
+                updater.runPhase(phase, from, to);
+                return;
+            }
+            final int phases = updater.getPhases();
+            for (long step = 0; step < steps; step++) {
+                for (int p = 0; p < phases; p++) {
+                    updater.runPhase(p, from, to);
+                }
+            }
+        }
+    }
+}
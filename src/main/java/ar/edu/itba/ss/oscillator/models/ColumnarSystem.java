@@ -0,0 +1,140 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * Represents a system of particles moving along the 'x' axis, whose state is stored in flat primitive columns
+ * (i.e struct-of-arrays layout), so it can be advanced by a {@link ColumnarUpdater} without per-particle objects.
+ */
+public abstract class ColumnarSystem {
+
+    /**
+     * The amount of particles in the system.
+     */
+    private final int size;
+
+    /**
+     * The particles' positions.
+     */
+    private final double[] positions;
+
+    /**
+     * The particles' velocities.
+     */
+    private final double[] velocities;
+
+    /**
+     * The particles' accelerations.
+     */
+    private final double[] accelerations;
+
+    /**
+     * The time step (i.e how much time elapses between two update events).
+     */
+    private final double timeStep;
+
+    /**
+     * The amount of steps the system has been advanced.
+     */
+    private long steps;
+
+    /**
+     * Constructor.
+     *
+     * @param size     The amount of particles in the system.
+     * @param timeStep The time step (i.e how much time elapses between two update events).
+     */
+    protected ColumnarSystem(final int size, final double timeStep) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("The system must have at least one particle");
+        }
+        if (timeStep <= 0) {
+            throw new IllegalArgumentException("The time step must be positive");
+        }
+        this.size = size;
+        this.positions = new double[size];
+        this.velocities = new double[size];
+        this.accelerations = new double[size];
+        this.timeStep = timeStep;
+        this.steps = 0;
+    }
+
+    /**
+     * @return The amount of particles in the system.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The particles' positions.
+     */
+    public double[] getPositions() {
+        return positions;
+    }
+
+    /**
+     * @return The particles' velocities.
+     */
+    public double[] getVelocities() {
+        return velocities;
+    }
+
+    /**
+     * @return The particles' accelerations.
+     */
+    public double[] getAccelerations() {
+        return accelerations;
+    }
+
+    /**
+     * @return The time step (i.e how much time elapses between two update events).
+     */
+    public double getTimeStep() {
+        return timeStep;
+    }
+
+    /**
+     * @return The amount of steps the system has been advanced.
+     */
+    public long getSteps() {
+        return steps;
+    }
+
+    /**
+     * @return The amount of time the system has been evolving.
+     */
+    public double getActualTime() {
+        return steps * timeStep;
+    }
+
+    /**
+     * Registers that the system has been advanced the given amount of steps.
+     *
+     * @param steps The amount of steps performed.
+     */
+    /* package */ void stepsPerformed(final long steps) {
+        this.steps += steps;
+    }
+
+    /**
+     * Calculates the accelerations of the particles in the {@code [from, to)} range,
+     * given the positions and velocities columns.
+     * Implementations must only write into the {@code accelerations} column,
+     * so concurrent calls over disjoint ranges are safe.
+     *
+     * @param positions     The positions column.
+     * @param velocities    The velocities column.
+     * @param accelerations The column where the calculated accelerations will be stored.
+     * @param from          The first particle (inclusive).
+     * @param to            The last particle (exclusive).
+     */
+    public abstract void computeAccelerations(double[] positions, double[] velocities, double[] accelerations,
+                                              int from, int to);
+
+    /**
+     * Indicates whether the acceleration of a particle depends only on its own state.
+     * If so, a range of particles can be advanced several steps without synchronizing with the rest of the system.
+     *
+     * @return {@code true} if forces are local to each particle, or {@code false} otherwise.
+     */
+    public abstract boolean hasLocalForces();
+}
@@ -0,0 +1,45 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * Vectorized form of an update strategy, that updates a {@link ColumnarSystem}.
+ * A step is split into phases. Each phase is either local (i.e only reads and writes the values of the particle
+ * being updated) or a call to {@link ColumnarSystem#computeAccelerations(double[], double[], double[], int, int)},
+ * so a phase can be run concurrently over disjoint ranges of particles.
+ */
+public abstract class ColumnarUpdater {
+
+    /**
+     * The system to be updated.
+     */
+    private final ColumnarSystem system;
+
+    /**
+     * Constructor.
+     *
+     * @param system The system to be updated.
+     */
+    protected ColumnarUpdater(ColumnarSystem system) {
+        this.system = system;
+    }
+
+    /**
+     * @return The system to be updated.
+     */
+    protected ColumnarSystem getSystem() {
+        return system;
+    }
+
+    /**
+     * @return The amount of phases in one step.
+     */
+    public abstract int getPhases();
+
+    /**
+     * Runs the given phase over the {@code [from, to)} range of particles.
+     *
+     * @param phase The phase to run.
+     * @param from  The first particle (inclusive).
+     * @param to    The last particle (exclusive).
+     */
+    public abstract void runPhase(int phase, int from, int to);
+}
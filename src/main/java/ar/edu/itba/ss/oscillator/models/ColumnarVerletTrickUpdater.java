@@ -0,0 +1,120 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * Vectorized form of the {@link VerletTrickUpdater}.
+ * As the velocity "trick" is the closed form of a single damped spring,
+ * it can only update a {@link DampedOscillatorEnsemble}.
+ */
+/* package */ class ColumnarVerletTrickUpdater extends ColumnarUpdater {
+
+    /**
+     * Phase in which the accelerations are calculated with the actual values.
+     */
+    private static final int FORCES = 0;
+
+    /**
+     * Phase in which the new positions and velocities are calculated.
+     */
+    private static final int MOVE = 1;
+
+    /**
+     * Phase in which the accelerations are calculated with the new values.
+     */
+    private static final int ACCELERATIONS = 2;
+
+    /**
+     * The previous positions, used for performing Verlet's recursive equations.
+     */
+    private final double[] previousPositions;
+
+    /**
+     * The accelerations calculated with the actual values.
+     */
+    private final double[] actualAccelerations;
+
+    /**
+     * The factors by which the new positions are multiplied when calculating the velocities
+     * (i.e beta over alpha).
+     */
+    private final double[] newPositionVelocityFactors;
+
+    /**
+     * The factors by which the actual positions are multiplied when calculating the velocities
+     * (i.e the inverse of alpha times the time step).
+     */
+    private final double[] actualPositionVelocityFactors;
+
+    /**
+     * The square of the time step.
+     */
+    private final double timeStepSquared;
+
+    /**
+     * Constructor.
+     *
+     * @param system The {@link ColumnarSystem} to be updated.
+     * @throws IllegalArgumentException If the system is not a {@link DampedOscillatorEnsemble}.
+     */
+    /* package */ ColumnarVerletTrickUpdater(ColumnarSystem system) {
+        super(system);
+        if (!(system instanceof DampedOscillatorEnsemble)) {
+            throw new IllegalArgumentException("The Verlet trick can only be applied to independent damped oscillators");
+        }
+        final DampedOscillatorEnsemble ensemble = (DampedOscillatorEnsemble) system;
+        final int size = system.size();
+        final double timeStep = system.getTimeStep();
+        final double[] positions = system.getPositions();
+        final double[] velocities = system.getVelocities();
+        final double[] accelerations = system.getAccelerations();
+        this.previousPositions = new double[size];
+        this.actualAccelerations = new double[size];
+        this.newPositionVelocityFactors = new double[size];
+        this.actualPositionVelocityFactors = new double[size];
+        this.timeStepSquared = timeStep * timeStep;
+        for (int i = 0; i < size; i++) {
+            // Calculate position at -deltaT
+            final double previousVelocity = velocities[i] - timeStep * accelerations[i];
+            previousPositions[i] = positions[i] - timeStep * previousVelocity
+                    + (timeStepSquared / 2) * accelerations[i];
+            // Calculate velocity factors
+            final double doubleMass = 2 * ensemble.getMasses()[i];
+            final double alpha = 1 + (ensemble.getViscousDampingCoefficients()[i] * timeStep / doubleMass);
+            final double beta = (1 / timeStep) - (ensemble.getSpringConstants()[i] * timeStep / doubleMass);
+            newPositionVelocityFactors[i] = beta / alpha;
+            actualPositionVelocityFactors[i] = 1 / (alpha * timeStep);
+        }
+    }
+
+    @Override
+    public int getPhases() {
+        return 3;
+    }
+
+    @Override
+    public void runPhase(int phase, int from, int to) {
+        final ColumnarSystem system = getSystem();
+        final double[] positions = system.getPositions();
+        final double[] velocities = system.getVelocities();
+        switch (phase) {
+            case FORCES:
+                system.computeAccelerations(positions, velocities, actualAccelerations, from, to);
+                break;
+            case MOVE:
+                for (int i = from; i < to; i++) {
+                    final double actualPosition = positions[i];
+                    final double positionResult = 2 * actualPosition - previousPositions[i]
+                            + timeStepSquared * actualAccelerations[i];
+                    velocities[i] = newPositionVelocityFactors[i] * positionResult
+                            - actualPositionVelocityFactors[i] * actualPosition;
+                    previousPositions[i] = actualPosition;
+                    positions[i] = positionResult;
+                }
+                break;
+            case ACCELERATIONS:
+                system.computeAccelerations(positions, velocities, system.getAccelerations(), from, to);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown phase " + phase);
+        }
+    }
+}
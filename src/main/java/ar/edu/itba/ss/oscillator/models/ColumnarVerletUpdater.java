@@ -0,0 +1,106 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * Vectorized form of the {@link VerletUpdater}.
+ */
+/* package */ class ColumnarVerletUpdater extends ColumnarUpdater {
+
+    /**
+     * Phase in which the accelerations are approximated with the previous velocities.
+     */
+    private static final int APPROXIMATE_ACCELERATIONS = 0;
+
+    /**
+     * Phase in which the new positions and the previous velocities are calculated.
+     */
+    private static final int MOVE = 1;
+
+    /**
+     * Phase in which the accelerations are calculated with the new positions.
+     */
+    private static final int ACCELERATIONS = 2;
+
+    /**
+     * The previous positions, used for performing Verlet's recursive equations.
+     */
+    private final double[] previousPositions;
+
+    /**
+     * The previous velocities, used for approximating the forces.
+     */
+    private final double[] previousVelocities;
+
+    /**
+     * The approximated accelerations (i.e calculated with the previous velocities).
+     */
+    private final double[] approximatedAccelerations;
+
+    /**
+     * The square of the time step.
+     */
+    private final double timeStepSquared;
+
+    /**
+     * The inverse of twice the time step (i.e used to calculate the velocity with a centered difference).
+     */
+    private final double inverseDoubleTimeStep;
+
+    /**
+     * Constructor.
+     *
+     * @param system The {@link ColumnarSystem} to be updated.
+     */
+    /* package */ ColumnarVerletUpdater(ColumnarSystem system) {
+        super(system);
+        final int size = system.size();
+        final double timeStep = system.getTimeStep();
+        final double[] positions = system.getPositions();
+        final double[] velocities = system.getVelocities();
+        final double[] accelerations = system.getAccelerations();
+        this.previousPositions = new double[size];
+        this.previousVelocities = new double[size];
+        this.approximatedAccelerations = new double[size];
+        this.timeStepSquared = timeStep * timeStep;
+        this.inverseDoubleTimeStep = 1d / (2d * timeStep);
+        // Calculate values at -deltaT
+        for (int i = 0; i < size; i++) {
+            previousVelocities[i] = velocities[i] - timeStep * accelerations[i];
+            previousPositions[i] = positions[i] - timeStep * previousVelocities[i]
+                    + (timeStepSquared / 2) * accelerations[i];
+        }
+    }
+
+    @Override
+    public int getPhases() {
+        return 3;
+    }
+
+    @Override
+    public void runPhase(int phase, int from, int to) {
+        final ColumnarSystem system = getSystem();
+        final double[] positions = system.getPositions();
+        switch (phase) {
+            case APPROXIMATE_ACCELERATIONS:
+                system.computeAccelerations(positions, previousVelocities, approximatedAccelerations, from, to);
+                break;
+            case MOVE:
+                final double[] velocities = system.getVelocities();
+                for (int i = from; i < to; i++) {
+                    final double actualPosition = positions[i];
+                    final double positionResult = 2 * actualPosition - previousPositions[i]
+                            + timeStepSquared * approximatedAccelerations[i];
+                    previousVelocities[i] = inverseDoubleTimeStep * (positionResult - previousPositions[i]);
+                    previousPositions[i] = actualPosition;
+                    positions[i] = positionResult;
+                    // Velocity is calculated out of phase, so it is always stored as zero.
+                    velocities[i] = 0d;
+                }
+                break;
+            case ACCELERATIONS:
+                system.computeAccelerations(positions, previousVelocities, system.getAccelerations(), from, to);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown phase " + phase);
+        }
+    }
+}
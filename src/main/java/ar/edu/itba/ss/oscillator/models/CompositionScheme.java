@@ -0,0 +1,112 @@
+package ar.edu.itba.ss.oscillator.models;
+
+import java.util.Arrays;
+
+/**
+ * The coefficients of a splitting (i.e composition) method, which drive a generic updater,
+ * so a new method only needs a new table.
+ * A step alternates kicks (i.e the velocity evolves while the position is frozen)
+ * and drifts (i.e the position evolves with the velocity), starting and ending with a kick:
+ * {@code K(k0 dt) D(d0 dt) K(k1 dt) ... D(dn-1 dt) K(kn dt)}.
+ */
+/* package */ final class CompositionScheme {
+
+    /**
+     * The velocity Verlet method (i.e kick-drift-kick leapfrog), of 2nd order.
+     */
+    /* package */ static final CompositionScheme VELOCITY_VERLET = new CompositionScheme(
+            new double[]{1d / 2, 1d / 2},
+            new double[]{1d});
+
+    /**
+     * The Forest-Ruth method (i.e Yoshida's triple jump of velocity Verlet), of 4th order.
+     */
+    /* package */ static final CompositionScheme FOREST_RUTH;
+
+    static {
+        final double theta = 1d / (2d - Math.cbrt(2d));
+        FOREST_RUTH = new CompositionScheme(
+                new double[]{theta / 2, (1d - theta) / 2, (1d - theta) / 2, theta / 2},
+                new double[]{theta, 1d - 2d * theta, theta});
+    }
+
+    /**
+     * The fractions of the time step of each kick.
+     */
+    private final double[] kicks;
+
+    /**
+     * The fractions of the time step of each drift.
+     */
+    private final double[] drifts;
+
+    /**
+     * Constructor.
+     *
+     * @param kicks  The fractions of the time step of each kick.
+     * @param drifts The fractions of the time step of each drift (i.e one less than kicks).
+     * @throws IllegalArgumentException If there is not exactly one kick more than drifts.
+     */
+    /* package */ CompositionScheme(double[] kicks, double[] drifts) {
+        if (drifts.length == 0 || kicks.length != drifts.length + 1) {
+            throw new IllegalArgumentException("A step must start and end with a kick, with drifts between them");
+        }
+        this.kicks = Arrays.copyOf(kicks, kicks.length);
+        this.drifts = Arrays.copyOf(drifts, drifts.length);
+    }
+
+    /**
+     * @return The amount of kicks in one step.
+     */
+    /* package */ int getKicks() {
+        return kicks.length;
+    }
+
+    /**
+     * Returns the fraction of the time step of the given kick.
+     *
+     * @param kick The kick.
+     * @return The fraction of the time step.
+     */
+    /* package */ double getKick(int kick) {
+        return kicks[kick];
+    }
+
+    /**
+     * Returns the fraction of the time step of the given drift (i.e the one after the kick with the same index).
+     *
+     * @param drift The drift.
+     * @return The fraction of the time step.
+     */
+    /* package */ double getDrift(int drift) {
+        return drifts[drift];
+    }
+
+    /**
+     * Calculates the coefficients of the exact kicks of a linear damped spring.
+     * Freezing the position, the velocity decays exponentially towards {@code -k x / c},
+     * so a kick is {@code v' = v + decay * v + factor * x}.
+     *
+     * @param mass                      The mass.
+     * @param springConstant            The spring constant.
+     * @param viscousDampingCoefficient The viscous damping coefficient.
+     * @param timeStep                  The time step.
+     * @param decays                    Array where the {@code decay} coefficient of each kick will be stored.
+     * @param factors                   Array where the {@code factor} coefficient of each kick will be stored.
+     */
+    /* package */ void linearKicks(double mass, double springConstant, double viscousDampingCoefficient,
+                                   double timeStep, double[] decays, double[] factors) {
+        for (int i = 0; i < kicks.length; i++) {
+            final double duration = kicks[i] * timeStep;
+            if (viscousDampingCoefficient == 0d) {
+                decays[i] = 0d;
+                factors[i] = -springConstant * duration / mass;
+            } else {
+                // expm1 keeps the precision when the kick is much shorter than the damping time
+                final double decay = Math.expm1(-viscousDampingCoefficient * duration / mass);
+                decays[i] = decay;
+                factors[i] = springConstant / viscousDampingCoefficient * decay;
+            }
+        }
+    }
+}
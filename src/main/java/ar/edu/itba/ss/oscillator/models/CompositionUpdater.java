@@ -0,0 +1,102 @@
+package ar.edu.itba.ss.oscillator.models;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Implementation of {@link Updater} using a splitting method, defined by a {@link CompositionScheme}.
+ * Kicks are solved exactly (i.e with the position frozen, the damped velocity decays exponentially),
+ * so the order of the scheme is kept even though the force depends on the velocity.
+ * Exact kicks require a {@link LinearForceModel}.
+ */
+/* package */ class CompositionUpdater extends DampedOscillatorAbstractUpdater {
+
+    /**
+     * The {@link CompositionScheme} of the method.
+     */
+    private final CompositionScheme scheme;
+
+    /**
+     * The {@link ForceModel} of the updated {@link DampedOscillator}.
+     */
+    private final ForceModel forceModel;
+
+    /**
+     * The inverse of the mass (i.e scales the force into an acceleration).
+     */
+    private final double inverseMass;
+
+    /**
+     * The length of each drift (i.e the drift fractions times the time step).
+     */
+    private final double[] drifts;
+
+    /**
+     * The factor applied to the velocity in each kick (see {@link CompositionScheme#linearKicks}).
+     */
+    private final double[] kickDecays;
+
+    /**
+     * The factor applied to the position in each kick (see {@link CompositionScheme#linearKicks}).
+     */
+    private final double[] kickFactors;
+
+    /**
+     * Constructor.
+     *
+     * @param dampedOscillator The {@link DampedOscillator} to be updated.
+     * @param scheme           The {@link CompositionScheme} of the method.
+     * @throws IllegalArgumentException If the {@link DampedOscillator}'s force is not linear.
+     */
+    /* package */ CompositionUpdater(DampedOscillator dampedOscillator, CompositionScheme scheme) {
+        super(dampedOscillator);
+        final LinearForceModel linearForceModel = requireLinearForce(dampedOscillator, "splitting");
+        final double mass = dampedOscillator.getParticle().getMass();
+        final double timeStep = dampedOscillator.getTimeStep();
+        final int kicks = scheme.getKicks();
+        this.scheme = scheme;
+        this.forceModel = linearForceModel;
+        this.inverseMass = 1d / mass;
+        this.drifts = new double[kicks - 1];
+        this.kickDecays = new double[kicks];
+        this.kickFactors = new double[kicks];
+        for (int i = 0; i < drifts.length; i++) {
+            drifts[i] = scheme.getDrift(i) * timeStep;
+        }
+        scheme.linearKicks(mass, linearForceModel.getSpringConstant(), linearForceModel.getViscousDampingCoefficient(),
+                timeStep, kickDecays, kickFactors);
+    }
+
+    @Override
+    public void doUpdate(DampedOscillator dampedOscillator) {
+        final Particle particle = dampedOscillator.getParticle();
+        double positionX = particle.getPositionX();
+        double positionY = particle.getPositionY();
+        double velocityX = particle.getVelocityX();
+        double velocityY = particle.getVelocityY();
+        final int lastKick = scheme.getKicks() - 1;
+        for (int i = 0; i < lastKick; i++) {
+            velocityX += kickDecays[i] * velocityX + kickFactors[i] * positionX;
+            velocityY += kickDecays[i] * velocityY + kickFactors[i] * positionY;
+            positionX += drifts[i] * velocityX;
+            positionY += drifts[i] * velocityY;
+        }
+        velocityX += kickDecays[lastKick] * velocityX + kickFactors[lastKick] * positionX;
+        velocityY += kickDecays[lastKick] * velocityY + kickFactors[lastKick] * positionY;
+        particle.setPosition(positionX, positionY);
+        particle.setVelocity(velocityX, velocityY);
+        particle.setAcceleration(inverseMass * forceModel.force(positionX, velocityX),
+                inverseMass * forceModel.force(positionY, velocityY));
+    }
+
+    @Override
+    public void writeCheckpoint(DataOutput output) {
+        // Each step starts from the particle's state, so there is no history to be saved
+    }
+
+    @Override
+    public void readCheckpoint(DataInput input) {
+        // Each step starts from the particle's state, so there is no history to be restored
+    }
+}
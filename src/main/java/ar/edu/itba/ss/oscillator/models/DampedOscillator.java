@@ -4,12 +4,21 @@ import ar.edu.itba.ss.g7.engine.models.System;
 import ar.edu.itba.ss.g7.engine.simulation.State;
 import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
 
-import java.util.function.Function;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
 
 /**
  * Represents a damped oscillator.
+ * Its checkpoint holds the elapsed time, the particle's state, the updater's history and the observers' measures.
  */
-public class DampedOscillator implements System<DampedOscillator.DampedOscillatorState> {
+public class DampedOscillator implements System<DampedOscillator.DampedOscillatorState>, Checkpointable {
+
+    /**
+     * Tolerance used when counting the steps needed to cover a given time.
+     */
+    private static final double STEP_COUNT_TOLERANCE = Math.pow(10, -9);
 
     /**
      * The particle to be oscillated.
@@ -42,10 +51,14 @@ public class DampedOscillator implements System<DampedOscillator.DampedOscillato
     private final Vector2D initialAcceleration;
 
     /**
-     * A {@link Function} that takes a {@link Particle} and returns A {@link Vector2D}
-     * that represents the acceleration the {@link Particle} is suffering.
+     * The time at which the {@link DampedOscillator} starts oscillating (i.e used for restarting).
+     */
+    private final double initialTime;
+
+    /**
+     * The {@link ForceModel} that calculates the force the {@link Particle} suffers.
      */
-    private final Function<Particle, Vector2D> forceProvider;
+    private final ForceModel forceModel;
 
     /**
      * The {@link Updater} used to calculate new values.
@@ -62,13 +75,33 @@ public class DampedOscillator implements System<DampedOscillator.DampedOscillato
      */
     private final double totalTime;
 
+    /**
+     * The {@link IntegrationSettings} used by the {@link Updater}.
+     */
+    private final IntegrationSettings integrationSettings;
+
+    /**
+     * The {@link StepObserver}s notified after each update (i.e an array, so notifying them allocates nothing).
+     */
+    private StepObserver[] observers;
+
+    /**
+     * The amount of steps needed to cover the total oscillating time (see {@link #countSteps(double, double)}).
+     */
+    private final long totalSteps;
+
     /**
      * The amount of time the system has been oscillating.
      */
     private double actualTime;
 
     /**
-     * Constructor.
+     * The amount of steps the system has been updated (i.e exact, unlike the accumulated time).
+     */
+    private long elapsedSteps;
+
+    /**
+     * Constructor, which uses the {@link IntegrationSettings#DEFAULT} settings.
      *
      * @param particleMass              The oscillating {@link Particle}'s mass.
      * @param initialXPosition          The initial stretching/compressed distance of the oscillating {@link Particle}
@@ -83,24 +116,103 @@ public class DampedOscillator implements System<DampedOscillator.DampedOscillato
     public DampedOscillator(final double particleMass, final double initialXPosition,
                             final double springConstant, final double viscousDampingCoefficient,
                             UpdateStrategyEnum updaterEnum, final double timeStep, final double totalTime) {
+        this(particleMass, initialXPosition, springConstant, viscousDampingCoefficient, updaterEnum, timeStep,
+                totalTime, IntegrationSettings.DEFAULT);
+    }
+
+    /**
+     * Constructor, which uses a {@link LinearForceModel}.
+     *
+     * @param particleMass              The oscillating {@link Particle}'s mass.
+     * @param initialXPosition          The initial stretching/compressed distance of the oscillating {@link Particle}
+     *                                  (i.e if positive, it is stretched; if negative, it is compressed).
+     * @param springConstant            The spring constant (in kilograms over square seconds).
+     * @param viscousDampingCoefficient The viscous damping coefficient (in kilograms over seconds).
+     * @param updaterEnum               The {@link UpdateStrategyEnum} used to built the {@link Updater}
+     *                                  that calculate new values and updates this damper oscillator.
+     * @param timeStep                  The time step (i.e how much time elapses between two update events).
+     * @param totalTime                 The total oscillating time.
+     * @param integrationSettings       The {@link IntegrationSettings} used by the {@link Updater}.
+     */
+    public DampedOscillator(final double particleMass, final double initialXPosition,
+                            final double springConstant, final double viscousDampingCoefficient,
+                            UpdateStrategyEnum updaterEnum, final double timeStep, final double totalTime,
+                            IntegrationSettings integrationSettings) {
+        this(particleMass, initialXPosition, springConstant, viscousDampingCoefficient, updaterEnum, timeStep,
+                totalTime, integrationSettings, new LinearForceModel(springConstant, viscousDampingCoefficient));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param particleMass              The oscillating {@link Particle}'s mass.
+     * @param initialXPosition          The initial stretching/compressed distance of the oscillating {@link Particle}
+     *                                  (i.e if positive, it is stretched; if negative, it is compressed).
+     * @param springConstant            The spring constant (in kilograms over square seconds).
+     * @param viscousDampingCoefficient The viscous damping coefficient (in kilograms over seconds).
+     * @param updaterEnum               The {@link UpdateStrategyEnum} used to built the {@link Updater}
+     *                                  that calculate new values and updates this damper oscillator.
+     * @param timeStep                  The time step (i.e how much time elapses between two update events).
+     * @param totalTime                 The total oscillating time.
+     * @param integrationSettings       The {@link IntegrationSettings} used by the {@link Updater}.
+     * @param forceModel                The {@link ForceModel} that calculates the force the {@link Particle} suffers
+     *                                  (i.e the spring constant and viscous damping coefficient still define
+     *                                  the initial velocity, and are used by the linear strategies).
+     */
+    public DampedOscillator(final double particleMass, final double initialXPosition,
+                            final double springConstant, final double viscousDampingCoefficient,
+                            UpdateStrategyEnum updaterEnum, final double timeStep, final double totalTime,
+                            IntegrationSettings integrationSettings, ForceModel forceModel) {
+        this(particleMass, initialXPosition, -viscousDampingCoefficient / (2 * particleMass), 0d, springConstant,
+                viscousDampingCoefficient, updaterEnum, timeStep, totalTime, integrationSettings, forceModel);
+    }
+
+    /**
+     * Constructor, which starts oscillating from the given state at the given time
+     * (e.g to continue a trajectory from a state reached by other means).
+     * Note that the {@link UpdateStrategyEnum#ANALYTIC} strategy assumes it starts at time 0,
+     * with the default initial velocity.
+     *
+     * @param particleMass              The oscillating {@link Particle}'s mass.
+     * @param initialXPosition          The initial stretching/compressed distance of the oscillating {@link Particle}
+     *                                  (i.e if positive, it is stretched; if negative, it is compressed).
+     * @param initialXVelocity          The initial velocity of the oscillating {@link Particle}.
+     * @param initialTime               The time at which the {@link DampedOscillator} starts oscillating.
+     * @param springConstant            The spring constant (in kilograms over square seconds).
+     * @param viscousDampingCoefficient The viscous damping coefficient (in kilograms over seconds).
+     * @param updaterEnum               The {@link UpdateStrategyEnum} used to built the {@link Updater}
+     *                                  that calculate new values and updates this damper oscillator.
+     * @param timeStep                  The time step (i.e how much time elapses between two update events).
+     * @param totalTime                 The total oscillating time (i.e counted from the initial time).
+     * @param integrationSettings       The {@link IntegrationSettings} used by the {@link Updater}.
+     * @param forceModel                The {@link ForceModel} that calculates the force the {@link Particle} suffers.
+     */
+    public DampedOscillator(final double particleMass, final double initialXPosition, final double initialXVelocity,
+                            final double initialTime, final double springConstant,
+                            final double viscousDampingCoefficient, UpdateStrategyEnum updaterEnum,
+                            final double timeStep, final double totalTime,
+                            IntegrationSettings integrationSettings, ForceModel forceModel) {
 
         this.initialPosition = new Vector2D(initialXPosition, 0d);
-        this.initialVelocity = new Vector2D(-viscousDampingCoefficient / (2 * particleMass), 0d);
-        this.initialAcceleration = initialPosition.scalarMultiply(springConstant)
-                .add(initialVelocity.scalarMultiply(viscousDampingCoefficient))
-                .scalarMultiply(-1 / particleMass);
+        this.initialVelocity = new Vector2D(initialXVelocity, 0d);
+        this.initialTime = initialTime;
+        final double inverseMass = 1 / particleMass;
+        this.initialAcceleration = new Vector2D(
+                inverseMass * (forceModel.force(initialPosition.getX(), initialVelocity.getX())
+                        + forceModel.externalForce(initialTime)),
+                inverseMass * forceModel.force(initialPosition.getY(), initialVelocity.getY()));
 
         this.particle = new Particle(particleMass, initialPosition, initialVelocity, initialAcceleration);
         this.springConstant = springConstant;
         this.viscousDampingCoefficient = viscousDampingCoefficient;
-        this.forceProvider = p -> {
-            final Vector2D dampingForce = p.getVelocity().scalarMultiply(viscousDampingCoefficient);
-            final Vector2D springForce = p.getPosition().scalarMultiply(springConstant);
-            return springForce.add(dampingForce).scalarMultiply(-1);
-        };
+        this.forceModel = forceModel;
         this.timeStep = timeStep;
         this.totalTime = totalTime;
-        this.actualTime = 0d;
+        this.totalSteps = countSteps(totalTime, timeStep);
+        this.actualTime = initialTime;
+        this.elapsedSteps = 0L;
+        this.integrationSettings = integrationSettings;
+        this.observers = new StepObserver[0];
         // Initialize the updater at the end.
         this.updater = updaterEnum.getStrategyInstance(this);
     }
@@ -112,6 +224,27 @@ public class DampedOscillator implements System<DampedOscillator.DampedOscillato
         return particle;
     }
 
+    /**
+     * @return The initial position of the {@link Particle}.
+     */
+    public Vector2D getInitialPosition() {
+        return initialPosition;
+    }
+
+    /**
+     * @return The initial velocity of the {@link Particle}.
+     */
+    public Vector2D getInitialVelocity() {
+        return initialVelocity;
+    }
+
+    /**
+     * @return The time at which the {@link DampedOscillator} starts oscillating.
+     */
+    public double getInitialTime() {
+        return initialTime;
+    }
+
     /**
      * @return The spring constant (in kilograms over square seconds).
      */
@@ -148,25 +281,111 @@ public class DampedOscillator implements System<DampedOscillator.DampedOscillato
     }
 
     /**
-     * @return A {@link Function} that takes a {@link Particle} and returns A {@link Vector2D}
-     * that represents the acceleration the {@link Particle} is suffering.
+     * @return The amount of steps needed to cover the total oscillating time.
      */
-    public Function<Particle, Vector2D> getForceProvider() {
-        return forceProvider;
+    public long getTotalSteps() {
+        return totalSteps;
+    }
+
+    /**
+     * @return The amount of steps the system has been updated.
+     */
+    public long getElapsedSteps() {
+        return elapsedSteps;
+    }
+
+    /**
+     * @return The {@link IntegrationSettings} used by the {@link Updater}.
+     */
+    public IntegrationSettings getIntegrationSettings() {
+        return integrationSettings;
+    }
+
+    /**
+     * Attaches a {@link StepObserver}, which starts observing the actual state.
+     *
+     * @param observer The {@link StepObserver} to be attached.
+     */
+    public void addObserver(StepObserver observer) {
+        observer.start(this);
+        observers = Arrays.copyOf(observers, observers.length + 1);
+        observers[observers.length - 1] = observer;
+    }
+
+    /**
+     * @return The {@link ForceModel} that calculates the force the {@link Particle} suffers.
+     */
+    public ForceModel getForceModel() {
+        return forceModel;
+    }
+
+    /**
+     * Calculates how many steps of the given length are needed to cover the given total time.
+     *
+     * @param totalTime The total time.
+     * @param timeStep  The time step.
+     * @return The amount of steps.
+     */
+    public static long countSteps(final double totalTime, final double timeStep) {
+        // Tolerate rounding errors in the division (e.g 5 / 0.001 is slightly greater than 5000)
+        return Math.max(0L, (long) Math.ceil(totalTime / timeStep - STEP_COUNT_TOLERANCE));
     }
 
     @Override
     public void update() {
         this.updater.update();
         this.actualTime += timeStep;
+        this.elapsedSteps++;
+        for (StepObserver observer : observers) {
+            observer.observe(this);
+        }
     }
 
     @Override
     public void restart() {
-        actualTime = 0;
+        actualTime = initialTime;
+        elapsedSteps = 0;
         particle.setPosition(initialPosition);
         particle.setVelocity(initialVelocity);
         particle.setAcceleration(initialAcceleration);
+        for (StepObserver observer : observers) {
+            observer.start(this);
+        }
+    }
+
+    @Override
+    public void writeCheckpoint(DataOutput output) throws IOException {
+        output.writeDouble(actualTime);
+        output.writeLong(elapsedSteps);
+        output.writeDouble(particle.getPositionX());
+        output.writeDouble(particle.getPositionY());
+        output.writeDouble(particle.getVelocityX());
+        output.writeDouble(particle.getVelocityY());
+        output.writeDouble(particle.getAccelerationX());
+        output.writeDouble(particle.getAccelerationY());
+        updater.writeCheckpoint(output);
+        output.writeInt(observers.length);
+        for (StepObserver observer : observers) {
+            observer.writeCheckpoint(output);
+        }
+    }
+
+    @Override
+    public void readCheckpoint(DataInput input) throws IOException {
+        this.actualTime = input.readDouble();
+        this.elapsedSteps = input.readLong();
+        particle.setPosition(input.readDouble(), input.readDouble());
+        particle.setVelocity(input.readDouble(), input.readDouble());
+        particle.setAcceleration(input.readDouble(), input.readDouble());
+        updater.readCheckpoint(input);
+        final int checkpointedObservers = input.readInt();
+        if (checkpointedObservers != observers.length) {
+            throw new IOException("The checkpoint has " + checkpointedObservers + " observers, but "
+                    + observers.length + " are attached");
+        }
+        for (StepObserver observer : observers) {
+            observer.readCheckpoint(input);
+        }
     }
 
     @Override
@@ -178,6 +397,11 @@ public class DampedOscillator implements System<DampedOscillator.DampedOscillato
      * A {@link DampedOscillator} state.
      */
     public static final class DampedOscillatorState implements State {
+        /**
+         * The amount of time the {@link DampedOscillator} had been oscillating.
+         */
+        private final double time;
+
         /**
          * The {@link State} of the {@link Particle} in the {@link DampedOscillator}.
          */
@@ -189,9 +413,29 @@ public class DampedOscillator implements System<DampedOscillator.DampedOscillato
          * @param dampedOscillator The {@link DampedOscillator} whose state will be saved.
          */
         public DampedOscillatorState(DampedOscillator dampedOscillator) {
+            this.time = dampedOscillator.getActualTime();
             this.particleState = dampedOscillator.getParticle().outputState();
         }
 
+        /**
+         * Constructor, which represents a state that was not reached by a {@link DampedOscillator}
+         * (e.g calculated with a closed-form solution).
+         *
+         * @param time          The amount of time the {@link DampedOscillator} had been oscillating.
+         * @param particleState The {@link State} of the {@link Particle} in the {@link DampedOscillator}.
+         */
+        /* package */ DampedOscillatorState(final double time, final Particle.ParticleState particleState) {
+            this.time = time;
+            this.particleState = particleState;
+        }
+
+        /**
+         * @return The amount of time the {@link DampedOscillator} had been oscillating.
+         */
+        public double getTime() {
+            return time;
+        }
+
         /**
          * @return The {@link State} of the {@link Particle} in the {@link DampedOscillator}.
          */
@@ -14,4 +14,21 @@ package ar.edu.itba.ss.oscillator.models;
     /* package */ DampedOscillatorAbstractUpdater(DampedOscillator dampedOscillator) {
         super(dampedOscillator);
     }
+
+    /**
+     * Checks that the given {@link DampedOscillator} suffers a linear force,
+     * for strategies that rely on the linearity of the equation of motion.
+     *
+     * @param dampedOscillator The {@link DampedOscillator} to be updated.
+     * @param strategy         The name of the strategy (i.e used in the error message).
+     * @return The {@link LinearForceModel} of the {@link DampedOscillator}.
+     * @throws IllegalArgumentException If the force is not linear.
+     */
+    /* package */ static LinearForceModel requireLinearForce(DampedOscillator dampedOscillator, String strategy) {
+        final ForceModel forceModel = dampedOscillator.getForceModel();
+        if (!(forceModel instanceof LinearForceModel)) {
+            throw new IllegalArgumentException("The " + strategy + " strategy only supports the LINEAR force model");
+        }
+        return (LinearForceModel) forceModel;
+    }
 }
@@ -0,0 +1,97 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * Represents a set of independent damped oscillators (i.e each one a particle attached to its own spring),
+ * stored in flat columns so all of them can be advanced together.
+ * Each oscillator starts as in a {@link DampedOscillator}.
+ */
+public class DampedOscillatorEnsemble extends ColumnarSystem {
+
+    /**
+     * The particles' masses.
+     */
+    private final double[] masses;
+
+    /**
+     * The spring constants (in kilograms over square seconds).
+     */
+    private final double[] springConstants;
+
+    /**
+     * The viscous damping coefficients (in kilograms over seconds).
+     */
+    private final double[] viscousDampingCoefficients;
+
+    /**
+     * The negative inverse of the masses (i.e scales the "positive" forces into accelerations).
+     */
+    private final double[] negativeInverseMasses;
+
+    /**
+     * Constructor.
+     *
+     * @param particleMasses             The oscillating particles' masses.
+     * @param initialXPositions          The initial stretching/compressed distances of the oscillating particles.
+     * @param springConstants            The spring constants (in kilograms over square seconds).
+     * @param viscousDampingCoefficients The viscous damping coefficients (in kilograms over seconds).
+     * @param timeStep                   The time step (i.e how much time elapses between two update events).
+     * @throws IllegalArgumentException If the columns have different lengths.
+     */
+    public DampedOscillatorEnsemble(final double[] particleMasses, final double[] initialXPositions,
+                                    final double[] springConstants, final double[] viscousDampingCoefficients,
+                                    final double timeStep) {
+        super(particleMasses.length, timeStep);
+        final int size = particleMasses.length;
+        if (initialXPositions.length != size || springConstants.length != size
+                || viscousDampingCoefficients.length != size) {
+            throw new IllegalArgumentException("All the parameters columns must have the same length");
+        }
+        this.masses = particleMasses.clone();
+        this.springConstants = springConstants.clone();
+        this.viscousDampingCoefficients = viscousDampingCoefficients.clone();
+        this.negativeInverseMasses = new double[size];
+        final double[] positions = getPositions();
+        final double[] velocities = getVelocities();
+        for (int i = 0; i < size; i++) {
+            negativeInverseMasses[i] = -1 / masses[i];
+            positions[i] = initialXPositions[i];
+            velocities[i] = -viscousDampingCoefficients[i] / (2 * masses[i]);
+        }
+        computeAccelerations(positions, velocities, getAccelerations(), 0, size);
+    }
+
+    /**
+     * @return The particles' masses.
+     */
+    public double[] getMasses() {
+        return masses;
+    }
+
+    /**
+     * @return The spring constants (in kilograms over square seconds).
+     */
+    public double[] getSpringConstants() {
+        return springConstants;
+    }
+
+    /**
+     * @return The viscous damping coefficients (in kilograms over seconds).
+     */
+    public double[] getViscousDampingCoefficients() {
+        return viscousDampingCoefficients;
+    }
+
+    @Override
+    public void computeAccelerations(double[] positions, double[] velocities, double[] accelerations,
+                                     int from, int to) {
+        for (int i = from; i < to; i++) {
+            accelerations[i] = negativeInverseMasses[i]
+                    * (springConstants[i] * positions[i] + viscousDampingCoefficients[i] * velocities[i]);
+        }
+    }
+
+    @Override
+    public boolean hasLocalForces() {
+        return true;
+    }
+}
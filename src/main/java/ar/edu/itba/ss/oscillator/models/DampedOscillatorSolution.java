@@ -0,0 +1,207 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * The closed-form solution of the damped oscillator equation {@code m x'' + c x' + k x = 0},
+ * for the given initial position and velocity.
+ * Under-damped, critically-damped and over-damped systems are supported.
+ */
+public class DampedOscillatorSolution {
+
+    /**
+     * Relative tolerance used to consider a system critically damped.
+     */
+    private static final double CRITICAL_TOLERANCE = Math.pow(10, -12);
+
+    /**
+     * The particle's mass.
+     */
+    private final double mass;
+
+    /**
+     * The spring constant (in kilograms over square seconds).
+     */
+    private final double springConstant;
+
+    /**
+     * The viscous damping coefficient (in kilograms over seconds).
+     */
+    private final double viscousDampingCoefficient;
+
+    /**
+     * The damping regime of the system.
+     */
+    private final Regime regime;
+
+    /**
+     * The decay rate (i.e c / 2m) for under-damped and critically-damped systems,
+     * or the first characteristic root for over-damped systems.
+     */
+    private final double firstRate;
+
+    /**
+     * The angular frequency for under-damped systems,
+     * or the second characteristic root for over-damped systems (unused for critically-damped systems).
+     */
+    private final double secondRate;
+
+    /**
+     * The first integration constant.
+     */
+    private final double firstConstant;
+
+    /**
+     * The second integration constant.
+     */
+    private final double secondConstant;
+
+    /**
+     * Constructor.
+     *
+     * @param mass                      The particle's mass.
+     * @param springConstant            The spring constant (in kilograms over square seconds).
+     * @param viscousDampingCoefficient The viscous damping coefficient (in kilograms over seconds).
+     * @param initialPosition           The position at time zero.
+     * @param initialVelocity           The velocity at time zero.
+     */
+    public DampedOscillatorSolution(final double mass, final double springConstant,
+                                    final double viscousDampingCoefficient,
+                                    final double initialPosition, final double initialVelocity) {
+        this.mass = mass;
+        this.springConstant = springConstant;
+        this.viscousDampingCoefficient = viscousDampingCoefficient;
+        final double decayRate = viscousDampingCoefficient / (2 * mass);
+        final double naturalFrequencySquared = springConstant / mass;
+        final double discriminant = naturalFrequencySquared - decayRate * decayRate;
+        if (Math.abs(discriminant) <= CRITICAL_TOLERANCE * naturalFrequencySquared) {
+            // x(t) = (A + B t) e^(-decayRate t)
+            this.regime = Regime.CRITICALLY_DAMPED;
+            this.firstRate = decayRate;
+            this.secondRate = 0d;
+            this.firstConstant = initialPosition;
+            this.secondConstant = initialVelocity + decayRate * initialPosition;
+        } else if (discriminant > 0) {
+            // x(t) = e^(-decayRate t) (A cos(w t) + B sin(w t))
+            final double angularFrequency = Math.sqrt(discriminant);
+            this.regime = Regime.UNDER_DAMPED;
+            this.firstRate = decayRate;
+            this.secondRate = angularFrequency;
+            this.firstConstant = initialPosition;
+            this.secondConstant = (initialVelocity + decayRate * initialPosition) / angularFrequency;
+        } else {
+            // x(t) = A e^(r1 t) + B e^(r2 t)
+            final double root = Math.sqrt(-discriminant);
+            final double firstRoot = -decayRate + root;
+            final double secondRoot = -decayRate - root;
+            this.regime = Regime.OVER_DAMPED;
+            this.firstRate = firstRoot;
+            this.secondRate = secondRoot;
+            this.firstConstant = (initialVelocity - secondRoot * initialPosition) / (firstRoot - secondRoot);
+            this.secondConstant = initialPosition - firstConstant;
+        }
+    }
+
+    /**
+     * Builds the solution for the given {@link DampedOscillator}, using its initial conditions.
+     *
+     * @param dampedOscillator The {@link DampedOscillator} whose solution will be built.
+     * @return The built solution.
+     */
+    public static DampedOscillatorSolution forOscillator(DampedOscillator dampedOscillator) {
+        return new DampedOscillatorSolution(dampedOscillator.getParticle().getMass(),
+                dampedOscillator.getSpringConstant(),
+                dampedOscillator.getViscousDampingCoefficient(),
+                dampedOscillator.getInitialPosition().getX(),
+                dampedOscillator.getInitialVelocity().getX());
+    }
+
+    /**
+     * @return The damping regime of the system.
+     */
+    public Regime getRegime() {
+        return regime;
+    }
+
+    /**
+     * Calculates the position at the given time.
+     *
+     * @param time The time.
+     * @return The position at the given time.
+     */
+    public double positionAt(final double time) {
+        switch (regime) {
+            case UNDER_DAMPED: {
+                final double phase = secondRate * time;
+                return Math.exp(-firstRate * time) * (firstConstant * Math.cos(phase) + secondConstant * Math.sin(phase));
+            }
+            case CRITICALLY_DAMPED:
+                return (firstConstant + secondConstant * time) * Math.exp(-firstRate * time);
+            default:
+                return firstConstant * Math.exp(firstRate * time) + secondConstant * Math.exp(secondRate * time);
+        }
+    }
+
+    /**
+     * Calculates the velocity at the given time.
+     *
+     * @param time The time.
+     * @return The velocity at the given time.
+     */
+    public double velocityAt(final double time) {
+        switch (regime) {
+            case UNDER_DAMPED: {
+                final double phase = secondRate * time;
+                final double cosine = Math.cos(phase);
+                final double sine = Math.sin(phase);
+                return Math.exp(-firstRate * time)
+                        * ((secondRate * secondConstant - firstRate * firstConstant) * cosine
+                        - (secondRate * firstConstant + firstRate * secondConstant) * sine);
+            }
+            case CRITICALLY_DAMPED:
+                return (secondConstant - firstRate * (firstConstant + secondConstant * time))
+                        * Math.exp(-firstRate * time);
+            default:
+                return firstRate * firstConstant * Math.exp(firstRate * time)
+                        + secondRate * secondConstant * Math.exp(secondRate * time);
+        }
+    }
+
+    /**
+     * Calculates the acceleration at the given time.
+     *
+     * @param time The time.
+     * @return The acceleration at the given time.
+     */
+    public double accelerationAt(final double time) {
+        return accelerationFor(positionAt(time), velocityAt(time));
+    }
+
+    /**
+     * Calculates the acceleration suffered by the particle with the given position and velocity
+     * (i.e applying the equation of motion).
+     *
+     * @param position The position.
+     * @param velocity The velocity.
+     * @return The acceleration.
+     */
+    public double accelerationFor(final double position, final double velocity) {
+        return -(springConstant * position + viscousDampingCoefficient * velocity) / mass;
+    }
+
+    /**
+     * The damping regimes of a damped oscillator.
+     */
+    public enum Regime {
+        /**
+         * The system oscillates with an exponentially decaying amplitude.
+         */
+        UNDER_DAMPED,
+        /**
+         * The system returns to equilibrium as fast as possible without oscillating.
+         */
+        CRITICALLY_DAMPED,
+        /**
+         * The system returns to equilibrium without oscillating, slower than when critically damped.
+         */
+        OVER_DAMPED
+    }
+}
@@ -0,0 +1,381 @@
+package ar.edu.itba.ss.oscillator.models;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Implementation of {@link Updater} using the embedded Dormand-Prince 5(4) Runge-Kutta method,
+ * with adaptive step size control.
+ * The method takes as many internal steps as the tolerances (see {@link IntegrationSettings}) require,
+ * which can be much longer than the time step when the oscillation decays.
+ * Each update still advances the system exactly one time step, as the state at the requested time is obtained
+ * with the method's continuous extension (i.e dense output), without shortening the internal steps.
+ */
+/* package */ class DormandPrinceUpdater extends DampedOscillatorAbstractUpdater {
+
+    /**
+     * The amount of components of the integrated vector (i.e position and velocity, in 'x' and 'y').
+     */
+    private static final int DIMENSION = 4;
+
+    /**
+     * The amount of stages of the method (i.e the last one is reused as the first one of the next step).
+     */
+    private static final int STAGES = 7;
+
+    /**
+     * The Runge-Kutta matrix of the method (i.e the last row holds the 5th order weights).
+     */
+    private static final double[][] A = {
+            {},
+            {1d / 5},
+            {3d / 40, 9d / 40},
+            {44d / 45, -56d / 15, 32d / 9},
+            {19372d / 6561, -25360d / 2187, 64448d / 6561, -212d / 729},
+            {9017d / 3168, -355d / 33, 46732d / 5247, 49d / 176, -5103d / 18656},
+            {35d / 384, 0d, 500d / 1113, 125d / 192, -2187d / 6784, 11d / 84},
+    };
+
+    /**
+     * The nodes of the method (i.e the fraction of the step at which each stage is evaluated).
+     */
+    private static final double[] C = {0d, 1d / 5, 3d / 10, 4d / 5, 8d / 9, 1d, 1d};
+
+    /**
+     * The weights of the error estimation (i.e difference between the 5th and 4th order weights).
+     */
+    private static final double[] E = {
+            71d / 57600, 0d, -71d / 16695, 71d / 1920, -17253d / 339200, 22d / 525, -1d / 40
+    };
+
+    /**
+     * The weights of the continuous extension (i.e as defined by Hairer, Norsett and Wanner).
+     */
+    private static final double[] D = {
+            -12715105075d / 11282082432d, 0d, 87487479700d / 32700410799d, -10690763975d / 1880347072d,
+            701980252875d / 199316789632d, -1453857185d / 822651844d, 69997945d / 29380423d
+    };
+
+    /**
+     * Safety factor applied to the optimal step size.
+     */
+    private static final double SAFETY = 0.9;
+
+    /**
+     * The minimum factor by which the step size can be multiplied.
+     */
+    private static final double MIN_FACTOR = 0.2;
+
+    /**
+     * The maximum factor by which the step size can be multiplied.
+     */
+    private static final double MAX_FACTOR = 5d;
+
+    /**
+     * The {@link ForceModel} of the updated {@link DampedOscillator}.
+     */
+    private final ForceModel forceModel;
+
+    /**
+     * The inverse of the mass (i.e scales the force into an acceleration).
+     */
+    private final double inverseMass;
+
+    /**
+     * The time step (i.e the time between two outputs).
+     */
+    private final double timeStep;
+
+    /**
+     * The absolute tolerance of the local error.
+     */
+    private final double absoluteTolerance;
+
+    /**
+     * The relative tolerance of the local error.
+     */
+    private final double relativeTolerance;
+
+    /**
+     * The integrated vector at the end of the last internal step.
+     */
+    private final double[] state;
+
+    /**
+     * The integrated vector being calculated.
+     */
+    private final double[] nextState;
+
+    /**
+     * Auxiliary vector used to evaluate the stages.
+     */
+    private final double[] stageState;
+
+    /**
+     * The derivatives evaluated at each stage.
+     */
+    private final double[][] stages;
+
+    /**
+     * The coefficients of the continuous extension of the last internal step.
+     */
+    private final double[][] dense;
+
+    /**
+     * The time at which the system started oscillating (i.e requested times are counted from it).
+     */
+    private final double initialTime;
+
+    /**
+     * The time at the end of the last internal step.
+     */
+    private double time;
+
+    /**
+     * The length of the last internal step.
+     */
+    private double lastStep;
+
+    /**
+     * The length of the next internal step.
+     */
+    private double step;
+
+    /**
+     * The amount of updates performed
+     * (i.e the requested time is the initial time plus the amount of updates times the time step).
+     */
+    private long updates;
+
+    /**
+     * The amount of accepted internal steps.
+     */
+    private long acceptedSteps;
+
+    /**
+     * The amount of rejected internal steps.
+     */
+    private long rejectedSteps;
+
+    /**
+     * Constructor.
+     *
+     * @param dampedOscillator The {@link DampedOscillator} to be updated.
+     */
+    /* package */ DormandPrinceUpdater(DampedOscillator dampedOscillator) {
+        super(dampedOscillator);
+        final Particle particle = dampedOscillator.getParticle();
+        final IntegrationSettings settings = dampedOscillator.getIntegrationSettings();
+        this.forceModel = dampedOscillator.getForceModel();
+        this.inverseMass = 1d / particle.getMass();
+        this.timeStep = dampedOscillator.getTimeStep();
+        this.absoluteTolerance = settings.getAbsoluteTolerance();
+        this.relativeTolerance = settings.getRelativeTolerance();
+        this.state = new double[]{
+                particle.getPositionX(), particle.getPositionY(), particle.getVelocityX(), particle.getVelocityY()
+        };
+        this.nextState = new double[DIMENSION];
+        this.stageState = new double[DIMENSION];
+        this.stages = new double[STAGES][DIMENSION];
+        this.dense = new double[5][DIMENSION];
+        this.initialTime = dampedOscillator.getActualTime();
+        this.time = initialTime;
+        this.lastStep = 0d;
+        this.step = timeStep;
+        this.updates = 0;
+        this.acceptedSteps = 0;
+        this.rejectedSteps = 0;
+        derivative(state, time, stages[0]);
+    }
+
+    /**
+     * @return The amount of accepted internal steps.
+     */
+    /* package */ long getAcceptedSteps() {
+        return acceptedSteps;
+    }
+
+    /**
+     * @return The amount of rejected internal steps.
+     */
+    /* package */ long getRejectedSteps() {
+        return rejectedSteps;
+    }
+
+    @Override
+    public void doUpdate(DampedOscillator dampedOscillator) {
+        updates++;
+        final double requestedTime = initialTime + updates * timeStep;
+        while (time < requestedTime) {
+            performStep(requestedTime);
+        }
+        // Evaluate the continuous extension of the last internal step at the requested time
+        final double theta = 1 - (time - requestedTime) / lastStep;
+        final double theta1 = 1 - theta;
+        for (int i = 0; i < DIMENSION; i++) {
+            stageState[i] = dense[0][i] + theta * (dense[1][i] + theta1 * (dense[2][i]
+                    + theta * (dense[3][i] + theta1 * dense[4][i])));
+        }
+        final double positionX = stageState[0];
+        final double positionY = stageState[1];
+        final double velocityX = stageState[2];
+        final double velocityY = stageState[3];
+        final Particle particle = dampedOscillator.getParticle();
+        particle.setPosition(positionX, positionY);
+        particle.setVelocity(velocityX, velocityY);
+        particle.setAcceleration(
+                inverseMass * (forceModel.force(positionX, velocityX) + forceModel.externalForce(requestedTime)),
+                inverseMass * forceModel.force(positionY, velocityY));
+    }
+
+    /**
+     * Performs one internal step, shrinking it until its estimated error is within the tolerances.
+     * The length of the next step is chosen according to the estimated error.
+     *
+     * @param requestedTime The time the internal steps must reach.
+     * @throws IllegalStateException If the estimated error is not a number, or if the step becomes shorter than
+     *                               the precision of the requested time (i.e the tolerances can not be met).
+     */
+    private void performStep(final double requestedTime) {
+        while (true) {
+            final double h = step;
+            // Shorter steps could not advance the time, so the tolerances can not be met
+            // (e.g the scaled error overflows, and keeps the step shrinking)
+            if (h < Math.ulp(requestedTime)) {
+                throw new IllegalStateException("The step vanished at time " + time
+                        + " (i.e the tolerances can not be met)");
+            }
+            // Evaluate the stages (the first one is the last one of the previous step)
+            for (int stage = 1; stage < STAGES; stage++) {
+                final double[] coefficients = A[stage];
+                for (int i = 0; i < DIMENSION; i++) {
+                    double sum = 0d;
+                    for (int j = 0; j < stage; j++) {
+                        sum += coefficients[j] * stages[j][i];
+                    }
+                    stageState[i] = state[i] + h * sum;
+                }
+                derivative(stageState, time + C[stage] * h, stages[stage]);
+            }
+            // The last stage is evaluated at the 5th order solution
+            System.arraycopy(stageState, 0, nextState, 0, DIMENSION);
+            // Estimate the error (root mean square of the scaled error of each component)
+            double error = 0d;
+            for (int i = 0; i < DIMENSION; i++) {
+                double sum = 0d;
+                for (int j = 0; j < STAGES; j++) {
+                    sum += E[j] * stages[j][i];
+                }
+                final double scale = absoluteTolerance
+                        + relativeTolerance * Math.max(Math.abs(state[i]), Math.abs(nextState[i]));
+                if (scale == 0d) {
+                    // A component that stays at zero with a pure relative tolerance has no error to be compared
+                    continue;
+                }
+                final double scaledError = h * sum / scale;
+                error += scaledError * scaledError;
+            }
+            error = Math.sqrt(error / DIMENSION);
+            if (Double.isNaN(error)) {
+                throw new IllegalStateException("The estimated error at time " + time + " is not a number");
+            }
+            if (error <= 1d) {
+                // Accept the step, preparing its continuous extension
+                for (int i = 0; i < DIMENSION; i++) {
+                    final double difference = nextState[i] - state[i];
+                    final double firstSlope = h * stages[0][i] - difference;
+                    double sum = 0d;
+                    for (int j = 0; j < STAGES; j++) {
+                        sum += D[j] * stages[j][i];
+                    }
+                    dense[0][i] = state[i];
+                    dense[1][i] = difference;
+                    dense[2][i] = firstSlope;
+                    dense[3][i] = difference - h * stages[STAGES - 1][i] - firstSlope;
+                    dense[4][i] = h * sum;
+                }
+                System.arraycopy(nextState, 0, state, 0, DIMENSION);
+                System.arraycopy(stages[STAGES - 1], 0, stages[0], 0, DIMENSION);
+                time += h;
+                lastStep = h;
+                step = h * Math.min(MAX_FACTOR, Math.max(MIN_FACTOR, SAFETY * Math.pow(error, -0.2)));
+                acceptedSteps++;
+                return;
+            }
+            // Reject the step, and retry with a shorter one
+            step = h * Math.max(MIN_FACTOR, SAFETY * Math.pow(error, -0.2));
+            rejectedSteps++;
+        }
+    }
+
+    /**
+     * Calculates the derivative of the given integrated vector (i.e velocity and acceleration).
+     *
+     * @param vector     The integrated vector.
+     * @param time       The time at which the derivative is calculated.
+     * @param derivative The array where the derivative will be stored.
+     */
+    private void derivative(double[] vector, double time, double[] derivative) {
+        derivative[0] = vector[2];
+        derivative[1] = vector[3];
+        derivative[2] = inverseMass * (forceModel.force(vector[0], vector[2]) + forceModel.externalForce(time));
+        derivative[3] = inverseMass * forceModel.force(vector[1], vector[3]);
+    }
+
+    @Override
+    public void writeCheckpoint(DataOutput output) throws IOException {
+        writeVector(output, state);
+        writeVector(output, stages[0]);
+        for (double[] coefficients : dense) {
+            writeVector(output, coefficients);
+        }
+        output.writeDouble(time);
+        output.writeDouble(lastStep);
+        output.writeDouble(step);
+        output.writeLong(updates);
+        output.writeLong(acceptedSteps);
+        output.writeLong(rejectedSteps);
+    }
+
+    @Override
+    public void readCheckpoint(DataInput input) throws IOException {
+        readVector(input, state);
+        readVector(input, stages[0]);
+        for (double[] coefficients : dense) {
+            readVector(input, coefficients);
+        }
+        this.time = input.readDouble();
+        this.lastStep = input.readDouble();
+        this.step = input.readDouble();
+        this.updates = input.readLong();
+        this.acceptedSteps = input.readLong();
+        this.rejectedSteps = input.readLong();
+    }
+
+    /**
+     * Writes all the components of the given vector.
+     *
+     * @param output The {@link DataOutput} where the vector will be written.
+     * @param vector The vector to be written.
+     * @throws IOException If any I/O error occurs.
+     */
+    private static void writeVector(DataOutput output, double[] vector) throws IOException {
+        for (double component : vector) {
+            output.writeDouble(component);
+        }
+    }
+
+    /**
+     * Reads all the components of the given vector.
+     *
+     * @param input  The {@link DataInput} from where the vector will be read.
+     * @param vector The vector where the components will be stored.
+     * @throws IOException If any I/O error occurs.
+     */
+    private static void readVector(DataInput input, double[] vector) throws IOException {
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = input.readDouble();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * {@link ForceModel} that adds a harmonic driving force along the 'x' axis
+ * (i.e {@code F0 cos(w t)}) to another {@link ForceModel}.
+ */
+public class DrivenForceModel implements ForceModel {
+
+    /**
+     * The {@link ForceModel} being driven.
+     */
+    private final ForceModel drivenModel;
+
+    /**
+     * The amplitude of the driving force (in newtons).
+     */
+    private final double amplitude;
+
+    /**
+     * The angular frequency of the driving force (in radians over seconds).
+     */
+    private final double angularFrequency;
+
+    /**
+     * Constructor.
+     *
+     * @param drivenModel      The {@link ForceModel} being driven.
+     * @param amplitude        The amplitude of the driving force (in newtons).
+     * @param angularFrequency The angular frequency of the driving force (in radians over seconds).
+     */
+    public DrivenForceModel(ForceModel drivenModel, final double amplitude, final double angularFrequency) {
+        this.drivenModel = drivenModel;
+        this.amplitude = amplitude;
+        this.angularFrequency = angularFrequency;
+    }
+
+    @Override
+    public double force(final double position, final double velocity) {
+        return drivenModel.force(position, velocity);
+    }
+
+    @Override
+    public double potentialEnergy(final double position) {
+        return drivenModel.potentialEnergy(position);
+    }
+
+    @Override
+    public double dissipatedPower(final double position, final double velocity) {
+        return drivenModel.dissipatedPower(position, velocity);
+    }
+
+    @Override
+    public double externalForce(final double time) {
+        return drivenModel.externalForce(time) + amplitude * Math.cos(angularFrequency * time);
+    }
+}
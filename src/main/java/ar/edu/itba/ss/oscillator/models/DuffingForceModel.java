@@ -0,0 +1,55 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * {@link ForceModel} of a spring with a cubic stiffness term (i.e Duffing's oscillator),
+ * and a linear damper (i.e {@code F = -k x - b x^3 - c v}).
+ * A positive cubic constant hardens the spring, while a negative one softens it.
+ */
+public class DuffingForceModel implements ForceModel {
+
+    /**
+     * The linear spring constant (in kilograms over square seconds).
+     */
+    private final double springConstant;
+
+    /**
+     * The cubic spring constant (in kilograms over square meters and square seconds).
+     */
+    private final double cubicSpringConstant;
+
+    /**
+     * The viscous damping coefficient (in kilograms over seconds).
+     */
+    private final double viscousDampingCoefficient;
+
+    /**
+     * Constructor.
+     *
+     * @param springConstant            The linear spring constant (in kilograms over square seconds).
+     * @param cubicSpringConstant       The cubic spring constant (in kilograms over square meters and square seconds).
+     * @param viscousDampingCoefficient The viscous damping coefficient (in kilograms over seconds).
+     */
+    public DuffingForceModel(final double springConstant, final double cubicSpringConstant,
+                             final double viscousDampingCoefficient) {
+        this.springConstant = springConstant;
+        this.cubicSpringConstant = cubicSpringConstant;
+        this.viscousDampingCoefficient = viscousDampingCoefficient;
+    }
+
+    @Override
+    public double force(final double position, final double velocity) {
+        return -1d * ((springConstant + cubicSpringConstant * position * position) * position
+                + viscousDampingCoefficient * velocity);
+    }
+
+    @Override
+    public double potentialEnergy(final double position) {
+        final double square = position * position;
+        return (0.5 * springConstant + 0.25 * cubicSpringConstant * square) * square;
+    }
+
+    @Override
+    public double dissipatedPower(final double position, final double velocity) {
+        return viscousDampingCoefficient * velocity * velocity;
+    }
+}
@@ -0,0 +1,197 @@
+package ar.edu.itba.ss.oscillator.models;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * {@link StepObserver} that tracks the mechanical energy (i.e kinetic plus potential) of a {@link DampedOscillator},
+ * the energy lost to damping and the work done by the external force (i.e the integrals of the dissipated power
+ * and of the external power, using the trapezoidal rule), and the drift of their balance from the initial energy,
+ * which is zero for an exact solution. The potential energy and the dissipated power are given by the oscillator's
+ * {@link ForceModel}, so the balance holds for any of them.
+ * Strategies that do not store the velocity (i.e {@link UpdateStrategyEnum#VERLET}) report meaningless values.
+ */
+public class EnergyObserver implements StepObserver {
+
+    /**
+     * The mechanical energy at the beginning of the simulation.
+     */
+    private double initialEnergy;
+
+    /**
+     * The mechanical energy at the last observed step.
+     */
+    private double energy;
+
+    /**
+     * The dissipated power at the last observed step.
+     */
+    private double dissipatedPower;
+
+    /**
+     * The energy lost to damping up to the last observed step.
+     */
+    private double dampingLoss;
+
+    /**
+     * The power of the external force at the last observed step.
+     */
+    private double externalPower;
+
+    /**
+     * The work done by the external force up to the last observed step.
+     */
+    private double externalWork;
+
+    /**
+     * The maximum absolute drift of the energy balance (i.e mechanical energy plus damping loss,
+     * minus the external work and the initial energy).
+     */
+    private double maxDrift;
+
+    /**
+     * The amount of observed steps.
+     */
+    private long steps;
+
+    @Override
+    public void start(DampedOscillator dampedOscillator) {
+        this.initialEnergy = mechanicalEnergy(dampedOscillator);
+        this.energy = initialEnergy;
+        this.dissipatedPower = dissipatedPower(dampedOscillator);
+        this.dampingLoss = 0d;
+        this.externalPower = externalPower(dampedOscillator);
+        this.externalWork = 0d;
+        this.maxDrift = 0d;
+        this.steps = 0;
+    }
+
+    @Override
+    public void observe(DampedOscillator dampedOscillator) {
+        final double power = dissipatedPower(dampedOscillator);
+        final double external = externalPower(dampedOscillator);
+        this.energy = mechanicalEnergy(dampedOscillator);
+        this.dampingLoss += 0.5 * (dissipatedPower + power) * dampedOscillator.getTimeStep();
+        this.externalWork += 0.5 * (externalPower + external) * dampedOscillator.getTimeStep();
+        this.dissipatedPower = power;
+        this.externalPower = external;
+        this.maxDrift = Math.max(maxDrift, Math.abs(getDrift()));
+        this.steps++;
+    }
+
+    /**
+     * @return The mechanical energy at the beginning of the simulation.
+     */
+    public double getInitialEnergy() {
+        return initialEnergy;
+    }
+
+    /**
+     * @return The mechanical energy at the last observed step.
+     */
+    public double getEnergy() {
+        return energy;
+    }
+
+    /**
+     * @return The energy lost to damping up to the last observed step.
+     */
+    public double getDampingLoss() {
+        return dampingLoss;
+    }
+
+    /**
+     * @return The work done by the external force up to the last observed step.
+     */
+    public double getExternalWork() {
+        return externalWork;
+    }
+
+    /**
+     * @return The drift of the energy balance at the last observed step
+     * (i.e mechanical energy plus damping loss, minus the external work and the initial energy).
+     */
+    public double getDrift() {
+        return energy + dampingLoss - externalWork - initialEnergy;
+    }
+
+    /**
+     * @return The maximum absolute drift of the energy balance.
+     */
+    public double getMaxDrift() {
+        return maxDrift;
+    }
+
+    @Override
+    public String getSummary() {
+        return "Energy after " + steps + " steps: initial = " + initialEnergy + ", final = " + energy
+                + ", damping loss = " + dampingLoss + ", external work = " + externalWork
+                + ", drift = " + getDrift() + ", max drift = " + maxDrift;
+    }
+
+    /**
+     * Calculates the mechanical energy (i.e kinetic plus potential) of the given {@link DampedOscillator}.
+     *
+     * @param dampedOscillator The {@link DampedOscillator}.
+     * @return The mechanical energy.
+     */
+    private static double mechanicalEnergy(DampedOscillator dampedOscillator) {
+        final Particle particle = dampedOscillator.getParticle();
+        final ForceModel forceModel = dampedOscillator.getForceModel();
+        final double velocityX = particle.getVelocityX();
+        final double velocityY = particle.getVelocityY();
+        return 0.5 * particle.getMass() * (velocityX * velocityX + velocityY * velocityY)
+                + forceModel.potentialEnergy(particle.getPositionX())
+                + forceModel.potentialEnergy(particle.getPositionY());
+    }
+
+    /**
+     * Calculates the power dissipated by the damping force of the given {@link DampedOscillator}.
+     *
+     * @param dampedOscillator The {@link DampedOscillator}.
+     * @return The dissipated power.
+     */
+    private static double dissipatedPower(DampedOscillator dampedOscillator) {
+        final Particle particle = dampedOscillator.getParticle();
+        final ForceModel forceModel = dampedOscillator.getForceModel();
+        return forceModel.dissipatedPower(particle.getPositionX(), particle.getVelocityX())
+                + forceModel.dissipatedPower(particle.getPositionY(), particle.getVelocityY());
+    }
+
+    /**
+     * Calculates the power of the external force applied to the given {@link DampedOscillator}
+     * (i.e along the 'x' axis).
+     *
+     * @param dampedOscillator The {@link DampedOscillator}.
+     * @return The external power.
+     */
+    private static double externalPower(DampedOscillator dampedOscillator) {
+        return dampedOscillator.getForceModel().externalForce(dampedOscillator.getActualTime())
+                * dampedOscillator.getParticle().getVelocityX();
+    }
+
+    @Override
+    public void writeCheckpoint(DataOutput output) throws IOException {
+        output.writeDouble(initialEnergy);
+        output.writeDouble(energy);
+        output.writeDouble(dissipatedPower);
+        output.writeDouble(dampingLoss);
+        output.writeDouble(externalPower);
+        output.writeDouble(externalWork);
+        output.writeDouble(maxDrift);
+        output.writeLong(steps);
+    }
+
+    @Override
+    public void readCheckpoint(DataInput input) throws IOException {
+        this.initialEnergy = input.readDouble();
+        this.energy = input.readDouble();
+        this.dissipatedPower = input.readDouble();
+        this.dampingLoss = input.readDouble();
+        this.externalPower = input.readDouble();
+        this.externalWork = input.readDouble();
+        this.maxDrift = input.readDouble();
+        this.steps = input.readLong();
+    }
+}
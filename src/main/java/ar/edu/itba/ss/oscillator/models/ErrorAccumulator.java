@@ -0,0 +1,84 @@
+package ar.edu.itba.ss.oscillator.models;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Accumulates the error of calculated values against expected ones, incrementally
+ * (i.e without storing the values).
+ */
+public class ErrorAccumulator implements Checkpointable {
+
+    /**
+     * The amount of accumulated samples.
+     */
+    private long samples;
+
+    /**
+     * The sum of the squared errors.
+     */
+    private double squaredErrorsSum;
+
+    /**
+     * The maximum absolute error.
+     */
+    private double maxAbsoluteError;
+
+    /**
+     * Constructor.
+     */
+    public ErrorAccumulator() {
+        this.samples = 0;
+        this.squaredErrorsSum = 0d;
+        this.maxAbsoluteError = 0d;
+    }
+
+    /**
+     * Accumulates a new sample.
+     *
+     * @param calculated The calculated value.
+     * @param expected   The expected value.
+     */
+    public void accumulate(final double calculated, final double expected) {
+        final double error = calculated - expected;
+        samples++;
+        squaredErrorsSum += error * error;
+        maxAbsoluteError = Math.max(maxAbsoluteError, Math.abs(error));
+    }
+
+    /**
+     * @return The amount of accumulated samples.
+     */
+    public long getSamples() {
+        return samples;
+    }
+
+    /**
+     * @return The mean squared error (i.e {@link Double#NaN} if no sample was accumulated).
+     */
+    public double getMeanSquaredError() {
+        return samples == 0 ? Double.NaN : squaredErrorsSum / samples;
+    }
+
+    /**
+     * @return The maximum absolute error.
+     */
+    public double getMaxAbsoluteError() {
+        return maxAbsoluteError;
+    }
+
+    @Override
+    public void writeCheckpoint(DataOutput output) throws IOException {
+        output.writeLong(samples);
+        output.writeDouble(squaredErrorsSum);
+        output.writeDouble(maxAbsoluteError);
+    }
+
+    @Override
+    public void readCheckpoint(DataInput input) throws IOException {
+        this.samples = input.readLong();
+        this.squaredErrorsSum = input.readDouble();
+        this.maxAbsoluteError = input.readDouble();
+    }
+}
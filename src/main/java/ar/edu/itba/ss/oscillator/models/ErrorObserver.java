@@ -0,0 +1,73 @@
+package ar.edu.itba.ss.oscillator.models;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * {@link StepObserver} that accumulates the error of the position of a {@link DampedOscillator}
+ * against its closed-form solution (i.e the running mean squared error and the maximum absolute error).
+ * Only the undriven {@link LinearForceModel} has such solution, so it can not observe any other model.
+ */
+public class ErrorObserver implements StepObserver {
+
+    /**
+     * The closed-form solution used as reference.
+     */
+    private DampedOscillatorSolution solution;
+
+    /**
+     * The {@link ErrorAccumulator} with the error of each observed step.
+     */
+    private ErrorAccumulator error;
+
+    @Override
+    public void start(DampedOscillator dampedOscillator) {
+        if (!(dampedOscillator.getForceModel() instanceof LinearForceModel)) {
+            throw new IllegalArgumentException("The ERROR observer only supports the undriven LINEAR force model");
+        }
+        this.solution = DampedOscillatorSolution.forOscillator(dampedOscillator);
+        this.error = new ErrorAccumulator();
+        accumulate(dampedOscillator);
+    }
+
+    @Override
+    public void observe(DampedOscillator dampedOscillator) {
+        accumulate(dampedOscillator);
+    }
+
+    /**
+     * @return The {@link ErrorAccumulator} with the error of each observed step.
+     */
+    public ErrorAccumulator getError() {
+        return error;
+    }
+
+    @Override
+    public String getSummary() {
+        return "Position error against the analytic solution over " + error.getSamples() + " states: "
+                + "mean squared error = " + error.getMeanSquaredError()
+                + ", max absolute error = " + error.getMaxAbsoluteError();
+    }
+
+    /**
+     * Accumulates the error of the actual position of the given {@link DampedOscillator}.
+     *
+     * @param dampedOscillator The {@link DampedOscillator}.
+     */
+    private void accumulate(DampedOscillator dampedOscillator) {
+        error.accumulate(dampedOscillator.getParticle().getPositionX(),
+                solution.positionAt(dampedOscillator.getActualTime()));
+    }
+
+    @Override
+    public void writeCheckpoint(DataOutput output) throws IOException {
+        error.writeCheckpoint(output);
+    }
+
+    @Override
+    public void readCheckpoint(DataInput input) throws IOException {
+        // The solution only depends on the initial conditions, so it is the one built when starting
+        error.readCheckpoint(input);
+    }
+}
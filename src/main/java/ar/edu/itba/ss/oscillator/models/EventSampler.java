@@ -0,0 +1,74 @@
+package ar.edu.itba.ss.oscillator.models;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * {@link Sampler} that records the initial state, and the states in which the 'x' component of the position
+ * crosses zero or passes through a local extremum.
+ * As events are detected by comparing positions, the recorded state is the first one after the event.
+ */
+/* package */ class EventSampler implements Sampler {
+
+    /**
+     * Indicates whether the initial state has been already checked.
+     */
+    private boolean started;
+
+    /**
+     * The previous 'x' component of the position.
+     */
+    private double previousPosition;
+
+    /**
+     * The sign of the previous change of the 'x' component of the position (i.e zero if it has not moved yet).
+     */
+    private double previousDirection;
+
+    /**
+     * Constructor.
+     */
+    /* package */ EventSampler() {
+        reset();
+    }
+
+    @Override
+    public void reset() {
+        this.started = false;
+        this.previousPosition = 0d;
+        this.previousDirection = 0d;
+    }
+
+    @Override
+    public boolean sample(DampedOscillator dampedOscillator) {
+        final double position = dampedOscillator.getParticle().getPositionX();
+        if (!started) {
+            started = true;
+            previousPosition = position;
+            return true;
+        }
+        final boolean zeroCrossing = position == 0d || Math.signum(position) * Math.signum(previousPosition) < 0;
+        final double direction = Math.signum(position - previousPosition);
+        final boolean extremum = direction != 0d && direction * previousDirection < 0;
+        previousPosition = position;
+        if (direction != 0d) {
+            previousDirection = direction;
+        }
+        return zeroCrossing || extremum;
+    }
+
+    @Override
+    public void writeCheckpoint(DataOutput output) throws IOException {
+        output.writeBoolean(started);
+        output.writeDouble(previousPosition);
+        output.writeDouble(previousDirection);
+    }
+
+    @Override
+    public void readCheckpoint(DataInput input) throws IOException {
+        this.started = input.readBoolean();
+        this.previousPosition = input.readDouble();
+        this.previousDirection = input.readDouble();
+    }
+}
@@ -0,0 +1,48 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * Defines the force suffered by an oscillating particle, taking and returning primitive values,
+ * so updaters can evaluate it every step without allocating.
+ * The force that depends on the particle's state is separable (i.e the force along an axis depends only on
+ * the position and velocity along that axis), so it is applied to the 'x' and 'y' axes alike.
+ * An external, time dependent force can also be applied along the 'x' axis (i.e the spring's axis).
+ */
+public interface ForceModel {
+
+    /**
+     * Calculates the force along one axis.
+     *
+     * @param position The particle's position along the axis.
+     * @param velocity The particle's velocity along the axis.
+     * @return The force along the axis.
+     */
+    double force(double position, double velocity);
+
+    /**
+     * Calculates the potential energy stored along one axis (i.e the energy of the conservative part of the force).
+     *
+     * @param position The particle's position along the axis.
+     * @return The potential energy along the axis.
+     */
+    double potentialEnergy(double position);
+
+    /**
+     * Calculates the power dissipated along one axis (i.e by the non conservative part of the force
+     * that depends on the particle's state, which is negative if it pumps energy instead).
+     *
+     * @param position The particle's position along the axis.
+     * @param velocity The particle's velocity along the axis.
+     * @return The dissipated power along the axis.
+     */
+    double dissipatedPower(double position, double velocity);
+
+    /**
+     * Calculates the external force applied along the 'x' axis at the given time.
+     *
+     * @param time The time.
+     * @return The external force (i.e zero by default).
+     */
+    default double externalForce(double time) {
+        return 0d;
+    }
+}
@@ -0,0 +1,48 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * Defines the {@link ForceModel}s that can be simulated.
+ */
+public enum ForceModelEnum {
+    /**
+     * A linear spring and a linear damper.
+     */
+    LINEAR {
+        @Override
+        public ForceModel getForceModelInstance(double springConstant, double cubicSpringConstant,
+                                                double viscousDampingCoefficient) {
+            return new LinearForceModel(springConstant, viscousDampingCoefficient);
+        }
+    },
+    /**
+     * A spring with a cubic stiffness term, and a linear damper (i.e Duffing's oscillator).
+     */
+    DUFFING {
+        @Override
+        public ForceModel getForceModelInstance(double springConstant, double cubicSpringConstant,
+                                                double viscousDampingCoefficient) {
+            return new DuffingForceModel(springConstant, cubicSpringConstant, viscousDampingCoefficient);
+        }
+    },
+    /**
+     * A linear spring and a damper that pumps energy at small positions (i.e Van der Pol's oscillator).
+     */
+    VAN_DER_POL {
+        @Override
+        public ForceModel getForceModelInstance(double springConstant, double cubicSpringConstant,
+                                                double viscousDampingCoefficient) {
+            return new VanDerPolForceModel(springConstant, viscousDampingCoefficient);
+        }
+    };
+
+    /**
+     * Builds a {@link ForceModel} according to the enum value.
+     *
+     * @param springConstant            The spring constant (in kilograms over square seconds).
+     * @param cubicSpringConstant       The cubic spring constant (only used by {@link #DUFFING}).
+     * @param viscousDampingCoefficient The viscous damping coefficient (in kilograms over seconds).
+     * @return The built {@link ForceModel}.
+     */
+    public abstract ForceModel getForceModelInstance(double springConstant, double cubicSpringConstant,
+                                                     double viscousDampingCoefficient);
+}
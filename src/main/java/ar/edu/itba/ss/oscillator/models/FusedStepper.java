@@ -0,0 +1,100 @@
+package ar.edu.itba.ss.oscillator.models;
+
+import java.io.IOException;
+
+/**
+ * Drives a {@link DampedOscillator} through its exact amount of steps (see {@link DampedOscillator#getTotalSteps()})
+ * in a counted loop, handing it to a hook only when the {@link Sampler} chooses its actual state.
+ * Unlike a loop that compares the accumulated time against the total time after each step, the amount of steps
+ * does not depend on rounding errors, and no state is built unless it is sampled.
+ */
+public final class FusedStepper {
+
+    /**
+     * The simulated system.
+     */
+    private final DampedOscillator dampedOscillator;
+
+    /**
+     * The {@link Sampler} that decides which states are handed to the hook.
+     */
+    private final Sampler sampler;
+
+    /**
+     * Constructor.
+     *
+     * @param dampedOscillator The simulated system.
+     * @param sampler          The {@link Sampler} that decides which states are handed to the hook.
+     */
+    public FusedStepper(DampedOscillator dampedOscillator, Sampler sampler) {
+        this.dampedOscillator = dampedOscillator;
+        this.sampler = sampler;
+    }
+
+    /**
+     * Restarts the system and the {@link Sampler}, handing the initial state to the given hook if it is sampled.
+     *
+     * @param hook The {@link SampleHook} that receives the sampled states.
+     * @throws IOException If the hook fails.
+     */
+    public void start(SampleHook hook) throws IOException {
+        dampedOscillator.restart();
+        sampler.reset();
+        if (sampler.sample(dampedOscillator)) {
+            hook.sampled(dampedOscillator);
+        }
+    }
+
+    /**
+     * Updates the system the given amount of steps (or until its last step, if there are less remaining),
+     * handing the sampled states to the given hook.
+     *
+     * @param steps The maximum amount of steps to be performed.
+     * @param hook  The {@link SampleHook} that receives the sampled states.
+     * @return The amount of steps performed.
+     * @throws IOException If the hook fails.
+     */
+    public long advance(final long steps, SampleHook hook) throws IOException {
+        final long count = Math.min(steps, getRemainingSteps());
+        for (long step = 0; step < count; step++) {
+            dampedOscillator.update();
+            if (sampler.sample(dampedOscillator)) {
+                hook.sampled(dampedOscillator);
+            }
+        }
+        return Math.max(count, 0L);
+    }
+
+    /**
+     * Updates the system until its last step, handing the sampled states to the given hook.
+     *
+     * @param hook The {@link SampleHook} that receives the sampled states.
+     * @return The amount of steps performed.
+     * @throws IOException If the hook fails.
+     */
+    public long finish(SampleHook hook) throws IOException {
+        return advance(Long.MAX_VALUE, hook);
+    }
+
+    /**
+     * @return The amount of steps left until the total time is covered.
+     */
+    public long getRemainingSteps() {
+        return dampedOscillator.getTotalSteps() - dampedOscillator.getElapsedSteps();
+    }
+
+    /**
+     * Defines behaviour for an object that receives the sampled states of the simulated system.
+     */
+    @FunctionalInterface
+    public interface SampleHook {
+
+        /**
+         * Receives the actual state of the given {@link DampedOscillator}, which was chosen by the {@link Sampler}.
+         *
+         * @param dampedOscillator The simulated system.
+         * @throws IOException If any I/O error occurs while handling the state.
+         */
+        void sampled(DampedOscillator dampedOscillator) throws IOException;
+    }
+}
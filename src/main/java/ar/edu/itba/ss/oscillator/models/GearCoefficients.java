@@ -0,0 +1,121 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * The coefficients of Gear's predictor/corrector method of a given order, for a given time step.
+ * The predictor is the Taylor expansion of the derivatives, stored as a flat upper triangular matrix
+ * (i.e row {@code i} predicts the {@code i}-th derivative), and the corrector holds the standard coefficients
+ * of each order for second order equations, already scaled by the time step.
+ */
+/* package */ final class GearCoefficients {
+
+    /**
+     * The minimum supported order.
+     */
+    /* package */ static final int MIN_ORDER = 2;
+
+    /**
+     * The maximum supported order.
+     */
+    /* package */ static final int MAX_ORDER = 6;
+
+    /**
+     * The standard corrector coefficients of each order (i.e indexed by order minus {@link #MIN_ORDER}).
+     * The 5th order one uses 3/16 for the position, as forces depend on the velocity.
+     */
+    private static final double[][] CORRECTOR_TABLES = {
+            {0d, 1d, 1d},
+            {1d / 6d, 5d / 6d, 1d, 1d / 3d},
+            {19d / 120d, 3d / 4d, 1d, 1d / 2d, 1d / 12d},
+            {3d / 16d, 251d / 360d, 1d, 11d / 18d, 1d / 6d, 1d / 60d},
+            {863d / 6048d, 665d / 1008d, 1d, 25d / 36d, 35d / 144d, 1d / 24d, 1d / 360d},
+    };
+
+    /**
+     * The amount of derivatives (i.e the order plus one, as the non derived vector is included).
+     */
+    private final int derivatives;
+
+    /**
+     * The predictor matrix, stored row by row (i.e the element {@code (i, j)} is {@code dt^(j-i) / (j-i)!}).
+     */
+    private final double[] predictor;
+
+    /**
+     * The corrector factors (i.e the standard coefficients times {@code i! / dt^i}).
+     */
+    private final double[] corrector;
+
+    /**
+     * The factor that turns the difference of accelerations into the difference of the scaled second derivative
+     * (i.e {@code dt^2 / 2}).
+     */
+    private final double accelerationFactor;
+
+    /**
+     * Constructor.
+     *
+     * @param order    The order of the method.
+     * @param timeStep The time step.
+     * @throws IllegalArgumentException If the order is not supported.
+     */
+    /* package */ GearCoefficients(final int order, final double timeStep) {
+        validateOrder(order);
+        final double[] coefficients = CORRECTOR_TABLES[order - MIN_ORDER];
+        this.derivatives = order + 1;
+        this.predictor = new double[derivatives * derivatives];
+        this.corrector = new double[derivatives];
+        double power = 1d;
+        double factorial = 1d;
+        for (int k = 0; k < derivatives; k++) {
+            final double taylorFactor = k == 0 ? 1d : power / factorial;
+            for (int i = 0; i + k < derivatives; i++) {
+                predictor[i * derivatives + i + k] = taylorFactor;
+            }
+            corrector[k] = k == 0 ? coefficients[k] : coefficients[k] * (factorial / power);
+            power *= timeStep;
+            factorial *= k + 1;
+        }
+        this.accelerationFactor = (timeStep * timeStep) / 2d;
+    }
+
+    /**
+     * Checks that the given order is supported.
+     *
+     * @param order The order to be checked.
+     * @throws IllegalArgumentException If the order is not supported.
+     */
+    /* package */ static void validateOrder(final int order) {
+        if (order < MIN_ORDER || order > MAX_ORDER) {
+            throw new IllegalArgumentException("The Gear order must be between " + MIN_ORDER + " and " + MAX_ORDER);
+        }
+    }
+
+    /**
+     * @return The amount of derivatives (i.e the order plus one, as the non derived vector is included).
+     */
+    /* package */ int getDerivatives() {
+        return derivatives;
+    }
+
+    /**
+     * @return The predictor matrix, stored row by row.
+     */
+    /* package */ double[] getPredictor() {
+        return predictor;
+    }
+
+    /**
+     * @return The corrector factors of each derivative.
+     */
+    /* package */ double[] getCorrector() {
+        return corrector;
+    }
+
+    /**
+     * @return The factor that turns the difference of accelerations into the difference of the scaled
+     * second derivative (i.e {@code dt^2 / 2}).
+     */
+    /* package */ double getAccelerationFactor() {
+        return accelerationFactor;
+    }
+}
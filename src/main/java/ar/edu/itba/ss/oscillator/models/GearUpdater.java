@@ -1,99 +1,60 @@
 package ar.edu.itba.ss.oscillator.models;
 
-import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
- * Implementation of {@link Updater} using Gear's 5th-order predictor/corrector equations.
+ * Implementation of {@link Updater} using Gear's predictor/corrector equations,
+ * of the order given by the {@link IntegrationSettings} (see {@link GearCoefficients}).
  */
 public class GearUpdater extends DampedOscillatorAbstractUpdater {
 
-    // ================================================================================================================
-    // Derivatives
-    // ================================================================================================================
-
     /**
-     * The non derived vector.
+     * The amount of components of each derivative (i.e 'x' and 'y').
      */
-    private Vector2D nonDerived;
+    private static final int COMPONENTS = 2;
 
     /**
-     * The vector derived once.
+     * The derivatives, stored one after the other with their 'x' and 'y' components
+     * (i.e the component {@code c} of the {@code i}-th derivative is at index {@code i * 2 + c}).
      */
-    private Vector2D firstDerivative;
+    private final double[] derivatives;
 
     /**
-     * The vector derived twice.
+     * The amount of derivatives (i.e the order plus one, as the non derived vector is included).
      */
-    private Vector2D secondDerivative;
+    private final int derivativesAmount;
 
     /**
-     * The vector derived three times.
+     * The predictor matrix, stored row by row (see {@link GearCoefficients#getPredictor()}).
      */
-    private Vector2D thirdDerivative;
+    private final double[] predictor;
 
     /**
-     * The vector derived four times.
+     * The corrector factors of each derivative (see {@link GearCoefficients#getCorrector()}).
      */
-    private Vector2D fourthDerivative;
+    private final double[] corrector;
 
     /**
-     * The vector derived five times.
+     * The factor that turns the difference of accelerations into the difference of the scaled second derivative.
      */
-    private Vector2D fifthDerivative;
-
-    // ================================================================================================================
-    // Factors used to predict
-    // ================================================================================================================
+    private final double accelerationFactor;
 
     /**
-     * The first factor used to predict.
-     */
-    private final double firstFactor;
-    /**
-     * The second factor used to predict.
-     */
-    private final double secondFactor;
-    /**
-     * The third factor used to predict.
-     */
-    private final double thirdFactor;
-    /**
-     * The fourth factor used to predict.
+     * The {@link ForceModel} of the updated {@link DampedOscillator}.
      */
-    private final double fourthFactor;
-    /**
-     * The fifth factor used to predict.
-     */
-    private final double fifthFactor;
+    private final ForceModel forceModel;
 
-    // ================================================================================================================
-    // Factors used to correct
-    // ================================================================================================================
-
-    /**
-     * The first factor used to correct (i.e for the non derived).
-     */
-    private final double correctFactor0;
-    /**
-     * The second factor used to correct (i.e for the first derivative).
-     */
-    private final double correctFactor1;
     /**
-     * The third factor used to correct (i.e for the second derivative).
+     * The time step.
      */
-    private final double correctFactor2;
-    /**
-     * The fourth factor used to correct (i.e for the third derivative).
-     */
-    private final double correctFactor3;
-    /**
-     * The fifth factor used to correct (i.e for the fourth derivative).
-     */
-    private final double correctFactor4;
+    private final double timeStep;
+
     /**
-     * The sixth factor used to correct (i.e for the fifth derivative).
+     * The inverse of the mass (i.e scales the force into an acceleration).
      */
-    private final double correctFactor5;
+    private final double inverseMass;
 
     /**
      * Constructor.
@@ -103,74 +64,74 @@ public class GearUpdater extends DampedOscillatorAbstractUpdater {
     /* package */ GearUpdater(DampedOscillator dampedOscillator) {
         super(dampedOscillator);
         final Particle particle = dampedOscillator.getParticle();
-        this.nonDerived = particle.getPosition();
-        this.firstDerivative = particle.getVelocity();
-        this.secondDerivative = particle.getAcceleration();
-        this.thirdDerivative = Vector2D.ZERO;
-        this.fourthDerivative = Vector2D.ZERO;
-        this.fifthDerivative = Vector2D.ZERO;
-        final double timeStep = dampedOscillator.getTimeStep();
-        this.firstFactor = timeStep;
-        this.secondFactor = (timeStep * timeStep) / 2d;
-        this.thirdFactor = (timeStep * timeStep * timeStep) / 6d;
-        this.fourthFactor = (timeStep * timeStep * timeStep * timeStep) / 24d;
-        this.fifthFactor = (timeStep * timeStep * timeStep * timeStep * timeStep) / 120d;
-        this.correctFactor0 = 3d / 16d;
-        this.correctFactor1 = (251d / 360d) / timeStep;
-        this.correctFactor2 = 1d * (2d / (timeStep * timeStep));
-        this.correctFactor3 = (11d / 18d) * (6d / (timeStep * timeStep * timeStep));
-        this.correctFactor4 = (1d / 6d) * (24d / (timeStep * timeStep * timeStep * timeStep));
-        this.correctFactor5 = (1d / 60d) * (120d / (timeStep * timeStep * timeStep * timeStep * timeStep));
+        final GearCoefficients coefficients = new GearCoefficients(
+                dampedOscillator.getIntegrationSettings().getGearOrder(), dampedOscillator.getTimeStep());
+        this.derivativesAmount = coefficients.getDerivatives();
+        this.derivatives = new double[derivativesAmount * COMPONENTS];
+        // Higher derivatives start at zero
+        this.derivatives[0] = particle.getPositionX();
+        this.derivatives[1] = particle.getPositionY();
+        this.derivatives[2] = particle.getVelocityX();
+        this.derivatives[3] = particle.getVelocityY();
+        this.derivatives[4] = particle.getAccelerationX();
+        this.derivatives[5] = particle.getAccelerationY();
+        this.predictor = coefficients.getPredictor();
+        this.corrector = coefficients.getCorrector();
+        this.accelerationFactor = coefficients.getAccelerationFactor();
+        this.forceModel = dampedOscillator.getForceModel();
+        this.timeStep = dampedOscillator.getTimeStep();
+        this.inverseMass = 1 / particle.getMass();
     }
 
     @Override
     public void doUpdate(DampedOscillator dampedOscillator) {
-        // Get values into scope
-        final Particle particle = dampedOscillator.getParticle();
-        // First predict
-        final Vector2D nonDerivedPredicted = nonDerived
-                .add(firstDerivative.scalarMultiply(firstFactor))
-                .add(secondDerivative.scalarMultiply(secondFactor))
-                .add(thirdDerivative.scalarMultiply(thirdFactor))
-                .add(fourthDerivative.scalarMultiply(fourthFactor))
-                .add(fifthDerivative.scalarMultiply(fifthFactor));
-        final Vector2D firstDerivativePredicted = firstDerivative
-                .add(secondDerivative.scalarMultiply(firstFactor))
-                .add(thirdDerivative.scalarMultiply(secondFactor))
-                .add(fourthDerivative.scalarMultiply(thirdFactor))
-                .add(fifthDerivative.scalarMultiply(fourthFactor));
-        final Vector2D secondDerivativePredicted = secondDerivative
-                .add(thirdDerivative.scalarMultiply(firstFactor))
-                .add(fourthDerivative.scalarMultiply(secondFactor))
-                .add(fifthDerivative.scalarMultiply(thirdFactor));
-        final Vector2D thirdDerivativePredicted = thirdDerivative
-                .add(fourthDerivative.scalarMultiply(firstFactor))
-                .add(fifthDerivative.scalarMultiply(secondFactor));
-        final Vector2D fourthDerivativePredicted = fourthDerivative
-                .add(fifthDerivative.scalarMultiply(firstFactor));
-        final Vector2D fifthDerivativePredicted = fifthDerivative;
+        final double[] r = derivatives;
+        final int size = derivativesAmount;
+        // First predict (in place, as each derivative only depends on itself and the higher ones)
+        for (int i = 0; i < size; i++) {
+            final int row = i * size;
+            double predictedX = 0d;
+            double predictedY = 0d;
+            for (int j = i; j < size; j++) {
+                final double factor = predictor[row + j];
+                predictedX += factor * r[j * COMPONENTS];
+                predictedY += factor * r[j * COMPONENTS + 1];
+            }
+            r[i * COMPONENTS] = predictedX;
+            r[i * COMPONENTS + 1] = predictedY;
+        }
 
         // Then, calculate the force using predicted values
-        final Vector2D force = nonDerivedPredicted.scalarMultiply(dampedOscillator.getSpringConstant())
-                .add(firstDerivativePredicted.scalarMultiply(dampedOscillator.getViscousDampingCoefficient()))
-                .scalarMultiply(-1d);
-        // With the force, calculate acceleration
-        final Vector2D acceleration = force.scalarMultiply(1 / particle.getMass());
-        // Compare acceleration with second derivative
-        final Vector2D deltaAcceleration = acceleration.subtract(secondDerivativePredicted);
-        // And then calculate deltaR2
-        final Vector2D deltaR2 = deltaAcceleration.scalarMultiply(secondFactor); // (timeStep * timeStep) / 2
+        final double forceX = forceModel.force(r[0], r[2])
+                + forceModel.externalForce(dampedOscillator.getActualTime() + timeStep);
+        final double forceY = forceModel.force(r[1], r[3]);
+        // With the force, calculate acceleration, compare it with second derivative, and then calculate deltaR2
+        final double deltaR2X = accelerationFactor * (inverseMass * forceX - r[4]);
+        final double deltaR2Y = accelerationFactor * (inverseMass * forceY - r[5]);
 
         // Now, correct
-        this.nonDerived = nonDerivedPredicted.add(deltaR2.scalarMultiply(correctFactor0));
-        this.firstDerivative = firstDerivativePredicted.add(deltaR2.scalarMultiply(correctFactor1));
-        this.secondDerivative = secondDerivativePredicted.add(deltaR2.scalarMultiply(correctFactor2));
-        this.thirdDerivative = thirdDerivativePredicted.add(deltaR2.scalarMultiply(correctFactor3));
-        this.fourthDerivative = fourthDerivativePredicted.add(deltaR2.scalarMultiply(correctFactor4));
-        this.fifthDerivative = fifthDerivativePredicted.add(deltaR2.scalarMultiply(correctFactor5));
-
-        particle.setPosition(this.nonDerived);
-        particle.setVelocity(this.firstDerivative);
-        particle.setAcceleration(this.secondDerivative);
+        for (int i = 0; i < size; i++) {
+            r[i * COMPONENTS] += corrector[i] * deltaR2X;
+            r[i * COMPONENTS + 1] += corrector[i] * deltaR2Y;
+        }
+
+        final Particle particle = dampedOscillator.getParticle();
+        particle.setPosition(r[0], r[1]);
+        particle.setVelocity(r[2], r[3]);
+        particle.setAcceleration(r[4], r[5]);
+    }
+
+    @Override
+    public void writeCheckpoint(DataOutput output) throws IOException {
+        for (double derivative : derivatives) {
+            output.writeDouble(derivative);
+        }
+    }
+
+    @Override
+    public void readCheckpoint(DataInput input) throws IOException {
+        for (int i = 0; i < derivatives.length; i++) {
+            derivatives[i] = input.readDouble();
+        }
     }
 }
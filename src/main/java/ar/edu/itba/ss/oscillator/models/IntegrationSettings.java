@@ -0,0 +1,85 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * Settings used by the {@link Updater}s that can be tuned (e.g the tolerances of adaptive strategies,
+ * or the order of Gear's method).
+ * Strategies that do not need a setting ignore it.
+ */
+public class IntegrationSettings {
+
+    /**
+     * The order of Gear's method used when none is specified.
+     */
+    public static final int DEFAULT_GEAR_ORDER = 5;
+
+    /**
+     * The settings used when none are specified.
+     */
+    public static final IntegrationSettings DEFAULT = new IntegrationSettings(1e-9, 1e-9);
+
+    /**
+     * The absolute tolerance of the local error, for adaptive strategies.
+     */
+    private final double absoluteTolerance;
+
+    /**
+     * The relative tolerance of the local error, for adaptive strategies.
+     */
+    private final double relativeTolerance;
+
+    /**
+     * The order of Gear's method.
+     */
+    private final int gearOrder;
+
+    /**
+     * Constructor, which uses the {@link #DEFAULT_GEAR_ORDER}.
+     *
+     * @param absoluteTolerance The absolute tolerance of the local error, for adaptive strategies.
+     * @param relativeTolerance The relative tolerance of the local error, for adaptive strategies.
+     * @throws IllegalArgumentException If any tolerance is negative, or if both are zero.
+     */
+    public IntegrationSettings(final double absoluteTolerance, final double relativeTolerance) {
+        this(absoluteTolerance, relativeTolerance, DEFAULT_GEAR_ORDER);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param absoluteTolerance The absolute tolerance of the local error, for adaptive strategies.
+     * @param relativeTolerance The relative tolerance of the local error, for adaptive strategies.
+     * @param gearOrder         The order of Gear's method (i.e between 2 and 6).
+     * @throws IllegalArgumentException If any tolerance is negative, if both are zero,
+     *                                  or if the order of Gear's method is not supported.
+     */
+    public IntegrationSettings(final double absoluteTolerance, final double relativeTolerance, final int gearOrder) {
+        GearCoefficients.validateOrder(gearOrder);
+        if (absoluteTolerance < 0 || relativeTolerance < 0 || absoluteTolerance + relativeTolerance == 0) {
+            throw new IllegalArgumentException("Tolerances must not be negative, and at least one must be positive");
+        }
+        this.absoluteTolerance = absoluteTolerance;
+        this.relativeTolerance = relativeTolerance;
+        this.gearOrder = gearOrder;
+    }
+
+    /**
+     * @return The absolute tolerance of the local error, for adaptive strategies.
+     */
+    public double getAbsoluteTolerance() {
+        return absoluteTolerance;
+    }
+
+    /**
+     * @return The relative tolerance of the local error, for adaptive strategies.
+     */
+    public double getRelativeTolerance() {
+        return relativeTolerance;
+    }
+
+    /**
+     * @return The order of Gear's method.
+     */
+    public int getGearOrder() {
+        return gearOrder;
+    }
+}
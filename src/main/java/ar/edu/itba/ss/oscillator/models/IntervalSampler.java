@@ -0,0 +1,65 @@
+package ar.edu.itba.ss.oscillator.models;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * {@link Sampler} that records the first state reached at or after each multiple of a given simulated time interval.
+ */
+/* package */ class IntervalSampler implements Sampler {
+
+    /**
+     * Tolerance used to compare times.
+     */
+    private static final double EPSILON = Math.pow(10, -12);
+
+    /**
+     * The simulated time between two recorded states.
+     */
+    private final double interval;
+
+    /**
+     * The amount of recorded states.
+     */
+    private long recorded;
+
+    /**
+     * Constructor.
+     *
+     * @param interval The simulated time between two recorded states.
+     */
+    /* package */ IntervalSampler(final double interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("The sampling interval must be positive");
+        }
+        this.interval = interval;
+        this.recorded = 0;
+    }
+
+    @Override
+    public void reset() {
+        this.recorded = 0;
+    }
+
+    @Override
+    public boolean sample(DampedOscillator dampedOscillator) {
+        // Multiply instead of accumulating, so sampling times do not drift
+        if (dampedOscillator.getActualTime() < recorded * interval - EPSILON) {
+            return false;
+        }
+        // Skip the sampling times that were jumped over (i.e when the interval is smaller than the time step)
+        recorded = (long) Math.floor((dampedOscillator.getActualTime() + EPSILON) / interval) + 1;
+        return true;
+    }
+
+    @Override
+    public void writeCheckpoint(DataOutput output) throws IOException {
+        output.writeLong(recorded);
+    }
+
+    @Override
+    public void readCheckpoint(DataInput input) throws IOException {
+        this.recorded = input.readLong();
+    }
+}
@@ -0,0 +1,57 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * {@link ForceModel} of a linear spring and a linear damper (i.e {@code F = -k x - c v}).
+ */
+public class LinearForceModel implements ForceModel {
+
+    /**
+     * The spring constant (in kilograms over square seconds).
+     */
+    private final double springConstant;
+
+    /**
+     * The viscous damping coefficient (in kilograms over seconds).
+     */
+    private final double viscousDampingCoefficient;
+
+    /**
+     * Constructor.
+     *
+     * @param springConstant            The spring constant (in kilograms over square seconds).
+     * @param viscousDampingCoefficient The viscous damping coefficient (in kilograms over seconds).
+     */
+    public LinearForceModel(final double springConstant, final double viscousDampingCoefficient) {
+        this.springConstant = springConstant;
+        this.viscousDampingCoefficient = viscousDampingCoefficient;
+    }
+
+    /**
+     * @return The spring constant (in kilograms over square seconds).
+     */
+    public double getSpringConstant() {
+        return springConstant;
+    }
+
+    /**
+     * @return The viscous damping coefficient (in kilograms over seconds).
+     */
+    public double getViscousDampingCoefficient() {
+        return viscousDampingCoefficient;
+    }
+
+    @Override
+    public double force(final double position, final double velocity) {
+        return -1d * (springConstant * position + viscousDampingCoefficient * velocity);
+    }
+
+    @Override
+    public double potentialEnergy(final double position) {
+        return 0.5 * springConstant * position * position;
+    }
+
+    @Override
+    public double dissipatedPower(final double position, final double velocity) {
+        return viscousDampingCoefficient * velocity * velocity;
+    }
+}
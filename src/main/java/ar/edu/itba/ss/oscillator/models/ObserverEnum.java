@@ -0,0 +1,32 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * Defines the {@link StepObserver}s that can be attached to a simulation.
+ */
+public enum ObserverEnum {
+    /**
+     * Tracks the mechanical energy, the energy lost to damping, and the drift of their balance.
+     */
+    ENERGY {
+        @Override
+        public StepObserver getObserverInstance() {
+            return new EnergyObserver();
+        }
+    },
+    /**
+     * Tracks the running mean squared error and the maximum error of the position against the analytic solution.
+     */
+    ERROR {
+        @Override
+        public StepObserver getObserverInstance() {
+            return new ErrorObserver();
+        }
+    };
+
+    /**
+     * Builds a {@link StepObserver} according to the enum value.
+     *
+     * @return The built {@link StepObserver}.
+     */
+    public abstract StepObserver getObserverInstance();
+}
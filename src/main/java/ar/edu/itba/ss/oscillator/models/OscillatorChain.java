@@ -0,0 +1,164 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * Represents a chain of equal particles, each one joined to its nearest neighbours by a spring and a damper
+ * (i.e the damping force depends on the relative velocity), with both ends joined to fixed walls.
+ * The chain starts at rest, displaced as its fundamental mode, which then oscillates as a damped oscillator
+ * (see {@link #getFundamentalModeSolution()}), so the simulation can be checked against a closed-form solution.
+ */
+public class OscillatorChain extends ColumnarSystem {
+
+    /**
+     * The particles' mass.
+     */
+    private final double mass;
+
+    /**
+     * The spring constant of each spring (in kilograms over square seconds).
+     */
+    private final double springConstant;
+
+    /**
+     * The viscous damping coefficient of each damper (in kilograms over seconds).
+     */
+    private final double viscousDampingCoefficient;
+
+    /**
+     * The spring constant divided by the mass.
+     */
+    private final double springFactor;
+
+    /**
+     * The viscous damping coefficient divided by the mass.
+     */
+    private final double dampingFactor;
+
+    /**
+     * The initial displacement of the fundamental mode (i.e of the particles in the middle of the chain).
+     */
+    private final double amplitude;
+
+    /**
+     * Constructor.
+     *
+     * @param size                      The amount of particles in the chain.
+     * @param particleMass              The particles' mass.
+     * @param amplitude                 The initial displacement of the fundamental mode
+     *                                  (i.e of the particles in the middle of the chain).
+     * @param springConstant            The spring constant of each spring (in kilograms over square seconds).
+     * @param viscousDampingCoefficient The viscous damping coefficient of each damper (in kilograms over seconds).
+     * @param timeStep                  The time step (i.e how much time elapses between two update events).
+     */
+    public OscillatorChain(final int size, final double particleMass, final double amplitude,
+                           final double springConstant, final double viscousDampingCoefficient,
+                           final double timeStep) {
+        super(size, timeStep);
+        this.mass = particleMass;
+        this.springConstant = springConstant;
+        this.viscousDampingCoefficient = viscousDampingCoefficient;
+        this.springFactor = springConstant / particleMass;
+        this.dampingFactor = viscousDampingCoefficient / particleMass;
+        this.amplitude = amplitude;
+        final double[] positions = getPositions();
+        final double waveNumber = Math.PI / (size + 1);
+        for (int i = 0; i < size; i++) {
+            positions[i] = amplitude * Math.sin(waveNumber * (i + 1));
+        }
+        computeAccelerations(positions, getVelocities(), getAccelerations(), 0, size);
+    }
+
+    /**
+     * @return The particles' mass.
+     */
+    public double getMass() {
+        return mass;
+    }
+
+    /**
+     * @return The spring constant of each spring (in kilograms over square seconds).
+     */
+    public double getSpringConstant() {
+        return springConstant;
+    }
+
+    /**
+     * @return The viscous damping coefficient of each damper (in kilograms over seconds).
+     */
+    public double getViscousDampingCoefficient() {
+        return viscousDampingCoefficient;
+    }
+
+    /**
+     * Builds the closed-form solution of the fundamental mode's amplitude.
+     * The mode is an eigenvector of both the stiffness and the damping matrices,
+     * so its amplitude behaves as a damped oscillator whose spring constant and viscous damping coefficient
+     * are scaled by the mode's eigenvalue (i.e {@code 4 sin^2(pi / (2 (N + 1)))}).
+     *
+     * @return The solution of the fundamental mode's amplitude.
+     */
+    public DampedOscillatorSolution getFundamentalModeSolution() {
+        final double sine = Math.sin(Math.PI / (2 * (size() + 1)));
+        final double eigenvalue = 4 * sine * sine;
+        return new DampedOscillatorSolution(mass, eigenvalue * springConstant,
+                eigenvalue * viscousDampingCoefficient, amplitude, 0d);
+    }
+
+    /**
+     * Projects the actual positions onto the fundamental mode.
+     *
+     * @return The actual amplitude of the fundamental mode.
+     */
+    public double getFundamentalModeAmplitude() {
+        final int size = size();
+        final double[] positions = getPositions();
+        final double waveNumber = Math.PI / (size + 1);
+        double projection = 0d;
+        for (int i = 0; i < size; i++) {
+            projection += positions[i] * Math.sin(waveNumber * (i + 1));
+        }
+        return 2 * projection / (size + 1);
+    }
+
+    @Override
+    public void computeAccelerations(double[] positions, double[] velocities, double[] accelerations,
+                                     int from, int to) {
+        final int last = size() - 1;
+        // The ends are joined to the walls, so they are calculated apart to keep the inner loop free of branches
+        final int innerFrom = Math.max(from, 1);
+        final int innerTo = Math.min(to, last);
+        for (int i = innerFrom; i < innerTo; i++) {
+            accelerations[i] = springFactor * (positions[i - 1] - 2 * positions[i] + positions[i + 1])
+                    + dampingFactor * (velocities[i - 1] - 2 * velocities[i] + velocities[i + 1]);
+        }
+        if (from == 0) {
+            accelerations[0] = endAcceleration(positions, velocities, 0);
+        }
+        if (to == last + 1 && last > 0) {
+            accelerations[last] = endAcceleration(positions, velocities, last);
+        }
+    }
+
+    /**
+     * Calculates the acceleration of a particle at an end of the chain (i.e a missing neighbour is a fixed wall).
+     *
+     * @param positions  The positions column.
+     * @param velocities The velocities column.
+     * @param i          The index of the particle.
+     * @return The acceleration of the particle.
+     */
+    private double endAcceleration(double[] positions, double[] velocities, int i) {
+        final boolean hasPrevious = i > 0;
+        final boolean hasNext = i < size() - 1;
+        final double previousPosition = hasPrevious ? positions[i - 1] : 0d;
+        final double nextPosition = hasNext ? positions[i + 1] : 0d;
+        final double previousVelocity = hasPrevious ? velocities[i - 1] : 0d;
+        final double nextVelocity = hasNext ? velocities[i + 1] : 0d;
+        return springFactor * (previousPosition - 2 * positions[i] + nextPosition)
+                + dampingFactor * (previousVelocity - 2 * velocities[i] + nextVelocity);
+    }
+
+    @Override
+    public boolean hasLocalForces() {
+        return false;
+    }
+}
@@ -0,0 +1,435 @@
+package ar.edu.itba.ss.oscillator.models;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Integrates one long {@link DampedOscillator} trajectory in parallel in time, with the Parareal algorithm.
+ * The total time is split into slices, and a cheap coarse {@link Propagator} seeds the state at the start of each one
+ * sequentially. Then, on each iteration, an accurate fine {@link Propagator} integrates every slice concurrently
+ * (i.e in a {@link ForkJoinPool}), and the coarse one sweeps the slices again, correcting each boundary state with
+ * the difference between both propagators (i.e {@code U[n+1] = G(U[n]) + F(old U[n]) - G(old U[n])}),
+ * until no boundary state changes more than the tolerance.
+ * After k iterations, the first k slices are exactly the fine ones, so it never needs more iterations than slices.
+ */
+public class PararealIntegrator {
+
+    /**
+     * The {@link ThreadMXBean} used to measure the CPU time of fine propagations, if supported
+     * (i.e so the estimated serial time does not include the time slices wait for a processor).
+     */
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    /**
+     * The cheap {@link Propagator} that seeds and corrects the boundary states.
+     */
+    private final Propagator coarse;
+
+    /**
+     * The accurate {@link Propagator} that integrates each slice concurrently.
+     */
+    private final Propagator fine;
+
+    /**
+     * The {@link ForkJoinPool} in which slices are integrated by the fine {@link Propagator}.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The start time of each slice, followed by the total time (i.e slices start at a step of the fine propagator).
+     */
+    private final double[] boundaryTimes;
+
+    /**
+     * Constructor.
+     *
+     * @param coarse     The cheap {@link Propagator} that seeds and corrects the boundary states.
+     * @param fine       The accurate {@link Propagator} that integrates each slice concurrently.
+     * @param totalSteps The amount of steps of the fine {@link Propagator} to be integrated.
+     * @param slices     The amount of slices (i.e at most one per step).
+     * @param pool       The {@link ForkJoinPool} in which slices are integrated by the fine {@link Propagator}.
+     */
+    public PararealIntegrator(Propagator coarse, Propagator fine, final long totalSteps, final int slices,
+                              ForkJoinPool pool) {
+        if (totalSteps <= 0) {
+            throw new IllegalArgumentException("There must be at least one step to be integrated");
+        }
+        if (slices <= 0) {
+            throw new IllegalArgumentException("There must be at least one slice");
+        }
+        this.coarse = coarse;
+        this.fine = fine;
+        this.pool = pool;
+        final int amount = (int) Math.min(slices, totalSteps);
+        this.boundaryTimes = new double[amount + 1];
+        for (int n = 0; n <= amount; n++) {
+            // Spread the remainder of the steps among the first slices
+            boundaryTimes[n] = (n * (totalSteps / amount) + Math.min(n, totalSteps % amount)) * fine.timeStep;
+        }
+    }
+
+    /**
+     * @return The amount of slices.
+     */
+    public int getSlices() {
+        return boundaryTimes.length - 1;
+    }
+
+    /**
+     * Integrates the trajectory starting from the given state at time 0.
+     *
+     * @param initialPosition The initial position.
+     * @param initialVelocity The initial velocity.
+     * @param tolerance       The maximum change of any boundary state (i.e of its position or its velocity)
+     *                        for the trajectory to be considered converged.
+     * @param maxIterations   The maximum amount of iterations (i.e non positive values mean one per slice).
+     * @return The {@link Result} of the integration.
+     */
+    public Result integrate(final double initialPosition, final double initialVelocity,
+                            final double tolerance, final int maxIterations) {
+        final long start = System.nanoTime();
+        final int slices = getSlices();
+        final int iterationLimit = maxIterations > 0 ? Math.min(maxIterations, slices) : slices;
+        // Boundary states, the coarse propagation of each one, and the fine one (i.e {position, velocity})
+        final double[][] states = new double[slices + 1][];
+        final double[][] coarseStates = new double[slices][];
+        final double[][] fineStates = new double[slices][];
+        final long[] fineNanos = new long[slices];
+        states[0] = new double[]{initialPosition, initialVelocity};
+        for (int n = 0; n < slices; n++) {
+            coarseStates[n] = propagate(coarse, states[n], n);
+            states[n + 1] = coarseStates[n].clone();
+        }
+        final List<Double> corrections = new ArrayList<>();
+        long serialNanos = 0;
+        boolean converged = false;
+        while (!converged && corrections.size() < iterationLimit) {
+            final int first = corrections.size();
+            // After k iterations, the first k slices are already fine ones, so they are not integrated again
+            pool.invoke(new FineTask(first, slices, states, fineStates, fineNanos));
+            if (first == 0) {
+                // The first sweep integrates every slice, as a serial fine integration would
+                serialNanos = Arrays.stream(fineNanos).sum();
+            }
+            double correction = 0d;
+            for (int n = first; n < slices; n++) {
+                // The first state did not change, so neither did its coarse propagation
+                final double[] predicted = n == first ? coarseStates[n] : propagate(coarse, states[n], n);
+                final double position = predicted[0] + fineStates[n][0] - coarseStates[n][0];
+                final double velocity = predicted[1] + fineStates[n][1] - coarseStates[n][1];
+                correction = Math.max(correction, Math.max(Math.abs(position - states[n + 1][0]),
+                        Math.abs(velocity - states[n + 1][1])));
+                states[n + 1][0] = position;
+                states[n + 1][1] = velocity;
+                coarseStates[n] = predicted;
+            }
+            corrections.add(correction);
+            converged = correction <= tolerance;
+        }
+        final List<DampedOscillator.DampedOscillatorState> boundaryStates = new ArrayList<>(slices + 1);
+        for (int n = 0; n <= slices; n++) {
+            boundaryStates.add(fine.outputState(boundaryTimes[n], states[n][0], states[n][1]));
+        }
+        return new Result(boundaryStates, corrections, converged, System.nanoTime() - start, serialNanos);
+    }
+
+    /**
+     * Propagates the given boundary state through its slice.
+     *
+     * @param propagator The {@link Propagator} to be used.
+     * @param state      The state at the start of the slice (i.e {position, velocity}).
+     * @param slice      The slice.
+     * @return The state at the end of the slice.
+     */
+    private double[] propagate(Propagator propagator, double[] state, final int slice) {
+        final double[] result = state.clone();
+        propagator.propagate(result, boundaryTimes[slice], boundaryTimes[slice + 1] - boundaryTimes[slice]);
+        return result;
+    }
+
+    /**
+     * Propagates a range of slices with the fine {@link Propagator}, splitting it until each task has one slice.
+     */
+    private final class FineTask extends RecursiveAction {
+
+        /**
+         * The serial version UID (i.e tasks are never serialized, but {@link RecursiveAction} is serializable).
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The first slice of the range.
+         */
+        private final int from;
+
+        /**
+         * The slice after the last one of the range.
+         */
+        private final int to;
+
+        /**
+         * The boundary states, read at the start of each slice.
+         */
+        private final double[][] states;
+
+        /**
+         * The fine states, written at the end of each slice.
+         */
+        private final double[][] fineStates;
+
+        /**
+         * The time taken by each fine propagation (in nanoseconds of CPU time, if supported).
+         */
+        private final long[] fineNanos;
+
+        /**
+         * Constructor.
+         *
+         * @param from       The first slice of the range.
+         * @param to         The slice after the last one of the range.
+         * @param states     The boundary states, read at the start of each slice.
+         * @param fineStates The fine states, written at the end of each slice.
+         * @param fineNanos  The time taken by each fine propagation (in nanoseconds of CPU time, if supported).
+         */
+        private FineTask(int from, int to, double[][] states, double[][] fineStates, long[] fineNanos) {
+            this.from = from;
+            this.to = to;
+            this.states = states;
+            this.fineStates = fineStates;
+            this.fineNanos = fineNanos;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new FineTask(from, middle, states, fineStates, fineNanos),
+                        new FineTask(middle, to, states, fineStates, fineNanos));
+                return;
+            }
+            final boolean cpuTime = THREADS.isCurrentThreadCpuTimeSupported();
+            final long start = cpuTime ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+            fineStates[from] = propagate(fine, states[from], from);
+            fineNanos[from] = (cpuTime ? THREADS.getCurrentThreadCpuTime() : System.nanoTime()) - start;
+        }
+    }
+
+    /**
+     * Integrates a {@link DampedOscillator} from a given state during a given time, with a given strategy.
+     */
+    public static final class Propagator {
+
+        /**
+         * The oscillating {@link Particle}'s mass.
+         */
+        private final double particleMass;
+
+        /**
+         * The spring constant (in kilograms over square seconds).
+         */
+        private final double springConstant;
+
+        /**
+         * The viscous damping coefficient (in kilograms over seconds).
+         */
+        private final double viscousDampingCoefficient;
+
+        /**
+         * The {@link UpdateStrategyEnum} used to integrate.
+         */
+        private final UpdateStrategyEnum updateStrategyEnum;
+
+        /**
+         * The largest time step to be used (i.e it is shortened so each propagation takes a whole amount of steps).
+         */
+        private final double timeStep;
+
+        /**
+         * The {@link IntegrationSettings} used by the {@link Updater}.
+         */
+        private final IntegrationSettings integrationSettings;
+
+        /**
+         * The {@link ForceModel} that calculates the force the {@link Particle} suffers.
+         */
+        private final ForceModel forceModel;
+
+        /**
+         * Constructor.
+         *
+         * @param particleMass              The oscillating {@link Particle}'s mass.
+         * @param springConstant            The spring constant (in kilograms over square seconds).
+         * @param viscousDampingCoefficient The viscous damping coefficient (in kilograms over seconds).
+         * @param updateStrategyEnum        The {@link UpdateStrategyEnum} used to integrate.
+         * @param timeStep                  The largest time step to be used (i.e it is shortened so each propagation
+         *                                  takes a whole amount of steps).
+         * @param integrationSettings       The {@link IntegrationSettings} used by the {@link Updater}.
+         * @param forceModel                The {@link ForceModel} that calculates the force the {@link Particle}
+         *                                  suffers.
+         */
+        public Propagator(final double particleMass, final double springConstant,
+                          final double viscousDampingCoefficient, UpdateStrategyEnum updateStrategyEnum,
+                          final double timeStep, IntegrationSettings integrationSettings, ForceModel forceModel) {
+            if (updateStrategyEnum == UpdateStrategyEnum.ANALYTIC) {
+                throw new IllegalArgumentException("The analytic strategy can not start from an arbitrary state");
+            }
+            if (timeStep <= 0) {
+                throw new IllegalArgumentException("The time step must be positive");
+            }
+            this.particleMass = particleMass;
+            this.springConstant = springConstant;
+            this.viscousDampingCoefficient = viscousDampingCoefficient;
+            this.updateStrategyEnum = updateStrategyEnum;
+            this.timeStep = timeStep;
+            this.integrationSettings = integrationSettings;
+            this.forceModel = forceModel;
+        }
+
+        /**
+         * Integrates the given state during the given time.
+         *
+         * @param state     The state to be integrated (i.e {position, velocity}), which is replaced by the result.
+         * @param startTime The time of the given state.
+         * @param duration  The time to be integrated.
+         */
+        public void propagate(double[] state, final double startTime, final double duration) {
+            final long steps = Math.max(1L, DampedOscillator.countSteps(duration, timeStep));
+            final DampedOscillator dampedOscillator = new DampedOscillator(particleMass, state[0], state[1],
+                    startTime, springConstant, viscousDampingCoefficient, updateStrategyEnum, duration / steps,
+                    duration, integrationSettings, forceModel);
+            for (long step = 0; step < steps; step++) {
+                dampedOscillator.update();
+            }
+            state[0] = dampedOscillator.getParticle().getPositionX();
+            state[1] = dampedOscillator.getParticle().getVelocityX();
+        }
+
+        /**
+         * Builds the state with the given values, calculating the acceleration with the {@link ForceModel}.
+         *
+         * @param time     The time.
+         * @param position The position.
+         * @param velocity The velocity.
+         * @return The built state.
+         */
+        /* package */ DampedOscillator.DampedOscillatorState outputState(final double time, final double position,
+                                                                         final double velocity) {
+            return new DampedOscillator.DampedOscillatorState(time, new Particle.ParticleState(particleMass,
+                    position, 0d, velocity, 0d,
+                    (forceModel.force(position, velocity) + forceModel.externalForce(time)) / particleMass,
+                    forceModel.force(0d, 0d) / particleMass));
+        }
+    }
+
+    /**
+     * The outcome of a Parareal integration.
+     */
+    public static final class Result {
+
+        /**
+         * The state at the start of each slice, followed by the final state.
+         */
+        private final List<DampedOscillator.DampedOscillatorState> boundaryStates;
+
+        /**
+         * The largest change of any boundary state on each iteration.
+         */
+        private final List<Double> corrections;
+
+        /**
+         * Indicates whether the last change was within the tolerance.
+         */
+        private final boolean converged;
+
+        /**
+         * The time taken by the whole integration (in nanoseconds).
+         */
+        private final long elapsedNanos;
+
+        /**
+         * The time taken by the fine propagations of the first iteration, added up (in nanoseconds).
+         */
+        private final long serialNanos;
+
+        /**
+         * Constructor.
+         *
+         * @param boundaryStates The state at the start of each slice, followed by the final state.
+         * @param corrections    The largest change of any boundary state on each iteration.
+         * @param converged      Indicates whether the last change was within the tolerance.
+         * @param elapsedNanos   The time taken by the whole integration (in nanoseconds).
+         * @param serialNanos    The time taken by the fine propagations of the first iteration, added up
+         *                       (in nanoseconds).
+         */
+        private Result(List<DampedOscillator.DampedOscillatorState> boundaryStates, List<Double> corrections,
+                       final boolean converged, final long elapsedNanos, final long serialNanos) {
+            this.boundaryStates = boundaryStates;
+            this.corrections = corrections;
+            this.converged = converged;
+            this.elapsedNanos = elapsedNanos;
+            this.serialNanos = serialNanos;
+        }
+
+        /**
+         * @return The state at the start of each slice, followed by the final state.
+         */
+        public List<DampedOscillator.DampedOscillatorState> getBoundaryStates() {
+            return boundaryStates;
+        }
+
+        /**
+         * @return The final state.
+         */
+        public DampedOscillator.DampedOscillatorState getFinalState() {
+            return boundaryStates.get(boundaryStates.size() - 1);
+        }
+
+        /**
+         * @return The amount of iterations.
+         */
+        public int getIterations() {
+            return corrections.size();
+        }
+
+        /**
+         * @return The largest change of any boundary state on each iteration.
+         */
+        public List<Double> getCorrections() {
+            return corrections;
+        }
+
+        /**
+         * @return {@code true} if the last change was within the tolerance, or {@code false} if the iterations ran out.
+         */
+        public boolean isConverged() {
+            return converged;
+        }
+
+        /**
+         * @return The time taken by the whole integration (in nanoseconds).
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return The time a serial fine integration is estimated to take (in nanoseconds),
+         * as the fine propagations of the first iteration cover the whole trajectory.
+         */
+        public long getSerialNanos() {
+            return serialNanos;
+        }
+
+        /**
+         * @return How many times faster than the estimated serial fine integration it was.
+         */
+        public double getEstimatedSpeedup() {
+            return (double) serialNanos / elapsedNanos;
+        }
+    }
+}
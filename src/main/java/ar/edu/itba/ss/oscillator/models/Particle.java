@@ -15,19 +15,34 @@ public class Particle implements StateHolder<Particle.ParticleState> {
     private final double mass;
 
     /**
-     * The particle's position (represented as a 2D vector).
+     * The 'x' component of the particle's position.
      */
-    private Vector2D position;
+    private double positionX;
 
     /**
-     * The particle's velocity (represented as a 2D vector).
+     * The 'y' component of the particle's position.
      */
-    private Vector2D velocity;
+    private double positionY;
 
     /**
-     * The particle's acceleration (represented as a 2D vector)
+     * The 'x' component of the particle's velocity.
      */
-    private Vector2D acceleration;
+    private double velocityX;
+
+    /**
+     * The 'y' component of the particle's velocity.
+     */
+    private double velocityY;
+
+    /**
+     * The 'x' component of the particle's acceleration.
+     */
+    private double accelerationX;
+
+    /**
+     * The 'y' component of the particle's acceleration.
+     */
+    private double accelerationY;
 
 
     /**
@@ -43,9 +58,9 @@ public class Particle implements StateHolder<Particle.ParticleState> {
                     final Vector2D initialVelocity,
                     final Vector2D initialAcceleration) {
         this.mass = mass;
-        this.position = initialPosition;
-        this.velocity = initialVelocity;
-        this.acceleration = initialAcceleration;
+        setPosition(initialPosition);
+        setVelocity(initialVelocity);
+        setAcceleration(initialAcceleration);
     }
 
     /**
@@ -56,24 +71,75 @@ public class Particle implements StateHolder<Particle.ParticleState> {
     }
 
     /**
+     * Builds a new {@link Vector2D} each time it is called
+     * (use {@link #getPositionX()} and {@link #getPositionY()} in hot paths).
+     *
      * @return The particle's position (represented as a 2D vector).
      */
     public Vector2D getPosition() {
-        return this.position;
+        return new Vector2D(positionX, positionY);
     }
 
     /**
+     * Builds a new {@link Vector2D} each time it is called
+     * (use {@link #getVelocityX()} and {@link #getVelocityY()} in hot paths).
+     *
      * @return The particle's velocity (represented as a 2D vector).
      */
     public Vector2D getVelocity() {
-        return this.velocity;
+        return new Vector2D(velocityX, velocityY);
     }
 
     /**
+     * Builds a new {@link Vector2D} each time it is called
+     * (use {@link #getAccelerationX()} and {@link #getAccelerationY()} in hot paths).
+     *
      * @return The particle's aceleration (represented as a 2D vector).
      */
     public Vector2D getAcceleration() {
-        return this.acceleration;
+        return new Vector2D(accelerationX, accelerationY);
+    }
+
+    /**
+     * @return The 'x' component of the particle's position.
+     */
+    public double getPositionX() {
+        return positionX;
+    }
+
+    /**
+     * @return The 'y' component of the particle's position.
+     */
+    public double getPositionY() {
+        return positionY;
+    }
+
+    /**
+     * @return The 'x' component of the particle's velocity.
+     */
+    public double getVelocityX() {
+        return velocityX;
+    }
+
+    /**
+     * @return The 'y' component of the particle's velocity.
+     */
+    public double getVelocityY() {
+        return velocityY;
+    }
+
+    /**
+     * @return The 'x' component of the particle's acceleration.
+     */
+    public double getAccelerationX() {
+        return accelerationX;
+    }
+
+    /**
+     * @return The 'y' component of the particle's acceleration.
+     */
+    public double getAccelerationY() {
+        return accelerationY;
     }
 
     /**
@@ -82,7 +148,7 @@ public class Particle implements StateHolder<Particle.ParticleState> {
      * @param position The new position.
      */
     public void setPosition(Vector2D position) {
-        this.position = position;
+        setPosition(position.getX(), position.getY());
     }
 
     /**
@@ -91,7 +157,7 @@ public class Particle implements StateHolder<Particle.ParticleState> {
      * @param velocity The new velocity.
      */
     public void setVelocity(Vector2D velocity) {
-        this.velocity = velocity;
+        setVelocity(velocity.getX(), velocity.getY());
     }
 
     /**
@@ -100,7 +166,40 @@ public class Particle implements StateHolder<Particle.ParticleState> {
      * @param acceleration The new acceleration.
      */
     public void setAcceleration(Vector2D acceleration) {
-        this.acceleration = acceleration;
+        setAcceleration(acceleration.getX(), acceleration.getY());
+    }
+
+    /**
+     * Sets a new position.
+     *
+     * @param x The 'x' component of the new position.
+     * @param y The 'y' component of the new position.
+     */
+    public void setPosition(final double x, final double y) {
+        this.positionX = x;
+        this.positionY = y;
+    }
+
+    /**
+     * Sets a new velocity.
+     *
+     * @param x The 'x' component of the new velocity.
+     * @param y The 'y' component of the new velocity.
+     */
+    public void setVelocity(final double x, final double y) {
+        this.velocityX = x;
+        this.velocityY = y;
+    }
+
+    /**
+     * Sets a new acceleration.
+     *
+     * @param x The 'x' component of the new acceleration.
+     * @param y The 'y' component of the new acceleration.
+     */
+    public void setAcceleration(final double x, final double y) {
+        this.accelerationX = x;
+        this.accelerationY = y;
     }
 
     @Override
@@ -119,19 +218,34 @@ public class Particle implements StateHolder<Particle.ParticleState> {
         private final double mass;
 
         /**
-         * The {@link Particle}'s position (represented as a 2D vector).
+         * The 'x' component of the {@link Particle}'s position.
          */
-        private final Vector2D position;
+        private final double positionX;
 
         /**
-         * The {@link Particle}'s velocity (represented as a 2D vector).
+         * The 'y' component of the {@link Particle}'s position.
+         */
+        private final double positionY;
+
+        /**
+         * The 'x' component of the {@link Particle}'s velocity.
          */
-        private final Vector2D velocity;
+        private final double velocityX;
 
         /**
-         * The {@link Particle}'s acceleration (represented as a 2D vector).
+         * The 'y' component of the {@link Particle}'s velocity.
          */
-        private final Vector2D acceleration;
+        private final double velocityY;
+
+        /**
+         * The 'x' component of the {@link Particle}'s acceleration.
+         */
+        private final double accelerationX;
+
+        /**
+         * The 'y' component of the {@link Particle}'s acceleration.
+         */
+        private final double accelerationY;
 
         /**
          * Constructor.
@@ -140,9 +254,36 @@ public class Particle implements StateHolder<Particle.ParticleState> {
          */
         private ParticleState(final Particle particle) {
             this.mass = particle.getMass();
-            this.position = particle.getPosition(); // The Vector2D class is unmodifiable.
-            this.velocity = particle.getVelocity(); // The Vector2D class is unmodifiable.
-            this.acceleration = particle.getAcceleration(); // The Vector2D class is unmodifiable.
+            this.positionX = particle.getPositionX();
+            this.positionY = particle.getPositionY();
+            this.velocityX = particle.getVelocityX();
+            this.velocityY = particle.getVelocityY();
+            this.accelerationX = particle.getAccelerationX();
+            this.accelerationY = particle.getAccelerationY();
+        }
+
+        /**
+         * Constructor, which represents a state that was not reached by a {@link Particle}
+         * (e.g calculated with a closed-form solution).
+         *
+         * @param mass          The {@link Particle}'s mass.
+         * @param positionX     The 'x' component of the {@link Particle}'s position.
+         * @param positionY     The 'y' component of the {@link Particle}'s position.
+         * @param velocityX     The 'x' component of the {@link Particle}'s velocity.
+         * @param velocityY     The 'y' component of the {@link Particle}'s velocity.
+         * @param accelerationX The 'x' component of the {@link Particle}'s acceleration.
+         * @param accelerationY The 'y' component of the {@link Particle}'s acceleration.
+         */
+        /* package */ ParticleState(final double mass, final double positionX, final double positionY,
+                                    final double velocityX, final double velocityY,
+                                    final double accelerationX, final double accelerationY) {
+            this.mass = mass;
+            this.positionX = positionX;
+            this.positionY = positionY;
+            this.velocityX = velocityX;
+            this.velocityY = velocityY;
+            this.accelerationX = accelerationX;
+            this.accelerationY = accelerationY;
         }
 
         /**
@@ -156,21 +297,63 @@ public class Particle implements StateHolder<Particle.ParticleState> {
          * The {@link Particle}'s position (represented as a 2D vector).
          */
         public Vector2D getPosition() {
-            return position;
+            return new Vector2D(positionX, positionY);
         }
 
         /**
          * The {@link Particle}'s velocity (represented as a 2D vector).
          */
         public Vector2D getVelocity() {
-            return velocity;
+            return new Vector2D(velocityX, velocityY);
         }
 
         /**
          * The {@link Particle}'s velocity (represented as a 2D vector).
          */
         public Vector2D getAcceleration() {
-            return acceleration;
+            return new Vector2D(accelerationX, accelerationY);
+        }
+
+        /**
+         * The 'x' component of the {@link Particle}'s position.
+         */
+        public double getPositionX() {
+            return positionX;
+        }
+
+        /**
+         * The 'y' component of the {@link Particle}'s position.
+         */
+        public double getPositionY() {
+            return positionY;
+        }
+
+        /**
+         * The 'x' component of the {@link Particle}'s velocity.
+         */
+        public double getVelocityX() {
+            return velocityX;
+        }
+
+        /**
+         * The 'y' component of the {@link Particle}'s velocity.
+         */
+        public double getVelocityY() {
+            return velocityY;
+        }
+
+        /**
+         * The 'x' component of the {@link Particle}'s acceleration.
+         */
+        public double getAccelerationX() {
+            return accelerationX;
+        }
+
+        /**
+         * The 'y' component of the {@link Particle}'s acceleration.
+         */
+        public double getAccelerationY() {
+            return accelerationY;
         }
     }
 }
\ No newline at end of file
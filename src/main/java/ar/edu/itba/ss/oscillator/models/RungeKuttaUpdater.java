@@ -0,0 +1,128 @@
+package ar.edu.itba.ss.oscillator.models;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Implementation of {@link Updater} using an explicit Runge-Kutta method, defined by a {@link ButcherTableau}.
+ */
+/* package */ class RungeKuttaUpdater extends DampedOscillatorAbstractUpdater {
+
+    /**
+     * The amount of components of the integrated vector (i.e position and velocity, in 'x' and 'y').
+     */
+    private static final int DIMENSION = 4;
+
+    /**
+     * The {@link ButcherTableau} of the method.
+     */
+    private final ButcherTableau tableau;
+
+    /**
+     * The {@link ForceModel} of the updated {@link DampedOscillator}.
+     */
+    private final ForceModel forceModel;
+
+    /**
+     * The inverse of the mass (i.e scales the force into an acceleration).
+     */
+    private final double inverseMass;
+
+    /**
+     * The time step of the updated {@link DampedOscillator}.
+     */
+    private final double timeStep;
+
+    /**
+     * The integrated vector at the beginning of the step.
+     */
+    private final double[] state;
+
+    /**
+     * Auxiliary vector used to evaluate the stages.
+     */
+    private final double[] stageState;
+
+    /**
+     * The derivatives evaluated at each stage.
+     */
+    private final double[][] stages;
+
+    /**
+     * Constructor.
+     *
+     * @param dampedOscillator The {@link DampedOscillator} to be updated.
+     * @param tableau          The {@link ButcherTableau} of the method.
+     */
+    /* package */ RungeKuttaUpdater(DampedOscillator dampedOscillator, ButcherTableau tableau) {
+        super(dampedOscillator);
+        this.tableau = tableau;
+        this.forceModel = dampedOscillator.getForceModel();
+        this.inverseMass = 1d / dampedOscillator.getParticle().getMass();
+        this.timeStep = dampedOscillator.getTimeStep();
+        this.state = new double[DIMENSION];
+        this.stageState = new double[DIMENSION];
+        this.stages = new double[tableau.getStages()][DIMENSION];
+    }
+
+    @Override
+    public void doUpdate(DampedOscillator dampedOscillator) {
+        final Particle particle = dampedOscillator.getParticle();
+        state[0] = particle.getPositionX();
+        state[1] = particle.getPositionY();
+        state[2] = particle.getVelocityX();
+        state[3] = particle.getVelocityY();
+        // Evaluate the stages
+        final double actualTime = dampedOscillator.getActualTime();
+        final int stagesAmount = tableau.getStages();
+        derivative(state, actualTime, stages[0]);
+        for (int stage = 1; stage < stagesAmount; stage++) {
+            for (int i = 0; i < DIMENSION; i++) {
+                double sum = 0d;
+                for (int j = 0; j < stage; j++) {
+                    sum += tableau.getCoefficient(stage, j) * stages[j][i];
+                }
+                stageState[i] = state[i] + timeStep * sum;
+            }
+            derivative(stageState, actualTime + tableau.getNode(stage) * timeStep, stages[stage]);
+        }
+        // Combine them
+        for (int i = 0; i < DIMENSION; i++) {
+            double sum = 0d;
+            for (int stage = 0; stage < stagesAmount; stage++) {
+                sum += tableau.getWeight(stage) * stages[stage][i];
+            }
+            state[i] += timeStep * sum;
+        }
+        particle.setPosition(state[0], state[1]);
+        particle.setVelocity(state[2], state[3]);
+        particle.setAcceleration(
+                inverseMass * (forceModel.force(state[0], state[2]) + forceModel.externalForce(actualTime + timeStep)),
+                inverseMass * forceModel.force(state[1], state[3]));
+    }
+
+    /**
+     * Calculates the derivative of the given integrated vector (i.e velocity and acceleration).
+     *
+     * @param vector     The integrated vector.
+     * @param time       The time at which the derivative is calculated.
+     * @param derivative The array where the derivative will be stored.
+     */
+    private void derivative(double[] vector, double time, double[] derivative) {
+        derivative[0] = vector[2];
+        derivative[1] = vector[3];
+        derivative[2] = inverseMass * (forceModel.force(vector[0], vector[2]) + forceModel.externalForce(time));
+        derivative[3] = inverseMass * forceModel.force(vector[1], vector[3]);
+    }
+
+    @Override
+    public void writeCheckpoint(DataOutput output) {
+        // Each step starts from the particle's state, so there is no history to be saved
+    }
+
+    @Override
+    public void readCheckpoint(DataInput input) {
+        // Each step starts from the particle's state, so there is no history to be restored
+    }
+}
@@ -0,0 +1,23 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * Defines behaviour for an object that decides which states of a {@link DampedOscillator} must be recorded.
+ * It is queried before the state is built, so skipped steps never create state objects.
+ * Its checkpoint holds its progress, so a resumed simulation keeps recording the same states.
+ */
+public interface Sampler extends Checkpointable {
+
+    /**
+     * Prepares the sampler for a new simulation.
+     */
+    void reset();
+
+    /**
+     * Indicates whether the actual state of the given {@link DampedOscillator} must be recorded.
+     * It must be called once for the initial state, and then once after each update.
+     *
+     * @param dampedOscillator The {@link DampedOscillator} being simulated.
+     * @return {@code true} if the actual state must be recorded, or {@code false} otherwise.
+     */
+    boolean sample(DampedOscillator dampedOscillator);
+}
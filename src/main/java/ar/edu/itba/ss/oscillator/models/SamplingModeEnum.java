@@ -0,0 +1,95 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * Defines the sampling modes (i.e which states of a simulation are recorded).
+ */
+public enum SamplingModeEnum {
+    /**
+     * Records all the states.
+     */
+    ALL {
+        @Override
+        public Sampler getSamplerInstance(long stride, double interval) {
+            return new StrideSampler(1);
+        }
+
+        @Override
+        public long countMaxSamples(long totalSteps, double totalTime, long stride, double interval) {
+            return withInitial(totalSteps);
+        }
+    },
+    /**
+     * Records one state every a given amount of steps.
+     */
+    STRIDE {
+        @Override
+        public Sampler getSamplerInstance(long stride, double interval) {
+            return new StrideSampler(stride);
+        }
+
+        @Override
+        public long countMaxSamples(long totalSteps, double totalTime, long stride, double interval) {
+            return withInitial(totalSteps / stride);
+        }
+    },
+    /**
+     * Records one state every a given simulated time interval.
+     */
+    INTERVAL {
+        @Override
+        public Sampler getSamplerInstance(long stride, double interval) {
+            return new IntervalSampler(interval);
+        }
+
+        @Override
+        public long countMaxSamples(long totalSteps, double totalTime, long stride, double interval) {
+            // The last step may end slightly after the total time, so one more interval may be sampled
+            final double intervals = Math.floor(totalTime / interval) + 1;
+            return withInitial(intervals < totalSteps ? (long) intervals : totalSteps);
+        }
+    },
+    /**
+     * Records the states in which the position crosses zero or passes through a local extremum.
+     */
+    EVENTS {
+        @Override
+        public Sampler getSamplerInstance(long stride, double interval) {
+            return new EventSampler();
+        }
+
+        @Override
+        public long countMaxSamples(long totalSteps, double totalTime, long stride, double interval) {
+            // Events can not be foreseen, so any step may be one
+            return withInitial(totalSteps);
+        }
+    };
+
+    /**
+     * Builds a {@link Sampler} according to the enum value.
+     *
+     * @param stride   The amount of steps between two recorded states (used by {@link #STRIDE}).
+     * @param interval The simulated time between two recorded states (used by {@link #INTERVAL}).
+     * @return The built {@link Sampler}.
+     */
+    public abstract Sampler getSamplerInstance(long stride, double interval);
+
+    /**
+     * Calculates the maximum amount of states recorded from a simulation (i.e including the initial one).
+     * The stride and the interval must be valid (see {@link #getSamplerInstance(long, double)}).
+     *
+     * @param totalSteps The amount of steps of the simulation.
+     * @param totalTime  The total simulated time.
+     * @param stride     The amount of steps between two recorded states (used by {@link #STRIDE}).
+     * @param interval   The simulated time between two recorded states (used by {@link #INTERVAL}).
+     * @return The maximum amount of recorded states.
+     */
+    public abstract long countMaxSamples(long totalSteps, double totalTime, long stride, double interval);
+
+    /**
+     * @param samples The amount of recorded states, besides the initial one.
+     * @return The amount of recorded states, including the initial one (i.e saturated at {@link Long#MAX_VALUE}).
+     */
+    private static long withInitial(final long samples) {
+        return samples == Long.MAX_VALUE ? samples : samples + 1;
+    }
+}
@@ -0,0 +1,61 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * Read only view of a {@link DampedOscillator} state whose values live in primitive storage
+ * (e.g a slot of a {@link StateSnapshotRing}, or a row of a {@link TrajectoryStore}).
+ * Views are usually reused, so they must not be kept once their storage moves on (see {@link #outputState()}).
+ */
+public interface StateSnapshot {
+
+    /**
+     * @return The amount of time the {@link DampedOscillator} had been oscillating.
+     */
+    double getTime();
+
+    /**
+     * @return The particle's mass.
+     */
+    double getMass();
+
+    /**
+     * @return The 'x' component of the particle's position.
+     */
+    double getPositionX();
+
+    /**
+     * @return The 'y' component of the particle's position.
+     */
+    double getPositionY();
+
+    /**
+     * @return The 'x' component of the particle's velocity.
+     */
+    double getVelocityX();
+
+    /**
+     * @return The 'y' component of the particle's velocity.
+     */
+    double getVelocityY();
+
+    /**
+     * @return The 'x' component of the particle's acceleration.
+     */
+    double getAccelerationX();
+
+    /**
+     * @return The 'y' component of the particle's acceleration.
+     */
+    double getAccelerationY();
+
+    /**
+     * Builds a {@link DampedOscillator.DampedOscillatorState} with the viewed values
+     * (i.e for consumers that must keep it after the view moves on).
+     *
+     * @return The built state.
+     */
+    default DampedOscillator.DampedOscillatorState outputState() {
+        return new DampedOscillator.DampedOscillatorState(getTime(),
+                new Particle.ParticleState(getMass(), getPositionX(), getPositionY(), getVelocityX(), getVelocityY(),
+                        getAccelerationX(), getAccelerationY()));
+    }
+}
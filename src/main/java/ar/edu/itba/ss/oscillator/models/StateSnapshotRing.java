@@ -0,0 +1,216 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * Fixed capacity ring buffer of {@link DampedOscillator} snapshots, whose values are copied into flat primitive
+ * columns (i.e struct-of-arrays layout), so recording a state allocates nothing, and the memory footprint depends on
+ * the capacity instead of the amount of recorded states.
+ * Snapshots are recorded into the newest free slot, and consumers read the oldest one (see {@link #oldest()}),
+ * releasing it afterwards so it can be reused. It is not safe to be used by many threads.
+ */
+public final class StateSnapshotRing {
+
+    /**
+     * The amount of slots.
+     */
+    private final int capacity;
+
+    /**
+     * The simulated time of each snapshot.
+     */
+    private final double[] times;
+
+    /**
+     * The 'x' component of the particle's position in each snapshot.
+     */
+    private final double[] positionsX;
+
+    /**
+     * The 'y' component of the particle's position in each snapshot.
+     */
+    private final double[] positionsY;
+
+    /**
+     * The 'x' component of the particle's velocity in each snapshot.
+     */
+    private final double[] velocitiesX;
+
+    /**
+     * The 'y' component of the particle's velocity in each snapshot.
+     */
+    private final double[] velocitiesY;
+
+    /**
+     * The 'x' component of the particle's acceleration in each snapshot.
+     */
+    private final double[] accelerationsX;
+
+    /**
+     * The 'y' component of the particle's acceleration in each snapshot.
+     */
+    private final double[] accelerationsY;
+
+    /**
+     * The particle's mass (i.e it does not change while simulating, so it is not stored per snapshot).
+     */
+    private double mass;
+
+    /**
+     * The {@link StateSnapshot} that reads the oldest unreleased snapshot.
+     */
+    private final StateSnapshot oldest;
+
+    /**
+     * The slot of the oldest unreleased snapshot.
+     */
+    private int head;
+
+    /**
+     * The amount of unreleased snapshots.
+     */
+    private int size;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity The amount of slots.
+     */
+    public StateSnapshotRing(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The ring must have at least one slot");
+        }
+        this.capacity = capacity;
+        this.times = new double[capacity];
+        this.positionsX = new double[capacity];
+        this.positionsY = new double[capacity];
+        this.velocitiesX = new double[capacity];
+        this.velocitiesY = new double[capacity];
+        this.accelerationsX = new double[capacity];
+        this.accelerationsY = new double[capacity];
+        this.oldest = new OldestSnapshot();
+        this.head = 0;
+        this.size = 0;
+    }
+
+    /**
+     * @return The amount of slots.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return The amount of unreleased snapshots.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} if there is no unreleased snapshot, or {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return {@code true} if every slot holds an unreleased snapshot (i.e nothing can be recorded),
+     * or {@code false} otherwise.
+     */
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    /**
+     * Copies the actual state of the given {@link DampedOscillator} into the newest free slot.
+     *
+     * @param dampedOscillator The {@link DampedOscillator} whose state will be recorded.
+     * @throws IllegalStateException If the ring is full.
+     */
+    public void record(DampedOscillator dampedOscillator) {
+        if (size == capacity) {
+            throw new IllegalStateException("The ring is full");
+        }
+        final Particle particle = dampedOscillator.getParticle();
+        final int slot = (head + size) % capacity;
+        mass = particle.getMass();
+        times[slot] = dampedOscillator.getActualTime();
+        positionsX[slot] = particle.getPositionX();
+        positionsY[slot] = particle.getPositionY();
+        velocitiesX[slot] = particle.getVelocityX();
+        velocitiesY[slot] = particle.getVelocityY();
+        accelerationsX[slot] = particle.getAccelerationX();
+        accelerationsY[slot] = particle.getAccelerationY();
+        size++;
+    }
+
+    /**
+     * @return A view of the oldest unreleased snapshot, which is reused (i.e it reads the oldest slot at each call
+     * of its getters, so it must not be used once the snapshot is released).
+     * @throws IllegalStateException If the ring is empty.
+     */
+    public StateSnapshot oldest() {
+        if (size == 0) {
+            throw new IllegalStateException("The ring is empty");
+        }
+        return oldest;
+    }
+
+    /**
+     * Releases the oldest unreleased snapshot, so its slot can be reused.
+     *
+     * @throws IllegalStateException If the ring is empty.
+     */
+    public void release() {
+        if (size == 0) {
+            throw new IllegalStateException("The ring is empty");
+        }
+        head = (head + 1) % capacity;
+        size--;
+    }
+
+    /**
+     * {@link StateSnapshot} that reads the oldest slot of the ring.
+     */
+    private final class OldestSnapshot implements StateSnapshot {
+
+        @Override
+        public double getTime() {
+            return times[head];
+        }
+
+        @Override
+        public double getMass() {
+            return mass;
+        }
+
+        @Override
+        public double getPositionX() {
+            return positionsX[head];
+        }
+
+        @Override
+        public double getPositionY() {
+            return positionsY[head];
+        }
+
+        @Override
+        public double getVelocityX() {
+            return velocitiesX[head];
+        }
+
+        @Override
+        public double getVelocityY() {
+            return velocitiesY[head];
+        }
+
+        @Override
+        public double getAccelerationX() {
+            return accelerationsX[head];
+        }
+
+        @Override
+        public double getAccelerationY() {
+            return accelerationsY[head];
+        }
+    }
+}
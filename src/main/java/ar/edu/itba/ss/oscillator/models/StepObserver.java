@@ -0,0 +1,31 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * Defines behaviour for an object that watches each step of a {@link DampedOscillator},
+ * accumulating some measure incrementally (i.e without storing the trajectory),
+ * and that summarizes it once the simulation finishes.
+ * Implementations must not allocate objects when observing a step, as they run in the simulation's hot path.
+ * Their checkpoint holds the accumulated measures.
+ */
+public interface StepObserver extends Checkpointable {
+
+    /**
+     * Prepares the observer for a new simulation, starting at the actual state of the given {@link DampedOscillator}.
+     *
+     * @param dampedOscillator The {@link DampedOscillator} being simulated.
+     */
+    void start(DampedOscillator dampedOscillator);
+
+    /**
+     * Observes the actual state of the given {@link DampedOscillator}.
+     * It is called once after each update.
+     *
+     * @param dampedOscillator The {@link DampedOscillator} being simulated.
+     */
+    void observe(DampedOscillator dampedOscillator);
+
+    /**
+     * @return A human readable summary of the accumulated measures.
+     */
+    String getSummary();
+}
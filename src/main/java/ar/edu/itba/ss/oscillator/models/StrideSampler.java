@@ -0,0 +1,59 @@
+package ar.edu.itba.ss.oscillator.models;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * {@link Sampler} that records the initial state, and then one state every a given amount of steps.
+ */
+/* package */ class StrideSampler implements Sampler {
+
+    /**
+     * The amount of steps between two recorded states.
+     */
+    private final long stride;
+
+    /**
+     * The amount of steps until the next recorded state.
+     */
+    private long remaining;
+
+    /**
+     * Constructor.
+     *
+     * @param stride The amount of steps between two recorded states.
+     */
+    /* package */ StrideSampler(final long stride) {
+        if (stride <= 0) {
+            throw new IllegalArgumentException("The stride must be positive");
+        }
+        this.stride = stride;
+        this.remaining = 0;
+    }
+
+    @Override
+    public void reset() {
+        this.remaining = 0;
+    }
+
+    @Override
+    public boolean sample(DampedOscillator dampedOscillator) {
+        if (remaining == 0) {
+            remaining = stride - 1;
+            return true;
+        }
+        remaining--;
+        return false;
+    }
+
+    @Override
+    public void writeCheckpoint(DataOutput output) throws IOException {
+        output.writeLong(remaining);
+    }
+
+    @Override
+    public void readCheckpoint(DataInput input) throws IOException {
+        this.remaining = input.readLong();
+    }
+}
@@ -0,0 +1,203 @@
+package ar.edu.itba.ss.oscillator.models;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Growable store of a whole {@link DampedOscillator} trajectory, kept off the Java heap.
+ * Each state is copied into a row of seven primitive columns (i.e time, position, velocity and acceleration),
+ * so it costs {@link #ROW_BYTES} bytes, and no object is built for it. Rows are stored in direct buffer segments
+ * of {@link #SEGMENT_ROWS} rows, each one laid out column after column (i.e struct-of-arrays layout),
+ * which are allocated as the trajectory grows, and are never traced by the garbage collector.
+ * Rows are read in order with a {@link Cursor}. It is not safe to be used by many threads.
+ * Note that the direct memory available is limited by the {@code -XX:MaxDirectMemorySize} JVM option.
+ */
+public final class TrajectoryStore {
+
+    /**
+     * The amount of columns of each row.
+     */
+    private static final int COLUMNS = 7;
+
+    /**
+     * The size of each row (in bytes).
+     */
+    public static final int ROW_BYTES = COLUMNS * Double.BYTES;
+
+    /**
+     * The amount of bits of a row index that select a row within its segment.
+     */
+    private static final int SEGMENT_BITS = 16;
+
+    /**
+     * The amount of rows of each segment.
+     */
+    public static final int SEGMENT_ROWS = 1 << SEGMENT_BITS;
+
+    /**
+     * The direct buffer segments, in order.
+     */
+    private final List<DoubleBuffer> segments;
+
+    /**
+     * The particle's mass (i.e it does not change while simulating, so it is not stored per row).
+     */
+    private double mass;
+
+    /**
+     * The amount of stored rows.
+     */
+    private long size;
+
+    /**
+     * Constructor.
+     */
+    public TrajectoryStore() {
+        this.segments = new ArrayList<>();
+        this.size = 0;
+    }
+
+    /**
+     * @return The amount of stored states.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return The amount of direct memory taken by the segments (in bytes).
+     */
+    public long getAllocatedBytes() {
+        return (long) segments.size() * SEGMENT_ROWS * ROW_BYTES;
+    }
+
+    /**
+     * Copies the actual state of the given {@link DampedOscillator} into a new row, after the stored ones.
+     *
+     * @param dampedOscillator The {@link DampedOscillator} whose state will be stored.
+     */
+    public void append(DampedOscillator dampedOscillator) {
+        final int row = (int) (size & (SEGMENT_ROWS - 1));
+        if (row == 0) {
+            segments.add(ByteBuffer.allocateDirect(SEGMENT_ROWS * ROW_BYTES)
+                    .order(ByteOrder.nativeOrder())
+                    .asDoubleBuffer());
+        }
+        final DoubleBuffer segment = segments.get(segments.size() - 1);
+        final Particle particle = dampedOscillator.getParticle();
+        mass = particle.getMass();
+        segment.put(row, dampedOscillator.getActualTime());
+        segment.put(SEGMENT_ROWS + row, particle.getPositionX());
+        segment.put(2 * SEGMENT_ROWS + row, particle.getPositionY());
+        segment.put(3 * SEGMENT_ROWS + row, particle.getVelocityX());
+        segment.put(4 * SEGMENT_ROWS + row, particle.getVelocityY());
+        segment.put(5 * SEGMENT_ROWS + row, particle.getAccelerationX());
+        segment.put(6 * SEGMENT_ROWS + row, particle.getAccelerationY());
+        size++;
+    }
+
+    /**
+     * @return A new {@link Cursor}, placed before the first stored state.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Iterates the stored states in order, viewing one at a time without building any object
+     * (i.e {@link #next()} moves it to the following state, whose values are then read with its getters).
+     */
+    public final class Cursor implements StateSnapshot {
+
+        /**
+         * The index of the viewed row (i.e -1 before the first one).
+         */
+        private long index;
+
+        /**
+         * The segment of the viewed row.
+         */
+        private DoubleBuffer segment;
+
+        /**
+         * The position of the viewed row within its segment.
+         */
+        private int row;
+
+        /**
+         * Constructor.
+         */
+        private Cursor() {
+            this.index = -1;
+        }
+
+        /**
+         * Moves the cursor to the following stored state.
+         *
+         * @return {@code true} if there is such state, or {@code false} if the cursor went past the last one.
+         */
+        public boolean next() {
+            if (index + 1 >= size) {
+                index = size;
+                segment = null;
+                return false;
+            }
+            index++;
+            row = (int) (index & (SEGMENT_ROWS - 1));
+            if (row == 0 || segment == null) {
+                segment = segments.get((int) (index >>> SEGMENT_BITS));
+            }
+            return true;
+        }
+
+        /**
+         * @return The index of the viewed state (i.e 0 for the first stored one).
+         */
+        public long getIndex() {
+            return index;
+        }
+
+        @Override
+        public double getTime() {
+            return segment.get(row);
+        }
+
+        @Override
+        public double getMass() {
+            return mass;
+        }
+
+        @Override
+        public double getPositionX() {
+            return segment.get(SEGMENT_ROWS + row);
+        }
+
+        @Override
+        public double getPositionY() {
+            return segment.get(2 * SEGMENT_ROWS + row);
+        }
+
+        @Override
+        public double getVelocityX() {
+            return segment.get(3 * SEGMENT_ROWS + row);
+        }
+
+        @Override
+        public double getVelocityY() {
+            return segment.get(4 * SEGMENT_ROWS + row);
+        }
+
+        @Override
+        public double getAccelerationX() {
+            return segment.get(5 * SEGMENT_ROWS + row);
+        }
+
+        @Override
+        public double getAccelerationY() {
+            return segment.get(6 * SEGMENT_ROWS + row);
+        }
+    }
+}
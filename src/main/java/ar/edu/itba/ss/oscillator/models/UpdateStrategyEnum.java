@@ -12,6 +12,11 @@ public enum UpdateStrategyEnum {
         public Updater getStrategyInstance(DampedOscillator dampedOscillator) {
             return new VerletUpdater(dampedOscillator);
         }
+
+        @Override
+        public ColumnarUpdater getColumnarStrategyInstance(ColumnarSystem system, IntegrationSettings settings) {
+            return new ColumnarVerletUpdater(system);
+        }
     },
     /**
      * Updates the system according to Verlet's equations (using own trick).
@@ -21,6 +26,11 @@ public enum UpdateStrategyEnum {
         public Updater getStrategyInstance(DampedOscillator dampedOscillator) {
             return new VerletTrickUpdater(dampedOscillator);
         }
+
+        @Override
+        public ColumnarUpdater getColumnarStrategyInstance(ColumnarSystem system, IntegrationSettings settings) {
+            return new ColumnarVerletTrickUpdater(system);
+        }
     },
     /**
      * Updates the system according to Beeman's equations.
@@ -30,15 +40,100 @@ public enum UpdateStrategyEnum {
         public Updater getStrategyInstance(DampedOscillator dampedOscillator) {
             return new BeemanUpdater(dampedOscillator);
         }
+
+        @Override
+        public ColumnarUpdater getColumnarStrategyInstance(ColumnarSystem system, IntegrationSettings settings) {
+            return new ColumnarBeemanUpdater(system);
+        }
     },
     /**
-     * Updates the system according to Order 5 Gear Predictor-Corrector equations.
+     * Updates the system according to Gear Predictor-Corrector equations
+     * (i.e of the order given by the {@link IntegrationSettings}, 5 by default).
      */
     GEAR {
         @Override
         public Updater getStrategyInstance(DampedOscillator dampedOscillator) {
             return new GearUpdater(dampedOscillator);
         }
+
+        @Override
+        public ColumnarUpdater getColumnarStrategyInstance(ColumnarSystem system, IntegrationSettings settings) {
+            return new ColumnarGearUpdater(system, settings.getGearOrder());
+        }
+    },
+    /**
+     * Updates the system evaluating the closed-form solution of the damped oscillator (i.e no integration error).
+     */
+    ANALYTIC {
+        @Override
+        public Updater getStrategyInstance(DampedOscillator dampedOscillator) {
+            return new AnalyticUpdater(dampedOscillator);
+        }
+
+        @Override
+        public ColumnarUpdater getColumnarStrategyInstance(ColumnarSystem system, IntegrationSettings settings) {
+            return new ColumnarAnalyticUpdater(system);
+        }
+    },
+    /**
+     * Updates the system according to the classic 4th order Runge-Kutta method.
+     */
+    RUNGE_KUTTA_4 {
+        @Override
+        public Updater getStrategyInstance(DampedOscillator dampedOscillator) {
+            return new RungeKuttaUpdater(dampedOscillator, ButcherTableau.CLASSIC_RK4);
+        }
+
+        @Override
+        public ColumnarUpdater getColumnarStrategyInstance(ColumnarSystem system, IntegrationSettings settings) {
+            return new ColumnarRungeKuttaUpdater(system, ButcherTableau.CLASSIC_RK4);
+        }
+    },
+    /**
+     * Updates the system according to the velocity Verlet method (i.e kick-drift-kick leapfrog).
+     */
+    VELOCITY_VERLET {
+        @Override
+        public Updater getStrategyInstance(DampedOscillator dampedOscillator) {
+            return new CompositionUpdater(dampedOscillator, CompositionScheme.VELOCITY_VERLET);
+        }
+
+        @Override
+        public ColumnarUpdater getColumnarStrategyInstance(ColumnarSystem system, IntegrationSettings settings) {
+            return new ColumnarCompositionUpdater(system, CompositionScheme.VELOCITY_VERLET);
+        }
+    },
+    /**
+     * Updates the system according to the 4th order Forest-Ruth method (i.e Yoshida's composition of
+     * velocity Verlet).
+     */
+    FOREST_RUTH {
+        @Override
+        public Updater getStrategyInstance(DampedOscillator dampedOscillator) {
+            return new CompositionUpdater(dampedOscillator, CompositionScheme.FOREST_RUTH);
+        }
+
+        @Override
+        public ColumnarUpdater getColumnarStrategyInstance(ColumnarSystem system, IntegrationSettings settings) {
+            return new ColumnarCompositionUpdater(system, CompositionScheme.FOREST_RUTH);
+        }
+    },
+    /**
+     * Updates the system according to the adaptive Dormand-Prince 5(4) Runge-Kutta method,
+     * interpolating the state at each time step (see {@link IntegrationSettings} for the tolerances).
+     */
+    DORMAND_PRINCE {
+        @Override
+        public Updater getStrategyInstance(DampedOscillator dampedOscillator) {
+            return new DormandPrinceUpdater(dampedOscillator);
+        }
+
+        @Override
+        public ColumnarUpdater getColumnarStrategyInstance(ColumnarSystem system, IntegrationSettings settings) {
+            // Each particle would need its own step size, which defeats the lockstep sweeps of the columnar form
+            throw new IllegalArgumentException("The DORMAND_PRINCE strategy has no columnar form "
+                    + "(i.e it is not available in the ENSEMBLE and CHAIN modes)");
+        }
     };
 
     /**
@@ -48,4 +143,14 @@ public enum UpdateStrategyEnum {
      * @return The built {@link Updater}.
      */
     public abstract Updater getStrategyInstance(DampedOscillator dampedOscillator);
+
+    /**
+     * Builds a {@link ColumnarUpdater} (i.e the vectorized form of the strategy) according to the enum value.
+     *
+     * @param system   The {@link ColumnarSystem} the built {@link ColumnarUpdater} will update.
+     * @param settings The {@link IntegrationSettings} used by the built {@link ColumnarUpdater}.
+     * @return The built {@link ColumnarUpdater}.
+     * @throws IllegalArgumentException If the strategy has no columnar form, or it does not apply to the system.
+     */
+    public abstract ColumnarUpdater getColumnarStrategyInstance(ColumnarSystem system, IntegrationSettings settings);
 }
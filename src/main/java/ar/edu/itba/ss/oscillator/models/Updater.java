@@ -2,8 +2,9 @@ package ar.edu.itba.ss.oscillator.models;
 
 /**
  * Defines behaviour for an object in charge of updating.
+ * Its checkpoint holds the history it keeps between updates (i.e stateless updaters write nothing).
  */
-public interface Updater {
+public interface Updater extends Checkpointable {
 
     /**
      * Performs the update operation.
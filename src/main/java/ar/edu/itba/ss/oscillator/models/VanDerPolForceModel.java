@@ -0,0 +1,45 @@
+package ar.edu.itba.ss.oscillator.models;
+
+/**
+ * {@link ForceModel} of Van der Pol's oscillator (i.e {@code F = -k x - c (x^2 - 1) v}),
+ * whose damping is negative for positions smaller than one (in absolute value),
+ * so the particle settles into a limit cycle instead of coming to rest.
+ */
+public class VanDerPolForceModel implements ForceModel {
+
+    /**
+     * The spring constant (in kilograms over square seconds).
+     */
+    private final double springConstant;
+
+    /**
+     * The damping coefficient (in kilograms over seconds).
+     */
+    private final double dampingCoefficient;
+
+    /**
+     * Constructor.
+     *
+     * @param springConstant     The spring constant (in kilograms over square seconds).
+     * @param dampingCoefficient The damping coefficient (in kilograms over seconds).
+     */
+    public VanDerPolForceModel(final double springConstant, final double dampingCoefficient) {
+        this.springConstant = springConstant;
+        this.dampingCoefficient = dampingCoefficient;
+    }
+
+    @Override
+    public double force(final double position, final double velocity) {
+        return -1d * (springConstant * position + dampingCoefficient * (position * position - 1d) * velocity);
+    }
+
+    @Override
+    public double potentialEnergy(final double position) {
+        return 0.5 * springConstant * position * position;
+    }
+
+    @Override
+    public double dissipatedPower(final double position, final double velocity) {
+        return dampingCoefficient * (position * position - 1d) * velocity * velocity;
+    }
+}
@@ -1,77 +1,128 @@
 package ar.edu.itba.ss.oscillator.models;
 
-import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
-
-import java.util.function.Function;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * Concrete implementation of {@link AbstractSystemUpdater} using Verlet's equations.
+ * The velocity is solved from the linear equation of motion, so only a {@link LinearForceModel} is supported.
  */
 /* package */ class VerletTrickUpdater extends DampedOscillatorAbstractUpdater {
 
     /**
-     * The previous position, used for performing Verlet's recursive equations.
+     * The 'x' component of the previous position, used for performing Verlet's recursive equations.
+     */
+    private double previousPositionX;
+
+    /**
+     * The 'y' component of the previous position, used for performing Verlet's recursive equations.
+     */
+    private double previousPositionY;
+
+    /**
+     * The {@link ForceModel} of the updated {@link DampedOscillator}.
+     */
+    private final ForceModel forceModel;
+
+    /**
+     * The square of the time step, divided by the mass (i.e scales the force into a position delta).
+     */
+    private final double timeStepSquaredOverMass;
+
+    /**
+     * The factor by which the new position is multiplied when calculating the velocity (i.e beta over alpha).
+     */
+    private final double newPositionVelocityFactor;
+
+    /**
+     * The factor by which the actual position is multiplied when calculating the velocity
+     * (i.e the inverse of alpha times the time step).
+     */
+    private final double actualPositionVelocityFactor;
+
+    /**
+     * The inverse of the mass (i.e scales the force into an acceleration).
      */
-    private Vector2D previousPosition;
+    private final double inverseMass;
 
     /**
      * Constructor.
      *
      * @param dampedOscillator The {@link DampedOscillator} to be updated.
+     * @throws IllegalArgumentException If the {@link DampedOscillator}'s force is not linear.
      */
     /* package */ VerletTrickUpdater(DampedOscillator dampedOscillator) {
         super(dampedOscillator);
-        this.previousPosition = calculateInitialPreviousPosition(dampedOscillator);
+        final LinearForceModel linearForceModel = requireLinearForce(dampedOscillator, "VERLET_TRICK");
+        final Particle particle = dampedOscillator.getParticle();
+        final double timeStep = dampedOscillator.getTimeStep();
+        final double mass = particle.getMass();
+        // Calculate actual force
+        final double forceX = linearForceModel.force(particle.getPositionX(), particle.getVelocityX());
+        final double forceY = linearForceModel.force(particle.getPositionY(), particle.getVelocityY());
+        // Calculate velocity at -deltaT
+        final double velocityFactor = timeStep / mass;
+        final double previousVelocityX = particle.getVelocityX() - forceX * velocityFactor;
+        final double previousVelocityY = particle.getVelocityY() - forceY * velocityFactor;
+        // Calculate position at -deltaT
+        final double positionFactor = (timeStep * timeStep) / (2 * mass);
+        this.previousPositionX = particle.getPositionX() - previousVelocityX * timeStep + forceX * positionFactor;
+        this.previousPositionY = particle.getPositionY() - previousVelocityY * timeStep + forceY * positionFactor;
+
+        final double springConstant = linearForceModel.getSpringConstant();
+        final double viscousDampingCoefficient = linearForceModel.getViscousDampingCoefficient();
+        this.forceModel = linearForceModel;
+        this.timeStepSquaredOverMass = timeStep * timeStep / mass;
+        // Velocity factors
+        final double timeStepByViscousCoefficient = viscousDampingCoefficient * timeStep;
+        final double timeStepBySpringConstant = springConstant * timeStep;
+        final double doubleMass = 2 * mass;
+        final double alpha = 1 + (timeStepByViscousCoefficient / doubleMass);
+        final double beta = (1 / timeStep) - (timeStepBySpringConstant / doubleMass);
+        this.newPositionVelocityFactor = beta / alpha;
+        this.actualPositionVelocityFactor = 1 / (alpha * timeStep);
+        this.inverseMass = 1 / mass;
     }
 
     @Override
     public void doUpdate(DampedOscillator dampedOscillator) {
         // Get values into scope
         final Particle particle = dampedOscillator.getParticle();
-        final Vector2D actualPosition = particle.getPosition();
-        final double timeStep = dampedOscillator.getTimeStep();
-        final double mass = particle.getMass();
-        final Function<Particle, Vector2D> forceProvider = dampedOscillator.getForceProvider();
+        final double actualPositionX = particle.getPositionX();
+        final double actualPositionY = particle.getPositionY();
+        // Calculate force
+        final double forceX = forceModel.force(actualPositionX, particle.getVelocityX());
+        final double forceY = forceModel.force(actualPositionY, particle.getVelocityY());
         // Calculate position
-        final Vector2D positionResult = actualPosition.scalarMultiply(2)
-                .subtract(previousPosition)
-                .add(forceProvider.apply(particle).scalarMultiply(timeStep * timeStep / mass));
+        final double positionResultX = 2 * actualPositionX - previousPositionX + timeStepSquaredOverMass * forceX;
+        final double positionResultY = 2 * actualPositionY - previousPositionY + timeStepSquaredOverMass * forceY;
         // Calculate velocity
-        final double timeStepByViscousCoefficient = dampedOscillator.getViscousDampingCoefficient() * timeStep;
-        final double timeStepBySpringConstant = dampedOscillator.getSpringConstant() * timeStep;
-        final double doubleMass = 2 * mass;
-        final double alpha = 1 + (timeStepByViscousCoefficient / doubleMass);
-        final double beta = (1 / timeStep) - (timeStepBySpringConstant / doubleMass);
-        final Vector2D velocityResult = positionResult.scalarMultiply(beta / alpha)
-                .subtract(actualPosition.scalarMultiply(1 / (alpha * timeStep)));
-
-        this.previousPosition = actualPosition;  // Save position
-        particle.setPosition(positionResult);
-        particle.setVelocity(velocityResult);
+        final double velocityResultX = newPositionVelocityFactor * positionResultX
+                - actualPositionVelocityFactor * actualPositionX;
+        final double velocityResultY = newPositionVelocityFactor * positionResultY
+                - actualPositionVelocityFactor * actualPositionY;
         // Calculate acceleration using new values
-        particle.setAcceleration(forceProvider.apply(particle).scalarMultiply(1 / particle.getMass()));
+        final double newForceX = forceModel.force(positionResultX, velocityResultX);
+        final double newForceY = forceModel.force(positionResultY, velocityResultY);
+
+        // Save position
+        this.previousPositionX = actualPositionX;
+        this.previousPositionY = actualPositionY;
+        particle.setPosition(positionResultX, positionResultY);
+        particle.setVelocity(velocityResultX, velocityResultY);
+        particle.setAcceleration(inverseMass * newForceX, inverseMass * newForceY);
     }
 
-    /**
-     * Calculates which is the previous position in the initial step.
-     *
-     * @param dampedOscillator The {@link DampedOscillator} from where data is taken to perform the calculation.
-     * @return The previous position in the initial step
-     */
-    private static Vector2D calculateInitialPreviousPosition(DampedOscillator dampedOscillator) {
-        final Particle particle = dampedOscillator.getParticle();
-        final Function<Particle, Vector2D> forceProvider = dampedOscillator.getForceProvider();
-        final double timeStep = dampedOscillator.getTimeStep();
-        final Vector2D actualPosition = particle.getPosition();
-        final double mass = particle.getMass();
-        // Calculate actual force
-        final Vector2D force = forceProvider.apply(particle);
-        // Calculate velocity at -deltaT
-        final Vector2D previousVelocity = particle.getVelocity()
-                .subtract(force.scalarMultiply(timeStep / mass));
-        // Return position at -deltaT
-        return actualPosition
-                .subtract(previousVelocity.scalarMultiply(timeStep))
-                .add(force.scalarMultiply((timeStep * timeStep) / (2 * mass)));
+    @Override
+    public void writeCheckpoint(DataOutput output) throws IOException {
+        output.writeDouble(previousPositionX);
+        output.writeDouble(previousPositionY);
+    }
+
+    @Override
+    public void readCheckpoint(DataInput input) throws IOException {
+        this.previousPositionX = input.readDouble();
+        this.previousPositionY = input.readDouble();
     }
 }
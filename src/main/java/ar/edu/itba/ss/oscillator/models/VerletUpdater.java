@@ -1,8 +1,8 @@
 package ar.edu.itba.ss.oscillator.models;
 
-import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
-
-import java.util.function.Function;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * Concrete implementation of {@link AbstractSystemUpdater} using Verlet's equations.
@@ -10,14 +10,49 @@ import java.util.function.Function;
 /* package */ class VerletUpdater extends DampedOscillatorAbstractUpdater {
 
     /**
-     * The previous position, used for performing Verlet's recursive equations.
+     * The 'x' component of the previous position, used for performing Verlet's recursive equations.
+     */
+    private double previousPositionX;
+
+    /**
+     * The 'y' component of the previous position, used for performing Verlet's recursive equations.
+     */
+    private double previousPositionY;
+
+    /**
+     * The 'x' component of the previous velocity, used for approximating the force.
+     */
+    private double previousVelocityX;
+
+    /**
+     * The 'y' component of the previous velocity, used for approximating the force.
+     */
+    private double previousVelocityY;
+
+    /**
+     * The {@link ForceModel} of the updated {@link DampedOscillator}.
+     */
+    private final ForceModel forceModel;
+
+    /**
+     * The time step.
      */
-    private Vector2D previousPosition;
+    private final double timeStep;
 
     /**
-     * The previous velocity, used for approximating the force.
+     * The square of the time step, divided by the mass (i.e scales the force into a position delta).
      */
-    private Vector2D previousVelocity;
+    private final double timeStepSquaredOverMass;
+
+    /**
+     * The inverse of twice the time step (i.e used to calculate the velocity with a centered difference).
+     */
+    private final double inverseDoubleTimeStep;
+
+    /**
+     * The inverse of the mass (i.e scales the force into an acceleration).
+     */
+    private final double inverseMass;
 
     /**
      * Constructor.
@@ -27,50 +62,76 @@ import java.util.function.Function;
     /* package */ VerletUpdater(DampedOscillator dampedOscillator) {
         super(dampedOscillator);
         final Particle particle = dampedOscillator.getParticle();
-        final Function<Particle, Vector2D> forceProvider = dampedOscillator.getForceProvider();
+        final ForceModel forceModel = dampedOscillator.getForceModel();
         final double timeStep = dampedOscillator.getTimeStep();
-        final Vector2D actualPosition = particle.getPosition();
         final double mass = particle.getMass();
         // Calculate actual force
-        final Vector2D force = forceProvider.apply(particle);
+        final double forceX = forceModel.force(particle.getPositionX(), particle.getVelocityX())
+                + forceModel.externalForce(dampedOscillator.getActualTime());
+        final double forceY = forceModel.force(particle.getPositionY(), particle.getVelocityY());
         // Calculate velocity at -deltaT
-        this.previousVelocity = particle.getVelocity()
-                .subtract(force.scalarMultiply(timeStep / mass));
-        // Return position at -deltaT
-        this.previousPosition = actualPosition
-                .subtract(previousVelocity.scalarMultiply(timeStep))
-                .add(force.scalarMultiply((timeStep * timeStep) / (2 * mass)));
+        final double velocityFactor = timeStep / mass;
+        this.previousVelocityX = particle.getVelocityX() - forceX * velocityFactor;
+        this.previousVelocityY = particle.getVelocityY() - forceY * velocityFactor;
+        // Calculate position at -deltaT
+        final double positionFactor = (timeStep * timeStep) / (2 * mass);
+        this.previousPositionX = particle.getPositionX() - previousVelocityX * timeStep + forceX * positionFactor;
+        this.previousPositionY = particle.getPositionY() - previousVelocityY * timeStep + forceY * positionFactor;
+
+        this.forceModel = forceModel;
+        this.timeStep = timeStep;
+        this.timeStepSquaredOverMass = timeStep * timeStep / mass;
+        this.inverseDoubleTimeStep = 1d / (2d * timeStep);
+        this.inverseMass = 1d / mass;
     }
 
     @Override
     public void doUpdate(DampedOscillator dampedOscillator) {
         // Get values into scope
         final Particle particle = dampedOscillator.getParticle();
-        final Vector2D actualPosition = particle.getPosition();
-        final double timeStep = dampedOscillator.getTimeStep();
-        final double mass = particle.getMass();
+        final double actualPositionX = particle.getPositionX();
+        final double actualPositionY = particle.getPositionY();
+        final double actualTime = dampedOscillator.getActualTime();
         // Approximate force
-        final Vector2D approximateForce = actualPosition.scalarMultiply(dampedOscillator.getSpringConstant())
-                .add(previousVelocity.scalarMultiply(dampedOscillator.getViscousDampingCoefficient()))
-                .scalarMultiply(-1d);
+        final double approximateForceX = forceModel.force(actualPositionX, previousVelocityX)
+                + forceModel.externalForce(actualTime);
+        final double approximateForceY = forceModel.force(actualPositionY, previousVelocityY);
         // Calculate the next position with approximated force
-        final Vector2D positionResult = actualPosition.scalarMultiply(2)
-                .subtract(previousPosition)
-                .add(approximateForce.scalarMultiply(timeStep * timeStep / mass));
+        final double positionResultX = 2 * actualPositionX - previousPositionX
+                + timeStepSquaredOverMass * approximateForceX;
+        final double positionResultY = 2 * actualPositionY - previousPositionY
+                + timeStepSquaredOverMass * approximateForceY;
         // Calculate velocity for previous step
-        this.previousVelocity = positionResult
-                .subtract(previousPosition)
-                .scalarMultiply(1d / (2d * timeStep));
+        this.previousVelocityX = inverseDoubleTimeStep * (positionResultX - previousPositionX);
+        this.previousVelocityY = inverseDoubleTimeStep * (positionResultY - previousPositionY);
         // Calculate acceleration using the calculated position and the previous velocity)
-        final Vector2D approximatedAcceleration = positionResult.scalarMultiply(dampedOscillator.getSpringConstant())
-                .add(previousVelocity.scalarMultiply(dampedOscillator.getViscousDampingCoefficient()))
-                .scalarMultiply(-1d / mass);
+        final double approximatedAccelerationX = inverseMass * (forceModel.force(positionResultX, previousVelocityX)
+                + forceModel.externalForce(actualTime + timeStep));
+        final double approximatedAccelerationY = inverseMass * forceModel.force(positionResultY, previousVelocityY);
 
-        this.previousPosition = actualPosition;  // Save position
-        particle.setPosition(positionResult);
+        // Save position
+        this.previousPositionX = actualPositionX;
+        this.previousPositionY = actualPositionY;
+        particle.setPosition(positionResultX, positionResultY);
         // This method calculates velocity out of phase, so we can't save it in the particle
         // So, we will always store the velocity as a zero vector.
-        particle.setVelocity(Vector2D.ZERO);
-        particle.setAcceleration(approximatedAcceleration);
+        particle.setVelocity(0d, 0d);
+        particle.setAcceleration(approximatedAccelerationX, approximatedAccelerationY);
+    }
+
+    @Override
+    public void writeCheckpoint(DataOutput output) throws IOException {
+        output.writeDouble(previousPositionX);
+        output.writeDouble(previousPositionY);
+        output.writeDouble(previousVelocityX);
+        output.writeDouble(previousVelocityY);
+    }
+
+    @Override
+    public void readCheckpoint(DataInput input) throws IOException {
+        this.previousPositionX = input.readDouble();
+        this.previousPositionY = input.readDouble();
+        this.previousVelocityX = input.readDouble();
+        this.previousVelocityY = input.readDouble();
     }
 }
@@ -0,0 +1,271 @@
+package ar.edu.itba.ss.oscillator.runners;
+
+import ar.edu.itba.ss.oscillator.io.BatchManifestWriter;
+import ar.edu.itba.ss.oscillator.io.BinaryTrajectoryFileSaver;
+import ar.edu.itba.ss.oscillator.io.CheckpointManager;
+import ar.edu.itba.ss.oscillator.io.MovementFileSaver;
+import ar.edu.itba.ss.oscillator.io.OvitoFileSaverImpl;
+import ar.edu.itba.ss.oscillator.io.ProgramArguments;
+import ar.edu.itba.ss.oscillator.io.ScenarioReader;
+import ar.edu.itba.ss.oscillator.io.StreamingDataSaver;
+import ar.edu.itba.ss.oscillator.io.TrajectoryCache;
+import ar.edu.itba.ss.oscillator.models.DampedOscillator;
+import ar.edu.itba.ss.oscillator.models.ObserverEnum;
+import ar.edu.itba.ss.oscillator.models.SamplingModeEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * {@link ModeRunner} that runs many simulations within the same JVM (i.e reusing the compiled updaters),
+ * each one described by a scenario of a scenarios file (see {@link ScenarioReader}).
+ * Scenarios are run by a fixed amount of workers, and the outcome and timing of each one is written
+ * into a manifest (see {@link BatchManifestWriter}). A failing scenario does not stop the batch.
+ */
+@Component
+public class BatchRunner implements ModeRunner {
+
+    /**
+     * The {@link Logger} object.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchRunner.class);
+
+    /**
+     * The execution arguments (i.e provide the values a scenario does not set).
+     */
+    private final ProgramArguments programArguments;
+
+    /**
+     * The path of the scenarios file.
+     */
+    private final String scenariosFilePath;
+
+    /**
+     * The path of the manifest file.
+     */
+    private final String manifestFilePath;
+
+    /**
+     * The amount of scenarios run at the same time (i.e non positive values mean one per available processor).
+     */
+    private final int parallelism;
+
+    /**
+     * The path of the directory of the {@link TrajectoryCache} (i.e empty if the cache is disabled).
+     */
+    private final String cachePath;
+
+    /**
+     * The maximum total size of the {@link TrajectoryCache} (in bytes).
+     */
+    private final long cacheSize;
+
+    /**
+     * The size of the output buffers (in bytes).
+     */
+    private final int bufferSize;
+
+    /**
+     * The boundary written in each ovito frame.
+     */
+    private final String ovitoBoundary;
+
+    /**
+     * The amount of threads that encode ovito frames.
+     */
+    private final int ovitoParallelism;
+
+    /**
+     * Indicates whether states must be saved as they are produced, instead of after the whole simulation.
+     */
+    private final boolean streaming;
+
+    /**
+     * The amount of slots of the ring that holds streamed states until they are saved
+     * (i.e non positive values mean states are handed to the savers one by one).
+     */
+    private final int snapshotSlots;
+
+    /**
+     * The {@link SamplingModeEnum} that indicates which states are saved.
+     */
+    private final SamplingModeEnum samplingMode;
+
+    /**
+     * The amount of steps between two saved states (used when sampling by stride).
+     */
+    private final long samplingStride;
+
+    /**
+     * The simulated time between two saved states (used when sampling by interval).
+     */
+    private final double samplingInterval;
+
+    /**
+     * The comma separated {@link ObserverEnum}s to be attached to each simulated system (i.e none if empty).
+     */
+    private final String observers;
+
+    /**
+     * Constructor.
+     *
+     * @param programArguments  The execution arguments (i.e provide the values a scenario does not set).
+     * @param scenariosFilePath The path of the scenarios file.
+     * @param manifestFilePath  The path of the manifest file.
+     * @param parallelism       The amount of scenarios run at the same time
+     *                          (i.e non positive values mean one per available processor).
+     * @param cachePath         The path of the directory of the {@link TrajectoryCache}
+     *                          (i.e empty if the cache is disabled).
+     * @param cacheSize         The maximum total size of the {@link TrajectoryCache} (in bytes).
+     * @param bufferSize        The size of the output buffers (in bytes).
+     * @param ovitoBoundary     The boundary written in each ovito frame.
+     * @param ovitoParallelism  The amount of threads that encode ovito frames.
+     * @param streaming         Indicates whether states must be saved as they are produced,
+     *                          instead of after the whole simulation.
+     * @param snapshotSlots     The amount of slots of the ring that holds streamed states until they are saved
+     *                          (i.e non positive values mean states are handed to the savers one by one).
+     * @param samplingMode      The {@link SamplingModeEnum} that indicates which states are saved.
+     * @param samplingStride    The amount of steps between two saved states (used when sampling by stride).
+     * @param samplingInterval  The simulated time between two saved states (used when sampling by interval).
+     * @param observers         The comma separated {@link ObserverEnum}s to be attached to each simulated system
+     *                          (i.e none if empty).
+     */
+    @Autowired
+    public BatchRunner(ProgramArguments programArguments,
+                       @Value("${custom.batch.scenarios:}") final String scenariosFilePath,
+                       @Value("${custom.output.batch:}") final String manifestFilePath,
+                       @Value("${custom.batch.parallelism}") final int parallelism,
+                       @Value("${custom.cache.path:}") final String cachePath,
+                       @Value("${custom.cache.size}") final long cacheSize,
+                       @Value("${custom.output.buffer-size}") final int bufferSize,
+                       @Value("${custom.output.ovito-boundary}") final String ovitoBoundary,
+                       @Value("${custom.output.ovito-parallelism}") final int ovitoParallelism,
+                       @Value("${custom.output.streaming}") final boolean streaming,
+                       @Value("${custom.output.snapshot-slots}") final int snapshotSlots,
+                       @Value("${custom.output.sampling.mode}") final SamplingModeEnum samplingMode,
+                       @Value("${custom.output.sampling.stride}") final long samplingStride,
+                       @Value("${custom.output.sampling.interval}") final double samplingInterval,
+                       @Value("${custom.output.observers:}") final String observers) {
+        this.programArguments = programArguments;
+        this.scenariosFilePath = scenariosFilePath;
+        this.manifestFilePath = manifestFilePath;
+        this.parallelism = parallelism;
+        this.cachePath = cachePath;
+        this.cacheSize = cacheSize;
+        this.bufferSize = bufferSize;
+        this.ovitoBoundary = ovitoBoundary;
+        this.ovitoParallelism = ovitoParallelism;
+        this.streaming = streaming;
+        this.snapshotSlots = snapshotSlots;
+        this.samplingMode = samplingMode;
+        this.samplingStride = samplingStride;
+        this.samplingInterval = samplingInterval;
+        this.observers = observers;
+    }
+
+    @Override
+    public ExecutionModeEnum getMode() {
+        return ExecutionModeEnum.BATCH;
+    }
+
+    @Override
+    public void run() throws Exception {
+        if (scenariosFilePath.isEmpty() || manifestFilePath.isEmpty()) {
+            throw new IllegalStateException("Both custom.batch.scenarios and custom.output.batch must be set");
+        }
+        final List<ScenarioReader.Scenario> scenarios = new ScenarioReader(scenariosFilePath).read(programArguments);
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        int failures = 0;
+        try (BatchManifestWriter manifest = new BatchManifestWriter(manifestFilePath)) {
+            LOGGER.info("Running {} scenarios...", scenarios.size());
+            final long start = System.nanoTime();
+            final CompletionService<BatchManifestWriter.Entry> completionService =
+                    new ExecutorCompletionService<>(executor);
+            for (ScenarioReader.Scenario scenario : scenarios) {
+                completionService.submit(() -> runScenario(scenario));
+            }
+            // Entries are written as scenarios finish (i.e not in the order of the file)
+            for (int i = 0; i < scenarios.size(); i++) {
+                final BatchManifestWriter.Entry entry = completionService.take().get();
+                manifest.write(entry);
+                if (!entry.isSucceeded()) {
+                    failures++;
+                }
+            }
+            LOGGER.info("Finished batch in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            executor.shutdownNow();
+        }
+        if (failures > 0) {
+            throw new IllegalStateException(failures + " of " + scenarios.size() + " scenarios failed (see "
+                    + manifestFilePath + ")");
+        }
+    }
+
+    /**
+     * Runs one scenario, catching any error so the rest of the batch can go on.
+     *
+     * @param scenario The {@link ScenarioReader.Scenario} to be run.
+     * @return The {@link BatchManifestWriter.Entry} describing the outcome of the scenario.
+     */
+    private BatchManifestWriter.Entry runScenario(ScenarioReader.Scenario scenario) {
+        final long start = System.nanoTime();
+        final ProgramArguments arguments = scenario.getProgramArguments();
+        final long steps = DampedOscillator.countSteps(arguments.getTotalTime(), arguments.getTimeStep());
+        boolean succeeded = true;
+        String message = "";
+        try {
+            // Checkpoints are not written in batches (i.e the interval is not used)
+            final CheckpointManager checkpointManager = new CheckpointManager("", 1L, false, arguments,
+                    samplingMode.name(), samplingStride, samplingInterval);
+            // Each scenario has its own entry in the cache, as it is keyed by the arguments and outputs
+            final TrajectoryCache trajectoryCache = new TrajectoryCache(cachePath, cacheSize, arguments,
+                    samplingMode.name(), samplingStride, samplingInterval, ovitoBoundary, scenario.getOvitoFilePath(),
+                    scenario.getMovementFilePath(), scenario.getBinaryFilePath());
+            new SimulationRunner(arguments, () -> buildDataSavers(scenario), streaming, snapshotSlots,
+                    samplingMode, samplingStride, samplingInterval, observers, checkpointManager, trajectoryCache)
+                    .run();
+        } catch (Exception e) {
+            LOGGER.error("Scenario {} failed", scenario.getId(), e);
+            succeeded = false;
+            message = e.toString();
+        }
+        final long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        LOGGER.debug("Scenario {} finished in {} ms", scenario.getId(), elapsedMillis);
+        return new BatchManifestWriter.Entry(scenario.getIndex(), scenario.getId(), succeeded,
+                arguments.getUpdateStrategyEnum(), arguments.getTimeStep(), steps, elapsedMillis, message);
+    }
+
+    /**
+     * Builds the {@link StreamingDataSaver}s of the outputs set by the given scenario.
+     *
+     * @param scenario The {@link ScenarioReader.Scenario} whose outputs will be saved.
+     * @return The built {@link StreamingDataSaver}s (i.e none if the scenario sets no output).
+     */
+    private List<StreamingDataSaver<DampedOscillator.DampedOscillatorState>> buildDataSavers(
+            ScenarioReader.Scenario scenario) {
+        final List<StreamingDataSaver<DampedOscillator.DampedOscillatorState>> savers = new ArrayList<>();
+        if (!scenario.getOvitoFilePath().isEmpty()) {
+            savers.add(new OvitoFileSaverImpl(scenario.getOvitoFilePath(), bufferSize, ovitoBoundary,
+                    ovitoParallelism));
+        }
+        if (!scenario.getMovementFilePath().isEmpty()) {
+            savers.add(new MovementFileSaver(scenario.getMovementFilePath(), bufferSize));
+        }
+        if (!scenario.getBinaryFilePath().isEmpty()) {
+            savers.add(new BinaryTrajectoryFileSaver(scenario.getBinaryFilePath(),
+                    scenario.getProgramArguments()));
+        }
+        return savers;
+    }
+}
@@ -0,0 +1,125 @@
+package ar.edu.itba.ss.oscillator.runners;
+
+import ar.edu.itba.ss.oscillator.io.ChainFileSaver;
+import ar.edu.itba.ss.oscillator.io.ProgramArguments;
+import ar.edu.itba.ss.oscillator.models.ColumnarSimulationEngine;
+import ar.edu.itba.ss.oscillator.models.DampedOscillator;
+import ar.edu.itba.ss.oscillator.models.OscillatorChain;
+import ar.edu.itba.ss.oscillator.models.UpdateStrategyEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * {@link ModeRunner} that simulates an {@link OscillatorChain},
+ * comparing its fundamental mode against the closed-form solution, and optionally saving its final state.
+ */
+@Component
+public class ChainRunner implements ModeRunner {
+
+    /**
+     * The {@link Logger} object.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChainRunner.class);
+
+    /**
+     * The execution arguments.
+     */
+    private final ProgramArguments programArguments;
+
+    /**
+     * The amount of particles in the chain.
+     */
+    private final int size;
+
+    /**
+     * The path of the file where the final state will be saved (i.e empty if it must not be saved).
+     */
+    private final String outputFilePath;
+
+    /**
+     * The maximum amount of particles updated by one task.
+     */
+    private final int chunkSize;
+
+    /**
+     * The amount of threads used to simulate (i.e non positive values mean one per available processor).
+     */
+    private final int parallelism;
+
+    /**
+     * Constructor.
+     *
+     * @param programArguments The execution arguments.
+     * @param size             The amount of particles in the chain.
+     * @param outputFilePath   The path of the file where the final state will be saved
+     *                         (i.e empty if it must not be saved).
+     * @param chunkSize        The maximum amount of particles updated by one task.
+     * @param parallelism      The amount of threads used to simulate
+     *                         (i.e non positive values mean one per available processor).
+     * @throws IllegalArgumentException If the mode is selected, but the force model is not the undriven LINEAR one,
+     *                                  or the strategy has no columnar form (i.e DORMAND_PRINCE).
+     */
+    @Autowired
+    public ChainRunner(ProgramArguments programArguments,
+                       @Value("${custom.chain.size}") final int size,
+                       @Value("${custom.output.chain:}") final String outputFilePath,
+                       @Value("${custom.chain.chunk-size}") final int chunkSize,
+                       @Value("${custom.chain.parallelism}") final int parallelism) {
+        // Every runner is built, so only the selected mode validates the arguments
+        if (programArguments.getExecutionMode() == ExecutionModeEnum.CHAIN && !programArguments.isUndrivenLinear()) {
+            throw new IllegalArgumentException("The CHAIN mode only supports the undriven LINEAR force model");
+        }
+        if (programArguments.getExecutionMode() == ExecutionModeEnum.CHAIN
+                && programArguments.getUpdateStrategyEnum() == UpdateStrategyEnum.DORMAND_PRINCE) {
+            throw new IllegalArgumentException("The DORMAND_PRINCE strategy is not available in the CHAIN mode");
+        }
+        this.programArguments = programArguments;
+        this.size = size;
+        this.outputFilePath = outputFilePath;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public ExecutionModeEnum getMode() {
+        return ExecutionModeEnum.CHAIN;
+    }
+
+    @Override
+    public void run() throws Exception {
+        final double timeStep = programArguments.getTimeStep();
+        final OscillatorChain chain = new OscillatorChain(size, programArguments.getParticleMass(),
+                programArguments.getInitialXPosition(), programArguments.getSpringConstant(),
+                programArguments.getViscousDampingCoefficient(), timeStep);
+        final long steps = DampedOscillator.countSteps(programArguments.getTotalTime(), timeStep);
+        final ForkJoinPool pool =
+                new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        try {
+            final ColumnarSimulationEngine engine = new ColumnarSimulationEngine(chain,
+                    programArguments.getUpdateStrategyEnum(), programArguments.getIntegrationSettings(),
+                    pool, chunkSize);
+            LOGGER.info("Simulating a chain of {} particles during {} steps...", chain.size(), steps);
+            final long start = System.nanoTime();
+            engine.advance(steps);
+            final long elapsed = System.nanoTime() - start;
+            LOGGER.info("Finished simulation in {} ms ({} ns per particle and step)", elapsed / 1_000_000,
+                    steps == 0 ? 0d : (double) elapsed / steps / chain.size());
+        } finally {
+            pool.shutdown();
+        }
+        final double simulated = chain.getFundamentalModeAmplitude();
+        final double expected = chain.getFundamentalModeSolution().positionAt(chain.getActualTime());
+        LOGGER.info("Fundamental mode amplitude: simulated = {}, analytic = {}, error = {}",
+                simulated, expected, Math.abs(simulated - expected));
+        if (!outputFilePath.isEmpty()) {
+            LOGGER.info("Saving chain...");
+            new ChainFileSaver(outputFilePath).save(chain);
+            LOGGER.info("Finished saving chain.");
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package ar.edu.itba.ss.oscillator.runners;
+
+import ar.edu.itba.ss.oscillator.io.EnsembleFileSaver;
+import ar.edu.itba.ss.oscillator.io.EnsembleParametersReader;
+import ar.edu.itba.ss.oscillator.io.ProgramArguments;
+import ar.edu.itba.ss.oscillator.models.ColumnarSimulationEngine;
+import ar.edu.itba.ss.oscillator.models.DampedOscillator;
+import ar.edu.itba.ss.oscillator.models.DampedOscillatorEnsemble;
+import ar.edu.itba.ss.oscillator.models.UpdateStrategyEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * {@link ModeRunner} that simulates a {@link DampedOscillatorEnsemble},
+ * saving the final state of each oscillator.
+ */
+@Component
+public class EnsembleRunner implements ModeRunner {
+
+    /**
+     * The {@link Logger} object.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(EnsembleRunner.class);
+
+    /**
+     * The execution arguments.
+     */
+    private final ProgramArguments programArguments;
+
+    /**
+     * The path of the file with the parameters of each oscillator.
+     */
+    private final String parametersFilePath;
+
+    /**
+     * The path of the file where the final states will be saved.
+     */
+    private final String outputFilePath;
+
+    /**
+     * The maximum amount of oscillators updated by one task.
+     */
+    private final int chunkSize;
+
+    /**
+     * The amount of threads used to simulate (i.e non positive values mean one per available processor).
+     */
+    private final int parallelism;
+
+    /**
+     * Constructor.
+     *
+     * @param programArguments   The execution arguments.
+     * @param parametersFilePath The path of the file with the parameters of each oscillator.
+     * @param outputFilePath     The path of the file where the final states will be saved.
+     * @param chunkSize          The maximum amount of oscillators updated by one task.
+     * @param parallelism        The amount of threads used to simulate
+     *                           (i.e non positive values mean one per available processor).
+     * @throws IllegalArgumentException If the mode is selected, but the force model is not the undriven LINEAR one,
+     *                                  or the strategy has no columnar form (i.e DORMAND_PRINCE).
+     */
+    @Autowired
+    public EnsembleRunner(ProgramArguments programArguments,
+                          @Value("${custom.ensemble.parameters:}") final String parametersFilePath,
+                          @Value("${custom.output.ensemble:}") final String outputFilePath,
+                          @Value("${custom.ensemble.chunk-size}") final int chunkSize,
+                          @Value("${custom.ensemble.parallelism}") final int parallelism) {
+        // Every runner is built, so only the selected mode validates the arguments
+        if (programArguments.getExecutionMode() == ExecutionModeEnum.ENSEMBLE && !programArguments.isUndrivenLinear()) {
+            throw new IllegalArgumentException("The ENSEMBLE mode only supports the undriven LINEAR force model");
+        }
+        if (programArguments.getExecutionMode() == ExecutionModeEnum.ENSEMBLE
+                && programArguments.getUpdateStrategyEnum() == UpdateStrategyEnum.DORMAND_PRINCE) {
+            throw new IllegalArgumentException("The DORMAND_PRINCE strategy is not available in the ENSEMBLE mode");
+        }
+        this.programArguments = programArguments;
+        this.parametersFilePath = parametersFilePath;
+        this.outputFilePath = outputFilePath;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public ExecutionModeEnum getMode() {
+        return ExecutionModeEnum.ENSEMBLE;
+    }
+
+    @Override
+    public void run() throws Exception {
+        if (parametersFilePath.isEmpty() || outputFilePath.isEmpty()) {
+            throw new IllegalStateException("Both custom.ensemble.parameters and custom.output.ensemble must be set");
+        }
+        final double timeStep = programArguments.getTimeStep();
+        final DampedOscillatorEnsemble ensemble = new EnsembleParametersReader(parametersFilePath).read(timeStep);
+        final long steps = DampedOscillator.countSteps(programArguments.getTotalTime(), timeStep);
+        final ForkJoinPool pool =
+                new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        try {
+            final ColumnarSimulationEngine engine = new ColumnarSimulationEngine(ensemble,
+                    programArguments.getUpdateStrategyEnum(), programArguments.getIntegrationSettings(),
+                    pool, chunkSize);
+            LOGGER.info("Simulating {} oscillators during {} steps...", ensemble.size(), steps);
+            final long start = System.nanoTime();
+            engine.advance(steps);
+            LOGGER.info("Finished simulation in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            pool.shutdown();
+        }
+        LOGGER.info("Saving ensemble...");
+        new EnsembleFileSaver(outputFilePath).save(ensemble);
+        LOGGER.info("Finished saving ensemble.");
+    }
+}
@@ -0,0 +1,38 @@
+package ar.edu.itba.ss.oscillator.runners;
+
+/**
+ * Defines the execution modes of the program.
+ */
+public enum ExecutionModeEnum {
+    /**
+     * Simulates one damped oscillator, saving its trajectory (i.e the default mode).
+     */
+    SIMULATION,
+    /**
+     * Simulates a set of independent damped oscillators together, saving their final states.
+     */
+    ENSEMBLE,
+    /**
+     * Simulates one damped oscillator with every combination of the given strategies and time steps,
+     * saving the error of each one against the analytic solution.
+     */
+    SWEEP,
+    /**
+     * Simulates a chain of particles joined by springs and dampers, checking its fundamental mode
+     * against the analytic solution.
+     */
+    CHAIN,
+    /**
+     * Simulates each scenario of a scenarios file within the same JVM, saving a manifest with the outcome of each one.
+     */
+    BATCH,
+    /**
+     * Serves simulations over HTTP on the loopback interface, caching the results of repeated requests.
+     */
+    SERVICE,
+    /**
+     * Simulates one damped oscillator in parallel in time (i.e with the Parareal algorithm),
+     * reporting the iterations and the speedup.
+     */
+    PARAREAL
+}
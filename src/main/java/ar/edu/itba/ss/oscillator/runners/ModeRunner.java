@@ -0,0 +1,19 @@
+package ar.edu.itba.ss.oscillator.runners;
+
+/**
+ * Defines behaviour for an object in charge of running the program in a given {@link ExecutionModeEnum}.
+ */
+public interface ModeRunner {
+
+    /**
+     * @return The {@link ExecutionModeEnum} this runner handles.
+     */
+    ExecutionModeEnum getMode();
+
+    /**
+     * Runs the program in the handled mode.
+     *
+     * @throws Exception If any error occurs.
+     */
+    void run() throws Exception;
+}
@@ -0,0 +1,199 @@
+package ar.edu.itba.ss.oscillator.runners;
+
+import ar.edu.itba.ss.oscillator.io.ProgramArguments;
+import ar.edu.itba.ss.oscillator.io.TrajectoryCsvEncoder;
+import ar.edu.itba.ss.oscillator.models.DampedOscillator;
+import ar.edu.itba.ss.oscillator.models.PararealIntegrator;
+import ar.edu.itba.ss.oscillator.models.UpdateStrategyEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * {@link ModeRunner} that integrates the configured oscillator in parallel in time (see {@link PararealIntegrator}),
+ * using the configured strategy and time step as the fine propagator, and reporting the iterations and the speedup.
+ */
+@Component
+public class PararealRunner implements ModeRunner {
+
+    /**
+     * The {@link Logger} object.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(PararealRunner.class);
+
+    /**
+     * The execution arguments (i.e define the fine propagator).
+     */
+    private final ProgramArguments programArguments;
+
+    /**
+     * The amount of slices in which the total time is split.
+     */
+    private final int slices;
+
+    /**
+     * The {@link UpdateStrategyEnum} of the coarse propagator.
+     */
+    private final UpdateStrategyEnum coarseStrategy;
+
+    /**
+     * The time step of the coarse propagator.
+     */
+    private final double coarseTimeStep;
+
+    /**
+     * The maximum change of any boundary state for the trajectory to be considered converged.
+     */
+    private final double tolerance;
+
+    /**
+     * The maximum amount of iterations (i.e non positive values mean one per slice).
+     */
+    private final int maxIterations;
+
+    /**
+     * The amount of threads that integrate slices (i.e non positive values mean one per available processor).
+     */
+    private final int parallelism;
+
+    /**
+     * Indicates whether the trajectory must also be integrated serially, to measure the actual speedup and error.
+     */
+    private final boolean verify;
+
+    /**
+     * The path of the file where the boundary states will be saved (i.e not saved if empty).
+     */
+    private final String outputFilePath;
+
+    /**
+     * Constructor.
+     *
+     * @param programArguments The execution arguments (i.e define the fine propagator).
+     * @param slices           The amount of slices in which the total time is split.
+     * @param coarseStrategy   The {@link UpdateStrategyEnum} of the coarse propagator.
+     * @param coarseTimeStep   The time step of the coarse propagator.
+     * @param tolerance        The maximum change of any boundary state for the trajectory to be considered converged.
+     * @param maxIterations    The maximum amount of iterations (i.e non positive values mean one per slice).
+     * @param parallelism      The amount of threads that integrate slices
+     *                         (i.e non positive values mean one per available processor).
+     * @param verify           Indicates whether the trajectory must also be integrated serially,
+     *                         to measure the actual speedup and error.
+     * @param outputFilePath   The path of the file where the boundary states will be saved (i.e not saved if empty).
+     */
+    @Autowired
+    public PararealRunner(ProgramArguments programArguments,
+                          @Value("${custom.parareal.slices}") final int slices,
+                          @Value("${custom.parareal.coarse-strategy}") final UpdateStrategyEnum coarseStrategy,
+                          @Value("${custom.parareal.coarse-time-step}") final double coarseTimeStep,
+                          @Value("${custom.parareal.tolerance}") final double tolerance,
+                          @Value("${custom.parareal.max-iterations}") final int maxIterations,
+                          @Value("${custom.parareal.parallelism}") final int parallelism,
+                          @Value("${custom.parareal.verify}") final boolean verify,
+                          @Value("${custom.output.parareal:}") final String outputFilePath) {
+        this.programArguments = programArguments;
+        this.slices = slices;
+        this.coarseStrategy = coarseStrategy;
+        this.coarseTimeStep = coarseTimeStep;
+        this.tolerance = tolerance;
+        this.maxIterations = maxIterations;
+        this.parallelism = parallelism;
+        this.verify = verify;
+        this.outputFilePath = outputFilePath;
+    }
+
+    @Override
+    public ExecutionModeEnum getMode() {
+        return ExecutionModeEnum.PARAREAL;
+    }
+
+    @Override
+    public void run() throws Exception {
+        final DampedOscillator dampedOscillator = new DampedOscillator(programArguments.getParticleMass(),
+                programArguments.getInitialXPosition(), programArguments.getSpringConstant(),
+                programArguments.getViscousDampingCoefficient(), programArguments.getUpdateStrategyEnum(),
+                programArguments.getTimeStep(), programArguments.getTotalTime(),
+                programArguments.getIntegrationSettings(), programArguments.getForceModel());
+        final int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        final ForkJoinPool pool = new ForkJoinPool(threads);
+        final PararealIntegrator.Result result;
+        try {
+            final PararealIntegrator integrator = new PararealIntegrator(
+                    buildPropagator(coarseStrategy, coarseTimeStep),
+                    buildPropagator(programArguments.getUpdateStrategyEnum(), programArguments.getTimeStep()),
+                    dampedOscillator.getTotalSteps(), slices, pool);
+            LOGGER.info("Integrating {} steps of {} in {} slices with {} threads, corrected by {} every {}...",
+                    dampedOscillator.getTotalSteps(), programArguments.getUpdateStrategyEnum(),
+                    integrator.getSlices(), threads, coarseStrategy, coarseTimeStep);
+            result = integrator.integrate(dampedOscillator.getInitialPosition().getX(),
+                    dampedOscillator.getInitialVelocity().getX(), tolerance, maxIterations);
+        } finally {
+            pool.shutdown();
+        }
+        final List<Double> corrections = result.getCorrections();
+        for (int i = 0; i < corrections.size(); i++) {
+            LOGGER.info("Iteration {}: largest correction = {}", i + 1, corrections.get(i));
+        }
+        if (!result.isConverged()) {
+            LOGGER.warn("Did not converge within {} after {} iterations", tolerance, result.getIterations());
+        }
+        final DampedOscillator.DampedOscillatorState finalState = result.getFinalState();
+        LOGGER.info("Finished in {} ms after {} iterations (estimated serial time = {} ms, speedup = {})",
+                result.getElapsedNanos() / 1_000_000, result.getIterations(), result.getSerialNanos() / 1_000_000,
+                result.getEstimatedSpeedup());
+        LOGGER.info("Final state: time = {}, position = {}, velocity = {}", finalState.getTime(),
+                finalState.getParticleState().getPositionX(), finalState.getParticleState().getVelocityX());
+        if (verify) {
+            verify(dampedOscillator, result);
+        }
+        if (!outputFilePath.isEmpty()) {
+            LOGGER.info("Saving boundary states...");
+            final TrajectoryCsvEncoder encoder = new TrajectoryCsvEncoder(result.getBoundaryStates().size());
+            result.getBoundaryStates().forEach(encoder::append);
+            Files.write(Paths.get(outputFilePath), encoder.toByteArray());
+            LOGGER.info("Finished saving boundary states.");
+        }
+    }
+
+    /**
+     * Builds a {@link PararealIntegrator.Propagator} for the configured oscillator.
+     *
+     * @param strategy The {@link UpdateStrategyEnum} to be used.
+     * @param timeStep The time step to be used.
+     * @return The built {@link PararealIntegrator.Propagator}.
+     */
+    private PararealIntegrator.Propagator buildPropagator(UpdateStrategyEnum strategy, final double timeStep) {
+        return new PararealIntegrator.Propagator(programArguments.getParticleMass(),
+                programArguments.getSpringConstant(), programArguments.getViscousDampingCoefficient(),
+                strategy, timeStep, programArguments.getIntegrationSettings(), programArguments.getForceModel());
+    }
+
+    /**
+     * Integrates the given oscillator serially, reporting the actual speedup and the error of the final state.
+     *
+     * @param dampedOscillator The oscillator to be integrated.
+     * @param result           The {@link PararealIntegrator.Result} to be verified.
+     */
+    private static void verify(DampedOscillator dampedOscillator, PararealIntegrator.Result result) {
+        LOGGER.info("Integrating serially...");
+        final long start = System.nanoTime();
+        dampedOscillator.restart();
+        for (long step = 0; step < dampedOscillator.getTotalSteps(); step++) {
+            dampedOscillator.update();
+        }
+        final long elapsed = System.nanoTime() - start;
+        LOGGER.info("Serial integration took {} ms (speedup = {}), final position error = {}, velocity error = {}",
+                elapsed / 1_000_000, (double) elapsed / result.getElapsedNanos(),
+                Math.abs(result.getFinalState().getParticleState().getPositionX()
+                        - dampedOscillator.getParticle().getPositionX()),
+                Math.abs(result.getFinalState().getParticleState().getVelocityX()
+                        - dampedOscillator.getParticle().getVelocityX()));
+    }
+}
@@ -0,0 +1,93 @@
+package ar.edu.itba.ss.oscillator.runners;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used cache of encoded results, bounded by the total size of the cached results.
+ * Results larger than the whole capacity are never cached. It is safe to be used by many threads.
+ */
+public class ResultCache {
+
+    /**
+     * The maximum total size of the cached results (in bytes).
+     */
+    private final long capacity;
+
+    /**
+     * The cached results by key, in access order (i.e the least recently used first).
+     */
+    private final LinkedHashMap<String, byte[]> results;
+
+    /**
+     * The total size of the cached results (in bytes).
+     */
+    private long size;
+
+    /**
+     * The amount of lookups that found a cached result.
+     */
+    private long hits;
+
+    /**
+     * The amount of lookups that did not find a cached result.
+     */
+    private long misses;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity The maximum total size of the cached results (in bytes, i.e non positive values disable it).
+     */
+    public ResultCache(final long capacity) {
+        this.capacity = capacity;
+        this.results = new LinkedHashMap<>(16, 0.75f, true);
+        this.size = 0;
+        this.hits = 0;
+        this.misses = 0;
+    }
+
+    /**
+     * Returns the result cached with the given key, marking it as the most recently used.
+     *
+     * @param key The key.
+     * @return The cached result, or {@code null} if there is none.
+     */
+    public synchronized byte[] get(String key) {
+        final byte[] result = results.get(key);
+        if (result == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return result;
+    }
+
+    /**
+     * Caches the given result, evicting the least recently used ones until it fits.
+     *
+     * @param key    The key.
+     * @param result The result.
+     */
+    public synchronized void put(String key, byte[] result) {
+        if (result.length > capacity) {
+            return;
+        }
+        final byte[] previous = results.put(key, result);
+        size += result.length - (previous == null ? 0 : previous.length);
+        final Iterator<Map.Entry<String, byte[]>> iterator = results.entrySet().iterator();
+        while (size > capacity) {
+            size -= iterator.next().getValue().length;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * @return A human readable summary of the cache's usage.
+     */
+    public synchronized String getSummary() {
+        return results.size() + " results cached (" + size + " of " + capacity + " bytes), "
+                + hits + " hits, " + misses + " misses";
+    }
+}
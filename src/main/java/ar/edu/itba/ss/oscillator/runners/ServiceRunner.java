@@ -0,0 +1,409 @@
+package ar.edu.itba.ss.oscillator.runners;
+
+import ar.edu.itba.ss.oscillator.io.ProgramArguments;
+import ar.edu.itba.ss.oscillator.io.ScenarioReader;
+import ar.edu.itba.ss.oscillator.io.TrajectoryCsvEncoder;
+import ar.edu.itba.ss.oscillator.models.DampedOscillator;
+import ar.edu.itba.ss.oscillator.models.EnergyObserver;
+import ar.edu.itba.ss.oscillator.models.ErrorAccumulator;
+import ar.edu.itba.ss.oscillator.models.ErrorObserver;
+import ar.edu.itba.ss.oscillator.models.FusedStepper;
+import ar.edu.itba.ss.oscillator.models.Sampler;
+import ar.edu.itba.ss.oscillator.models.SamplingModeEnum;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * {@link ModeRunner} that serves simulations over HTTP on the loopback interface, so a long-lived JVM
+ * (i.e already started and compiled) answers repeated requests from analysis scripts.
+ * Simulations are described by query parameters named as the scenarios' fields (see {@link ScenarioReader}),
+ * taking the rest from the execution arguments, and their encoded results are kept in a {@link ResultCache}
+ * keyed by the whole description, so a repeated request is answered without simulating.
+ * <ul>
+ * <li>{@code GET /trajectory} answers the sampled states as CSV (see {@link TrajectoryCsvEncoder}).</li>
+ * <li>{@code GET /summary} answers the final state, and the energy and error measures, as JSON.</li>
+ * <li>{@code POST /shutdown} stops the service.</li>
+ * </ul>
+ */
+@Component
+public class ServiceRunner implements ModeRunner {
+
+    /**
+     * The {@link Logger} object.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServiceRunner.class);
+
+    /**
+     * The query parameters that override the sampling arguments (only used by trajectories).
+     */
+    private static final Set<String> SAMPLING_PARAMETERS = Collections.unmodifiableSet(new LinkedHashSet<>(
+            Arrays.asList("sampling-mode", "sampling-stride", "sampling-interval")));
+
+    /**
+     * The execution arguments (i.e provide the values a request does not set).
+     */
+    private final ProgramArguments programArguments;
+
+    /**
+     * The port where the service listens.
+     */
+    private final int port;
+
+    /**
+     * The amount of requests served at the same time (i.e non positive values mean one per available processor).
+     */
+    private final int parallelism;
+
+    /**
+     * The {@link ResultCache} holding the results of previous requests.
+     */
+    private final ResultCache cache;
+
+    /**
+     * The maximum size of an answered trajectory (in bytes), so larger requests are rejected before simulating.
+     */
+    private final long maxResponseSize;
+
+    /**
+     * The {@link SamplingModeEnum} that indicates which states of a trajectory are answered by default.
+     */
+    private final SamplingModeEnum samplingMode;
+
+    /**
+     * The default amount of steps between two answered states (used when sampling by stride).
+     */
+    private final long samplingStride;
+
+    /**
+     * The default simulated time between two answered states (used when sampling by interval).
+     */
+    private final double samplingInterval;
+
+    /**
+     * Counted down once the service must stop.
+     */
+    private final CountDownLatch stopped;
+
+    /**
+     * Constructor.
+     *
+     * @param programArguments The execution arguments (i.e provide the values a request does not set).
+     * @param port             The port where the service listens.
+     * @param cacheSize        The maximum total size of the cached results (in bytes).
+     * @param maxResponseSize  The maximum size of an answered trajectory (in bytes).
+     * @param parallelism      The amount of requests served at the same time
+     *                         (i.e non positive values mean one per available processor).
+     * @param samplingMode     The {@link SamplingModeEnum} that indicates which states of a trajectory
+     *                         are answered by default.
+     * @param samplingStride   The default amount of steps between two answered states
+     *                         (used when sampling by stride).
+     * @param samplingInterval The default simulated time between two answered states
+     *                         (used when sampling by interval).
+     */
+    @Autowired
+    public ServiceRunner(ProgramArguments programArguments,
+                         @Value("${custom.service.port}") final int port,
+                         @Value("${custom.service.cache-size}") final long cacheSize,
+                         @Value("${custom.service.max-response-size}") final long maxResponseSize,
+                         @Value("${custom.service.parallelism}") final int parallelism,
+                         @Value("${custom.output.sampling.mode}") final SamplingModeEnum samplingMode,
+                         @Value("${custom.output.sampling.stride}") final long samplingStride,
+                         @Value("${custom.output.sampling.interval}") final double samplingInterval) {
+        this.programArguments = programArguments;
+        this.port = port;
+        this.parallelism = parallelism;
+        this.cache = new ResultCache(cacheSize);
+        this.maxResponseSize = maxResponseSize;
+        this.samplingMode = samplingMode;
+        this.samplingStride = samplingStride;
+        this.samplingInterval = samplingInterval;
+        this.stopped = new CountDownLatch(1);
+    }
+
+    @Override
+    public ExecutionModeEnum getMode() {
+        return ExecutionModeEnum.SERVICE;
+    }
+
+    @Override
+    public void run() throws Exception {
+        final HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        server.createContext("/trajectory", exchange -> serve(exchange, true));
+        server.createContext("/summary", exchange -> serve(exchange, false));
+        server.createContext("/shutdown", this::shutdown);
+        server.setExecutor(executor);
+        server.start();
+        LOGGER.info("Serving simulations at http://{}:{}", server.getAddress().getHostString(),
+                server.getAddress().getPort());
+        try {
+            stopped.await();
+        } finally {
+            server.stop(0);
+            executor.shutdownNow();
+            LOGGER.info("Stopped service: {}", cache.getSummary());
+        }
+    }
+
+    /**
+     * Answers a simulation request, either from the {@link ResultCache} or by simulating.
+     * Invalid requests are answered with a 400 status, trajectories that may exceed the maximum response size
+     * with a 413 status (i.e before simulating), and failed simulations with a 500 status.
+     *
+     * @param exchange   The {@link HttpExchange} of the request.
+     * @param trajectory Indicates whether the trajectory must be answered, instead of the summary.
+     * @throws IOException If the answer could not be sent.
+     */
+    private void serve(HttpExchange exchange, final boolean trajectory) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, "text/plain", "Only GET requests are supported\n");
+                return;
+            }
+            final Map<String, String> values = parseQuery(exchange.getRequestURI().getRawQuery(), trajectory);
+            final ProgramArguments arguments = ScenarioReader.buildProgramArguments(programArguments, values);
+            final SamplingModeEnum mode = values.containsKey("sampling-mode") ?
+                    SamplingModeEnum.valueOf(values.get("sampling-mode")) : samplingMode;
+            final long stride = values.containsKey("sampling-stride") ?
+                    Long.parseLong(values.get("sampling-stride")) : samplingStride;
+            final double interval = values.containsKey("sampling-interval") ?
+                    Double.parseDouble(values.get("sampling-interval")) : samplingInterval;
+            // Built before the size is estimated, as it validates the stride and the interval
+            final Sampler sampler = trajectory ? mode.getSamplerInstance(stride, interval) : null;
+            final long maxSamples = trajectory ? mode.countMaxSamples(
+                    DampedOscillator.countSteps(arguments.getTotalTime(), arguments.getTimeStep()),
+                    arguments.getTotalTime(), stride, interval) : 0L;
+            final long maxSize = TrajectoryCsvEncoder.maxLength(maxSamples);
+            if (trajectory && maxSize > maxResponseSize) {
+                send(exchange, 413, "text/plain", "The trajectory may take up to " + maxSize
+                        + " bytes, exceeding the maximum of " + maxResponseSize
+                        + " (i.e sample it more sparsely, or shorten its duration)\n");
+                return;
+            }
+            final String key = trajectory ?
+                    "trajectory: " + arguments.describeSimulation()
+                            + ", sampling=" + mode + "/" + stride + "/" + interval
+                    : "summary: " + arguments.describeSimulation();
+            byte[] result = cache.get(key);
+            final boolean hit = result != null;
+            if (!hit) {
+                // Identical requests arriving at the same time are simulated by each of them
+                result = trajectory ?
+                        simulateTrajectory(arguments, sampler, maxSamples)
+                        : simulateSummary(arguments);
+                cache.put(key, result);
+            }
+            exchange.getResponseHeaders().set("X-Cache", hit ? "HIT" : "MISS");
+            send(exchange, 200, trajectory ? "text/csv" : "application/json", result);
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, "text/plain", e.getMessage() + "\n");
+        } catch (Exception | OutOfMemoryError e) {
+            // The memory of a failed simulation is reclaimed once it is unreachable, so the service keeps serving
+            LOGGER.error("Request {} failed", exchange.getRequestURI(), e);
+            send(exchange, 500, "text/plain", e + "\n");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Stops the service, once the request is answered.
+     *
+     * @param exchange The {@link HttpExchange} of the request.
+     * @throws IOException If the answer could not be sent.
+     */
+    private void shutdown(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            send(exchange, 405, "text/plain", "Only POST requests are supported\n");
+            return;
+        }
+        send(exchange, 200, "text/plain", "Bye-bye!\n");
+        stopped.countDown();
+    }
+
+    /**
+     * Parses the query of a request.
+     *
+     * @param rawQuery   The query, as sent (i.e {@code null} if there is none).
+     * @param trajectory Indicates whether the sampling parameters are accepted.
+     * @return The values of the parameters, by name.
+     * @throws IllegalArgumentException If any parameter is malformed, unknown or repeated.
+     */
+    private static Map<String, String> parseQuery(String rawQuery, final boolean trajectory) {
+        final Map<String, String> values = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return values;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            final int separator = parameter.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Parameters must be formatted as name=value, but got " + parameter);
+            }
+            final String name = decode(parameter.substring(0, separator));
+            if (!ScenarioReader.PARAMETERS.contains(name)
+                    && !(trajectory && SAMPLING_PARAMETERS.contains(name))) {
+                throw new IllegalArgumentException("Unknown parameter " + name + " (i.e must be any of "
+                        + ScenarioReader.PARAMETERS + (trajectory ? " or " + SAMPLING_PARAMETERS : "") + ")");
+            }
+            if (values.put(name, decode(parameter.substring(separator + 1))) != null) {
+                throw new IllegalArgumentException("Repeated parameter " + name);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @param value The URL encoded value.
+     * @return The decoded value.
+     */
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Builds the {@link DampedOscillator} described by the given arguments, ready to be simulated.
+     *
+     * @param arguments The arguments of the simulation.
+     * @return The built {@link DampedOscillator}.
+     */
+    private static DampedOscillator buildOscillator(ProgramArguments arguments) {
+        return new DampedOscillator(arguments.getParticleMass(), arguments.getInitialXPosition(),
+                arguments.getSpringConstant(), arguments.getViscousDampingCoefficient(),
+                arguments.getUpdateStrategyEnum(), arguments.getTimeStep(), arguments.getTotalTime(),
+                arguments.getIntegrationSettings(), arguments.getForceModel());
+    }
+
+    /**
+     * Simulates the system described by the given arguments, encoding the states chosen by the given {@link Sampler}.
+     *
+     * @param arguments      The arguments of the simulation.
+     * @param sampler        The {@link Sampler} that decides which states are encoded.
+     * @param expectedStates The amount of states expected to be encoded.
+     * @return The trajectory, encoded as CSV.
+     * @throws IOException Never, as states are encoded into memory.
+     */
+    private static byte[] simulateTrajectory(ProgramArguments arguments, Sampler sampler, final long expectedStates)
+            throws IOException {
+        final DampedOscillator dampedOscillator = buildOscillator(arguments);
+        final FusedStepper stepper = new FusedStepper(dampedOscillator, sampler);
+        final TrajectoryCsvEncoder encoder = new TrajectoryCsvEncoder(expectedStates);
+        final FusedStepper.SampleHook hook = system -> encoder.append(system.outputState());
+        stepper.start(hook);
+        stepper.finish(hook);
+        return encoder.toByteArray();
+    }
+
+    /**
+     * Simulates the system described by the given arguments, summarizing the final state and the energy measures,
+     * together with the error against the analytic solution when there is one (i.e undriven linear systems).
+     *
+     * @param arguments The arguments of the simulation.
+     * @return The summary, encoded as JSON.
+     */
+    private static byte[] simulateSummary(ProgramArguments arguments) {
+        final DampedOscillator dampedOscillator = buildOscillator(arguments);
+        final EnergyObserver energy = new EnergyObserver();
+        dampedOscillator.addObserver(energy);
+        final ErrorObserver error = arguments.isUndrivenLinear() ? new ErrorObserver() : null;
+        if (error != null) {
+            dampedOscillator.addObserver(error);
+        }
+        // No state is needed, so the system is just updated its exact amount of steps
+        final long steps = dampedOscillator.getTotalSteps();
+        dampedOscillator.restart();
+        for (long step = 0; step < steps; step++) {
+            dampedOscillator.update();
+        }
+        final StringBuilder json = new StringBuilder("{\"steps\": ").append(steps);
+        appendField(json, "time", dampedOscillator.getActualTime());
+        appendField(json, "position", dampedOscillator.getParticle().getPositionX());
+        appendField(json, "velocity", dampedOscillator.getParticle().getVelocityX());
+        appendField(json, "initial-energy", energy.getInitialEnergy());
+        appendField(json, "energy", energy.getEnergy());
+        appendField(json, "damping-loss", energy.getDampingLoss());
+        appendField(json, "external-work", energy.getExternalWork());
+        appendField(json, "energy-drift", energy.getDrift());
+        appendField(json, "max-energy-drift", energy.getMaxDrift());
+        if (error != null) {
+            final ErrorAccumulator accumulator = error.getError();
+            appendField(json, "mean-squared-error", accumulator.getMeanSquaredError());
+            appendField(json, "max-absolute-error", accumulator.getMaxAbsoluteError());
+        }
+        return json.append("}\n").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Appends a numeric field to a JSON object (i.e non finite values are written as {@code null}).
+     *
+     * @param json  The {@link StringBuilder} holding the object.
+     * @param name  The name of the field.
+     * @param value The value of the field.
+     */
+    private static void appendField(StringBuilder json, String name, final double value) {
+        json.append(", \"").append(name).append("\": ");
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            json.append("null");
+        } else {
+            json.append(value);
+        }
+    }
+
+    /**
+     * Sends the given text as the answer of a request.
+     *
+     * @param exchange    The {@link HttpExchange} of the request.
+     * @param status      The status of the answer.
+     * @param contentType The content type of the answer.
+     * @param text        The text to be sent.
+     * @throws IOException If the answer could not be sent.
+     */
+    private static void send(HttpExchange exchange, final int status, String contentType, String text)
+            throws IOException {
+        send(exchange, status, contentType, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sends the given body as the answer of a request.
+     *
+     * @param exchange    The {@link HttpExchange} of the request.
+     * @param status      The status of the answer.
+     * @param contentType The content type of the answer.
+     * @param body        The body to be sent.
+     * @throws IOException If the answer could not be sent.
+     */
+    private static void send(HttpExchange exchange, final int status, String contentType, byte[] body)
+            throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package ar.edu.itba.ss.oscillator.runners;
+
+import ar.edu.itba.ss.oscillator.io.CheckpointManager;
+import ar.edu.itba.ss.oscillator.io.ProgramArguments;
+import ar.edu.itba.ss.oscillator.io.SnapshotSaver;
+import ar.edu.itba.ss.oscillator.io.StreamingDataSaver;
+import ar.edu.itba.ss.oscillator.io.TrajectoryCache;
+import ar.edu.itba.ss.oscillator.models.DampedOscillator;
+import ar.edu.itba.ss.oscillator.models.FusedStepper;
+import ar.edu.itba.ss.oscillator.models.ObserverEnum;
+import ar.edu.itba.ss.oscillator.models.Sampler;
+import ar.edu.itba.ss.oscillator.models.SamplingModeEnum;
+import ar.edu.itba.ss.oscillator.models.StateSnapshot;
+import ar.edu.itba.ss.oscillator.models.StateSnapshotRing;
+import ar.edu.itba.ss.oscillator.models.StepObserver;
+import ar.edu.itba.ss.oscillator.models.TrajectoryStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * {@link ModeRunner} that simulates one {@link DampedOscillator}, saving its trajectory.
+ * It is not a component, as it is built by each entry point once the {@link ExecutionModeEnum#SIMULATION} mode
+ * is chosen (i.e its savers are resolved by whoever builds it, as other modes lack their arguments).
+ */
+public class SimulationRunner implements ModeRunner {
+
+    /**
+     * The {@link Logger} object.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimulationRunner.class);
+
+    /**
+     * Indicates whether states must be saved as they are produced, instead of after the whole simulation.
+     */
+    private final boolean streaming;
+
+    /**
+     * The amount of slots of the {@link StateSnapshotRing} that holds streamed states until they are saved
+     * (i.e non positive values mean states are handed to the savers one by one).
+     */
+    private final int snapshotSlots;
+
+    /**
+     * The {@link Sampler} that decides which states are saved.
+     */
+    private final Sampler sampler;
+
+    /**
+     * Provides the {@link StreamingDataSaver}s that will store the outputs (i.e ovito, positions,
+     * and binary if enabled). It is called once, when the outputs are about to be saved.
+     */
+    private final Supplier<List<StreamingDataSaver<DampedOscillator.DampedOscillatorState>>> dataSavers;
+
+    /**
+     * The {@link StepObserver}s attached to the simulated system.
+     */
+    private final List<StepObserver> observers;
+
+    /**
+     * The {@link CheckpointManager} that writes and restores checkpoints of streamed simulations.
+     */
+    private final CheckpointManager checkpointManager;
+
+    /**
+     * The {@link TrajectoryCache} from where outputs are restored, and where they are stored once saved.
+     */
+    private final TrajectoryCache trajectoryCache;
+
+    /**
+     * The simulated system.
+     */
+    private final DampedOscillator dampedOscillator;
+
+    /**
+     * The {@link FusedStepper} that drives the simulated system.
+     */
+    private final FusedStepper stepper;
+
+    /**
+     * Constructor.
+     *
+     * @param programArguments  The execution arguments.
+     * @param dataSavers        Provides the {@link StreamingDataSaver}s that will store the outputs
+     *                          (i.e called once, when the outputs are about to be saved).
+     * @param streaming         Indicates whether states must be saved as they are produced,
+     *                          instead of after the whole simulation.
+     * @param snapshotSlots     The amount of slots of the {@link StateSnapshotRing} that holds streamed states
+     *                          until they are saved (i.e non positive values mean states are handed to the savers
+     *                          one by one).
+     * @param samplingMode      The {@link SamplingModeEnum} that indicates which states are saved.
+     * @param samplingStride    The amount of steps between two saved states (used when sampling by stride).
+     * @param samplingInterval  The simulated time between two saved states (used when sampling by interval).
+     * @param observers         The comma separated {@link ObserverEnum}s to be attached to the simulated system
+     *                          (i.e none if empty).
+     * @param checkpointManager The {@link CheckpointManager} that writes and restores checkpoints
+     *                          of streamed simulations.
+     * @param trajectoryCache   The {@link TrajectoryCache} from where outputs are restored,
+     *                          and where they are stored once saved.
+     */
+    public SimulationRunner(ProgramArguments programArguments,
+                            Supplier<List<StreamingDataSaver<DampedOscillator.DampedOscillatorState>>> dataSavers,
+                            final boolean streaming, final int snapshotSlots, final SamplingModeEnum samplingMode,
+                            final long samplingStride, final double samplingInterval, final String observers,
+                            CheckpointManager checkpointManager, TrajectoryCache trajectoryCache) {
+        if (checkpointManager.isEnabled() && !streaming) {
+            throw new IllegalStateException("Checkpoints can only be written when streaming outputs");
+        }
+        if (snapshotSlots > 0 && !streaming) {
+            throw new IllegalStateException("Snapshots can only be pooled when streaming outputs");
+        }
+        this.dampedOscillator = new DampedOscillator(programArguments.getParticleMass(),
+                programArguments.getInitialXPosition(), programArguments.getSpringConstant(),
+                programArguments.getViscousDampingCoefficient(), programArguments.getUpdateStrategyEnum(),
+                programArguments.getTimeStep(), programArguments.getTotalTime(),
+                programArguments.getIntegrationSettings(), programArguments.getForceModel());
+        this.observers = observers.trim().isEmpty() ? new ArrayList<>() :
+                Arrays.stream(observers.split(","))
+                        .map(String::trim)
+                        .map(ObserverEnum::valueOf)
+                        .map(ObserverEnum::getObserverInstance)
+                        .collect(Collectors.toList());
+        this.observers.forEach(dampedOscillator::addObserver);
+
+        this.checkpointManager = checkpointManager;
+        this.trajectoryCache = trajectoryCache;
+        this.streaming = streaming;
+        this.snapshotSlots = snapshotSlots;
+        this.sampler = samplingMode.getSamplerInstance(samplingStride, samplingInterval);
+        this.stepper = new FusedStepper(dampedOscillator, sampler);
+        this.dataSavers = dataSavers;
+    }
+
+    @Override
+    public ExecutionModeEnum getMode() {
+        return ExecutionModeEnum.SIMULATION;
+    }
+
+    @Override
+    public void run() throws Exception {
+        if (trajectoryCache.isEnabled()) {
+            // Observers must watch the simulation, so their summaries can not be restored
+            if (observers.isEmpty() && trajectoryCache.restore()) {
+                LOGGER.info("Outputs restored from the trajectory cache, skipping the simulation");
+                return;
+            }
+        }
+        if (streaming) {
+            // Simulate and save at the same time
+            simulateAndStream();
+        } else {
+            // First, simulate keeping only the sampled states, off the heap
+            final TrajectoryStore results = new TrajectoryStore();
+            final FusedStepper.SampleHook hook = results::append;
+            LOGGER.info("Starting simulation...");
+            stepper.start(hook);
+            final long steps = stepper.finish(hook);
+            LOGGER.info("Finished simulation after {} steps, keeping {} states in {} bytes off the heap",
+                    steps, results.size(), results.getAllocatedBytes());
+            // Then, save
+            save(results);
+        }
+        observers.forEach(observer -> LOGGER.info("Summary: {}", observer.getSummary()));
+        if (trajectoryCache.isEnabled()) {
+            trajectoryCache.store();
+        }
+    }
+
+    /**
+     * Performs the simulation, handing each sampled state to the savers as soon as it is produced
+     * (i.e states are not accumulated in memory).
+     *
+     * @throws IOException If any I/O error occurs while saving.
+     */
+    private void simulateAndStream() throws IOException {
+        LOGGER.info("Starting simulation, streaming outputs...");
+        final List<StreamingDataSaver<DampedOscillator.DampedOscillatorState>> saverList = dataSavers.get();
+        @SuppressWarnings("unchecked") final StreamingDataSaver<DampedOscillator.DampedOscillatorState>[] savers =
+                (StreamingDataSaver<DampedOscillator.DampedOscillatorState>[])
+                        saverList.toArray(new StreamingDataSaver<?>[saverList.size()]);
+        final StateSnapshotRing snapshots = snapshotSlots > 0 ? new StateSnapshotRing(snapshotSlots) : null;
+        final SnapshotSaver[] snapshotSavers = snapshots == null ? null : asSnapshotSavers(savers);
+        final FusedStepper.SampleHook hook = snapshots == null ? consumer(state -> {
+            for (StreamingDataSaver<DampedOscillator.DampedOscillatorState> saver : savers) {
+                saver.append(state);
+            }
+        }) : dampedOscillator -> {
+            if (snapshots.isFull()) {
+                drain(snapshots, snapshotSavers);
+            }
+            snapshots.record(dampedOscillator);
+        };
+        boolean finished = false;
+        try {
+            if (checkpointManager.mustResume()) {
+                checkpointManager.restore(dampedOscillator, sampler, savers);
+                LOGGER.info("Resumed from checkpoint at time {}", dampedOscillator.getActualTime());
+            } else {
+                for (StreamingDataSaver<DampedOscillator.DampedOscillatorState> saver : savers) {
+                    saver.open();
+                }
+                stepper.start(hook);
+            }
+            if (checkpointManager.isEnabled()) {
+                // Simulate in chunks, writing a checkpoint after each complete one
+                final long interval = checkpointManager.getInterval();
+                while (stepper.advance(interval, hook) == interval) {
+                    drain(snapshots, snapshotSavers);
+                    checkpointManager.save(dampedOscillator, sampler, savers);
+                }
+            } else {
+                stepper.finish(hook);
+            }
+            drain(snapshots, snapshotSavers);
+            finished = true;
+        } finally {
+            // A failed simulation can be resumed from its last checkpoint, so its files must not be finished
+            closeAll(savers, !finished && checkpointManager.isEnabled());
+        }
+        checkpointManager.discard();
+        LOGGER.info("Finished simulation after {} steps and saved output in all formats.",
+                dampedOscillator.getElapsedSteps());
+    }
+
+    /**
+     * Adapts the given {@link StateConsumer} into a {@link FusedStepper.SampleHook},
+     * which builds the state of the simulated system only when it is sampled.
+     *
+     * @param consumer The {@link StateConsumer} that will receive the sampled states.
+     * @return The {@link FusedStepper.SampleHook}.
+     */
+    private static FusedStepper.SampleHook consumer(StateConsumer consumer) {
+        return dampedOscillator -> consumer.accept(dampedOscillator.outputState());
+    }
+
+    /**
+     * Casts the given savers into {@link SnapshotSaver}s.
+     *
+     * @param savers The savers to be cast.
+     * @return The cast savers.
+     * @throws IllegalStateException If any saver can not consume snapshots.
+     */
+    private static SnapshotSaver[] asSnapshotSavers(StreamingDataSaver<?>[] savers) {
+        final SnapshotSaver[] snapshotSavers = new SnapshotSaver[savers.length];
+        for (int i = 0; i < savers.length; i++) {
+            if (!(savers[i] instanceof SnapshotSaver)) {
+                throw new IllegalStateException(savers[i].getClass().getSimpleName() + " can not save snapshots");
+            }
+            snapshotSavers[i] = (SnapshotSaver) savers[i];
+        }
+        return snapshotSavers;
+    }
+
+    /**
+     * Hands every snapshot held by the given {@link StateSnapshotRing} to the given savers, oldest first,
+     * releasing each one once saved.
+     *
+     * @param snapshots The {@link StateSnapshotRing} to be drained (i.e {@code null} if snapshots are not pooled).
+     * @param savers    The savers that will save the snapshots.
+     * @throws IOException If any I/O error occurs while saving.
+     */
+    private static void drain(StateSnapshotRing snapshots, SnapshotSaver[] savers) throws IOException {
+        if (snapshots == null) {
+            return;
+        }
+        while (!snapshots.isEmpty()) {
+            final StateSnapshot snapshot = snapshots.oldest();
+            for (SnapshotSaver saver : savers) {
+                saver.append(snapshot);
+            }
+            snapshots.release();
+        }
+    }
+
+    /**
+     * Performs the save phase of the program, iterating the stored states once for all the savers.
+     *
+     * @param results The {@link TrajectoryStore} holding the states to be saved.
+     * @throws IOException If any I/O error occurs while saving.
+     */
+    private void save(TrajectoryStore results) throws IOException {
+        LOGGER.info("Saving outputs...");
+        final List<StreamingDataSaver<DampedOscillator.DampedOscillatorState>> saverList = dataSavers.get();
+        final SnapshotSaver[] savers = asSnapshotSavers(saverList.toArray(new StreamingDataSaver<?>[saverList.size()]));
+        try {
+            for (SnapshotSaver saver : savers) {
+                saver.open();
+            }
+            final TrajectoryStore.Cursor cursor = results.cursor();
+            while (cursor.next()) {
+                for (SnapshotSaver saver : savers) {
+                    saver.append(cursor);
+                }
+            }
+        } finally {
+            closeAll(savers, false);
+        }
+        LOGGER.info("Finished saving output in all formats.");
+    }
+
+    /**
+     * Closes all the given savers, even if any of them fails to be closed.
+     *
+     * @param savers The savers to be closed.
+     * @param abort  Indicates whether the savers must be aborted (i.e the simulation failed, but can be resumed
+     *               from its last checkpoint), instead of closed.
+     * @throws IOException If any saver fails to be closed (i.e the first failure, with the rest suppressed).
+     */
+    private static void closeAll(StreamingDataSaver<?>[] savers, final boolean abort) throws IOException {
+        IOException failure = null;
+        for (StreamingDataSaver<?> saver : savers) {
+            try {
+                if (abort) {
+                    saver.abort();
+                } else {
+                    saver.close();
+                }
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Defines behaviour for an object that consumes the states produced by the simulation.
+     */
+    @FunctionalInterface
+    private interface StateConsumer {
+
+        /**
+         * Consumes the given state.
+         *
+         * @param state The state to be consumed.
+         * @throws IOException If any I/O error occurs while consuming.
+         */
+        void accept(DampedOscillator.DampedOscillatorState state) throws IOException;
+    }
+}
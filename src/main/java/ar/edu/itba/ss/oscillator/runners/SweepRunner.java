@@ -0,0 +1,166 @@
+package ar.edu.itba.ss.oscillator.runners;
+
+import ar.edu.itba.ss.oscillator.io.ProgramArguments;
+import ar.edu.itba.ss.oscillator.io.SweepResultsSaver;
+import ar.edu.itba.ss.oscillator.models.DampedOscillator;
+import ar.edu.itba.ss.oscillator.models.DampedOscillatorSolution;
+import ar.edu.itba.ss.oscillator.models.ErrorAccumulator;
+import ar.edu.itba.ss.oscillator.models.Particle;
+import ar.edu.itba.ss.oscillator.models.UpdateStrategyEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * {@link ModeRunner} that simulates the configured oscillator with every combination of strategy and time step,
+ * concurrently, computing the error of each one against the analytic solution.
+ */
+@Component
+public class SweepRunner implements ModeRunner {
+
+    /**
+     * The {@link Logger} object.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SweepRunner.class);
+
+    /**
+     * The execution arguments.
+     */
+    private final ProgramArguments programArguments;
+
+    /**
+     * The comma separated {@link UpdateStrategyEnum}s to be swept (i.e all of them if empty).
+     */
+    private final String strategies;
+
+    /**
+     * The comma separated time steps to be swept.
+     */
+    private final String timeSteps;
+
+    /**
+     * The amount of cells simulated at the same time (i.e non positive values mean one per available processor).
+     */
+    private final int parallelism;
+
+    /**
+     * The path of the file where the results will be saved.
+     */
+    private final String outputFilePath;
+
+    /**
+     * Constructor.
+     *
+     * @param programArguments The execution arguments.
+     * @param strategies       The comma separated {@link UpdateStrategyEnum}s to be swept
+     *                         (i.e all of them if empty).
+     * @param timeSteps        The comma separated time steps to be swept.
+     * @param parallelism      The amount of cells simulated at the same time
+     *                         (i.e non positive values mean one per available processor).
+     * @param outputFilePath   The path of the file where the results will be saved.
+     * @throws IllegalArgumentException If the mode is selected, but the force model is not the undriven LINEAR one.
+     */
+    @Autowired
+    public SweepRunner(ProgramArguments programArguments,
+                       @Value("${custom.sweep.strategies:}") final String strategies,
+                       @Value("${custom.sweep.time-steps:}") final String timeSteps,
+                       @Value("${custom.sweep.parallelism}") final int parallelism,
+                       @Value("${custom.output.sweep:}") final String outputFilePath) {
+        // Every runner is built, so only the selected mode validates the arguments
+        if (programArguments.getExecutionMode() == ExecutionModeEnum.SWEEP && !programArguments.isUndrivenLinear()) {
+            throw new IllegalArgumentException("The SWEEP mode only supports the undriven LINEAR force model");
+        }
+        this.programArguments = programArguments;
+        this.strategies = strategies;
+        this.timeSteps = timeSteps;
+        this.parallelism = parallelism;
+        this.outputFilePath = outputFilePath;
+    }
+
+    @Override
+    public ExecutionModeEnum getMode() {
+        return ExecutionModeEnum.SWEEP;
+    }
+
+    @Override
+    public void run() throws Exception {
+        if (timeSteps.trim().isEmpty() || outputFilePath.isEmpty()) {
+            throw new IllegalStateException("Both custom.sweep.time-steps and custom.output.sweep must be set");
+        }
+        final List<UpdateStrategyEnum> strategyList = strategies.trim().isEmpty() ?
+                Arrays.asList(UpdateStrategyEnum.values()) :
+                Arrays.stream(strategies.split(","))
+                        .map(String::trim)
+                        .map(UpdateStrategyEnum::valueOf)
+                        .collect(Collectors.toList());
+        final List<Double> timeStepList = Arrays.stream(timeSteps.split(","))
+                .map(String::trim)
+                .map(Double::valueOf)
+                .collect(Collectors.toList());
+
+        final ExecutorService executor =
+                Executors.newFixedThreadPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        final List<SweepResultsSaver.Result> results = new ArrayList<>();
+        try {
+            LOGGER.info("Sweeping {} strategies with {} time steps...", strategyList.size(), timeStepList.size());
+            final List<Future<SweepResultsSaver.Result>> futures = new ArrayList<>();
+            for (UpdateStrategyEnum strategy : strategyList) {
+                for (double timeStep : timeStepList) {
+                    futures.add(executor.submit(() -> simulateCell(strategy, timeStep)));
+                }
+            }
+            for (Future<SweepResultsSaver.Result> future : futures) {
+                results.add(future.get());
+            }
+            LOGGER.info("Finished sweep");
+        } finally {
+            executor.shutdownNow();
+        }
+        LOGGER.info("Saving sweep results...");
+        new SweepResultsSaver(outputFilePath).save(results);
+        LOGGER.info("Finished saving sweep results.");
+    }
+
+    /**
+     * Simulates one cell of the sweep, accumulating the error of the position against the analytic solution
+     * (i.e the trajectory is not stored).
+     *
+     * @param strategy The {@link UpdateStrategyEnum} to be used.
+     * @param timeStep The time step to be used.
+     * @return The result of the cell.
+     */
+    private SweepResultsSaver.Result simulateCell(UpdateStrategyEnum strategy, double timeStep) {
+        final long start = System.nanoTime();
+        final DampedOscillator dampedOscillator = new DampedOscillator(programArguments.getParticleMass(),
+                programArguments.getInitialXPosition(),
+                programArguments.getSpringConstant(),
+                programArguments.getViscousDampingCoefficient(),
+                strategy,
+                timeStep,
+                programArguments.getTotalTime(),
+                programArguments.getIntegrationSettings());
+        final DampedOscillatorSolution solution = DampedOscillatorSolution.forOscillator(dampedOscillator);
+        final Particle particle = dampedOscillator.getParticle();
+        final ErrorAccumulator error = new ErrorAccumulator();
+        final long steps = DampedOscillator.countSteps(programArguments.getTotalTime(), timeStep);
+        error.accumulate(particle.getPositionX(), solution.positionAt(0d));
+        for (long step = 1; step <= steps; step++) {
+            dampedOscillator.update();
+            error.accumulate(particle.getPositionX(), solution.positionAt(step * timeStep));
+        }
+        final long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        LOGGER.debug("{} with time step {} finished in {} ms", strategy, timeStep, elapsedMillis);
+        return new SweepResultsSaver.Result(strategy, timeStep, steps,
+                error.getMeanSquaredError(), error.getMaxAbsoluteError(), elapsedMillis);
+    }
+}
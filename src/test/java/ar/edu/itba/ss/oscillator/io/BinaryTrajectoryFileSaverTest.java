@@ -0,0 +1,167 @@
+package ar.edu.itba.ss.oscillator.io;
+
+import ar.edu.itba.ss.oscillator.models.DampedOscillator;
+import ar.edu.itba.ss.oscillator.models.ForceModelEnum;
+import ar.edu.itba.ss.oscillator.models.Particle;
+import ar.edu.itba.ss.oscillator.models.StateSnapshotRing;
+import ar.edu.itba.ss.oscillator.models.UpdateStrategyEnum;
+import ar.edu.itba.ss.oscillator.runners.ExecutionModeEnum;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the {@link BinaryTrajectoryReader} reads back exactly what the {@link BinaryTrajectoryFileSaver} saved,
+ * with blocks small enough for the trajectory to span many of them.
+ */
+public class BinaryTrajectoryFileSaverTest {
+
+    /**
+     * The amount of rows per block.
+     */
+    private static final int BLOCK_ROWS = 8;
+
+    /**
+     * The folder where trajectories are saved.
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Saves a trajectory that ends in a partially filled block, alternating states and snapshots.
+     *
+     * @throws IOException If any I/O error occurs.
+     */
+    @Test
+    public void readsTheSavedValuesAcrossBlocks() throws IOException {
+        final ProgramArguments arguments = arguments();
+        final DampedOscillator dampedOscillator = oscillator(arguments, arguments.getInitialXPosition());
+        final Path path = folder.getRoot().toPath().resolve("trajectory.bin");
+        final double[][] expected = new double[2 * BLOCK_ROWS + 3][];
+        final StateSnapshotRing snapshots = new StateSnapshotRing(1);
+        try (BinaryTrajectoryFileSaver saver = new BinaryTrajectoryFileSaver(path.toString(), arguments, BLOCK_ROWS)) {
+            saver.open();
+            for (int row = 0; row < expected.length; row++) {
+                expected[row] = values(dampedOscillator);
+                if (row % 2 == 0) {
+                    saver.append(dampedOscillator.outputState());
+                } else {
+                    snapshots.record(dampedOscillator);
+                    saver.append(snapshots.oldest());
+                    snapshots.release();
+                }
+                dampedOscillator.update();
+            }
+        }
+        assertTrajectory(path, arguments, expected);
+    }
+
+    /**
+     * Checkpoints in the middle of a block, keeps saving other states past the next block, and then resumes
+     * from the checkpoint, which must discard those states and continue filling the checkpointed block.
+     *
+     * @throws IOException If any I/O error occurs.
+     */
+    @Test
+    public void resumesInTheMiddleOfABlock() throws IOException {
+        final ProgramArguments arguments = arguments();
+        final DampedOscillator dampedOscillator = oscillator(arguments, arguments.getInitialXPosition());
+        final DampedOscillator discarded = oscillator(arguments, -arguments.getInitialXPosition());
+        final Path path = folder.getRoot().toPath().resolve("trajectory.bin");
+        final double[][] expected = new double[3 * BLOCK_ROWS + 5][];
+        final int checkpointedRows = BLOCK_ROWS + 3;
+        final ByteArrayOutputStream checkpoint = new ByteArrayOutputStream();
+        try (BinaryTrajectoryFileSaver saver = new BinaryTrajectoryFileSaver(path.toString(), arguments, BLOCK_ROWS)) {
+            saver.open();
+            for (int row = 0; row < checkpointedRows; row++) {
+                expected[row] = values(dampedOscillator);
+                saver.append(dampedOscillator.outputState());
+                dampedOscillator.update();
+            }
+            saver.checkpoint(new DataOutputStream(checkpoint));
+            for (int row = 0; row < BLOCK_ROWS + 2; row++) {
+                saver.append(discarded.outputState());
+                discarded.update();
+            }
+        }
+        try (BinaryTrajectoryFileSaver saver = new BinaryTrajectoryFileSaver(path.toString(), arguments, BLOCK_ROWS)) {
+            saver.resume(new DataInputStream(new ByteArrayInputStream(checkpoint.toByteArray())));
+            for (int row = checkpointedRows; row < expected.length; row++) {
+                expected[row] = values(dampedOscillator);
+                saver.append(dampedOscillator.outputState());
+                dampedOscillator.update();
+            }
+        }
+        assertTrajectory(path, arguments, expected);
+    }
+
+    /**
+     * Checks the header and every value of the given binary trajectory file.
+     *
+     * @param path      The path of the file.
+     * @param arguments The arguments the file was saved with.
+     * @param expected  The expected values of each row (i.e as returned by {@link #values(DampedOscillator)}).
+     * @throws IOException If any I/O error occurs.
+     */
+    private static void assertTrajectory(Path path, ProgramArguments arguments, double[][] expected)
+            throws IOException {
+        try (BinaryTrajectoryReader reader = new BinaryTrajectoryReader(path)) {
+            assertEquals(expected.length, reader.getRows());
+            assertEquals(arguments.getParticleMass(), reader.getMass(), 0d);
+            assertEquals(arguments.getTimeStep(), reader.getTimeStep(), 0d);
+            assertEquals(arguments.getUpdateStrategyEnum().name(), reader.getStrategy());
+            for (int row = 0; row < expected.length; row++) {
+                final double[] values = expected[row];
+                assertEquals("time of row " + row, values[0], reader.getTime(row), 0d);
+                assertEquals("x position of row " + row, values[1], reader.getPositionX(row), 0d);
+                assertEquals("y position of row " + row, values[2], reader.getPositionY(row), 0d);
+                assertEquals("x velocity of row " + row, values[3], reader.getVelocityX(row), 0d);
+                assertEquals("y velocity of row " + row, values[4], reader.getVelocityY(row), 0d);
+                assertEquals("x acceleration of row " + row, values[5], reader.getAccelerationX(row), 0d);
+                assertEquals("y acceleration of row " + row, values[6], reader.getAccelerationY(row), 0d);
+            }
+        }
+    }
+
+    /**
+     * @param dampedOscillator The {@link DampedOscillator}.
+     * @return The values of its actual state, in the order of the file's columns.
+     */
+    private static double[] values(DampedOscillator dampedOscillator) {
+        final Particle particle = dampedOscillator.getParticle();
+        return new double[]{
+                dampedOscillator.getActualTime(),
+                particle.getPositionX(), particle.getPositionY(),
+                particle.getVelocityX(), particle.getVelocityY(),
+                particle.getAccelerationX(), particle.getAccelerationY()
+        };
+    }
+
+    /**
+     * @param arguments        The execution arguments.
+     * @param initialXPosition The initial position.
+     * @return A {@link DampedOscillator} built with the given arguments, starting at the given position.
+     */
+    private static DampedOscillator oscillator(ProgramArguments arguments, final double initialXPosition) {
+        return new DampedOscillator(arguments.getParticleMass(), initialXPosition, arguments.getSpringConstant(),
+                arguments.getViscousDampingCoefficient(), arguments.getUpdateStrategyEnum(), arguments.getTimeStep(),
+                arguments.getTotalTime(), arguments.getIntegrationSettings(), arguments.getForceModel());
+    }
+
+    /**
+     * @return The execution arguments of a damped oscillator integrated with {@link UpdateStrategyEnum#BEEMAN}.
+     */
+    private static ProgramArguments arguments() {
+        return new ProgramArguments(ExecutionModeEnum.SIMULATION, 70, 1, 10000, 100, ForceModelEnum.LINEAR, 0, 0, 0,
+                UpdateStrategyEnum.BEEMAN, 1e-3, 5, 1e-9, 1e-9, 5);
+    }
+}
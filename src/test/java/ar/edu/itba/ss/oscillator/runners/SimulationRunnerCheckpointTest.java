@@ -0,0 +1,284 @@
+package ar.edu.itba.ss.oscillator.runners;
+
+import ar.edu.itba.ss.oscillator.io.BinaryTrajectoryFileSaver;
+import ar.edu.itba.ss.oscillator.io.CheckpointManager;
+import ar.edu.itba.ss.oscillator.io.MovementFileSaver;
+import ar.edu.itba.ss.oscillator.io.ProgramArguments;
+import ar.edu.itba.ss.oscillator.io.SnapshotSaver;
+import ar.edu.itba.ss.oscillator.io.StreamingDataSaver;
+import ar.edu.itba.ss.oscillator.io.TrajectoryCache;
+import ar.edu.itba.ss.oscillator.models.DampedOscillator;
+import ar.edu.itba.ss.oscillator.models.ForceModelEnum;
+import ar.edu.itba.ss.oscillator.models.SamplingModeEnum;
+import ar.edu.itba.ss.oscillator.models.StateSnapshot;
+import ar.edu.itba.ss.oscillator.models.UpdateStrategyEnum;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Queue;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that a streamed simulation that is killed and then resumed from its last checkpoint
+ * saves exactly the same bytes as an uninterrupted one.
+ */
+public class SimulationRunnerCheckpointTest {
+
+    /**
+     * The amount of steps between two checkpoints.
+     */
+    private static final long CHECKPOINT_INTERVAL = 3000;
+
+    /**
+     * The simulated time at which the interrupted simulation is killed (i.e between two checkpoints).
+     */
+    private static final double KILL_TIME = 1.35;
+
+    /**
+     * The amount of rows per block of the binary trajectory file (i.e so checkpoints fall in the middle of a block).
+     */
+    private static final int BLOCK_ROWS = 1000;
+
+    /**
+     * The amount of steps between two saved states, when sampling by stride.
+     */
+    private static final long SAMPLING_STRIDE = 7;
+
+    /**
+     * The simulated time between two saved states, when sampling by interval.
+     */
+    private static final double SAMPLING_INTERVAL = 0.01;
+
+    /**
+     * The folder where outputs and checkpoints are saved.
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void resumesBeemanSampledByEvents() throws Exception {
+        assertResumedRunMatches(UpdateStrategyEnum.BEEMAN, SamplingModeEnum.EVENTS, 0);
+    }
+
+    @Test
+    public void resumesGearSampledByStride() throws Exception {
+        assertResumedRunMatches(UpdateStrategyEnum.GEAR, SamplingModeEnum.STRIDE, 0);
+    }
+
+    @Test
+    public void resumesDormandPrinceWithPooledSnapshots() throws Exception {
+        assertResumedRunMatches(UpdateStrategyEnum.DORMAND_PRINCE, SamplingModeEnum.ALL, 64);
+    }
+
+    /**
+     * Runs the simulation uninterrupted, and then again killing it after some checkpoints and resuming it,
+     * checking that both runs saved the same files.
+     *
+     * @param strategy      The {@link UpdateStrategyEnum} to be used.
+     * @param samplingMode  The {@link SamplingModeEnum} to be used.
+     * @param snapshotSlots The amount of slots of the ring that holds streamed states (i.e none if not positive).
+     * @throws Exception If the simulation fails.
+     */
+    private void assertResumedRunMatches(UpdateStrategyEnum strategy, SamplingModeEnum samplingMode,
+                                         final int snapshotSlots) throws Exception {
+        final ProgramArguments arguments = new ProgramArguments(ExecutionModeEnum.SIMULATION, 70, 1, 10000, 100,
+                ForceModelEnum.LINEAR, 0, 0, 0, strategy, 1e-4, 2, 1e-9, 1e-9, 5);
+        final Path directory = folder.getRoot().toPath();
+        final Path checkpoint = directory.resolve("checkpoint");
+        final Outputs uninterrupted = new Outputs(directory, "uninterrupted");
+        final Outputs resumed = new Outputs(directory, "resumed");
+
+        run(arguments, samplingMode, snapshotSlots, uninterrupted, "", false, Double.POSITIVE_INFINITY);
+        try {
+            run(arguments, samplingMode, snapshotSlots, resumed, checkpoint.toString(), false, KILL_TIME);
+            fail("The simulation was not killed");
+        } catch (KilledException e) {
+            assertTrue("No checkpoint was written", Files.exists(checkpoint));
+        }
+        run(arguments, samplingMode, snapshotSlots, resumed, checkpoint.toString(), true, Double.POSITIVE_INFINITY);
+
+        assertFalse("The checkpoint was not discarded", Files.exists(checkpoint));
+        assertArrayEquals(Files.readAllBytes(uninterrupted.movement), Files.readAllBytes(resumed.movement));
+        assertArrayEquals(Files.readAllBytes(uninterrupted.binary), Files.readAllBytes(resumed.binary));
+    }
+
+    /**
+     * Runs a streamed simulation.
+     *
+     * @param arguments      The execution arguments.
+     * @param samplingMode   The {@link SamplingModeEnum} to be used.
+     * @param snapshotSlots  The amount of slots of the ring that holds streamed states.
+     * @param outputs        The {@link Outputs} to be saved.
+     * @param checkpointPath The path of the checkpoint file (i.e empty if checkpoints are disabled).
+     * @param resume         Indicates whether the simulation must be resumed from the checkpoint.
+     * @param killTime       The simulated time at which the simulation is killed.
+     * @throws Exception If the simulation fails.
+     */
+    private static void run(ProgramArguments arguments, SamplingModeEnum samplingMode, final int snapshotSlots,
+                            Outputs outputs, String checkpointPath, final boolean resume, final double killTime)
+            throws Exception {
+        final String samplingModeName = samplingMode.name();
+        final CheckpointManager checkpointManager = new CheckpointManager(checkpointPath, CHECKPOINT_INTERVAL, resume,
+                arguments, samplingModeName, SAMPLING_STRIDE, SAMPLING_INTERVAL);
+        final TrajectoryCache trajectoryCache = new TrajectoryCache("", 0, arguments, samplingModeName,
+                SAMPLING_STRIDE, SAMPLING_INTERVAL, "", "", outputs.movement.toString(), outputs.binary.toString());
+        final boolean[] killed = new boolean[1];
+        new SimulationRunner(arguments,
+                () -> Arrays.<StreamingDataSaver<DampedOscillator.DampedOscillatorState>>asList(
+                        new KillableSaver(new MovementFileSaver(outputs.movement.toString(), 4096),
+                                killTime, killed),
+                        new KillableSaver(new BinaryTrajectoryFileSaver(outputs.binary.toString(), arguments,
+                                BLOCK_ROWS), killTime, killed)),
+                true, snapshotSlots, samplingMode, SAMPLING_STRIDE, SAMPLING_INTERVAL, "",
+                checkpointManager, trajectoryCache)
+                .run();
+    }
+
+    /**
+     * The paths of the outputs of a simulation.
+     */
+    private static final class Outputs {
+
+        /**
+         * The path of the movement file.
+         */
+        private final Path movement;
+
+        /**
+         * The path of the binary trajectory file.
+         */
+        private final Path binary;
+
+        /**
+         * Constructor.
+         *
+         * @param directory The directory where the outputs are saved.
+         * @param name      The name of the outputs.
+         */
+        private Outputs(Path directory, String name) {
+            this.movement = directory.resolve(name + ".txt");
+            this.binary = directory.resolve(name + ".bin");
+        }
+    }
+
+    /**
+     * The {@link IOException} thrown when a simulation is killed.
+     */
+    private static final class KilledException extends IOException {
+
+        /**
+         * The serial version UID.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Constructor.
+         *
+         * @param time The simulated time at which the simulation was killed.
+         */
+        private KilledException(final double time) {
+            super("Killed at time " + time);
+        }
+    }
+
+    /**
+     * {@link SnapshotSaver} that kills the simulation once it is asked to save a state at or after the kill time
+     * (i.e it fails within the process, so the savers are then aborted as in any other failure).
+     */
+    private static final class KillableSaver implements SnapshotSaver {
+
+        /**
+         * The saver that actually saves the states.
+         */
+        private final SnapshotSaver saver;
+
+        /**
+         * The simulated time at which the simulation is killed.
+         */
+        private final double killTime;
+
+        /**
+         * Whether the simulation was killed (i.e shared by all the savers of the simulation).
+         */
+        private final boolean[] killed;
+
+        /**
+         * Constructor.
+         *
+         * @param saver    The saver that actually saves the states.
+         * @param killTime The simulated time at which the simulation is killed.
+         * @param killed   Whether the simulation was killed (i.e shared by all the savers of the simulation).
+         */
+        private KillableSaver(SnapshotSaver saver, final double killTime, final boolean[] killed) {
+            this.saver = saver;
+            this.killTime = killTime;
+            this.killed = killed;
+        }
+
+        /**
+         * Kills the simulation if the given time is at or after the kill time.
+         *
+         * @param time The simulated time of the state to be saved.
+         * @throws KilledException If the simulation is killed.
+         */
+        private void checkAlive(final double time) throws KilledException {
+            if (killed[0] || time >= killTime) {
+                killed[0] = true;
+                throw new KilledException(time);
+            }
+        }
+
+        @Override
+        public void save(Queue<DampedOscillator.DampedOscillatorState> queue) {
+            saver.save(queue);
+        }
+
+        @Override
+        public void open() throws IOException {
+            saver.open();
+        }
+
+        @Override
+        public void append(DampedOscillator.DampedOscillatorState state) throws IOException {
+            checkAlive(state.getTime());
+            saver.append(state);
+        }
+
+        @Override
+        public void append(StateSnapshot snapshot) throws IOException {
+            checkAlive(snapshot.getTime());
+            saver.append(snapshot);
+        }
+
+        @Override
+        public void checkpoint(DataOutput output) throws IOException {
+            saver.checkpoint(output);
+        }
+
+        @Override
+        public void resume(DataInput input) throws IOException {
+            saver.resume(input);
+        }
+
+        @Override
+        public void close() throws IOException {
+            saver.close();
+        }
+
+        @Override
+        public void abort() throws IOException {
+            saver.abort();
+        }
+    }
+}